@@ -3,20 +3,22 @@ package de.lmu.ifi.sosylab.client;
 import static java.nio.charset.StandardCharsets.UTF_8;
 
 import de.lmu.ifi.sosylab.client.model.GameClientOnlineModel;
-import de.lmu.ifi.sosylab.shared.FactoryDisplay;
 import de.lmu.ifi.sosylab.shared.JsonMessage;
-import de.lmu.ifi.sosylab.shared.Tiles;
 import de.lmu.ifi.sosylab.shared.requests.LoginRequest;
 import de.lmu.ifi.sosylab.shared.requests.PlaceTilesRequest;
 import de.lmu.ifi.sosylab.shared.signals.TilesCollectedSignal;
-import java.awt.Point;
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.OutputStreamWriter;
+import java.net.InetSocketAddress;
 import java.net.Socket;
-import java.util.ArrayList;
+import java.net.SocketTimeoutException;
 import java.util.LinkedHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 import org.json.JSONArray;
 import org.json.JSONException;
 import org.json.JSONObject;
@@ -24,16 +26,36 @@ import org.json.JSONObject;
 /**
  * The network-connection of the client. Establishes a connection to the server and takes care of
  * sending and receiving messages in JSON format.
+ *
+ * <p>The login and all messages to the server are sent by a thread of the connection, one after
+ * the other, so the GUI never waits for the network. Every method that sends returns a future that
+ * completes when the message has been sent, or fails if the server cannot be reached in time.
  */
 public class ClientNetworkConnection {
 
   private static final String HOST = "localhost";
   private static final int PORT = 8080;
+  private static final int CONNECT_TIMEOUT_MILLIS = 5000;
+  //how long the login waits for the answer of the server
+  private static final int READ_TIMEOUT_MILLIS = 10000;
+  //a message fails if it has not been sent in this time, e.g. while the server does not read
+  private static final long COMMAND_TIMEOUT_MILLIS = 20000;
+  private final ExecutorService sender = Executors.newSingleThreadExecutor(runnable -> {
+    Thread thread = new Thread(runnable, "client-network-sender");
+    thread.setDaemon(true);
+    return thread;
+  });
+  private final ExecutorService decoder = Executors.newSingleThreadExecutor(runnable -> {
+    Thread thread = new Thread(runnable, "client-network-decoder");
+    thread.setDaemon(true);
+    return thread;
+  });
+  private final ServerMessageDecoder messageDecoder;
   private Socket socket;
   private GameClientOnlineModel model;
   private BufferedReader reader;
   private OutputStreamWriter writer;
-  boolean socketConnected = false;
+  volatile boolean socketConnected = false;
 
   /**
    * Construct for the client network connection.
@@ -45,6 +67,7 @@ public class ClientNetworkConnection {
    */
   public ClientNetworkConnection(GameClientOnlineModel model) throws IOException, JSONException {
 	this.model = model;
+	messageDecoder = new ServerMessageDecoder(model);
   }
 
   /**
@@ -69,179 +92,95 @@ public class ClientNetworkConnection {
   private JSONObject readDirectResponseFromServer() throws IOException {
 
 	String line = reader.readLine();
+	if (line == null) {
+	  throw new IOException("The server closed the connection");
+	}
 	JSONObject jsonObject = new JSONObject(line);
 	return jsonObject;
 
   }
 
+  /**
+   * An action of the sending thread that may fail with an {@link IOException}.
+   */
+  private interface NetworkCommand {
+    void run() throws IOException;
+  }
+
+  /**
+   * Run a command on the sending thread. A command that has not started when its future times
+   * out is dropped, so that it is not sent after the caller has given up on it.
+   *
+   * @param command the command
+   * @return a future that completes when the command has run, or fails with its exception or
+   *         when it has not completed in time
+   */
+  private CompletableFuture<Void> submit(NetworkCommand command) {
+    CompletableFuture<Void> result = new CompletableFuture<>();
+    sender.execute(() -> {
+      if (result.isDone()) {
+        return;
+      }
+      try {
+        command.run();
+        result.complete(null);
+      } catch (IOException | RuntimeException e) {
+        result.completeExceptionally(e);
+      }
+    });
+    return result.orTimeout(COMMAND_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * Send a json-message to the server on the sending thread.
+   *
+   * @param jsonMessage contains the information about the signal/request
+   * @return a future that completes when the message has been sent
+   */
+  private CompletableFuture<Void> send(JSONObject jsonMessage) {
+    return submit(() -> sendJsonMessageToServer(jsonMessage));
+  }
+
   /**
    * Activates a thread that starts reading all the updates that the server sends about the new
    * events in the game. It allows the model to react to the moves and events of the other players
    * and inform the GUI accordingly.
+   *
+   * <p>The reading thread only splits the stream into lines and queues them, so the socket is
+   * drained even while the model is busy. The lines are decoded and passed to the model by a
+   * second thread in the order they were received.
    */
   public void readEventsFromOtherUsers() {
-	Thread thread =
-		new Thread(
-			() -> {
-			  while (socketConnected) {
-				String line = null;
-
-				try {
-				  // Await the response from the server.
-				  line = reader.readLine();
-				} catch (IOException e) {
-				  e.getStackTrace();
-				}
-
-				JSONObject jsonObject = null;
-
-				try {
-				  assert line != null;
-				  if (socketConnected == true) {
-					jsonObject = new JSONObject(line);
-				  } else {
-					break;
-				  }
-				} catch (JSONException e) {
-				  e.getStackTrace();
-				}
-
-				try {
-				  assert jsonObject != null;
-
-				  if (jsonObject.get("type").equals("user joined")) {
-
-					model.informUserJoined((String) jsonObject.get("nick"));
-
-					System.out.println(
-						jsonObject.get("nick")
-							+ " has joined the room "
-							+ jsonObject.get("room name"));
-
-				  } else if (jsonObject.getString("type").equals("ready for game")) {
-            model.informUserReady(jsonObject.getString("nick"));
-          } else if (jsonObject.getString("type").equals("not ready for game")) {
-            model.informUserNotReady(jsonObject.getString("nick"));
-          } else if (jsonObject.get("type").equals("game start")) {
-            FactoryDisplay factoryDisplays = new FactoryDisplay(
-                model.getUsersAndTheirReadinessState().size());
-            JSONArray factoryDisplaysJsAr = jsonObject.getJSONArray("factory displays");
-            for (int i = 0; i < factoryDisplaysJsAr.length(); i++) {
-              JSONArray factoryDisplayJsAr = factoryDisplaysJsAr.getJSONArray(i);
-              for (int j = 0; j < factoryDisplayJsAr.length(); j++) {
-                factoryDisplays.getAllDisplays().get(i).
-                    add(Tiles.getTileWithName(factoryDisplayJsAr.getString(j)));
-              }
-            }
-            model.startGame(jsonObject.getInt("current player"), factoryDisplays);
-				  } else if (jsonObject.get("type").equals("logout")) {
-					model.informUserLeftGame((String) jsonObject.get("nick"));
-				  } else if (jsonObject.get("type").equals("somebody collected tiles")) {
-            model.collectTilesAndInformTheView(
-                jsonObject.getInt("collect place"), jsonObject.getInt("tile index"));
-          } else if (jsonObject.get("type").equals("invalid move")) {
-            model.informInvalidMove();
-          } else if (jsonObject.get("type").equals("valid move")
-              || jsonObject.get("type").equals("somebody placed tiles")) {
-            int placeLocation = jsonObject.getInt("place location");
-
-            ArrayList<Tiles> tilesAddedOnPatternLine = new ArrayList<>();
-            JSONArray tilesAddedOnPatternLineJsAr =
-                jsonObject.getJSONArray("tiles added on pattern line");
-            for (int i = 0; i < tilesAddedOnPatternLineJsAr.length(); i++) {
-              tilesAddedOnPatternLine.add(
-                  Tiles.getTileWithName(tilesAddedOnPatternLineJsAr.getString(i))
-              );
-            }
-
-            ArrayList<Tiles> tilesAddedOnFloorLine = new ArrayList<>();
-            JSONArray tilesAddedOnFloorLineJsAr =
-                jsonObject.getJSONArray("tiles added on floor line");
-            for (int i = 0; i < tilesAddedOnFloorLineJsAr.length(); i++) {
-              tilesAddedOnFloorLine.add(
-                  Tiles.getTileWithName(tilesAddedOnFloorLineJsAr.getString(i))
-              );
-            }
-            model.informChangeInPatternLines(
-                placeLocation, tilesAddedOnPatternLine, tilesAddedOnFloorLine);
-          } else if (jsonObject.get("type").equals("turn")) {
-            model.informTurn(jsonObject.getInt("current player"));
-          } else if (jsonObject.get("type").equals("update walls and scores")) {
-            ArrayList<ArrayList<Point>> updatedWalls = new ArrayList<>();
-            ArrayList<Integer> updatedScores = new ArrayList<>();
-            JSONArray updatedContentJsAr = jsonObject.getJSONArray("updated content");
-            for (int i = 0; i < updatedContentJsAr.length(); i++) {
-              JSONObject updatedContentOfOneUser = updatedContentJsAr.getJSONObject(i);
-
-              ArrayList<Point> updatedWall = new ArrayList<>();
-              JSONArray updatedWallJsAr = updatedContentOfOneUser.getJSONArray("updated wall");
-              for (int j = 0; j < updatedWallJsAr.length(); j++) {
-                JSONObject updatedWallTile = updatedWallJsAr.getJSONObject(j);
-                updatedWall.add(new Point(updatedWallTile.getInt("row of wall"),
-                    updatedWallTile.getInt("column of wall")));
-
-              }
-              updatedWalls.add(updatedWall);
-
-              updatedScores.add(updatedContentOfOneUser.getInt("updated score"));
-            }
-
-            model.updateWallsAndScores(updatedWalls, updatedScores);
-          } else if (jsonObject.get("type").equals("start next round")) {
-            FactoryDisplay factoryDisplays = new FactoryDisplay(
-                model.getUsersAndTheirReadinessState().size());
-            JSONArray factoryDisplaysJsAr = jsonObject.getJSONArray("factory displays");
-            for (int i = 0; i < factoryDisplaysJsAr.length(); i++) {
-              JSONArray factoryDisplayJsAr = factoryDisplaysJsAr.getJSONArray(i);
-              for (int j = 0; j < factoryDisplayJsAr.length(); j++) {
-                factoryDisplays.getAllDisplays().get(i).
-                    add(Tiles.getTileWithName(factoryDisplayJsAr.getString(j)));
-              }
-            }
-            model.informStartNextRound(jsonObject.getInt("current player"), factoryDisplays);
-          } else if (jsonObject.get("type").equals("end of game")) {
-            JSONArray rankingsJsAr = jsonObject.getJSONArray("rankings");
-            LinkedHashMap<Integer, Integer> rankings = new LinkedHashMap<>();
-            for (int i = 0; i < rankingsJsAr.length(); i++) {
-              JSONObject ranking = rankingsJsAr.getJSONObject(i);
-              rankings.put(ranking.getInt("player id"), ranking.getInt("ranking"));
-            }
-            model.informGameEnd(rankings);
-          } else if (jsonObject.get("type").equals("user left room")) {
-            model.informUserLeftRoom(jsonObject.getString("nick"));
-          } else if (jsonObject.get("type").equals("user left game")) {
-            model.informUserLeftGame(jsonObject.getString("nick"));
-          } else if (jsonObject.get("type").equals("restart request")) {
-            model.informRestartRequest(jsonObject.getString("nick"));
-          } else if (jsonObject.get("type").equals("restart rejected")) {
-            model.informRestartRequestRejected();
-          } else if (jsonObject.get("type").equals("restart")) {
-            FactoryDisplay factoryDisplays = new FactoryDisplay(
-                model.getUsersAndTheirReadinessState().size());
-            JSONArray factoryDisplaysJsAr = jsonObject.getJSONArray("factory displays");
-            for (int i = 0; i < factoryDisplaysJsAr.length(); i++) {
-              JSONArray factoryDisplayJsAr = factoryDisplaysJsAr.getJSONArray(i);
-              for (int j = 0; j < factoryDisplayJsAr.length(); j++) {
-                factoryDisplays.getAllDisplays().get(i).
-                    add(Tiles.getTileWithName(factoryDisplayJsAr.getString(j)));
-              }
-            }
-            model.informRestartGame(jsonObject.getInt("current player"), factoryDisplays);
-          }
-				  System.out.println(
-					  "Update from server: " + System.lineSeparator() + jsonObject.toString(1));
-				} catch (JSONException e) {
-				  e.getStackTrace();
-				}
-			  }
-			});
-	thread.start();
+    Thread thread = new Thread(() -> {
+      try {
+        String line;
+        while (socketConnected && (line = reader.readLine()) != null) {
+          String message = line;
+          decoder.execute(() -> messageDecoder.decode(message));
+        }
+      } catch (IOException e) {
+        //closing the connection in stop() ends the reading as well
+        if (socketConnected) {
+          e.printStackTrace();
+        }
+      } finally {
+        //the lines that are already queued are still passed to the model
+        decoder.shutdown();
+      }
+    }, "client-network-reader");
+    thread.setDaemon(true);
+    thread.start();
   }
 
   /**
    * Stop the network-connection.
    */
   public void stop() {
+	socketConnected = false;
+	sender.shutdown();
+	if (socket == null) {
+	  return;
+	}
 	try {
 	  socket.close();
 	} catch (IOException e) {
@@ -254,13 +193,44 @@ public class ClientNetworkConnection {
   //    response from the server
 
   /**
-   * Send a login-request to the server.
+   * Send a login-request to the server. If the server cannot be reached or does not answer in
+   * time, the model is informed that the login failed.
    *
    * @param loginRequest contains the necessary information for a login request.
+   * @return a future that completes when the server has answered
    */
-  public void sendLoginRequest(LoginRequest loginRequest) throws JSONException, IOException {
+  public CompletableFuture<Void> sendLoginRequest(LoginRequest loginRequest) {
+    return submit(() -> {
+      try {
+        login(loginRequest);
+      } catch (SocketTimeoutException e) {
+        closeAfterFailedLogin();
+        model.informLoginFailed("The server did not answer in time.");
+        throw e;
+      } catch (IOException | JSONException e) {
+        closeAfterFailedLogin();
+        model.informLoginFailed("The server cannot be reached: " + e.getMessage());
+        throw e;
+      }
+    });
+  }
+
+  private void closeAfterFailedLogin() {
+    if (socket != null) {
+      try {
+        socket.close();
+      } catch (IOException e) {
+        e.printStackTrace();
+      }
+    }
+  }
+
+  private void login(LoginRequest loginRequest) throws IOException {
 
-    socket = new Socket(loginRequest.getIpAdresse(), PORT);
+    socket = new Socket();
+    socket.connect(new InetSocketAddress(loginRequest.getIpAdresse(), PORT),
+        CONNECT_TIMEOUT_MILLIS);
+    socket.setSoTimeout(READ_TIMEOUT_MILLIS);
 
     reader = new BufferedReader(new InputStreamReader(socket.getInputStream(), UTF_8));
 
@@ -271,8 +241,7 @@ public class ClientNetworkConnection {
         JsonMessage.login(loginRequest.getNickname(), loginRequest.getRoomName()));
 
 	  // Read response from server
-	  String line = reader.readLine();
-	  JSONObject jsonObject = new JSONObject(line);
+	  JSONObject jsonObject = readDirectResponseFromServer();
 
     if (jsonObject.get("type").equals("login success")) {
       System.out.println("success");
@@ -291,6 +260,8 @@ public class ClientNetworkConnection {
 
       model.informLoginSuccess(nickname, roomName, usersReady);
 
+      // the updates of the other users may take any time
+      socket.setSoTimeout(0);
       socketConnected = true;
 
     } else if (jsonObject.get("type").equals("login failed")) {
@@ -301,8 +272,9 @@ public class ClientNetworkConnection {
      //   "Response to login request: " + System.lineSeparator() + jsonObject.toString(1));
   }
 
-  public void sendMoveRequest(PlaceTilesRequest moveRequest) throws IOException {
-    sendJsonMessageToServer(JsonMessage.placeTilesRequest(moveRequest.getRowIndex()));
+  public CompletableFuture<Void> sendMoveRequest(PlaceTilesRequest moveRequest) {
+    return send(JsonMessage.placeTilesRequest(moveRequest.getRowIndex(),
+        moveRequest.getRequestId()));
   }
 
 
@@ -312,46 +284,57 @@ public class ClientNetworkConnection {
   /**
    * Signal that this client is ready to play.
    *
-   * @throws JSONException if
-   * @throws IOException if
+   * @return a future that completes when the signal has been sent
    */
-  public void signalReadyToPlay() throws JSONException, IOException {
+  public CompletableFuture<Void> signalReadyToPlay() {
 
 	JSONObject jsonObject = new JSONObject();
 	jsonObject.put("type", "ready for game");
 
-	sendJsonMessageToServer(jsonObject);
+	return send(jsonObject);
 
   }
 
   /**
    * Signal that this player is not ready to play.
    *
-   * @throws JSONException
-   * @throws IOException
+   * @return a future that completes when the signal has been sent
    */
-  public void signalNotReadyToPlay() throws JSONException, IOException {
+  public CompletableFuture<Void> signalNotReadyToPlay() {
 
 	JSONObject jsonObject = new JSONObject();
 	jsonObject.put("type", "not ready for game");
 
-	sendJsonMessageToServer(jsonObject);
+	return send(jsonObject);
 
   }
 
-  public void sendReplyToRestartRequest(boolean agree) throws IOException {
-    sendJsonMessageToServer(JsonMessage.replyToRestartRequest(agree));
+  /**
+   * Signal that the empty seats of the room should be filled with bots and that this player is
+   * ready to play.
+   *
+   * @param playerCount the number of players of the game including the bots.
+   * @return a future that completes when the signal has been sent
+   */
+  public CompletableFuture<Void> signalPlayWithBots(int playerCount) {
+    return send(JsonMessage.playWithBots(playerCount));
+  }
+
+  public CompletableFuture<Void> sendReplyToRestartRequest(boolean agree) {
+    return send(JsonMessage.replyToRestartRequest(agree));
   }
 
   /**
    * Signal that this client will restart the game.
+   *
+   * @return a future that completes when the signal has been sent
    */
-  public void sendRestarGameSignal() throws IOException {
+  public CompletableFuture<Void> sendRestarGameSignal() {
 
 	JSONObject jsonObject = new JSONObject();
 	jsonObject.put("type", "restart game");
 
-	sendJsonMessageToServer(jsonObject);
+	return send(jsonObject);
 
   }
 
@@ -362,25 +345,24 @@ public class ClientNetworkConnection {
 
   }
 
-  public void sendLogout() throws JSONException, IOException {
+  public CompletableFuture<Void> sendLogout() {
 
 	// Create a message in json-format
 	JSONObject jsonObject = new JSONObject();
 	jsonObject.put("type", "logout");
 
 	// Send the message to the server
-	writer.write(jsonObject + "\n");
-	writer.flush();
+	return send(jsonObject);
 
   }
 
-  public void collectTiles(TilesCollectedSignal tilesCollectedSignal) throws IOException {
-    sendJsonMessageToServer(JsonMessage.collectTiles(
+  public CompletableFuture<Void> collectTiles(TilesCollectedSignal tilesCollectedSignal) {
+    return send(JsonMessage.collectTiles(
         tilesCollectedSignal.getIndexOfCollectPlace(), tilesCollectedSignal.getTileIndex()));
   }
 
-  public void restartGame() throws IOException {
-	sendJsonMessageToServer(JsonMessage.restartRequestToServer());
+  public CompletableFuture<Void> restartGame() {
+	return send(JsonMessage.restartRequestToServer());
 
   }
 }
@@ -0,0 +1,154 @@
+package de.lmu.ifi.sosylab.client;
+
+import de.lmu.ifi.sosylab.client.model.GameClientOnlineModel;
+import de.lmu.ifi.sosylab.shared.FactoryDisplay;
+import de.lmu.ifi.sosylab.shared.JsonMessage;
+import de.lmu.ifi.sosylab.shared.Tiles;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+/**
+ * Decodes the updates that the server sends about the events in the game and passes them to the
+ * model. The handler of a message is looked up in a table by the {@link JsonMessage} type of the
+ * message, and it converts the json fields into the tiles, factory displays and numbers that the
+ * model is informed with.
+ */
+final class ServerMessageDecoder {
+
+  private final GameClientOnlineModel model;
+  private final Map<JsonMessage, Consumer<JSONObject>> handlers =
+      new EnumMap<>(JsonMessage.class);
+
+  /**
+   * Creates the decoder for the messages to a model.
+   *
+   * @param model the model that is informed about the events in the game
+   */
+  ServerMessageDecoder(GameClientOnlineModel model) {
+    this.model = model;
+
+    handlers.put(JsonMessage.USER_JOINED,
+        message -> model.informUserJoined(message.getString(JsonMessage.NICK_FIELD)));
+    handlers.put(JsonMessage.READY_FOR_GAME,
+        message -> model.informUserReady(message.getString(JsonMessage.NICK_FIELD)));
+    handlers.put(JsonMessage.NOT_READY_FOR_GAME,
+        message -> model.informUserNotReady(message.getString(JsonMessage.NICK_FIELD)));
+    handlers.put(JsonMessage.GAME_START, message -> model.startGame(
+        message.getInt(JsonMessage.CURRENT_PLAYER_FIELD), decodeFactoryDisplays(message)));
+    handlers.put(JsonMessage.SOMEBODY_COLLECTED_TILES,
+        message -> model.collectTilesAndInformTheView(
+            message.getInt(JsonMessage.COLLECT_PLACE_FIELD),
+            message.getInt(JsonMessage.TILE_INDEX_FIELD)));
+    handlers.put(JsonMessage.INVALID_MOVE, message -> model.informInvalidMove(
+        message.optInt(JsonMessage.REQUEST_ID_FIELD, JsonMessage.NO_REQUEST_ID)));
+    handlers.put(JsonMessage.VALID_MOVE, this::handleValidMove);
+    handlers.put(JsonMessage.SOMEBODY_PLACED_TILES, this::handlePlacedTiles);
+    handlers.put(JsonMessage.TURN, this::handleTurn);
+    handlers.put(JsonMessage.UPDATE_WALLS_AND_SCORES, this::handleUpdatedWallsAndScores);
+    handlers.put(JsonMessage.START_NEXT_ROUND, message -> model.informStartNextRound(
+        message.getInt(JsonMessage.CURRENT_PLAYER_FIELD), decodeFactoryDisplays(message)));
+    handlers.put(JsonMessage.END_OF_GAME, this::handleEndOfGame);
+    handlers.put(JsonMessage.USER_LEFT_ROOM,
+        message -> model.informUserLeftRoom(message.getString(JsonMessage.NICK_FIELD)));
+    handlers.put(JsonMessage.USER_LEFT_GAME,
+        message -> model.informUserLeftGame(message.getString(JsonMessage.NICK_FIELD)));
+    handlers.put(JsonMessage.RESTART_REQUEST,
+        message -> model.informRestartRequest(message.getString(JsonMessage.NICK_FIELD)));
+    handlers.put(JsonMessage.RESTART_REJECTED, message -> model.informRestartRequestRejected());
+    handlers.put(JsonMessage.RESTART, message -> model.informRestartGame(
+        message.getInt(JsonMessage.CURRENT_PLAYER_FIELD), decodeFactoryDisplays(message)));
+  }
+
+  /**
+   * Decodes a line that the server sent and informs the model about it. Lines that are no valid
+   * message are reported and skipped, messages of a type that the client does not handle are
+   * ignored.
+   *
+   * @param line a line of the connection, which contains one json message
+   */
+  void decode(String line) {
+    try {
+      JSONObject message = new JSONObject(line);
+      Consumer<JSONObject> handler = handlers.get(JsonMessage.typeOf(message));
+      if (handler != null) {
+        handler.accept(message);
+      }
+    } catch (JSONException | IllegalArgumentException e) {
+      e.printStackTrace();
+    }
+  }
+
+  private void handleValidMove(JSONObject message) {
+    model.confirmPlacement(
+        message.optInt(JsonMessage.REQUEST_ID_FIELD, JsonMessage.NO_REQUEST_ID),
+        message.getInt(JsonMessage.PLACE_LOCATION_FIELD),
+        decodeTiles(message.getJSONArray(JsonMessage.TILES_ADDED_ON_PATTERN_LINE_FIELD)),
+        decodeTiles(message.getJSONArray(JsonMessage.TILES_ADDED_ON_FLOOR_LINE_FIELD)));
+  }
+
+  private void handlePlacedTiles(JSONObject message) {
+    model.informChangeInPatternLines(message.getInt(JsonMessage.PLACE_LOCATION_FIELD),
+        decodeTiles(message.getJSONArray(JsonMessage.TILES_ADDED_ON_PATTERN_LINE_FIELD)),
+        decodeTiles(message.getJSONArray(JsonMessage.TILES_ADDED_ON_FLOOR_LINE_FIELD)));
+  }
+
+  private void handleTurn(JSONObject message) {
+    double[] winProbabilities = null;
+    JSONArray winProbabilitiesJsAr = message.optJSONArray(JsonMessage.WIN_PROBABILITIES_FIELD);
+    if (winProbabilitiesJsAr != null) {
+      winProbabilities = new double[winProbabilitiesJsAr.length()];
+      for (int i = 0; i < winProbabilitiesJsAr.length(); i++) {
+        winProbabilities[i] = winProbabilitiesJsAr.getDouble(i);
+      }
+    }
+    model.informTurn(message.getInt(JsonMessage.CURRENT_PLAYER_FIELD), winProbabilities);
+  }
+
+  private void handleUpdatedWallsAndScores(JSONObject message) {
+    JSONArray updatedContentJsAr = message.getJSONArray(JsonMessage.UPDATED_CONTENT_FIELD);
+    int[] updatedWalls = new int[updatedContentJsAr.length()];
+    ArrayList<Integer> updatedScores = new ArrayList<>(updatedContentJsAr.length());
+    for (int i = 0; i < updatedContentJsAr.length(); i++) {
+      JSONObject updatedContentOfOneUser = updatedContentJsAr.getJSONObject(i);
+      updatedWalls[i] = updatedContentOfOneUser.getInt(JsonMessage.UPDATED_WALL_FIELD);
+      updatedScores.add(updatedContentOfOneUser.getInt(JsonMessage.UPDATED_SCORE_FIELD));
+    }
+    model.informChangeInWall(updatedWalls, updatedScores);
+  }
+
+  private void handleEndOfGame(JSONObject message) {
+    JSONArray rankingsJsAr = message.getJSONArray(JsonMessage.RANKINGS_FIELD);
+    LinkedHashMap<Integer, Integer> rankings = new LinkedHashMap<>();
+    for (int i = 0; i < rankingsJsAr.length(); i++) {
+      JSONObject ranking = rankingsJsAr.getJSONObject(i);
+      rankings.put(ranking.getInt(JsonMessage.PLAYER_ID_FIELD),
+          ranking.getInt(JsonMessage.RANKING_FIELD));
+    }
+    model.informGameEnd(rankings);
+  }
+
+  private FactoryDisplay decodeFactoryDisplays(JSONObject message) {
+    FactoryDisplay factoryDisplays =
+        new FactoryDisplay(model.getUsersAndTheirReadinessState().size());
+    JSONArray factoryDisplaysJsAr = message.getJSONArray(JsonMessage.FACTORY_DISPLAYS_FIELD);
+    for (int i = 0; i < factoryDisplaysJsAr.length(); i++) {
+      factoryDisplays.getAllDisplays().get(i)
+          .addAll(decodeTiles(factoryDisplaysJsAr.getJSONArray(i)));
+    }
+    return factoryDisplays;
+  }
+
+  private static ArrayList<Tiles> decodeTiles(JSONArray tilesJsAr) {
+    ArrayList<Tiles> tiles = new ArrayList<>(tilesJsAr.length());
+    for (int i = 0; i < tilesJsAr.length(); i++) {
+      tiles.add(Tiles.getTileWithName(tilesJsAr.getString(i)));
+    }
+    return tiles;
+  }
+}
@@ -0,0 +1,47 @@
+package de.lmu.ifi.sosylab.client.controller;
+
+import de.lmu.ifi.sosylab.shared.ai.BotPolicy;
+import de.lmu.ifi.sosylab.shared.ai.EndOfRoundSolver;
+import de.lmu.ifi.sosylab.shared.ai.GreedyBot;
+import de.lmu.ifi.sosylab.shared.ai.MonteCarloTreeSearch;
+import de.lmu.ifi.sosylab.shared.ai.SearchBudget;
+import de.lmu.ifi.sosylab.shared.ai.TranspositionTable;
+
+/**
+ * The strength of the bots of the hotseat mode. Stronger bots think longer about their moves.
+ */
+public enum BotDifficulty {
+  EASY("easy"), MEDIUM("medium"), HARD("hard");
+
+  private static final long MEDIUM_MILLIS = 500;
+  private static final long HARD_MILLIS = 2_000;
+  private static final int SOLVER_GROUPS = 8;
+  private static final long SOLVER_NODES = 20_000_000L;
+  private static final int SOLVER_TABLE_MEGABYTES = 16;
+
+  private final String name;
+
+  BotDifficulty(String name) {
+    this.name = name;
+  }
+
+  /**
+   * Create a new bot of this strength.
+   *
+   * @return the bot.
+   */
+  public BotPolicy createBot() {
+    return switch (this) {
+      case EASY -> new GreedyBot();
+      case MEDIUM -> new MonteCarloTreeSearch(SearchBudget.ofMillis(MEDIUM_MILLIS));
+      case HARD -> new EndOfRoundSolver(
+          new MonteCarloTreeSearch(SearchBudget.ofMillis(HARD_MILLIS)), SOLVER_GROUPS,
+          SOLVER_NODES, TranspositionTable.ofMegabytes(SOLVER_TABLE_MEGABYTES));
+    };
+  }
+
+  @Override
+  public String toString() {
+    return name;
+  }
+}
@@ -0,0 +1,117 @@
+package de.lmu.ifi.sosylab.client.controller;
+
+import de.lmu.ifi.sosylab.client.model.GameClientModel;
+import de.lmu.ifi.sosylab.shared.ai.BotPolicy;
+import de.lmu.ifi.sosylab.shared.ai.GameState;
+import de.lmu.ifi.sosylab.shared.ai.GreedyBot;
+import de.lmu.ifi.sosylab.shared.ai.Move;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.swing.SwingUtilities;
+
+/**
+ * Lets the bots of the hotseat mode think on a background thread, so that the user interface
+ * stays responsive while a bot searches its move. The moves are applied to the model on the event
+ * dispatch thread, one after another, until a human player has the turn. If a bot fails to choose
+ * a move, a greedy move is played for it.
+ */
+public class BotMoveWorker {
+  //a move of a bot is shown for this time at least, so that the players can follow the bots
+  private static final long MIN_MOVE_MILLIS = 400;
+
+  //a single thread, since only one bot of a hotseat game thinks at a time
+  private static final ExecutorService BOT_EXECUTOR = Executors.newSingleThreadExecutor(
+      runnable -> {
+        Thread thread = new Thread(runnable, "hotseat-bot");
+        thread.setDaemon(true);
+        return thread;
+      });
+
+  private final GameClientModel model;
+  //incremented when the bots are cancelled, moves of older searches are dropped
+  private final AtomicInteger generation;
+  private BotPolicy thinkingBot;
+  private Future<?> search;
+
+  /**
+   * Construct a worker that plays the bots of the given model.
+   *
+   * @param model the model of the hotseat game.
+   */
+  public BotMoveWorker(GameClientModel model) {
+    this.model = model;
+    generation = new AtomicInteger();
+  }
+
+  /**
+   * Start the search of the bot that has the turn. Nothing happens if a human player has the turn
+   * or a bot is already thinking. Must be called on the event dispatch thread.
+   */
+  public void playBotTurn() {
+    if (search != null || !model.isBotTurn()) {
+      return;
+    }
+    int searchGeneration = generation.get();
+    GameState state = model.getGameState();
+    BotPolicy bot = model.getBotPolicy(model.getCurrentPlayer());
+    thinkingBot = bot;
+    search = BOT_EXECUTOR.submit(() -> {
+      if (generation.get() != searchGeneration) {
+        return;
+      }
+      long start = System.nanoTime();
+      int move = chooseMove(bot, state);
+      long remainingMillis = MIN_MOVE_MILLIS - (System.nanoTime() - start) / 1_000_000;
+      if (remainingMillis > 0) {
+        try {
+          Thread.sleep(remainingMillis);
+        } catch (InterruptedException e) {
+          //the search was cancelled
+          return;
+        }
+      }
+      SwingUtilities.invokeLater(() -> applyMove(state, move, searchGeneration));
+    });
+  }
+
+  private static int chooseMove(BotPolicy bot, GameState state) {
+    try {
+      return bot.chooseMove(state);
+    } catch (RuntimeException e) {
+      e.printStackTrace();
+      return new GreedyBot().chooseMove(state);
+    }
+  }
+
+  private void applyMove(GameState state, int move, int searchGeneration) {
+    if (generation.get() != searchGeneration) {
+      return;
+    }
+    search = null;
+    thinkingBot = null;
+    //the move is only legal in the state that the bot has searched
+    if (move != Move.NONE && model.isBotTurn()
+        && model.getGameState().getKey() == state.getKey()) {
+      model.playMove(move);
+      playBotTurn();
+    }
+  }
+
+  /**
+   * Cancel the search of the thinking bot, e.g. when the game is restarted or stopped. Must be
+   * called on the event dispatch thread.
+   */
+  public void cancel() {
+    generation.incrementAndGet();
+    if (thinkingBot != null) {
+      thinkingBot.cancel();
+      thinkingBot = null;
+    }
+    if (search != null) {
+      search.cancel(true);
+      search = null;
+    }
+  }
+}
@@ -1,6 +1,7 @@
 package de.lmu.ifi.sosylab.client.controller;
 
 import de.lmu.ifi.sosylab.client.model.GameClientModel;
+import de.lmu.ifi.sosylab.shared.ai.BotPolicy;
 import java.util.ArrayList;
 
 /**
@@ -8,15 +9,37 @@ import java.util.ArrayList;
  */
 public class GameController implements Controller {
   private final GameClientModel model;
+  //plays the bots in the background, null if the bots play right away on the calling thread
+  private final BotMoveWorker botMoveWorker;
 
   /**
-   * Construct a GameController to navigate between GameClientModel and GameView.
+   * Construct a GameController to navigate between GameClientModel and GameView. The bots make
+   * their moves right away on the thread that calls the controller.
    *
    * @param model the GameClientModel.
    */
   public GameController(GameClientModel model) {
+    this(model, null);
+  }
 
-   this.model = model;
+  /**
+   * Construct a GameController to navigate between GameClientModel and GameView.
+   *
+   * @param model the GameClientModel.
+   * @param botMoveWorker the worker that lets the bots think in the background, null if the bots
+   *                      make their moves right away on the thread that calls the controller.
+   */
+  public GameController(GameClientModel model, BotMoveWorker botMoveWorker) {
+    this.model = model;
+    this.botMoveWorker = botMoveWorker;
+  }
+
+  private void playBotTurns() {
+    if (botMoveWorker == null) {
+      model.playBotTurns();
+    } else {
+      botMoveWorker.playBotTurn();
+    }
   }
 
   /**
@@ -26,6 +49,17 @@ public class GameController implements Controller {
     model.setPlayerNumber(playerNumber);
     model.setUsernames(usernames);
     model.startGame();
+    playBotTurns();
+  }
+
+  /**
+   * Let a bot play the seat of the given player.
+   *
+   * @param player the index of the player.
+   * @param policy the bot that chooses the moves, null if a human plays the seat.
+   */
+  public void setBotPolicy(int player, BotPolicy policy) {
+    model.setBotPolicy(player, policy);
   }
 
   /**
@@ -36,6 +70,10 @@ public class GameController implements Controller {
    */
   @Override
   public void collectTilesFromDisplay(int displayIndex, int tileIndex) {
+    //the tiles of a thinking bot cannot be taken
+    if (model.isBotTurn()) {
+      return;
+    }
     model.tilesFromDisplay(displayIndex, tileIndex);
   }
 
@@ -46,6 +84,9 @@ public class GameController implements Controller {
    */
   @Override
   public void collectTilesFromTable(int tileIndex) {
+    if (model.isBotTurn()) {
+      return;
+    }
     model.tilesFromTable(tileIndex);
   }
 
@@ -56,7 +97,11 @@ public class GameController implements Controller {
    */
   @Override
   public void placeTilesToPatternLines(int row) {
+    if (model.isBotTurn()) {
+      return;
+    }
     model.placeTilesToPatternLines(row);
+    playBotTurns();
   }
 
   /**
@@ -64,7 +109,11 @@ public class GameController implements Controller {
    */
   @Override
   public void placeTilesToFloorLine() {
+    if (model.isBotTurn()) {
+      return;
+    }
     model.placeTilesToFloorLine();
+    playBotTurns();
   }
 
   /**
@@ -81,7 +130,9 @@ public class GameController implements Controller {
    */
   @Override
   public void stopGame() {
-
+    if (botMoveWorker != null) {
+      botMoveWorker.cancel();
+    }
   }
 
   /**
@@ -89,7 +140,11 @@ public class GameController implements Controller {
    */
   @Override
   public void restart() {
+    if (botMoveWorker != null) {
+      botMoveWorker.cancel();
+    }
     model.restartGame();
+    playBotTurns();
   }
 
   @Override
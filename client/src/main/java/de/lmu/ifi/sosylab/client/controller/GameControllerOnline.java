@@ -2,7 +2,7 @@ package de.lmu.ifi.sosylab.client.controller;
 
 import de.lmu.ifi.sosylab.client.model.GameClientOnlineModel;
 import java.io.IOException;
-import org.json.JSONException;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * When an online game is played, the GameControllerOnline handles user inputs by forwarding them to
@@ -27,11 +27,8 @@ public class GameControllerOnline implements Controller {
   @Override
   public void collectTilesFromDisplay(int displayIndex, int tileIndex) {
     if (model.getFactoryDisplays().getAllDisplays().get(displayIndex).size() > 0) {
-      try {
-        model.signalTilesCollected(displayIndex, tileIndex);
-      } catch (IOException e) {
-        e.printStackTrace();
-      }
+      model.signalTilesCollected(displayIndex, tileIndex)
+          .exceptionally(GameControllerOnline::printError);
     }
   }
 
@@ -40,11 +37,7 @@ public class GameControllerOnline implements Controller {
    */
   @Override
   public void collectTilesFromTable(int tileIndex) {
-    try {
-      model.signalTilesCollected(-1, tileIndex);
-    } catch (IOException e) {
-      e.printStackTrace();
-    }
+    model.signalTilesCollected(-1, tileIndex).exceptionally(GameControllerOnline::printError);
   }
 
   /**
@@ -52,11 +45,7 @@ public class GameControllerOnline implements Controller {
    */
   @Override
   public void placeTilesToPatternLines(int row) {
-    try {
-      model.requestPlaceTiles(row);
-    } catch (IOException e) {
-      e.printStackTrace();
-    }
+    model.requestPlaceTiles(row).exceptionally(GameControllerOnline::printError);
   }
 
   /**
@@ -72,11 +61,7 @@ public class GameControllerOnline implements Controller {
    */
   @Override
   public void placeTilesToFloorLine() {
-    try {
-      model.requestPlaceTiles(-1);
-    } catch (IOException e) {
-      e.printStackTrace();
-    }
+    model.requestPlaceTiles(-1).exceptionally(GameControllerOnline::printError);
   }
 
   /**
@@ -101,37 +86,45 @@ public class GameControllerOnline implements Controller {
   }
 
   /**
-   * Sends a login-request to the model.
+   * Sends a login-request to the model. The request is sent in the background, a failed login
+   * is published by the model.
    *
    * @param username the user's name
    * @param roomName the room's name
    * @param address the room's IP-address
+   * @return a future that completes when the server has answered or the login failed
    */
-  public void login(String username, String roomName, String address) {
-    try{
-      model.requestLogin(username, roomName, address);
-    } catch (IOException e){
-      e.printStackTrace();
-    }
+  public CompletableFuture<Void> login(String username, String roomName, String address) {
+    return model.requestLogin(username, roomName, address);
   }
 
   /**
    * Signal that this user is ready to play.
    *
-   * @throws IOException
+   * @return a future that fails if the client/server communication is interrupted
    */
-  public void signalReadyToPlay() throws IOException {
-      model.signalReadyToPlay();
+  public CompletableFuture<Void> signalReadyToPlay() {
+    return model.signalReadyToPlay();
+  }
+
+  /**
+   * Fill the empty seats of the room with bots and start the game as soon as all players are
+   * ready.
+   *
+   * @param playerCount the number of players of the game including the bots.
+   * @return a future that fails if the client/server communication is interrupted
+   */
+  public CompletableFuture<Void> playWithBots(int playerCount) {
+    return model.signalPlayWithBots(playerCount);
   }
 
   /**
    * Signal that this player is not ready to play.
    *
-   * @throws JSONException
-   * @throws IOException
+   * @return a future that fails if the client/server communication is interrupted
    */
-  public void signalNotReady() throws JSONException, IOException {
-    model.signalNotReady();
+  public CompletableFuture<Void> signalNotReady() {
+    return model.signalNotReady();
   }
 
   /**
@@ -141,5 +134,10 @@ public class GameControllerOnline implements Controller {
     model.signalLogout();
   }
 
+  private static Void printError(Throwable error) {
+    error.printStackTrace();
+    return null;
+  }
+
 
 }
@@ -0,0 +1,133 @@
+package de.lmu.ifi.sosylab.client.model;
+
+import static java.util.Objects.requireNonNull;
+
+import de.lmu.ifi.sosylab.shared.events.GameEvent;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import javax.swing.SwingUtilities;
+import javax.swing.Timer;
+
+/**
+ * Delivers the {@link GameEvent}s of a model to the views. A view subscribes a handler for each
+ * class of events it is interested in, so an event is only handed to the handlers of its class,
+ * which are looked up as one array.
+ *
+ * <p>Events can be published on any thread, e.g. the thread reading the network. They are
+ * queued and delivered in the order of publication on the event dispatch thread, and all events
+ * that are published before the event dispatch thread gets to them, e.g. all events of one
+ * network message, are delivered in one batch. Batches are delivered at most once per frame of
+ * the display: events that follow a batch within a frame wait for the next frame, so a fast
+ * stream of events, e.g. of a game between bots, is handed to the views in one batch per frame
+ * and the repaints of a batch are merged by Swing into one.
+ */
+public final class EventBus {
+
+  private static final Subscription[] NO_SUBSCRIPTIONS = new Subscription[0];
+  //a frame of a 60 Hz display
+  private static final long FRAME_NANOS = 16_666_667L;
+
+  //copied on every change, so that publishing never waits for a subscription
+  private final Map<Class<? extends GameEvent>, Subscription[]> subscriptions =
+      new ConcurrentHashMap<>();
+  private final Queue<GameEvent> pending = new ConcurrentLinkedQueue<>();
+  private final AtomicBoolean deliveryScheduled = new AtomicBoolean();
+  private volatile long lastDelivery = System.nanoTime() - FRAME_NANOS;
+
+  /**
+   * Subscribe a handler to the events of a class. Events of subclasses are not delivered to it.
+   *
+   * @param subscriber the view that subscribes, used to {@link #unsubscribe(Object)} it again
+   * @param eventClass the class of the events
+   * @param handler    the handler, which is called on the event dispatch thread
+   * @param <E>        the type of the events
+   */
+  public synchronized <E extends GameEvent> void subscribe(Object subscriber,
+                                                           Class<E> eventClass,
+                                                           Consumer<? super E> handler) {
+    requireNonNull(subscriber);
+    requireNonNull(handler);
+    Subscription[] old = subscriptions.getOrDefault(eventClass, NO_SUBSCRIPTIONS);
+    Subscription[] updated = Arrays.copyOf(old, old.length + 1);
+    updated[old.length] =
+        new Subscription(subscriber, event -> handler.accept(eventClass.cast(event)));
+    subscriptions.put(eventClass, updated);
+  }
+
+  /**
+   * Remove all handlers of a subscriber. Events that are already queued are not delivered to
+   * them either.
+   *
+   * @param subscriber the view that is to be unsubscribed
+   */
+  public synchronized void unsubscribe(Object subscriber) {
+    for (Map.Entry<Class<? extends GameEvent>, Subscription[]> entry : subscriptions.entrySet()) {
+      List<Subscription> remaining = new ArrayList<>();
+      for (Subscription subscription : entry.getValue()) {
+        if (subscription.subscriber == subscriber) {
+          subscription.active = false;
+        } else {
+          remaining.add(subscription);
+        }
+      }
+      entry.setValue(remaining.toArray(NO_SUBSCRIPTIONS));
+    }
+  }
+
+  /**
+   * Publish an event to the handlers of its class.
+   *
+   * @param event the event
+   */
+  public void publish(GameEvent event) {
+    pending.add(event);
+    if (!deliveryScheduled.compareAndSet(false, true)) {
+      return;
+    }
+    long wait = lastDelivery + FRAME_NANOS - System.nanoTime();
+    if (wait <= 0) {
+      SwingUtilities.invokeLater(this::deliverPending);
+    } else {
+      //the events are collected until the next frame
+      Timer timer = new Timer((int) TimeUnit.NANOSECONDS.toMillis(wait) + 1,
+          e -> deliverPending());
+      timer.setRepeats(false);
+      timer.start();
+    }
+  }
+
+  private void deliverPending() {
+    lastDelivery = System.nanoTime();
+    //events published from now on schedule the next batch
+    deliveryScheduled.set(false);
+    GameEvent event;
+    while ((event = pending.poll()) != null) {
+      for (Subscription subscription
+          : subscriptions.getOrDefault(event.getClass(), NO_SUBSCRIPTIONS)) {
+        //a handler of this batch may have unsubscribed the view
+        if (subscription.active) {
+          subscription.handler.accept(event);
+        }
+      }
+    }
+  }
+
+  private static final class Subscription {
+    private final Object subscriber;
+    private final Consumer<GameEvent> handler;
+    private volatile boolean active = true;
+
+    private Subscription(Object subscriber, Consumer<GameEvent> handler) {
+      this.subscriber = subscriber;
+      this.handler = handler;
+    }
+  }
+}
@@ -1,15 +1,16 @@
 package de.lmu.ifi.sosylab.client.model;
 
-
-import static java.util.Objects.requireNonNull;
-
 import de.lmu.ifi.sosylab.shared.Bag;
 import de.lmu.ifi.sosylab.shared.FactoryDisplay;
 import de.lmu.ifi.sosylab.shared.GamePlayers;
 import de.lmu.ifi.sosylab.shared.Lid;
 import de.lmu.ifi.sosylab.shared.PlayerBoard;
 import de.lmu.ifi.sosylab.shared.Tiles;
+import de.lmu.ifi.sosylab.shared.WallMask;
 import de.lmu.ifi.sosylab.shared.WallTile;
+import de.lmu.ifi.sosylab.shared.ai.BotPolicy;
+import de.lmu.ifi.sosylab.shared.ai.GameState;
+import de.lmu.ifi.sosylab.shared.ai.Move;
 import de.lmu.ifi.sosylab.shared.events.FactoryDisplaysChangeEvent;
 import de.lmu.ifi.sosylab.shared.events.FloorLineChangeEvent;
 import de.lmu.ifi.sosylab.shared.events.GameEndEvent;
@@ -20,8 +21,7 @@ import de.lmu.ifi.sosylab.shared.events.PlaceTilesFailEvent;
 import de.lmu.ifi.sosylab.shared.events.PlayerTurnFinishedEvent;
 import de.lmu.ifi.sosylab.shared.events.StartGameEvent;
 import de.lmu.ifi.sosylab.shared.events.StartNextRoundEvent;
-import java.beans.PropertyChangeListener;
-import java.beans.PropertyChangeSupport;
+import de.lmu.ifi.sosylab.shared.events.WallChangeEvent;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
@@ -36,7 +36,7 @@ import java.util.Set;
 /**
  * The Hot seat model of the Azul game. Contains methods necessary to change the game's state and
  * checks if they're legal.
- * A {@link java.beans.PropertyChangeEvent} is fired when the GUI needs to be updated.
+ * A {@link GameEvent} is published on the {@link EventBus} when the GUI needs to be updated.
  * @see Model
  */
 public class GameClientModel implements Model {
@@ -51,10 +51,12 @@ public class GameClientModel implements Model {
   private ArrayList<Tiles> currentCollectedTiles;
   private int currentDisplay;
   private GamePlayers gamePlayers;
+  //the bots that play the seats of computer players, by player index
+  private final HashMap<Integer, BotPolicy> botPolicies;
 
   //store the scores of all players
   private final ArrayList<Integer> scores;
-  private final PropertyChangeSupport support;
+  private final EventBus eventBus;
 
 
   /**
@@ -65,7 +67,8 @@ public class GameClientModel implements Model {
     this.currentCollectedTiles = new ArrayList<>();
     this.usernames = new ArrayList<>();
     scores = new ArrayList<>();
-    support = new PropertyChangeSupport(this);
+    botPolicies = new HashMap<>();
+    eventBus = new EventBus();
   }
 
   /**
@@ -255,11 +258,14 @@ public class GameClientModel implements Model {
       //clear the remaining tiles from the display
       selectedDisplay.clear();
       //notify GUI about factory display change
-      FactoryDisplaysChangeEvent factoryDisplaysChangeEvent = new FactoryDisplaysChangeEvent();
+      FactoryDisplaysChangeEvent factoryDisplaysChangeEvent =
+          new FactoryDisplaysChangeEvent(displayIndex);
       notifyListener(factoryDisplaysChangeEvent);
       if (discardedTiles.size() != 0) {
+        int firstNewTile = gameTable.size();
         gameTable.addAll(discardedTiles);
-        GameTableChangeEvent gameTableChangeEvent = new GameTableChangeEvent();
+        GameTableChangeEvent gameTableChangeEvent =
+            new GameTableChangeEvent(firstNewTile, displayIndex, discardedTiles);
         notifyListener(gameTableChangeEvent);
       }
     }
@@ -291,11 +297,11 @@ public class GameClientModel implements Model {
     } else {
       //collect starting player marker if the first
       //and place it to the first position of the floor line
+      List<Tiles> floorLine = playerBoards[gamePlayers.getCurrentPlayer()].getFloorLine();
+      int firstChangedSlot = floorLine.size();
       if (gameTable.get(0) == Tiles.START) {
-        PlayerBoard currentBoard = playerBoards[gamePlayers.getCurrentPlayer()];
-        List<Tiles> floorLine = currentBoard.getFloorLine();
-
         floorLine.add(0, Tiles.START);
+        firstChangedSlot = 0;
       }
 
       Tiles tileType = gameTable.get(tileIndex);
@@ -321,7 +327,8 @@ public class GameClientModel implements Model {
 
       GameTableChangeEvent gameTableChangeEvent = new GameTableChangeEvent();
       notifyListener(gameTableChangeEvent);
-      FloorLineChangeEvent floorLineChangeEvent = new FloorLineChangeEvent();
+      FloorLineChangeEvent floorLineChangeEvent =
+          new FloorLineChangeEvent(gamePlayers.getCurrentPlayer(), firstChangedSlot);
       notifyListener(floorLineChangeEvent);
     }
   }
@@ -415,9 +422,11 @@ public class GameClientModel implements Model {
       return;
     }
     PlayerBoard currentBoard = playerBoards[gamePlayers.getCurrentPlayer()];
+    int firstNewSlot = currentBoard.getFloorLine().size();
     currentBoard.getFloorLine().addAll(currentCollectedTiles);
 
-    FloorLineChangeEvent floorLineChangeEvent = new FloorLineChangeEvent();
+    FloorLineChangeEvent floorLineChangeEvent =
+        new FloorLineChangeEvent(gamePlayers.getCurrentPlayer(), firstNewSlot);
     notifyListener(floorLineChangeEvent);
     clearCurrentCollectedTiles();
 
@@ -500,7 +509,8 @@ public class GameClientModel implements Model {
         for (int index = 0; index < tileCount; index++) {
           patternLines[row][lineLength - (tileCount - index)] = tileType;
         }
-        PatternLinesChangeEvent patternLinesChangeEvent = new PatternLinesChangeEvent();
+        PatternLinesChangeEvent patternLinesChangeEvent =
+            new PatternLinesChangeEvent(gamePlayers.getCurrentPlayer(), row);
         notifyListener(patternLinesChangeEvent);
       }
 
@@ -509,7 +519,8 @@ public class GameClientModel implements Model {
         for (int index = 0; index < lineLength; index++) {
           patternLines[row][index] = tileType;
         }
-        PatternLinesChangeEvent patternLinesChangeEvent = new PatternLinesChangeEvent();
+        PatternLinesChangeEvent patternLinesChangeEvent =
+            new PatternLinesChangeEvent(gamePlayers.getCurrentPlayer(), row);
         notifyListener(patternLinesChangeEvent);
       }
       //deal with excess tiles
@@ -557,7 +568,8 @@ public class GameClientModel implements Model {
         }
         tilesToFloorLine(excessTiles);
       }
-      PatternLinesChangeEvent patternLinesChangeEvent = new PatternLinesChangeEvent();
+      PatternLinesChangeEvent patternLinesChangeEvent =
+          new PatternLinesChangeEvent(gamePlayers.getCurrentPlayer(), row);
       notifyListener(patternLinesChangeEvent);
       clearCurrentCollectedTiles();
     }
@@ -593,9 +605,11 @@ public class GameClientModel implements Model {
   public void tilesToFloorLine(List<Tiles> excessTiles) {
     PlayerBoard currentBoard = playerBoards[gamePlayers.getCurrentPlayer()];
     List<Tiles> floorLine = currentBoard.getFloorLine();
+    int firstNewSlot = floorLine.size();
     floorLine.addAll(excessTiles);
 
-    FloorLineChangeEvent floorLineChangeEvent = new FloorLineChangeEvent();
+    FloorLineChangeEvent floorLineChangeEvent =
+        new FloorLineChangeEvent(gamePlayers.getCurrentPlayer(), firstNewSlot);
     notifyListener(floorLineChangeEvent);
   }
 
@@ -644,8 +658,11 @@ public class GameClientModel implements Model {
           for (int col = 0; col < wall[row].length; col++) {
             if (wall[row][col].getTile() == tileType) {
               wall[row][col].setIsOnWall();
-              allGainPoints.set(boardIndex,
-                  allGainPoints.get(boardIndex) + calculateSingleTileGainPoints(wall, row, col));
+              allGainPoints.set(boardIndex, allGainPoints.get(boardIndex)
+                  + WallMask.gainPoints(WallMask.of(wall), row, col));
+              //notify GUI about the cell of the wall that the tile was moved to
+              WallChangeEvent wallChangeEvent = new WallChangeEvent(boardIndex, row, col);
+              notifyListener(wallChangeEvent);
             }
           }
           //discard remaining tiles and add them to lid
@@ -699,7 +716,7 @@ public class GameClientModel implements Model {
         discardTilesToLid(discardTiles);
         floorLine.removeAll(discardTiles);
         //notify GUI about floor line change
-        FloorLineChangeEvent floorLineChangeEvent = new FloorLineChangeEvent();
+        FloorLineChangeEvent floorLineChangeEvent = new FloorLineChangeEvent(boardIndex, 0);
         notifyListener(floorLineChangeEvent);
       }
     }
@@ -789,150 +806,17 @@ public class GameClientModel implements Model {
   }
 
 
-  /**
-   * Calculate gain points for a single tile.
-   *
-   * @param row of tile row of the tile.
-   * @param column of tile column of the tile.
-   * @return gain points for this tile.
-   */
-  private int calculateSingleTileGainPoints(WallTile[][] wall, int row, int column) {
-    int gainPoints = 0;
-
-    //count the tiles to the left of this tile
-    int tilesOnLeft = 0;
-    for (int columnIndex = column - 1; columnIndex >= 0; columnIndex--) {
-      if (!wall[row][columnIndex].getIsOnWall()) {
-        break;
-      }
-      tilesOnLeft = tilesOnLeft + 1;
-    }
-    //count the tiles to the right of this tile
-    int tilesOnRight = 0;
-    for (int columnIndex = column + 1; columnIndex < 5; columnIndex++) {
-      if (!wall[row][columnIndex].getIsOnWall()) {
-        break;
-      }
-      tilesOnRight = tilesOnRight + 1;
-    }
-
-    //count the tiles above this tile
-    int tilesAbove = 0;
-    for (int rowIndex = row - 1; rowIndex >= 0; rowIndex--) {
-      if (!wall[rowIndex][column].getIsOnWall()) {
-        break;
-      }
-      tilesAbove = tilesAbove + 1;
-    }
-
-    //count the tiles below this tile
-    int tilesBelow = 0;
-    for (int rowIndex = row + 1; rowIndex < 5; rowIndex++) {
-      if (!wall[rowIndex][column].getIsOnWall()) {
-        break;
-      }
-      tilesBelow = tilesBelow + 1;
-    }
-
-    // if there are linked tiles vertically
-    if (tilesAbove + tilesBelow > 0) {
-      gainPoints += 1 + tilesAbove + tilesBelow;
-    }
-
-    // if there are linked tiles horizontally
-    if (tilesOnLeft + tilesOnRight > 0) {
-      gainPoints += 1 + tilesOnRight + tilesOnLeft;
-    }
-
-    // if there are no linked tiles vertically and horizontally
-    if (tilesAbove + tilesBelow + tilesOnLeft + tilesOnRight == 0) {
-      gainPoints = 1;
-    }
-
-    return gainPoints;
-  }
-
-
   /**
    * Scoring after game end.
    */
   private void endGameScoring() {
     for (int boardIndex = 0; boardIndex < totalNumberOfPlayers; boardIndex++) {
       PlayerBoard currentBoard = playerBoards[boardIndex];
-      WallTile[][] wall = currentBoard.getWall();
-      int columnBonus = colBonus(wall);
-      int rowBonus = rowBonus(wall);
-      int colorBonus = colorBonus(wall);
-      scores.set(boardIndex, columnBonus + rowBonus + colorBonus + scores.get(boardIndex));
+      int bonus = WallMask.endGameBonus(WallMask.of(currentBoard.getWall()));
+      scores.set(boardIndex, bonus + scores.get(boardIndex));
     }
   }
 
-  /**
-   * Calculate columns bonus.
-   * Completed columns on the walls: +7 for each column.
-   */
-  private int colBonus(WallTile[][] wall) {
-    int bonus = 0;
-    for (int columnIndex = 0; columnIndex < 5; columnIndex++) {
-      boolean isFull = true;
-      for (int rowIndex = 0; rowIndex < 5; rowIndex++) {
-        if (!wall[rowIndex][columnIndex].getIsOnWall()) {
-          isFull = false;
-          break;
-        }
-      }
-      if (isFull) {
-        bonus += 7;
-      }
-    }
-    return bonus;
-  }
-
-  /**
-   * Calculate rows bonus.
-   * Completed rows on the walls: +2 for each row.
-   */
-  private int rowBonus(WallTile[][] wall) {
-    int bonus = 0;
-    for (int rowIndex = 0; rowIndex < 5; rowIndex++) {
-      boolean isFull = true;
-      for (int columnIndex = 0; columnIndex < 5; columnIndex++) {
-        if (!wall[rowIndex][columnIndex].getIsOnWall()) {
-          isFull = false;
-          break;
-        }
-      }
-      if (isFull) {
-        bonus += 2;
-      }
-    }
-    return bonus;
-  }
-
-  /**
-   * Calculate colors bonus.
-   * Completed colors on the walls: +10 for each color
-   */
-  private int colorBonus(WallTile[][] wall) {
-    int bonus = 0;
-    // check for each color whether there are 5 tiles of the color on the wall
-    for (Tiles tile : Tiles.values()) {
-      int colorCount = 0;
-      for (int rowIndex = 0; rowIndex < 5; rowIndex++) {
-        for (int columnIndex = 0; columnIndex < 5; columnIndex++) {
-          if (wall[rowIndex][columnIndex].getIsOnWall()
-              && wall[rowIndex][columnIndex].getTile() == tile) {
-            colorCount++;
-          }
-        }
-      }
-      if (colorCount == 5) {
-        bonus += bonus;
-      }
-    }
-    return bonus;
-  }
-
   private LinkedHashMap<Integer, Integer> calculateRanking() {
     HashMap<Integer, Integer> playersWithScores = new HashMap<>();
     for (int playerIndex = 0; playerIndex < totalNumberOfPlayers; playerIndex++) {
@@ -1114,6 +998,92 @@ public class GameClientModel implements Model {
     return minus;
   }
 
+  /**
+   * Let a bot play the seat of the given player, or let a human play it again.
+   *
+   * @param player the index of the player.
+   * @param policy the bot that chooses the moves, null if a human plays the seat.
+   */
+  public void setBotPolicy(int player, BotPolicy policy) {
+    if (policy == null) {
+      botPolicies.remove(player);
+    } else {
+      botPolicies.put(player, policy);
+    }
+  }
+
+  /**
+   * Get the bot that plays the seat of the given player.
+   *
+   * @param player the index of the player.
+   * @return the bot, null if a human plays the seat.
+   */
+  public BotPolicy getBotPolicy(int player) {
+    return botPolicies.get(player);
+  }
+
+  /**
+   * Check whether the seat of the current player is played by a bot and the game is not finished.
+   *
+   * @return true if a bot has to make the next move, false if not.
+   */
+  public boolean isBotTurn() {
+    return gamePlayers != null && botPolicies.containsKey(getCurrentPlayer())
+        && !isRoundFinished();
+  }
+
+  @Override
+  public double[] getWinProbabilities() {
+    //the hotseat mode does not estimate the chances to win
+    return null;
+  }
+
+  @Override
+  public boolean isLocalPlayersTurn() {
+    return gamePlayers != null && !botPolicies.containsKey(getCurrentPlayer());
+  }
+
+  @Override
+  public GameState getGameState() {
+    return GameState.of(playerBoards, factoryDisplays.getAllDisplays(), gameTable, scores,
+        getCurrentPlayer());
+  }
+
+  /**
+   * Let the bots make their moves until it is the turn of a human player or the game is finished.
+   */
+  public void playBotTurns() {
+    while (isBotTurn()) {
+      int move = botPolicies.get(getCurrentPlayer()).chooseMove(getGameState());
+      if (move == Move.NONE) {
+        return;
+      }
+      playMove(move);
+    }
+  }
+
+  /**
+   * Collect and place the tiles of a move of the current player.
+   *
+   * @param move the move encoded by {@link Move}.
+   */
+  public void playMove(int move) {
+    if (Move.isFromCenter(move)) {
+      tilesFromTable(Move.tileIndexIn(gameTable, move));
+    } else {
+      int display = Move.source(move);
+      tilesFromDisplay(display,
+          Move.tileIndexIn(factoryDisplays.getAllDisplays().get(display), move));
+    }
+    if (!Move.isToFloor(move)) {
+      placeTilesToPatternLines(Move.target(move));
+    }
+    //place the tiles to the floor line if they could not be placed to the pattern line
+    if (!currentCollectedTiles.isEmpty()) {
+      placeTilesToFloorLine();
+    }
+  }
+
   /**
    * Get the player board of the player.
    *
@@ -1178,26 +1148,9 @@ public class GameClientModel implements Model {
     return gamePlayers;
   }
 
-  /**
-   * Add a {@link PropertyChangeListener} to the model to notify subscribed listener about
-   * any changes that are published by the model.
-   *
-   * @param listener the view that subscribes itself to the model.
-   */
-  public void addPropertyChangeListener(PropertyChangeListener listener) {
-    requireNonNull(listener);
-    support.addPropertyChangeListener(listener);
-  }
-
-  /**
-   * Remove the subscribed listener from the model. The listener will not get notified about
-   * any changes that are published by the model.
-   *
-   * @param listener the view that is to be unsubscribed from the model.
-   */
-  public void removePropertyChangeListener(PropertyChangeListener listener) {
-
-    support.removePropertyChangeListener(listener);
+  @Override
+  public EventBus getEventBus() {
+    return eventBus;
   }
 
   /**
@@ -1208,6 +1161,6 @@ public class GameClientModel implements Model {
    * @param event the event that is fired by the model.
    */
   private void notifyListener(GameEvent event) {
-    support.firePropertyChange(event.getName(), null, event);
+    eventBus.publish(event);
   }
 }
@@ -1,12 +1,13 @@
 package de.lmu.ifi.sosylab.client.model;
 
-import static java.util.Objects.requireNonNull;
-
 import de.lmu.ifi.sosylab.client.ClientNetworkConnection;
 import de.lmu.ifi.sosylab.shared.FactoryDisplay;
 import de.lmu.ifi.sosylab.shared.GamePlayers;
+import de.lmu.ifi.sosylab.shared.PlacementRules;
 import de.lmu.ifi.sosylab.shared.PlayerBoard;
 import de.lmu.ifi.sosylab.shared.Tiles;
+import de.lmu.ifi.sosylab.shared.WallMask;
+import de.lmu.ifi.sosylab.shared.ai.GameState;
 import de.lmu.ifi.sosylab.shared.events.CreateViewEvent;
 import de.lmu.ifi.sosylab.shared.events.FactoryDisplaysChangeEvent;
 import de.lmu.ifi.sosylab.shared.events.FloorLineChangeEvent;
@@ -34,9 +35,6 @@ import de.lmu.ifi.sosylab.shared.events.WallChangeEvent;
 import de.lmu.ifi.sosylab.shared.requests.LoginRequest;
 import de.lmu.ifi.sosylab.shared.requests.PlaceTilesRequest;
 import de.lmu.ifi.sosylab.shared.signals.TilesCollectedSignal;
-import java.awt.Point;
-import java.beans.PropertyChangeListener;
-import java.beans.PropertyChangeSupport;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -44,12 +42,18 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 
 /**
  * The online mode's model. Stores the game's data for the GUI to be accesses at any time.
  * It communicates with the server to get and update changes made to the game.
  *
+ * <p>The game is changed by the event dispatch thread, when this player makes a move, and by the
+ * thread that decodes the messages of the server. All methods that change the game are
+ * synchronized on the model, so that a move of this player and an update of the server are never
+ * applied at the same time.
+ *
  * @see Model
  */
 public class GameClientOnlineModel implements Model {
@@ -65,16 +69,20 @@ public class GameClientOnlineModel implements Model {
   private String roomName;
   private int playerIndex;
   private int currentDisplay;
+  private double[] winProbabilities;
   private List<Tiles> currentCollectedTiles;
   private ClientNetworkConnection connection;
-  private final PropertyChangeSupport support;
+  private final EventBus eventBus;
+  //the own placement that is shown before the server has answered, null if there is none
+  private PredictedPlacement predictedPlacement;
+  private int nextRequestId;
 
   /**
    * Construct for the model for the online mode.
    */
   public GameClientOnlineModel() {
 	usersAndTheirReadinessState = new LinkedHashMap<>();
-	support = new PropertyChangeSupport(this);
+	eventBus = new EventBus();
 
 	try {
 	  connection = new ClientNetworkConnection(this);
@@ -92,18 +100,12 @@ public class GameClientOnlineModel implements Model {
    * @param event the new event
    */
   private void notifyListener(GameEvent event) {
-	support.firePropertyChange(event.getName(), null, event);
+	eventBus.publish(event);
   }
 
   @Override
-  public void addPropertyChangeListener(PropertyChangeListener listener) {
-	requireNonNull(listener);
-	support.addPropertyChangeListener(listener);
-  }
-
-  @Override
-  public void removePropertyChangeListener(PropertyChangeListener listener) {
-	support.removePropertyChangeListener(listener);
+  public EventBus getEventBus() {
+	return eventBus;
   }
 
   /**
@@ -223,18 +225,14 @@ public class GameClientOnlineModel implements Model {
    * Method is called from the ClientServerConnection to actualize the wall without
    * notifying the view.
    *
-   * @param wallsCoordinates the coordinates of the tiles that has to be placed in the wall
-   * @param scores           the new scores
+   * @param updatedWalls the wall masks of the tiles that has to be placed in the walls
+   * @param scores       the new scores
    */
-  public void updateWallsAndScores(ArrayList<ArrayList<Point>> wallsCoordinates,
-								   ArrayList<Integer> scores) {
+  public synchronized void updateWallsAndScores(int[] updatedWalls, ArrayList<Integer> scores) {
 
 	// actualize the walls of all players
-	for (ArrayList<Point> wallCoordinates : wallsCoordinates) {
-	  PlayerBoard playerBoard = playerBoards[wallsCoordinates.indexOf(wallCoordinates)];
-	  for (Point point : wallCoordinates) {
-		playerBoard.getWall()[point.x][point.y].setIsOnWall();
-	  }
+	for (int i = 0; i < updatedWalls.length; i++) {
+	  WallMask.applyTo(playerBoards[i].getWall(), updatedWalls[i]);
 	}
 
 	// actualize the pattern lines of all players
@@ -278,23 +276,35 @@ public class GameClientOnlineModel implements Model {
   /**
    * Signal that this user is ready to play.
    *
-   * @throws IOException if the client/server communication is interrupted
+   * @return a future that fails if the client/server communication is interrupted
    */
-  public void signalReadyToPlay() throws IOException {
+  public synchronized CompletableFuture<Void> signalReadyToPlay() {
 
 	usersAndTheirReadinessState.replace(nickname, true);
-	connection.signalReadyToPlay();
+	return connection.signalReadyToPlay();
+  }
+
+  /**
+   * Signal that the empty seats of the room should be filled with bots and that this user is ready
+   * to play.
+   *
+   * @param playerCount the number of players of the game including the bots.
+   * @return a future that fails if the client/server communication is interrupted
+   */
+  public synchronized CompletableFuture<Void> signalPlayWithBots(int playerCount) {
+	usersAndTheirReadinessState.replace(nickname, true);
+	return connection.signalPlayWithBots(playerCount);
   }
 
   /**
    * Signal that this player is not ready to play.
    *
-   * @throws IOException if the client/server communication is interrupted
+   * @return a future that fails if the client/server communication is interrupted
    */
-  public void signalNotReady() throws IOException {
+  public synchronized CompletableFuture<Void> signalNotReady() {
 
 	usersAndTheirReadinessState.replace(nickname, false);
-	connection.signalNotReadyToPlay();
+	return connection.signalNotReadyToPlay();
 
   }
 
@@ -302,10 +312,10 @@ public class GameClientOnlineModel implements Model {
    * Signal the reply to restart request from another user.
    *
    * @param agree The reply to restart request
-   * @throws IOException if the client/server communication is interrupted
+   * @return a future that fails if the client/server communication is interrupted
    */
-  public void signalReplyToRestartRequest(Boolean agree) throws IOException {
-    connection.sendReplyToRestartRequest(agree);
+  public CompletableFuture<Void> signalReplyToRestartRequest(Boolean agree) {
+    return connection.sendReplyToRestartRequest(agree);
   }
 
   /**
@@ -314,18 +324,21 @@ public class GameClientOnlineModel implements Model {
    * @param tileIndex    the type of the collected tiles
    * @param displayIndex the index of the tile source: -1 for center and 0,...,8 for
    *                     the factory displays
-   * @throws IOException if the client/server communication is interrupted
+   * @return a future that fails if the client/server communication is interrupted
    */
-  public void signalTilesCollected(int displayIndex, int tileIndex) throws IOException {
+  public synchronized CompletableFuture<Void> signalTilesCollected(int displayIndex,
+      int tileIndex) {
 
-	if (thisPlayerHasTurn()) {
+	// the turn is over once the own placement is shown, even if the server has not answered yet
+	if (thisPlayerHasTurn() && predictedPlacement == null) {
 
 	  collectTilesAndInformTheView(displayIndex, tileIndex);
 
 	  TilesCollectedSignal tilesCollectedSignal = new TilesCollectedSignal(tileIndex, displayIndex);
-	  connection.collectTiles(tilesCollectedSignal);
+	  return connection.collectTiles(tilesCollectedSignal);
 
 	}
+	return CompletableFuture.completedFuture(null);
 
   }
 
@@ -334,11 +347,10 @@ public class GameClientOnlineModel implements Model {
    */
   public void restartGame() {
 	// resetResources();
-	try {
-	  connection.restartGame();
-	} catch (IOException e) {
-	  throw new RuntimeException(e);
-	}
+	connection.restartGame().exceptionally(error -> {
+	  error.printStackTrace();
+	  return null;
+	});
   }
 
   // 2. following methods are made to send requests to the server.
@@ -350,30 +362,108 @@ public class GameClientOnlineModel implements Model {
    * @param nickname  the nickname
    * @param roomName  the room name
    * @param ipAddress the ip-addresse
-   * @throws IOException if the client/server communication is interrupted
+   * @return a future that completes when the server has answered, or fails if it cannot be
+   *         reached in time
    */
-  public void requestLogin(String nickname, String roomName, String ipAddress) throws IOException {
+  public CompletableFuture<Void> requestLogin(String nickname, String roomName, String ipAddress) {
 
 	LoginRequest loginRequest = new LoginRequest(nickname, roomName, ipAddress);
-	connection.sendLoginRequest(loginRequest);
-	connection.readEventsFromOtherUsers();
+	return connection.sendLoginRequest(loginRequest)
+		.thenRun(connection::readEventsFromOtherUsers);
   }
 
   /**
    * Send a request to the server to place tiles either in the pattern lines or in the floor line.
    *
+   * <p>The placement is decided with the same rules as on the server and shown at once, without
+   * waiting for the server. It is confirmed when the server answers the request with a valid
+   * move, and rolled back when the server rejects it. A placement that breaks the rules is not
+   * sent at all.
+   *
    * @param rowIndex the index of the destination surface. -1 for floor line and 0,...,4 for
    *                 the pattern-lines-row
-   * @throws IOException if the client/server communication is interrupted
+   * @return a future that fails if the client/server communication is interrupted
+   */
+  public synchronized CompletableFuture<Void> requestPlaceTiles(int rowIndex) {
+    if (!thisPlayerHasTurn() || predictedPlacement != null || currentCollectedTiles.isEmpty()) {
+      return CompletableFuture.completedFuture(null);
+    }
+    PlayerBoard board = playerBoards[currentPlayer];
+    PlacementRules.Placement placement = PlacementRules.resolve(rowIndex, currentCollectedTiles,
+        board.getPatternLines(), board.getWall());
+    if (placement == null) {
+      notifyListener(new PlaceTilesFailEvent());
+      return CompletableFuture.completedFuture(null);
+    }
+
+    int requestId = nextRequestId++;
+    predictedPlacement = new PredictedPlacement(requestId, currentPlayer, placement, board,
+        currentCollectedTiles);
+    informChangeInPatternLines(placement.getPlaceLocation(),
+        new ArrayList<>(placement.getTilesOnPatternLine()),
+        new ArrayList<>(placement.getTilesOnFloorLine()));
+
+    return connection.sendMoveRequest(new PlaceTilesRequest(rowIndex, requestId))
+        .whenComplete((ignored, error) -> {
+          if (error != null) {
+            //the server will never answer, so the tiles go back to the player
+            rollBack(requestId);
+          }
+        });
+  }
+
+  /**
+   * Inform the model that the server accepted a place tiles request of this client. A placement
+   * that is already shown is kept if the server placed the tiles the same way, and replaced by
+   * the placement of the server otherwise.
+   *
+   * @param requestId               the id of the answered request
+   * @param placeLocationIndex      the index of the row: -1 for floor line und 0,...,4 for
+   *                                the rows in pattern lines
+   * @param tilesAddedInPatternLine the list of tiles to be placed in the pattern lines
+   * @param tilesAddedInFloorLine   the list of tiles to be placed in the floor line
    */
-  public void requestPlaceTiles(int rowIndex) throws IOException {
-
-	if (thisPlayerHasTurn()) {
-
-	  PlaceTilesRequest placeTilesRequest = new PlaceTilesRequest(rowIndex);
-	  connection.sendMoveRequest(placeTilesRequest);
-	}
-
+  public synchronized void confirmPlacement(int requestId, int placeLocationIndex,
+                                            ArrayList<Tiles> tilesAddedInPatternLine,
+                                            ArrayList<Tiles> tilesAddedInFloorLine) {
+    PredictedPlacement predicted = predictedPlacement;
+    if (predicted != null && predicted.requestId == requestId) {
+      predictedPlacement = null;
+      if (predicted.placement.getPlaceLocation() == placeLocationIndex
+          && predicted.placement.getTilesOnPatternLine().size() == tilesAddedInPatternLine.size()
+          && predicted.placement.getTilesOnFloorLine().size() == tilesAddedInFloorLine.size()) {
+        return;
+      }
+      restore(predicted);
+    }
+    informChangeInPatternLines(placeLocationIndex, tilesAddedInPatternLine, tilesAddedInFloorLine);
+  }
+
+  private synchronized void rollBack(int requestId) {
+    PredictedPlacement predicted = predictedPlacement;
+    if (predicted != null && predicted.requestId == requestId) {
+      predictedPlacement = null;
+      restore(predicted);
+      notifyListener(new PlaceTilesFailEvent());
+    }
+  }
+
+  /**
+   * Undo a placement that was shown before the server answered, so that the player holds the
+   * collected tiles again.
+   */
+  private void restore(PredictedPlacement predicted) {
+    PlayerBoard board = playerBoards[predicted.player];
+    int row = predicted.placement.getPlaceLocation();
+    if (row != PlacementRules.FLOOR_LINE) {
+      Tiles[] patternLine = board.getPatternLines()[row];
+      System.arraycopy(predicted.patternLine, 0, patternLine, 0, patternLine.length);
+      notifyListener(new PatternLinesChangeEvent(predicted.player, row));
+    }
+    List<Tiles> floorLine = board.getFloorLine();
+    floorLine.subList(predicted.floorLineSize, floorLine.size()).clear();
+    notifyListener(new FloorLineChangeEvent(predicted.player, predicted.floorLineSize));
+    setCurrentCollectedTiles(predicted.collectedTiles);
   }
 
   // 3. following methods are to inform the view about updates/new events in the game
@@ -396,7 +486,7 @@ public class GameClientOnlineModel implements Model {
    * @param usersReady a hash map that contains the list of the logged users and whether they are
    *                   ready for the game or not
    */
-  public void informLoginSuccess(String nickname, String roomName,
+  public synchronized void informLoginSuccess(String nickname, String roomName,
 								 LinkedHashMap<String, Boolean> usersReady) {
 
 	this.nickname = nickname;
@@ -415,7 +505,7 @@ public class GameClientOnlineModel implements Model {
    *
    * @param nickname the nickname of the new logged user
    */
-  public void informUserJoined(String nickname) {
+  public synchronized void informUserJoined(String nickname) {
 
 	usersAndTheirReadinessState.put(nickname, false);
 
@@ -428,7 +518,7 @@ public class GameClientOnlineModel implements Model {
    *
    * @param nickname the nickname of the player that just left
    */
-  public void informUserLeftGame(String nickname) {
+  public synchronized void informUserLeftGame(String nickname) {
 
 	usersAndTheirReadinessState.remove(nickname);
 
@@ -445,7 +535,7 @@ public class GameClientOnlineModel implements Model {
    *
    * @param nickname the nickname of the player that just left
    */
-  public void informUserLeftRoom(String nickname) {
+  public synchronized void informUserLeftRoom(String nickname) {
 
 	usersAndTheirReadinessState.remove(nickname);
 
@@ -469,10 +559,12 @@ public class GameClientOnlineModel implements Model {
    * Inform the view, the current player has changed.
    *
    * @param playerIndex the index of the new current player
+   * @param winProbabilities the estimated chance to win of every player, null if not known
    */
-  public void informTurn(int playerIndex) {
+  public synchronized void informTurn(int playerIndex, double[] winProbabilities) {
 
 	currentPlayer = playerIndex;
+	this.winProbabilities = winProbabilities;
 
 	if (thisPlayerHasTurn()) {
 	  TurnEvent turnEvent = new TurnEvent();
@@ -496,28 +588,32 @@ public class GameClientOnlineModel implements Model {
   /**
    * Inform the view that has benn a change in the center of the play board.
    */
-  public void collectTilesAndInformTheView(int indexOfCollectPlace, int tileIndex) {
+  public synchronized void collectTilesAndInformTheView(int indexOfCollectPlace, int tileIndex) {
 
 	if (indexOfCollectPlace == -1) {
 
+	  // the start player marker may be put in front of the floor line
 	  collectTilesFromTheCenter(tileIndex);
 
 	  // notify the View
 	  GameTableChangeEvent gameTableChangeEvent = new GameTableChangeEvent();
 	  notifyListener(gameTableChangeEvent);
 
-	  FloorLineChangeEvent floorLineChangeEvent = new FloorLineChangeEvent();
+	  FloorLineChangeEvent floorLineChangeEvent = new FloorLineChangeEvent(currentPlayer, 0);
 	  notifyListener(floorLineChangeEvent);
 
 	} else {
 
+	  int firstNewTile = gameTable.size();
 	  collectTilesFromFactoryDisplay(tileIndex, indexOfCollectPlace);
 
 	  // notify the View
-	  GameTableChangeEvent gameTableChangeEvent = new GameTableChangeEvent();
+	  GameTableChangeEvent gameTableChangeEvent = new GameTableChangeEvent(firstNewTile,
+		  indexOfCollectPlace, gameTable.subList(firstNewTile, gameTable.size()));
 	  notifyListener(gameTableChangeEvent);
 
-	  FactoryDisplaysChangeEvent factoryDisplaysChangeEvent = new FactoryDisplaysChangeEvent();
+	  FactoryDisplaysChangeEvent factoryDisplaysChangeEvent =
+		  new FactoryDisplaysChangeEvent(indexOfCollectPlace);
 	  notifyListener(factoryDisplaysChangeEvent);
 
 	}
@@ -532,12 +628,13 @@ public class GameClientOnlineModel implements Model {
    * @param tilesAddedInPatternLine the list of tiles to be placed in the pattern lines
    * @param tilesAddedInFloorLine   the list of tiles to be placed in the floor line
    */
-  public void informChangeInPatternLines(int placeLocationIndex,
+  public synchronized void informChangeInPatternLines(int placeLocationIndex,
 										 ArrayList<Tiles> tilesAddedInPatternLine,
 										 ArrayList<Tiles> tilesAddedInFloorLine) {
 	  currentCollectedTiles.clear();
 	  System.out.println("XXXXXXXXonline model inform change pattern line" + currentCollectedTiles);
 
+	int firstNewSlot = playerBoards[currentPlayer].getFloorLine().size();
 	if (placeLocationIndex == -1) {
 
 	  playerBoards[currentPlayer].placeTilesInFloorLine(tilesAddedInFloorLine);
@@ -548,39 +645,62 @@ public class GameClientOnlineModel implements Model {
 		  tilesAddedInPatternLine);
 	  playerBoards[currentPlayer].placeTilesInFloorLine(tilesAddedInFloorLine);
 
-	  PatternLinesChangeEvent patternLinesChangeEvent = new PatternLinesChangeEvent();
+	  PatternLinesChangeEvent patternLinesChangeEvent =
+		  new PatternLinesChangeEvent(currentPlayer, placeLocationIndex);
 	  notifyListener(patternLinesChangeEvent);
 
 	}
 
-	FloorLineChangeEvent floorLineChangeEvent = new FloorLineChangeEvent();
+	FloorLineChangeEvent floorLineChangeEvent =
+		new FloorLineChangeEvent(currentPlayer, firstNewSlot);
 	notifyListener(floorLineChangeEvent);
 
   }
 
 
   /**
-   * Inform the view that has been a change in the wall.
+   * Inform the view that has been a change in the wall. An event is sent for every cell that a
+   * tile was moved to, so that the view only repaints these cells.
    *
-   * @param wallsCoordinates the coordinates of the tiles that has to be placed in the wall
-   * @param scores           the new scores
+   * @param updatedWalls the wall masks of the tiles that has to be placed in the walls
+   * @param scores       the new scores
    */
-  public void informChangeInWall(ArrayList<ArrayList<Point>> wallsCoordinates,
-								 ArrayList<Integer> scores) {
+  public synchronized void informChangeInWall(int[] updatedWalls, ArrayList<Integer> scores) {
+
+	int[] oldWalls = new int[updatedWalls.length];
+	for (int player = 0; player < updatedWalls.length; player++) {
+	  oldWalls[player] = WallMask.of(playerBoards[player].getWall());
+	}
 
-	updateWallsAndScores(wallsCoordinates, scores);
+	updateWallsAndScores(updatedWalls, scores);
 
-	WallChangeEvent wallChangeEvent = new WallChangeEvent();
-	notifyListener(wallChangeEvent);
+	for (int player = 0; player < updatedWalls.length; player++) {
+	  int newTiles = WallMask.of(playerBoards[player].getWall()) & ~oldWalls[player];
+	  while (newTiles != 0) {
+		int cell = Integer.numberOfTrailingZeros(newTiles);
+		WallChangeEvent wallChangeEvent = new WallChangeEvent(player,
+			cell / WallMask.WALL_SIZE, cell % WallMask.WALL_SIZE);
+		notifyListener(wallChangeEvent);
+		newTiles &= newTiles - 1;
+	  }
+	}
 
   }
 
   /**
-   * Inform the view that the tile can not be placed in the requested place.
+   * Inform the view that the tile can not be placed in the requested place. A placement of the
+   * request that is already shown is rolled back.
+   *
+   * @param requestId the id of the rejected request
    */
-  public void informInvalidMove() {
-	PlaceTilesFailEvent placeTilesFailEvent = new PlaceTilesFailEvent();
-	notifyListener(placeTilesFailEvent);
+  public synchronized void informInvalidMove(int requestId) {
+    PredictedPlacement predicted = predictedPlacement;
+    if (predicted != null && predicted.requestId == requestId) {
+      predictedPlacement = null;
+      restore(predicted);
+    }
+    PlaceTilesFailEvent placeTilesFailEvent = new PlaceTilesFailEvent();
+    notifyListener(placeTilesFailEvent);
   }
 
   /**
@@ -596,7 +716,7 @@ public class GameClientOnlineModel implements Model {
    *
    * @param nickname the nickname of the player
    */
-  public void informUserReady(String nickname) {
+  public synchronized void informUserReady(String nickname) {
 	usersAndTheirReadinessState.replace(nickname, true);
 	UserReadyEvent userReadyEvent = new UserReadyEvent();
 	notifyListener(userReadyEvent);
@@ -607,7 +727,7 @@ public class GameClientOnlineModel implements Model {
    *
    * @param nickname the nickname of the player
    */
-  public void informUserNotReady(String nickname) {
+  public synchronized void informUserNotReady(String nickname) {
 	usersAndTheirReadinessState.replace(nickname, false);
 	UserNotReadyEvent userNotReadyEvent = new UserNotReadyEvent();
 	notifyListener(userNotReadyEvent);
@@ -619,7 +739,7 @@ public class GameClientOnlineModel implements Model {
    * @param currentPlayer   the player that has to play
    * @param factoryDisplays the factory displays
    */
-  public void startGame(int currentPlayer, FactoryDisplay factoryDisplays) {
+  public synchronized void startGame(int currentPlayer, FactoryDisplay factoryDisplays) {
 
 	gamePlayers = new GamePlayers(usersAndTheirReadinessState.size(),
 		new ArrayList<>(usersAndTheirReadinessState.keySet()));
@@ -631,6 +751,7 @@ public class GameClientOnlineModel implements Model {
 	this.currentPlayer = currentPlayer;
 	this.scores = new ArrayList<>(Collections.nCopies(usersAndTheirReadinessState.size(), 0));
 	this.currentCollectedTiles = new ArrayList<>();
+	this.predictedPlacement = null;
 
 	CreateViewEvent createViewEvent = new CreateViewEvent();
 	notifyListener(createViewEvent);
@@ -643,7 +764,8 @@ public class GameClientOnlineModel implements Model {
   /**
    * Inform the view that the next round will start now.
    */
-  public void informStartNextRound(int currentPlayer, FactoryDisplay newFactoryDisplays) {
+  public synchronized void informStartNextRound(int currentPlayer,
+      FactoryDisplay newFactoryDisplays) {
 
 	gameTable.add(0, Tiles.START);
 
@@ -665,7 +787,7 @@ public class GameClientOnlineModel implements Model {
     notifyListener(new RestartRequestRejectedEvent());
   }
 
-  public void informRestartGame(int currentPlayer, FactoryDisplay factoryDisplays) {
+  public synchronized void informRestartGame(int currentPlayer, FactoryDisplay factoryDisplays) {
     gamePlayers = new GamePlayers(usersAndTheirReadinessState.size(),
         new ArrayList<>(usersAndTheirReadinessState.keySet()));
 
@@ -675,6 +797,7 @@ public class GameClientOnlineModel implements Model {
     this.factoryDisplays = factoryDisplays;
     this.currentPlayer = currentPlayer;
     this.scores = new ArrayList<>(Collections.nCopies(usersAndTheirReadinessState.size(), 0));
+    this.predictedPlacement = null;
 
     notifyListener(new RestartEvent());
     notifyListener(new StartGameEvent());
@@ -732,6 +855,22 @@ public class GameClientOnlineModel implements Model {
 	return scores;
   }
 
+  @Override
+  public double[] getWinProbabilities() {
+	return winProbabilities;
+  }
+
+  @Override
+  public boolean isLocalPlayersTurn() {
+	return gamePlayers != null && thisPlayerHasTurn();
+  }
+
+  @Override
+  public synchronized GameState getGameState() {
+	return GameState.of(playerBoards, factoryDisplays.getAllDisplays(), gameTable, scores,
+		currentPlayer);
+  }
+
   /**
    * Get the nickname of this user.
    *
@@ -752,4 +891,27 @@ public class GameClientOnlineModel implements Model {
 	return roomName;
   }
 
+  /**
+   * A placement of this client that is shown before the server has answered, with what is needed
+   * to undo it.
+   */
+  private static final class PredictedPlacement {
+    private final int requestId;
+    private final int player;
+    private final PlacementRules.Placement placement;
+    private final Tiles[] patternLine;
+    private final int floorLineSize;
+    private final List<Tiles> collectedTiles;
+
+    private PredictedPlacement(int requestId, int player, PlacementRules.Placement placement,
+                               PlayerBoard board, List<Tiles> collectedTiles) {
+      this.requestId = requestId;
+      this.player = player;
+      this.placement = placement;
+      this.patternLine = placement.getPlaceLocation() == PlacementRules.FLOOR_LINE
+          ? null : board.getPatternLines()[placement.getPlaceLocation()].clone();
+      this.floorLineSize = board.getFloorLine().size();
+      this.collectedTiles = new ArrayList<>(collectedTiles);
+    }
+  }
 }
@@ -4,7 +4,7 @@ import de.lmu.ifi.sosylab.shared.FactoryDisplay;
 import de.lmu.ifi.sosylab.shared.GamePlayers;
 import de.lmu.ifi.sosylab.shared.PlayerBoard;
 import de.lmu.ifi.sosylab.shared.Tiles;
-import java.beans.PropertyChangeListener;
+import de.lmu.ifi.sosylab.shared.ai.GameState;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -31,25 +31,38 @@ public interface Model {
 
   ArrayList<Integer> getScores();
 
-  void restartGame();
-
-  String getNickname();
+  /**
+   * Get the estimated chances to win of all players.
+   *
+   * @return the chance to win of every player between 0 and 1, null if there is no estimate.
+   */
+  double[] getWinProbabilities();
 
-  String getRoomName();
+  /**
+   * Check whether the next move has to be made by a human player at this client.
+   *
+   * @return true if a local human player has the turn, false if not.
+   */
+  boolean isLocalPlayersTurn();
 
   /**
-   * Add a {@link PropertyChangeListener} to the model to notify subscribed listener about
-   * any changes that are published by the model.
+   * Get a compact copy of the current state of the game for the bots and the hints.
    *
-   * @param listener the view that subscribes itself to the model.
+   * @return the state of the game.
    */
-  void addPropertyChangeListener(PropertyChangeListener listener);
+  GameState getGameState();
+
+  void restartGame();
+
+  String getNickname();
+
+  String getRoomName();
 
   /**
-   * Remove the subscribed listener from the model. The listener will not get notified about
-   * any changes that are published by the model.
+   * Get the bus on which the model publishes its changes. The views subscribe to the events
+   * they need.
    *
-   * @param listener the view that is to be unsubscribed from the model.
+   * @return the event bus of the model.
    */
-  void removePropertyChangeListener(PropertyChangeListener listener);
+  EventBus getEventBus();
 }
@@ -0,0 +1,83 @@
+package de.lmu.ifi.sosylab.client.view;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+import java.util.function.Consumer;
+import javax.swing.JComponent;
+
+/**
+ * The static background of a view, e.g. the outlines of its slots, which does not change during a
+ * game. It is painted once into an image in the format of the screen, and a repaint only copies
+ * that image, so a view just has to draw its tiles on top. The image is painted again when the
+ * size or the background color of the view or the screen it is shown on changes, or when it is
+ * {@link #invalidate() invalidated}.
+ */
+public final class BackgroundLayer {
+
+  private final JComponent owner;
+  private final Consumer<Graphics2D> painter;
+  private BufferedImage image;
+  private GraphicsConfiguration configuration;
+  private Color background;
+
+  /**
+   * Creates the background layer of a view.
+   *
+   * @param owner   the view, which has to be opaque
+   * @param painter paints the static parts of the view on the filled background, with the
+   *                foreground color and font of the view set
+   */
+  public BackgroundLayer(JComponent owner, Consumer<Graphics2D> painter) {
+    this.owner = owner;
+    this.painter = painter;
+  }
+
+  /**
+   * Draws the background filling the whole view, painting it first if it is out of date. Replaces
+   * the call of {@code super.paintComponent(g)}.
+   *
+   * @param g2D the graphics of the view
+   */
+  public void draw(Graphics2D g2D) {
+    int width = owner.getWidth();
+    int height = owner.getHeight();
+    if (width <= 0 || height <= 0) {
+      return;
+    }
+    GraphicsConfiguration current = g2D.getDeviceConfiguration();
+    if (image == null || image.getWidth() != width || image.getHeight() != height
+        || current != configuration || !owner.getBackground().equals(background)) {
+      render(g2D, width, height, current);
+    }
+    g2D.drawImage(image, 0, 0, null);
+  }
+
+  /**
+   * Makes the next {@link #draw(Graphics2D)} paint the background again, e.g. when the tile size
+   * changed.
+   */
+  public void invalidate() {
+    image = null;
+  }
+
+  private void render(Graphics2D g2D, int width, int height, GraphicsConfiguration current) {
+    configuration = current;
+    background = owner.getBackground();
+    image = current == null
+        ? new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB)
+        : current.createCompatibleImage(width, height, Transparency.OPAQUE);
+
+    Graphics2D g2 = image.createGraphics();
+    //the same hints as on screen, so that e.g. labels look the same as if painted directly
+    g2.setRenderingHints(g2D.getRenderingHints());
+    g2.setColor(background);
+    g2.fillRect(0, 0, width, height);
+    g2.setColor(owner.getForeground());
+    g2.setFont(owner.getFont());
+    painter.accept(g2);
+    g2.dispose();
+  }
+}
@@ -1,8 +1,11 @@
 package de.lmu.ifi.sosylab.client.view;
 
+import de.lmu.ifi.sosylab.client.controller.BotDifficulty;
+import de.lmu.ifi.sosylab.client.controller.BotMoveWorker;
 import de.lmu.ifi.sosylab.client.controller.Controller;
 import de.lmu.ifi.sosylab.client.controller.GameController;
 import de.lmu.ifi.sosylab.client.controller.GameControllerOnline;
+import de.lmu.ifi.sosylab.client.model.EventBus;
 import de.lmu.ifi.sosylab.client.model.GameClientModel;
 import de.lmu.ifi.sosylab.client.model.GameClientOnlineModel;
 import de.lmu.ifi.sosylab.client.model.Model;
@@ -10,19 +13,18 @@ import de.lmu.ifi.sosylab.shared.events.LoginEvent;
 import de.lmu.ifi.sosylab.shared.events.LoginFailedEvent;
 import java.awt.CardLayout;
 import java.awt.Color;
-import java.beans.PropertyChangeEvent;
-import java.beans.PropertyChangeListener;
 import java.util.ArrayList;
 import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import javax.swing.JFrame;
 import javax.swing.JOptionPane;
 import javax.swing.JPanel;
-import javax.swing.SwingUtilities;
 
 /**
  * The game's main frame that contains and controls all sub panels.
  */
-public class GameFrame extends JFrame implements PropertyChangeListener {
+public class GameFrame extends JFrame {
 
   private static final String AZUL_TITLE = "Azul";
   private static final String GAMEMODE_SELECTION_CARD = "gamemodeSelection";
@@ -38,6 +40,7 @@ public class GameFrame extends JFrame implements PropertyChangeListener {
   GamePanel gamePanel;
   WaitingRoomPanel waitingRoomPanel;
   GameEndPanel gameEndPanel;
+  final TileAnimator tileAnimator;
   private Model model;
   private Controller controller;
 
@@ -52,7 +55,11 @@ public class GameFrame extends JFrame implements PropertyChangeListener {
     setBackground(Color.LIGHT_GRAY);
 
     layout = new CardLayout();
+    tileAnimator = new TileAnimator();
+    setGlassPane(tileAnimator);
 
+    //the tiles are decoded while the player chooses a mode, so the first game shows at once
+    TileAtlas.preload();
     createView();
   }
 
@@ -76,21 +83,28 @@ public class GameFrame extends JFrame implements PropertyChangeListener {
    *
    * @param playerCount the number of players the game should be started with
    * @param usernames   the player's chosen names
+   * @param botSeats    whether the seat of each player is played by a bot
+   * @param difficulty  the strength of the bots
    */
-  public void handleHotseatStartEvent(int playerCount, ArrayList<String> usernames) {
+  public void handleHotseatStartEvent(int playerCount, ArrayList<String> usernames,
+                                      List<Boolean> botSeats, BotDifficulty difficulty) {
     GameClientModel model = new GameClientModel();
-    GameController controller = new GameController(model);
+    GameController controller = new GameController(model, new BotMoveWorker(model));
+    for (int player = 0; player < playerCount; player++) {
+      if (botSeats.get(player)) {
+        controller.setBotPolicy(player, difficulty.createBot());
+      }
+    }
     this.model = model;
     this.controller = controller;
 
     // Remove the old game if there is one
     if (gamePanel != null) {
-      model.removePropertyChangeListener(gamePanel);
       remove(gamePanel);
     }
 
     gamePanel = new GamePanel(model, controller, this);
-    model.addPropertyChangeListener(gamePanel);
+    gamePanel.subscribeTo(model.getEventBus());
 
     controller.startGame(playerCount, usernames);
 
@@ -106,8 +120,10 @@ public class GameFrame extends JFrame implements PropertyChangeListener {
    * @param username the player's chosen username
    * @param roomName the name of the room the player wants to connect to
    * @param address  the server-address the user wants to connect to
+   * @return a future that completes when the server has answered or the login failed
    */
-  public void handleOnlinePlayClickEvent(String username, String roomName, String address) {
+  public CompletableFuture<Void> handleOnlinePlayClickEvent(String username, String roomName,
+                                                            String address) {
     final GameClientOnlineModel model = new GameClientOnlineModel();
     final GameControllerOnline controller = new GameControllerOnline(model);
     this.model = model;
@@ -116,30 +132,26 @@ public class GameFrame extends JFrame implements PropertyChangeListener {
 
 
     if (waitingRoomPanel != null) {
-      model.removePropertyChangeListener(waitingRoomPanel);
       remove(waitingRoomPanel);
     }
 
 
     waitingRoomPanel = new WaitingRoomPanel(this, model, controller);
     add(waitingRoomPanel, WAITING_ROOM_CARD);
-    model.addPropertyChangeListener(waitingRoomPanel);
-    model.addPropertyChangeListener(this);
+    waitingRoomPanel.subscribeTo(model.getEventBus());
+    subscribeTo(model.getEventBus());
 
-    controller.login(username, roomName, address);
-    waitingRoomPanel.setRoomName(model.getRoomName());
+    //the login runs in the background, the waiting-room is shown when it succeeded
+    CompletableFuture<Void> login = controller.login(username, roomName, address);
 
     if (this.gamePanel != null) {
-      model.removePropertyChangeListener(gamePanel);
       remove(gamePanel);
     }
 
     gamePanel = new GamePanel(model, controller, this);
-    model.addPropertyChangeListener(gamePanel);
+    gamePanel.subscribeTo(model.getEventBus());
     add(gamePanel, GAME_CARD);
-
-
-
+    return login;
   }
 
   /**
@@ -208,9 +220,9 @@ public class GameFrame extends JFrame implements PropertyChangeListener {
     super.dispose();
 
     if (model != null) {
-      model.removePropertyChangeListener(gamePanel);
-      model.removePropertyChangeListener(waitingRoomPanel);
-      model.removePropertyChangeListener(this);
+      model.getEventBus().unsubscribe(gamePanel);
+      model.getEventBus().unsubscribe(waitingRoomPanel);
+      model.getEventBus().unsubscribe(this);
     }
 
     if (controller != null) {
@@ -223,20 +235,15 @@ public class GameFrame extends JFrame implements PropertyChangeListener {
   }
 
   /**
-   * Updates the GUI when a user's ready-state has changed.
+   * Shows the waiting-room after the login, or an error if the login failed.
    */
-  @Override
-  public void propertyChange(PropertyChangeEvent event) {
-    SwingUtilities.invokeLater(() -> handleChangeEvent(event));
-  }
-
-  private void handleChangeEvent(PropertyChangeEvent event) {
-    Object newValue = event.getNewValue();
-    if (newValue instanceof LoginEvent) {
+  private void subscribeTo(EventBus eventBus) {
+    eventBus.subscribe(this, LoginEvent.class, event -> {
+      waitingRoomPanel.setRoomName(model.getRoomName());
       showWaitingRoomCard();
-    } else if (newValue instanceof LoginFailedEvent loginFailedEvent) {
-      showErrorMessage(loginFailedEvent.getCause());
-    }
+    });
+    eventBus.subscribe(this, LoginFailedEvent.class,
+        event -> showErrorMessage(event.getCause()));
   }
 
   private void showErrorMessage(String message) {
@@ -1,14 +1,18 @@
 package de.lmu.ifi.sosylab.client.view;
 
 import de.lmu.ifi.sosylab.client.controller.Controller;
+import de.lmu.ifi.sosylab.client.model.EventBus;
 import de.lmu.ifi.sosylab.client.model.Model;
 import de.lmu.ifi.sosylab.client.view.playboard.FactoryDisplayView;
 import de.lmu.ifi.sosylab.client.view.playboard.PlayerBoardView;
 import de.lmu.ifi.sosylab.shared.PlayerBoard;
+import de.lmu.ifi.sosylab.shared.Tiles;
 import de.lmu.ifi.sosylab.shared.events.FactoryDisplaysChangeEvent;
 import de.lmu.ifi.sosylab.shared.events.FloorLineChangeEvent;
 import de.lmu.ifi.sosylab.shared.events.GameEndEvent;
+import de.lmu.ifi.sosylab.shared.events.GameEvent;
 import de.lmu.ifi.sosylab.shared.events.GameTableChangeEvent;
+import de.lmu.ifi.sosylab.shared.events.IsNotYourTurnEvent;
 import de.lmu.ifi.sosylab.shared.events.PatternLinesChangeEvent;
 import de.lmu.ifi.sosylab.shared.events.PlaceTilesFailEvent;
 import de.lmu.ifi.sosylab.shared.events.PlayerTurnFinishedEvent;
@@ -24,20 +28,19 @@ import java.awt.FlowLayout;
 import java.awt.GridBagConstraints;
 import java.awt.GridBagLayout;
 import java.awt.Insets;
-import java.beans.PropertyChangeEvent;
-import java.beans.PropertyChangeListener;
+import java.awt.Point;
 import java.util.ArrayList;
+import java.util.List;
 import javax.swing.JButton;
 import javax.swing.JLabel;
 import javax.swing.JOptionPane;
 import javax.swing.JPanel;
-import javax.swing.SwingUtilities;
 
 /**
  * Displays the game containing {@link FactoryDisplayView}s, {@link PlayerBoardView}s and the
  * {@link GameTable}.
  */
-public class GamePanel extends JPanel implements PropertyChangeListener {
+public class GamePanel extends JPanel {
 
   private static final int TILE_SIZE = 15;
   private static final String ERROR_TITLE = "Error";
@@ -56,11 +59,11 @@ public class GamePanel extends JPanel implements PropertyChangeListener {
   private final ArrayList<FactoryDisplayView> factoryDisplayViews;
   private final ArrayList<PlayerBoardView> playerBoardViews;
   private int factoryDisplayCount;
-  private int activePlayer;
   private JLabel infoLabel;
   private JButton stopButton;
   private JButton restartButton;
   private GameTable gameTable;
+  private HintPanel hintPanel;
 
   /**
    * Constructs the GamePanel.
@@ -99,6 +102,7 @@ public class GamePanel extends JPanel implements PropertyChangeListener {
 
     infoLabel = new JLabel();
     infoLabel.setForeground(Color.WHITE);
+    hintPanel = new HintPanel();
     updateActivePlayerBoardView();
   }
 
@@ -210,6 +214,7 @@ public class GamePanel extends JPanel implements PropertyChangeListener {
 
     gbc.anchor = GridBagConstraints.WEST;
     bottomPanel.add(infoLabel, gbc);
+    bottomPanel.add(hintPanel, gbc);
 
     gbc.anchor = GridBagConstraints.EAST;
     gbc.weightx = 0;
@@ -221,11 +226,15 @@ public class GamePanel extends JPanel implements PropertyChangeListener {
 
   private void addEventListeners() {
     stopButton.addActionListener(e -> {
+      hintPanel.cancelHint();
+      gameFrame.tileAnimator.finishAll();
       controller.stopGame();
       gameFrame.showGamemodeSelectionCard();
     });
 
     restartButton.addActionListener(e -> {
+      hintPanel.cancelHint();
+      gameFrame.tileAnimator.finishAll();
       controller.restart();
 
       updateActivePlayerBoardView();
@@ -234,6 +243,17 @@ public class GamePanel extends JPanel implements PropertyChangeListener {
     });
   }
 
+  /**
+   * Start the search of a hint if a player at this client has the turn.
+   */
+  private void updateHint() {
+    if (model.isLocalPlayersTurn()) {
+      hintPanel.startHint(model.getGameState());
+    } else {
+      hintPanel.cancelHint();
+    }
+  }
+
   private void resetAllSources() {
     gameTable.setSource(model.getGameTable());
 
@@ -251,75 +271,146 @@ public class GamePanel extends JPanel implements PropertyChangeListener {
     }
   }
 
-  @Override
-  public void propertyChange(PropertyChangeEvent event) {
-    SwingUtilities.invokeLater(() -> handleChangeEvent(event));
-  }
-
   /**
-   * The observable (= model) has just published that its state has changed. The GUI needs to be
-   * updated accordingly.
+   * Subscribes the panel to the events of the model that change the game. The model publishes
+   * them when its state has changed, and the GUI is updated accordingly.
    *
-   * @param event the event that was fired by the model
+   * @param eventBus the event bus of the model
    */
-  private void handleChangeEvent(PropertyChangeEvent event) {
-    int playerId = model.getCurrentPlayer();
-
-    Object newValue = event.getNewValue();
-    if (newValue instanceof FloorLineChangeEvent) {
-      playerBoardViews.get(activePlayer).getFloorLine().repaint();
-    } else if (newValue instanceof GameTableChangeEvent) {
-      activePlayer = playerId;
-      gameTable.repaint();
-    } else if (newValue instanceof PatternLinesChangeEvent) {
-      playerBoardViews.get(activePlayer).getPatternLines().repaint();
-    } else if (newValue instanceof PlaceTilesFailEvent) {
-      showErrorMessage();
-    } else if (newValue instanceof WallChangeEvent) {
-      playerBoardViews.get(playerId).getWall().repaint();
-    } else if (newValue instanceof StartNextRoundEvent) {
+  void subscribeTo(EventBus eventBus) {
+    //only the cells named by an event are repainted
+    eventBus.subscribe(this, FloorLineChangeEvent.class, event -> {
+      for (PlayerBoardView playerBoardView : getChangedBoards(event.getPlayer())) {
+        playerBoardView.getFloorLine().repaintSlots(event.getFirstSlot());
+      }
+    });
+    eventBus.subscribe(this, GameTableChangeEvent.class, event -> {
+      //the player has started a move, the hint is outdated
+      hintPanel.cancelHint();
+      if (event.getAddedTiles().isEmpty()) {
+        gameTable.repaintTiles(event.getFirstIndex());
+      } else {
+        moveRemainingTilesToTable(event);
+      }
+    });
+    eventBus.subscribe(this, FactoryDisplaysChangeEvent.class, event -> {
+      hintPanel.cancelHint();
+      repaintFactoryDisplays(event);
+    });
+    eventBus.subscribe(this, PatternLinesChangeEvent.class, this::repaintPatternLines);
+    eventBus.subscribe(this, WallChangeEvent.class, this::repaintWalls);
+    eventBus.subscribe(this, PlaceTilesFailEvent.class, event -> showErrorMessage());
+    eventBus.subscribe(this, StartNextRoundEvent.class, event -> {
       repaintEverything();
       updateActivePlayerBoardView();
-
-      String nextPlayerName = model.getGamePlayers().getUsernames().get(playerId);
-      String message = nextPlayerName + ", it's your turn now!";
-      infoLabel.setText(message);
-      showPlainMessage(TURN_END_TITLE, message);
-    } else if (newValue instanceof StartGameEvent) {
-      String startPlayerName = model.getGamePlayers().getUsernames().get(playerId);
+      updateHint();
+      announceTurn(true);
+    });
+    eventBus.subscribe(this, StartGameEvent.class, event -> {
+      String startPlayerName =
+          model.getGamePlayers().getUsernames().get(model.getCurrentPlayer());
       infoLabel.setText(startPlayerName + ", you were chosen to start the game, congratulations!");
+      updateHint();
       showPlainMessage(GAME_START_TITLE,
           startPlayerName + ", you were chosen to start the game, congratulations!");
-    } else if (newValue instanceof PlayerTurnFinishedEvent) {
+    });
+    eventBus.subscribe(this, PlayerTurnFinishedEvent.class, event -> {
+      updateActivePlayerBoardView();
+      updateHint();
+      announceTurn(true);
+    });
+    eventBus.subscribe(this, TurnEvent.class, event -> {
       updateActivePlayerBoardView();
+      updateScores();
+      updateHint();
+      announceTurn(false);
+    });
+    eventBus.subscribe(this, IsNotYourTurnEvent.class, event -> {
+      //the turn message carries the latest chances to win
+      updateScores();
+      hintPanel.cancelHint();
+    });
+    eventBus.subscribe(this, GameEndEvent.class, event -> {
+      hintPanel.cancelHint();
+      gameFrame.showEndCard(event.getRanking());
+    });
+    eventBus.subscribe(this, RestartRequestEvent.class, event -> {
+      System.out.println("RestartRequestEvent received");
+      showRequestRestart();
+    });
+    eventBus.subscribe(this, UserLeftGameEvent.class, event -> {
+      hintPanel.cancelHint();
+      JOptionPane.showMessageDialog(this, USER_LEFT_MESSAGE);
+      gameFrame.waitingRoomPanel.resetReadyState();
+      gameFrame.showWaitingRoomCard();
+    });
+  }
 
-      String nextPlayerName = model.getGamePlayers().getUsernames().get(playerId);
-      String message = nextPlayerName + ", it's your turn now!";
-      infoLabel.setText(message);
+  private void announceTurn(boolean showDialog) {
+    String nextPlayerName = model.getGamePlayers().getUsernames().get(model.getCurrentPlayer());
+    String message = nextPlayerName + ", it's your turn now!";
+    infoLabel.setText(message);
+    if (showDialog) {
       showPlainMessage(TURN_END_TITLE, message);
-    } else if (newValue instanceof TurnEvent) {
-      updateActivePlayerBoardView();
+    }
+  }
 
-      String nextPlayerName = model.getGamePlayers().getUsernames().get(playerId);
-      String message = nextPlayerName + ", it's your turn now!";
-      infoLabel.setText(message);
-    } else if (newValue instanceof FactoryDisplaysChangeEvent) {
+  /**
+   * Lets the tiles that remained on the chosen factory display fly to the center of the table.
+   * They are shown on the table once they have arrived. The display and the tiles are taken from
+   * the event, because the model may have changed again before the event is delivered.
+   */
+  private void moveRemainingTilesToTable(GameTableChangeEvent event) {
+    int firstIndex = event.getFirstIndex();
+    int display = event.getSourceDisplay();
+    if (display < 0 || display >= factoryDisplayViews.size()) {
+      gameTable.repaintTiles(firstIndex);
+      return;
+    }
+    FactoryDisplayView source = factoryDisplayViews.get(display);
+    Point center = new Point((source.getWidth() - TILE_SIZE) / 2,
+        (source.getHeight() - TILE_SIZE) / 2);
+    List<Tiles> tiles = event.getAddedTiles();
+    for (int i = 0; i < tiles.size(); i++) {
+      gameFrame.tileAnimator.fly(tiles.get(i), TILE_SIZE, source, center, gameTable,
+          gameTable.getTilePosition(firstIndex + i), () -> gameTable.repaintTiles(firstIndex));
+    }
+  }
 
+  private void repaintFactoryDisplays(FactoryDisplaysChangeEvent event) {
+    if (event.getDisplay() == GameEvent.ALL) {
       for (FactoryDisplayView factoryDisplayView : factoryDisplayViews) {
         factoryDisplayView.repaint();
       }
+    } else {
+      factoryDisplayViews.get(event.getDisplay()).repaint();
+    }
+  }
 
-      factoryDisplayViews.get(model.getCurrentDisplay()).repaint();
-      gameTable.repaint();
-    } else if (newValue instanceof GameEndEvent gameEndEvent) {
-      gameFrame.showEndCard(gameEndEvent.getRanking());
-    } else if (newValue instanceof RestartRequestEvent) {
-      System.out.println("RestartRequestEvent received");
-      showRequestRestart();
-    } else if (newValue instanceof UserLeftGameEvent) {
-      JOptionPane.showMessageDialog(this, USER_LEFT_MESSAGE);
-      gameFrame.waitingRoomPanel.resetReadyState();
-      gameFrame.showWaitingRoomCard();
+  private List<PlayerBoardView> getChangedBoards(int player) {
+    if (player == GameEvent.ALL) {
+      return playerBoardViews;
+    }
+    return List.of(playerBoardViews.get(player));
+  }
+
+  private void repaintPatternLines(PatternLinesChangeEvent event) {
+    for (PlayerBoardView playerBoardView : getChangedBoards(event.getPlayer())) {
+      if (event.getRow() == GameEvent.ALL) {
+        playerBoardView.getPatternLines().repaint();
+      } else {
+        playerBoardView.getPatternLines().repaintRow(event.getRow());
+      }
+    }
+  }
+
+  private void repaintWalls(WallChangeEvent event) {
+    for (PlayerBoardView playerBoardView : getChangedBoards(event.getPlayer())) {
+      if (event.getRow() == GameEvent.ALL || event.getColumn() == GameEvent.ALL) {
+        playerBoardView.getWall().repaint();
+      } else {
+        playerBoardView.getWall().repaintTile(event.getRow(), event.getColumn());
+      }
     }
   }
 
@@ -344,6 +435,12 @@ public class GamePanel extends JPanel implements PropertyChangeListener {
     }
   }
 
+  private void updateScores() {
+    for (PlayerBoardView playerBoardView : playerBoardViews) {
+      playerBoardView.updateScore();
+    }
+  }
+
   private void repaintEverything() {
     gameTable.repaint();
 
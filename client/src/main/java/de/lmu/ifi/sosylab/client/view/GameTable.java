@@ -14,9 +14,7 @@ import java.awt.Graphics2D;
 import java.awt.Point;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
-import java.awt.image.BufferedImage;
 import java.util.List;
-import java.util.Optional;
 import javax.swing.JPanel;
 
 
@@ -24,7 +22,6 @@ import javax.swing.JPanel;
  * Displays Azul's "center of the table"-element, containing tiles that are not chosen by a player.
  */
 public class GameTable extends JPanel {
-  private static final float OPAQUE = 1;
   private static final int MAX_NUMBER_OF_ROWS = 5;
   private static final int MAX_NUMBER_OF_COLUMNS = 6;
   private final int outerBorderSize;
@@ -65,19 +62,24 @@ public class GameTable extends JPanel {
     setBackground(Color.DARK_GRAY);
 
     for (int i = 0; i < gameTable.size(); i++) {
-      String imagePath = ViewUtils.getFilePath(gameTable.get(i));
-      Optional<BufferedImage> image = ViewUtils.loadBufferedImage(imagePath, tileSize, tileSize,
-          OPAQUE);
-      if (image.isPresent()) {
-        g2D.drawImage(image.get(),
-            outerBorderSize + (i % MAX_NUMBER_OF_COLUMNS) * innerBorderSize
-                + (i % MAX_NUMBER_OF_COLUMNS) * tileSize,
-            outerBorderSize + (i / MAX_NUMBER_OF_COLUMNS) * innerBorderSize
-                + (i / MAX_NUMBER_OF_COLUMNS) * tileSize, null);
-      }
+      Point posTile = getTilePosition(i);
+      TileAtlas.drawTile(g2D, tileSize, gameTable.get(i), TileAtlas.OPAQUE, posTile.x,
+          posTile.y);
     }
   }
 
+  /**
+   * Returns the top left corner of a tile of the table.
+   *
+   * @param index the index of the tile
+   * @return the position of the tile in this view
+   */
+  public Point getTilePosition(int index) {
+    return new Point(
+        outerBorderSize + (index % MAX_NUMBER_OF_COLUMNS) * (innerBorderSize + tileSize),
+        outerBorderSize + (index / MAX_NUMBER_OF_COLUMNS) * (innerBorderSize + tileSize));
+  }
+
   private void configureActionListener() {
     addMouseListener(new MouseAdapter() {
       @Override
@@ -91,11 +93,7 @@ public class GameTable extends JPanel {
         Point clickedPoint = e.getPoint();
 
         for (int i = 0; i < gameTable.size(); i++) {
-          Point posTile = new Point();
-          posTile.x = outerBorderSize + (i % MAX_NUMBER_OF_COLUMNS) * innerBorderSize
-              + (i % MAX_NUMBER_OF_COLUMNS) * tileSize;
-          posTile.y = outerBorderSize + (i / MAX_NUMBER_OF_COLUMNS) * innerBorderSize
-              + (i / MAX_NUMBER_OF_COLUMNS) * tileSize;
+          Point posTile = getTilePosition(i);
 
           if (isPointInSquare(clickedPoint, posTile, tileSize)) {
             if (gameTable.get(i) != Tiles.START) {
@@ -107,6 +105,17 @@ public class GameTable extends JPanel {
     });
   }
 
+  /**
+   * Repaints the tiles from an index on, i.e. the rows of the table that contain them.
+   *
+   * @param firstIndex the index of the first changed tile
+   */
+  public void repaintTiles(int firstIndex) {
+    int row = firstIndex / MAX_NUMBER_OF_COLUMNS;
+    int y = outerBorderSize + row * (innerBorderSize + tileSize);
+    repaint(0, y, getWidth(), getHeight() - y);
+  }
+
   public void setSource(List<Tiles> gameTable) {
     this.gameTable = gameTable;
   }
@@ -0,0 +1,121 @@
+package de.lmu.ifi.sosylab.client.view;
+
+import de.lmu.ifi.sosylab.shared.Tiles;
+import de.lmu.ifi.sosylab.shared.ai.EndOfRoundSolver;
+import de.lmu.ifi.sosylab.shared.ai.GameState;
+import de.lmu.ifi.sosylab.shared.ai.Move;
+import de.lmu.ifi.sosylab.shared.ai.SolverResult;
+import de.lmu.ifi.sosylab.shared.ai.TranspositionTable;
+import java.awt.Color;
+import java.awt.FlowLayout;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.swing.JLabel;
+import javax.swing.JPanel;
+import javax.swing.SwingUtilities;
+
+/**
+ * Suggests a move to the player who has the turn. The {@link EndOfRoundSolver} searches on a
+ * background thread with iterative deepening, and every completed iteration updates the hint on
+ * the event dispatch thread. The search is cancelled as soon as the player starts a move.
+ */
+public class HintPanel extends JPanel {
+  private static final long NODE_BUDGET = 50_000_000L;
+  private static final int TABLE_MEGABYTES = 16;
+  private static final String SEARCHING = "Hint: thinking...";
+
+  //a single thread with low priority, so the search never competes with the painting
+  private static final ExecutorService SEARCH_EXECUTOR = Executors.newSingleThreadExecutor(
+      runnable -> {
+        Thread thread = new Thread(runnable, "hint-search");
+        thread.setDaemon(true);
+        thread.setPriority(Thread.MIN_PRIORITY);
+        return thread;
+      });
+
+  private final EndOfRoundSolver solver;
+  private final JLabel hintLabel;
+  //incremented for every search, results of older searches are dropped
+  private final AtomicInteger generation;
+  private Future<?> search;
+
+  /**
+   * Constructs the HintPanel.
+   */
+  HintPanel() {
+    super(new FlowLayout(FlowLayout.LEFT));
+    setBackground(Color.DARK_GRAY);
+    solver = new EndOfRoundSolver(NODE_BUDGET, TranspositionTable.ofMegabytes(TABLE_MEGABYTES));
+    hintLabel = new JLabel();
+    hintLabel.setForeground(Color.LIGHT_GRAY);
+    add(hintLabel);
+    generation = new AtomicInteger();
+  }
+
+  /**
+   * Start the search of a hint for the current player and cancel the previous search. Must be
+   * called on the event dispatch thread.
+   *
+   * @param state the state of the game at the beginning of the turn.
+   */
+  public void startHint(GameState state) {
+    cancelHint();
+    int searchGeneration = generation.get();
+    hintLabel.setText(SEARCHING);
+    search = SEARCH_EXECUTOR.submit(() -> {
+      if (generation.get() != searchGeneration) {
+        return;
+      }
+      SolverResult result = solver.solve(state,
+          iteration -> publish(state, iteration, searchGeneration));
+      publish(state, result, searchGeneration);
+    });
+  }
+
+  /**
+   * Cancel the running search and remove the hint. Must be called on the event dispatch thread.
+   */
+  public void cancelHint() {
+    generation.incrementAndGet();
+    solver.cancel();
+    if (search != null) {
+      search.cancel(false);
+      search = null;
+    }
+    hintLabel.setText("");
+  }
+
+  private void publish(GameState state, SolverResult result, int searchGeneration) {
+    if (generation.get() != searchGeneration) {
+      //stop the search in case it was cancelled before the solver started
+      solver.cancel();
+      return;
+    }
+    String hint = describe(state, result);
+    SwingUtilities.invokeLater(() -> {
+      if (generation.get() == searchGeneration) {
+        hintLabel.setText(hint);
+      }
+    });
+  }
+
+  private static String describe(GameState state, SolverResult result) {
+    int move = result.getBestMove();
+    if (move == Move.NONE) {
+      return "";
+    }
+    int tileCount = state.getTiles(Move.source(move), Move.color(move));
+    String color = Tiles.values()[Move.color(move)].name().toLowerCase(Locale.ROOT);
+    String source = Move.isFromCenter(move) ? "the middle of the table"
+        : "factory display " + (Move.source(move) + 1);
+    String target = Move.isToFloor(move) ? "the floor line"
+        : "pattern line " + (Move.target(move) + 1);
+    String quality = result.isExact() ? "best move of the round"
+        : "searched " + result.getDepth() + " moves ahead";
+    return String.format(Locale.ROOT, "Hint: take %d %s from %s to %s (%s)", tileCount, color,
+        source, target, quality);
+  }
+}
@@ -1,5 +1,6 @@
 package de.lmu.ifi.sosylab.client.view;
 
+import de.lmu.ifi.sosylab.client.controller.BotDifficulty;
 import java.awt.BorderLayout;
 import java.awt.FlowLayout;
 import java.awt.GridBagConstraints;
@@ -8,8 +9,11 @@ import java.awt.Insets;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 import javax.swing.JButton;
+import javax.swing.JCheckBox;
+import javax.swing.JComboBox;
 import javax.swing.JLabel;
 import javax.swing.JPanel;
 import javax.swing.JTextField;
@@ -20,6 +24,7 @@ import javax.swing.event.DocumentListener;
  * For each user a text-field with a label is present to enter his name.
  * Up to four players can be added by clicking the corresponding button.
  * Similarly, user can be removed as long as there are at least two players remaining.
+ * Each player can be played by an AI, whose strength is chosen for all AI players.
  * Furthermore a "start"- and a "back-" button are present.
  */
 public class HotseatStartPanel extends JPanel {
@@ -36,11 +41,17 @@ public class HotseatStartPanel extends JPanel {
   private static final String USERNAME_4 = "Username Player 4";
   private static final String ADD_USER = "+";
   private static final String REMOVE_USER = "-";
+  private static final String AI = "AI";
+  private static final String BOT_NAME = "Bot ";
+  private static final String DIFFICULTY = "AI strength";
   private static final String PLAY = "PLAY";
   private static final String BACK = "back";
   private JLabel titleLabel;
   private ArrayList<JLabel> usernameLabels;
   private ArrayList<JTextField> userTextFields;
+  private ArrayList<JCheckBox> botCheckBoxes;
+  private JLabel difficultyLabel;
+  private JComboBox<BotDifficulty> difficultyBox;
   private JButton addUserButton;
   private JButton removeUserButton;
   private JButton playButton;
@@ -70,6 +81,7 @@ public class HotseatStartPanel extends JPanel {
     ArrayList<String> usernameLabelText = new ArrayList<>();
     usernameLabels = new ArrayList<>();
     userTextFields = new ArrayList<>();
+    botCheckBoxes = new ArrayList<>();
 
     usernameLabelText.add(USERNAME_1);
     usernameLabelText.add(USERNAME_2);
@@ -81,8 +93,15 @@ public class HotseatStartPanel extends JPanel {
     for (String username : usernameLabelText) {
       usernameLabels.add(new JLabel(username));
       userTextFields.add(new JTextField(TEXTFIELD_COLUMNS));
+      JCheckBox botCheckBox = new JCheckBox(AI);
+      botCheckBox.setBackground(gameFrame.getBackground());
+      botCheckBoxes.add(botCheckBox);
     }
 
+    difficultyLabel = new JLabel(DIFFICULTY);
+    difficultyBox = new JComboBox<>(BotDifficulty.values());
+    difficultyBox.setSelectedItem(BotDifficulty.MEDIUM);
+
     addUserButton = new JButton(ADD_USER);
     removeUserButton = new JButton(REMOVE_USER);
     backButton = new JButton(BACK);
@@ -105,6 +124,7 @@ public class HotseatStartPanel extends JPanel {
         mainPanel.add(usernameLabels.get(2), gbc);
         gbc.gridy = 6;
         mainPanel.add(userTextFields.get(2), gbc);
+        mainPanel.add(botCheckBoxes.get(2), botCheckBoxConstraints(6));
         add(mainPanel, BorderLayout.CENTER);
 
         revalidate();
@@ -114,6 +134,7 @@ public class HotseatStartPanel extends JPanel {
         mainPanel.add(usernameLabels.get(3), gbc);
         gbc.gridy = 8;
         mainPanel.add(userTextFields.get(3), gbc);
+        mainPanel.add(botCheckBoxes.get(3), botCheckBoxConstraints(8));
         add(mainPanel, BorderLayout.CENTER);
 
         revalidate();
@@ -128,12 +149,14 @@ public class HotseatStartPanel extends JPanel {
       if (playerCount == 2) {
         mainPanel.remove(usernameLabels.get(2));
         mainPanel.remove(userTextFields.get(2));
+        mainPanel.remove(botCheckBoxes.get(2));
 
         removeUserButton.setEnabled(false);
         revalidate();
       } else if (playerCount == 3) {
         mainPanel.remove(usernameLabels.get(3));
         mainPanel.remove(userTextFields.get(3));
+        mainPanel.remove(botCheckBoxes.get(3));
 
         addUserButton.setEnabled(true);
         revalidate();
@@ -141,8 +164,10 @@ public class HotseatStartPanel extends JPanel {
     });
 
     addTextFieldListeners();
+    addBotCheckBoxListeners();
 
-    playButton.addActionListener(e -> gameFrame.handleHotseatStartEvent(playerCount, usernames));
+    playButton.addActionListener(e -> gameFrame.handleHotseatStartEvent(playerCount, usernames,
+        getBotSeats(), (BotDifficulty) difficultyBox.getSelectedItem()));
     backButton.addActionListener(e -> gameFrame.showGamemodeSelectionCard());
   }
 
@@ -173,6 +198,36 @@ public class HotseatStartPanel extends JPanel {
     }
   }
 
+  private void addBotCheckBoxListeners() {
+    for (int i = 0; i < botCheckBoxes.size(); i++) {
+      int finalI = i;
+      botCheckBoxes.get(i).addActionListener(e -> {
+        //an AI player gets a name if the user has not chosen one
+        if (botCheckBoxes.get(finalI).isSelected()
+            && userTextFields.get(finalI).getText().length() == 0) {
+          userTextFields.get(finalI).setText(BOT_NAME + (finalI + 1));
+        }
+      });
+    }
+  }
+
+  private List<Boolean> getBotSeats() {
+    List<Boolean> botSeats = new ArrayList<>();
+    for (JCheckBox botCheckBox : botCheckBoxes) {
+      botSeats.add(botCheckBox.isSelected());
+    }
+    return botSeats;
+  }
+
+  private GridBagConstraints botCheckBoxConstraints(int gridy) {
+    GridBagConstraints gbc = new GridBagConstraints();
+    gbc.insets = new Insets(5, 5, 5, 5);
+    gbc.anchor = GridBagConstraints.LINE_START;
+    gbc.gridx = 2;
+    gbc.gridy = gridy;
+    return gbc;
+  }
+
   private void updatePlayButton() {
     // Checks if there are duplicates in the list
     ArrayList<String> takenUsernameList = new ArrayList<>(usernames.subList(0, playerCount));
@@ -205,11 +260,13 @@ public class HotseatStartPanel extends JPanel {
     mainPanel.add(usernameLabels.get(0), gbc);
     gbc.gridy = 2;
     mainPanel.add(userTextFields.get(0), gbc);
+    mainPanel.add(botCheckBoxes.get(0), botCheckBoxConstraints(2));
 
     gbc.gridy = 3;
     mainPanel.add(usernameLabels.get(1), gbc);
     gbc.gridy = 4;
     mainPanel.add(userTextFields.get(1), gbc);
+    mainPanel.add(botCheckBoxes.get(1), botCheckBoxConstraints(4));
 
     gbc.gridwidth = 1;
     gbc.anchor = GridBagConstraints.LINE_START;
@@ -223,10 +280,19 @@ public class HotseatStartPanel extends JPanel {
     gbc.gridx = 1;
     mainPanel.add(addUserButton, gbc);
 
+    gbc.anchor = GridBagConstraints.LINE_START;
+    gbc.gridy = 10;
+    gbc.gridx = 0;
+    mainPanel.add(difficultyLabel, gbc);
+
+    gbc.anchor = GridBagConstraints.LINE_END;
+    gbc.gridx = 1;
+    mainPanel.add(difficultyBox, gbc);
+
     gbc.anchor = GridBagConstraints.CENTER;
     gbc.gridwidth = 2;
 
-    gbc.gridy = 10;
+    gbc.gridy = 11;
     gbc.gridx = 0;
     mainPanel.add(playButton, gbc);
 
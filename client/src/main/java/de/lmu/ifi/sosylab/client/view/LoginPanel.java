@@ -9,6 +9,7 @@ import javax.swing.JButton;
 import javax.swing.JLabel;
 import javax.swing.JPanel;
 import javax.swing.JTextField;
+import javax.swing.SwingUtilities;
 
 /**
  * Contains a title and text-fields that let the user enter username, lobby and server-address.
@@ -22,6 +23,7 @@ public class LoginPanel extends JPanel {
   private static final String LOBBY = "Room-name";
   private static final String ADDRESS = "Server-Address";
   private static final String PLAY = "PLAY";
+  private static final String CONNECTING = "Connecting...";
   private static final String BACK = "back";
   final GameFrame gameFrame;
   private JLabel titleLabel;
@@ -69,7 +71,14 @@ public class LoginPanel extends JPanel {
       String lobby = lobbyTextField.getText();
       String address = addressTextField.getText();
 
-      gameFrame.handleOnlinePlayClickEvent(username, lobby, address);
+      //the button is disabled until the server has answered or the login failed
+      playButton.setEnabled(false);
+      playButton.setText(CONNECTING);
+      gameFrame.handleOnlinePlayClickEvent(username, lobby, address)
+          .whenComplete((unused, error) -> SwingUtilities.invokeLater(() -> {
+            playButton.setText(PLAY);
+            playButton.setEnabled(true);
+          }));
     });
 
     backButton.addActionListener(e -> gameFrame.showGamemodeSelectionCard());
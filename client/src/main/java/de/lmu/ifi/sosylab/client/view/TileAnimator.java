@@ -0,0 +1,181 @@
+package de.lmu.ifi.sosylab.client.view;
+
+import de.lmu.ifi.sosylab.shared.Tiles;
+import java.awt.Component;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.Point;
+import java.awt.Rectangle;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import javax.swing.JComponent;
+import javax.swing.SwingUtilities;
+import javax.swing.Timer;
+
+/**
+ * Moves tiles across the window, e.g. from a factory display to the center of the table. It is
+ * the glass pane of the window, so the tiles fly above all views, and it is only visible while a
+ * tile is moving. It has no mouse listeners, so clicks reach the views below.
+ *
+ * <p>All moving tiles are driven by one timer that ticks once per frame of a 60 Hz display. The
+ * position of a tile is computed from the time since its start, so a frame that is dropped while
+ * the event dispatch thread is busy is skipped instead of slowing the motion down, and the timer
+ * coalesces ticks that could not be delivered in time. The tiles of a frame are repainted in one
+ * pass and drawn from the {@link TileAtlas}. The methods must only be called on the event
+ * dispatch thread.
+ */
+public final class TileAnimator extends JComponent {
+
+  private static final int FRAME_MILLIS = 16;
+  private static final long FLIGHT_NANOS = TimeUnit.MILLISECONDS.toNanos(300);
+
+  private final List<Flight> flights = new ArrayList<>();
+  private final Timer timer;
+
+  /**
+   * Creates the animator, which is not visible until a tile moves.
+   */
+  public TileAnimator() {
+    setOpaque(false);
+    setVisible(false);
+    timer = new Timer(FRAME_MILLIS, e -> tick());
+    //ticks that are late are merged into one instead of being queued
+    timer.setCoalesce(true);
+  }
+
+  /**
+   * Moves a tile from a position in one view to a position in another view. If one of the views
+   * is not shown, the tile arrives at once.
+   *
+   * @param tile      the tile
+   * @param tileSize  the size of the tile
+   * @param from      the view the tile starts in
+   * @param start     the top left corner of the tile in {@code from}
+   * @param to        the view the tile moves to
+   * @param end       the top left corner of the tile in {@code to}
+   * @param onArrival called when the tile has arrived, e.g. to show it in {@code to}, or null
+   */
+  public void fly(Tiles tile, int tileSize, Component from, Point start, Component to, Point end,
+                  Runnable onArrival) {
+    if (!isShowing(from) || !isShowing(to)) {
+      arrive(onArrival);
+      return;
+    }
+    Point startHere = SwingUtilities.convertPoint(from, start, this);
+    Point endHere = SwingUtilities.convertPoint(to, end, this);
+    flights.add(new Flight(tile, tileSize, startHere, endHere, System.nanoTime(), onArrival));
+    if (!timer.isRunning()) {
+      setVisible(true);
+      timer.start();
+    }
+  }
+
+  /**
+   * Lands all moving tiles at once, e.g. when the game is stopped.
+   */
+  public void finishAll() {
+    List<Flight> landed = new ArrayList<>(flights);
+    flights.clear();
+    stop();
+    for (Flight flight : landed) {
+      arrive(flight.onArrival);
+    }
+  }
+
+  private boolean isShowing(Component view) {
+    // the glass pane has the size of the window only once the window is shown
+    return view.isShowing() && getWidth() > 0 && SwingUtilities.getRootPane(view) == getRootPane();
+  }
+
+  private void tick() {
+    long now = System.nanoTime();
+    Rectangle dirty = null;
+    List<Runnable> arrivals = new ArrayList<>();
+    for (Iterator<Flight> iterator = flights.iterator(); iterator.hasNext(); ) {
+      Flight flight = iterator.next();
+      Rectangle before = flight.getBounds();
+      boolean arrived = flight.moveTo(now);
+      Rectangle after = flight.getBounds();
+      Rectangle changed = before.union(after);
+      dirty = dirty == null ? changed : dirty.union(changed);
+      if (arrived) {
+        iterator.remove();
+        arrivals.add(flight.onArrival);
+      }
+    }
+    if (dirty != null) {
+      repaint(dirty);
+    }
+    if (flights.isEmpty()) {
+      stop();
+    }
+    for (Runnable onArrival : arrivals) {
+      arrive(onArrival);
+    }
+  }
+
+  private void stop() {
+    timer.stop();
+    setVisible(false);
+  }
+
+  private static void arrive(Runnable onArrival) {
+    if (onArrival != null) {
+      onArrival.run();
+    }
+  }
+
+  @Override
+  protected void paintComponent(Graphics g) {
+    Graphics2D g2D = (Graphics2D) g;
+    for (Flight flight : flights) {
+      TileAtlas.drawTile(g2D, flight.tileSize, flight.tile, TileAtlas.OPAQUE, flight.x, flight.y);
+    }
+  }
+
+  /**
+   * A tile on its way, with its position in the last frame.
+   */
+  private static final class Flight {
+    private final Tiles tile;
+    private final int tileSize;
+    private final Point start;
+    private final Point end;
+    private final long startNanos;
+    private final Runnable onArrival;
+    private int x;
+    private int y;
+
+    private Flight(Tiles tile, int tileSize, Point start, Point end, long startNanos,
+                   Runnable onArrival) {
+      this.tile = tile;
+      this.tileSize = tileSize;
+      this.start = start;
+      this.end = end;
+      this.startNanos = startNanos;
+      this.onArrival = onArrival;
+      x = start.x;
+      y = start.y;
+    }
+
+    /**
+     * Moves the tile to its position at a time.
+     *
+     * @return true if the tile has arrived
+     */
+    private boolean moveTo(long nanos) {
+      double progress = Math.min(1, (double) (nanos - startNanos) / FLIGHT_NANOS);
+      //fast at first and slowing down towards the end
+      double eased = 1 - Math.pow(1 - progress, 3);
+      x = (int) Math.round(start.x + (end.x - start.x) * eased);
+      y = (int) Math.round(start.y + (end.y - start.y) * eased);
+      return progress >= 1;
+    }
+
+    private Rectangle getBounds() {
+      return new Rectangle(x, y, tileSize, tileSize);
+    }
+  }
+}
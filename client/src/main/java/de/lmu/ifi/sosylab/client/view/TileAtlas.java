@@ -0,0 +1,189 @@
+package de.lmu.ifi.sosylab.client.view;
+
+import de.lmu.ifi.sosylab.shared.Tiles;
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * All tile images of one tile size packed into a single image, one column per tile and one row
+ * per opacity. The views draw a tile by copying its rectangle of the atlas, so painting never
+ * loads or scales an image, and all tiles of a size share one image in the format of the screen.
+ *
+ * <p>The image files are decoded in parallel on background threads by {@link #preload()}, which
+ * is started while the mode selection is shown. The atlas of a tile size is built the first time
+ * it is needed. A size has an atlas per graphics configuration, e.g. one for the screen and one
+ * for the offscreen images of the {@link BackgroundLayer}. Apart from {@link #preload()}, the
+ * methods must only be called on the event dispatch thread.
+ */
+public final class TileAtlas {
+
+  public static final float OPAQUE = 1;
+  public static final float TRANSPARENT = 0.2f;
+  private static final float[] OPACITIES = {OPAQUE, TRANSPARENT};
+  //the atlases of a few window sizes are kept, e.g. while the window is resized
+  private static final int MAX_ATLASES = 16;
+
+  private static CompletableFuture<Map<Tiles, Optional<BufferedImage>>> originals;
+  private static final Map<Key, TileAtlas> ATLASES = new LinkedHashMap<>(32, 0.75f, true) {
+    @Override
+    protected boolean removeEldestEntry(Map.Entry<Key, TileAtlas> eldest) {
+      return size() > MAX_ATLASES;
+    }
+  };
+
+  private final int tileSize;
+  private final BufferedImage image;
+  //whether the image file of a tile could be loaded, missing tiles are not drawn
+  private final boolean[] loaded;
+
+  private TileAtlas(int tileSize, GraphicsConfiguration configuration,
+                    Map<Tiles, Optional<BufferedImage>> originalImages) {
+    this.tileSize = tileSize;
+    int width = Tiles.values().length * tileSize;
+    int height = OPACITIES.length * tileSize;
+    image = configuration == null
+        ? new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB)
+        : configuration.createCompatibleImage(width, height, Transparency.TRANSLUCENT);
+    loaded = new boolean[Tiles.values().length];
+    Graphics2D g2 = image.createGraphics();
+    for (Tiles tile : Tiles.values()) {
+      Optional<BufferedImage> original = originalImages.get(tile);
+      if (original.isEmpty()) {
+        continue;
+      }
+      loaded[tile.ordinal()] = true;
+      for (int row = 0; row < OPACITIES.length; row++) {
+        BufferedImage sprite = new BufferedImage(tileSize, tileSize, BufferedImage.TYPE_INT_ARGB);
+        ViewUtils.drawScaledImage(original.get(), sprite, OPACITIES[row]);
+        g2.drawImage(sprite, tile.ordinal() * tileSize, row * tileSize, null);
+      }
+    }
+    g2.dispose();
+  }
+
+  /**
+   * Starts to decode all tile images in parallel on background threads, if that has not been
+   * started yet. Can be called on any thread.
+   */
+  public static synchronized void preload() {
+    if (originals != null) {
+      return;
+    }
+    ExecutorService loader = Executors.newFixedThreadPool(Tiles.values().length, runnable -> {
+      Thread thread = new Thread(runnable, "tile-loader");
+      thread.setDaemon(true);
+      return thread;
+    });
+    List<CompletableFuture<Optional<BufferedImage>>> images = new ArrayList<>();
+    for (Tiles tile : Tiles.values()) {
+      images.add(CompletableFuture.supplyAsync(
+          () -> ViewUtils.loadBufferedImage(ViewUtils.getFilePath(tile)), loader));
+    }
+    originals = CompletableFuture.allOf(images.toArray(new CompletableFuture<?>[0]))
+        .thenApply(unused -> {
+          Map<Tiles, Optional<BufferedImage>> decoded = new EnumMap<>(Tiles.class);
+          for (Tiles tile : Tiles.values()) {
+            decoded.put(tile, images.get(tile.ordinal()).join());
+          }
+          return decoded;
+        });
+    originals.whenComplete((decoded, error) -> loader.shutdown());
+  }
+
+  private static synchronized CompletableFuture<Map<Tiles, Optional<BufferedImage>>>
+      getOriginals() {
+    preload();
+    return originals;
+  }
+
+  /**
+   * Returns the atlas of a tile size. If the images have not been decoded yet, this waits for
+   * the background threads of {@link #preload()}.
+   *
+   * @param tileSize      the size of the tiles, expects a value greater than zero
+   * @param configuration the configuration of the screen the atlas is drawn on, e.g. from
+   *                      {@link Graphics2D#getDeviceConfiguration()}, or null
+   * @return the atlas
+   */
+  public static TileAtlas get(int tileSize, GraphicsConfiguration configuration) {
+    Key key = new Key(tileSize, configuration);
+    TileAtlas atlas = ATLASES.get(key);
+    if (atlas == null) {
+      atlas = new TileAtlas(tileSize, configuration, getOriginals().join());
+      ATLASES.put(key, atlas);
+    }
+    return atlas;
+  }
+
+  /**
+   * Draws a tile with its top left corner at the given position.
+   *
+   * @param g2D     the graphics to draw on
+   * @param tile    the tile
+   * @param opacity {@link #OPAQUE} or {@link #TRANSPARENT}
+   * @param x       the x coordinate of the tile
+   * @param y       the y coordinate of the tile
+   */
+  public void draw(Graphics2D g2D, Tiles tile, float opacity, int x, int y) {
+    if (!loaded[tile.ordinal()]) {
+      return;
+    }
+    int row = opacity == TRANSPARENT ? 1 : 0;
+    int sourceX = tile.ordinal() * tileSize;
+    int sourceY = row * tileSize;
+    g2D.drawImage(image, x, y, x + tileSize, y + tileSize, sourceX, sourceY, sourceX + tileSize,
+        sourceY + tileSize, null);
+  }
+
+  /**
+   * Draws a tile in the tile size of the given graphics' atlas, a shortcut for
+   * {@code TileAtlas.get(tileSize, g2D.getDeviceConfiguration()).draw(...)}.
+   *
+   * @param g2D      the graphics to draw on
+   * @param tileSize the size of the tile
+   * @param tile     the tile
+   * @param opacity  {@link #OPAQUE} or {@link #TRANSPARENT}
+   * @param x        the x coordinate of the tile
+   * @param y        the y coordinate of the tile
+   */
+  public static void drawTile(Graphics2D g2D, int tileSize, Tiles tile, float opacity, int x,
+                              int y) {
+    get(tileSize, g2D.getDeviceConfiguration()).draw(g2D, tile, opacity, x, y);
+  }
+
+  /**
+   * The tile size and the graphics configuration of an atlas.
+   */
+  private static final class Key {
+    private final int tileSize;
+    private final GraphicsConfiguration configuration;
+
+    private Key(int tileSize, GraphicsConfiguration configuration) {
+      this.tileSize = tileSize;
+      this.configuration = configuration;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+      return other instanceof Key key && tileSize == key.tileSize
+          && configuration == key.configuration;
+    }
+
+    @Override
+    public int hashCode() {
+      return 31 * tileSize + Objects.hashCode(configuration);
+    }
+  }
+}
@@ -56,34 +56,20 @@ public final class ViewUtils {
   }
 
   /**
-   * A {@link BufferedImage} is returned if a file exists at the given path.
-   * If the loading of the image fails the optional is empty.
-   * The image's dimensions equals the specified parameters.
+   * Draws an image scaled to the size of an empty target image with the given opacity.
    *
-   * @param path    the image's path
-   * @param width   the width the image will be loaded with, expects a value greater than zero
-   * @param height  the height the image will be loaded with, expects a value greater than zero
-   * @param opacity the opacity the image will be loaded with, expects a value between zero and one
-   * @return an optional containing the image in case of success
+   * @param image   the image that is drawn
+   * @param target  the empty image the image is drawn into
+   * @param opacity the opacity the image is drawn with, expects a value between zero and one
    */
-  public static Optional<BufferedImage> loadBufferedImage(String path, int width, int height,
-                                                          float opacity) {
-    Optional<BufferedImage> originalImage = loadBufferedImage(path);
-
-    if (originalImage.isEmpty() || width <= 0 || height <= 0 || opacity < 0 || opacity > 1) {
-      return Optional.empty();
-    }
-
+  static void drawScaledImage(BufferedImage image, BufferedImage target, float opacity) {
     // Most of the following lines are copied from the ResourceLoader.java file provided on Uni2Work
-    BufferedImage resizedImage = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
-    Graphics2D g2 = resizedImage.createGraphics();
+    Graphics2D g2 = target.createGraphics();
     g2.setRenderingHint(RenderingHints.KEY_INTERPOLATION,
         RenderingHints.VALUE_INTERPOLATION_BILINEAR);
     g2.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OUT, opacity));
-    g2.drawImage(originalImage.get(), 0, 0, width, height, null);
+    g2.drawImage(image, 0, 0, target.getWidth(), target.getHeight(), null);
     g2.dispose();
-
-    return Optional.of(resizedImage);
   }
 
   /**
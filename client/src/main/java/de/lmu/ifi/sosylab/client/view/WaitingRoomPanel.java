@@ -1,6 +1,7 @@
 package de.lmu.ifi.sosylab.client.view;
 
 import de.lmu.ifi.sosylab.client.controller.GameControllerOnline;
+import de.lmu.ifi.sosylab.client.model.EventBus;
 import de.lmu.ifi.sosylab.client.model.GameClientOnlineModel;
 import de.lmu.ifi.sosylab.shared.events.CreateViewEvent;
 import de.lmu.ifi.sosylab.shared.events.LoginEvent;
@@ -14,13 +15,13 @@ import java.awt.FlowLayout;
 import java.awt.GridBagConstraints;
 import java.awt.GridBagLayout;
 import java.awt.Insets;
-import java.beans.PropertyChangeEvent;
-import java.beans.PropertyChangeListener;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import javax.swing.JButton;
+import javax.swing.JComboBox;
 import javax.swing.JLabel;
 import javax.swing.JOptionPane;
 import javax.swing.JPanel;
@@ -31,13 +32,15 @@ import javax.swing.SwingUtilities;
  * Player's that are ready are shown in green, while player's that aren't are shown in red.
  * At the bottom right a "back"-button is located.
  */
-public class WaitingRoomPanel extends JPanel implements PropertyChangeListener {
+public class WaitingRoomPanel extends JPanel {
 
   private static final int MAX_PLAYER_COUNT = 4;
   private static final String TITLE = "ROOM: ";
   private static final String NO_PLAYER = "-";
   private static final String READY = "READY";
   private static final String NOT_READY = "NOT READY";
+  private static final String PLAY_WITH_BOTS = "PLAY WITH BOTS";
+  private static final Integer[] PLAYER_COUNTS = {2, 3, 4};
   private static final String BACK = "back";
   private static final String ERROR_TITLE = "Error!";
   private static final String ERROR_MESSAGE = "Operation failed";
@@ -48,6 +51,8 @@ public class WaitingRoomPanel extends JPanel implements PropertyChangeListener {
   private boolean ready;
   private JLabel titleLabel;
   private JButton readyButton;
+  private JComboBox<Integer> playerCountBox;
+  private JButton playWithBotsButton;
   private JButton backButton;
 
   /**
@@ -78,11 +83,14 @@ public class WaitingRoomPanel extends JPanel implements PropertyChangeListener {
     }
 
     readyButton = new JButton(READY);
+    playerCountBox = new JComboBox<>(PLAYER_COUNTS);
+    playWithBotsButton = new JButton(PLAY_WITH_BOTS);
     backButton = new JButton(BACK);
   }
 
   private void addEventListeners() {
     readyButton.addActionListener(e -> handleReadyClickEvent());
+    playWithBotsButton.addActionListener(e -> handlePlayWithBotsClickEvent());
 
     backButton.addActionListener(e -> leaveRoom());
   }
@@ -97,18 +105,31 @@ public class WaitingRoomPanel extends JPanel implements PropertyChangeListener {
   }
 
   private void handleReadyClickEvent() {
-    try {
-      if (ready) {
-        readyButton.setText(READY);
-        gameControllerOnline.signalNotReady();
-      } else {
-        readyButton.setText(NOT_READY);
-        gameControllerOnline.signalReadyToPlay();
-      }
-      ready = !ready;
-    } catch (IOException e) {
-      showErrorMessage();
+    if (ready) {
+      readyButton.setText(READY);
+      showErrorOnFailure(gameControllerOnline.signalNotReady());
+    } else {
+      readyButton.setText(NOT_READY);
+      showErrorOnFailure(gameControllerOnline.signalReadyToPlay());
     }
+    ready = !ready;
+  }
+
+  private void handlePlayWithBotsClickEvent() {
+    //the server fills the empty seats with bots, so the game starts when the others are ready
+    showErrorOnFailure(
+        gameControllerOnline.playWithBots((Integer) playerCountBox.getSelectedItem()));
+    readyButton.setText(NOT_READY);
+    ready = true;
+  }
+
+  //the message is sent in the background, the error is shown when it fails
+  private void showErrorOnFailure(CompletableFuture<Void> sent) {
+    sent.whenComplete((unused, error) -> {
+      if (error != null) {
+        SwingUtilities.invokeLater(this::showErrorMessage);
+      }
+    });
   }
 
   private void createView() {
@@ -130,6 +151,13 @@ public class WaitingRoomPanel extends JPanel implements PropertyChangeListener {
 
     mainPanel.add(readyButton, gbc);
 
+    gbc.gridy++;
+    JPanel botPanel = new JPanel(new FlowLayout());
+    botPanel.setBackground(gameFrame.getBackground());
+    botPanel.add(playerCountBox);
+    botPanel.add(playWithBotsButton);
+    mainPanel.add(botPanel, gbc);
+
     add(mainPanel, BorderLayout.CENTER);
 
     JPanel bottomPanel = new JPanel(new FlowLayout(FlowLayout.RIGHT));
@@ -140,27 +168,21 @@ public class WaitingRoomPanel extends JPanel implements PropertyChangeListener {
   }
 
   /**
-   * Updates the GUI when a user's ready-state has changed.
+   * Subscribes the panel to the events of the model, to update the GUI when a user's
+   * ready-state has changed and to show the game when it starts.
    *
-   * @param event the event that was fired by the model
+   * @param eventBus the event bus of the model
    */
-  @Override
-  public void propertyChange(PropertyChangeEvent event) {
-    SwingUtilities.invokeLater(() -> handleChangeEvent(event));
-  }
-
-  private void handleChangeEvent(PropertyChangeEvent event) {
-    Object newValue = event.getNewValue();
-    if (newValue instanceof UserJoinedEvent
-        || newValue instanceof UserLeftRoomEvent
-        || newValue instanceof LoginEvent
-        || newValue instanceof UserReadyEvent
-        || newValue instanceof UserNotReadyEvent) {
-      updateUserDisplay();
-    }else if (newValue instanceof CreateViewEvent) {
+  void subscribeTo(EventBus eventBus) {
+    eventBus.subscribe(this, UserJoinedEvent.class, event -> updateUserDisplay());
+    eventBus.subscribe(this, UserLeftRoomEvent.class, event -> updateUserDisplay());
+    eventBus.subscribe(this, LoginEvent.class, event -> updateUserDisplay());
+    eventBus.subscribe(this, UserReadyEvent.class, event -> updateUserDisplay());
+    eventBus.subscribe(this, UserNotReadyEvent.class, event -> updateUserDisplay());
+    eventBus.subscribe(this, CreateViewEvent.class, event -> {
       gameFrame.InitialiseGamePanel();
       gameFrame.showGameCard();
-    }
+    });
   }
 
   private void updateUserDisplay() {
@@ -178,8 +200,8 @@ public class WaitingRoomPanel extends JPanel implements PropertyChangeListener {
       i++;
     }
 
-    usernameLabels.get(i).setForeground(Color.BLACK);
     while (i < MAX_PLAYER_COUNT) {
+      usernameLabels.get(i).setForeground(Color.BLACK);
       usernameLabels.get(i).setText(NO_PLAYER);
       i++;
     }
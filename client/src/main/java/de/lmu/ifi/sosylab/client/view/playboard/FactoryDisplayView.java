@@ -2,12 +2,12 @@ package de.lmu.ifi.sosylab.client.view.playboard;
 
 import static de.lmu.ifi.sosylab.client.view.ViewUtils.calculateInnerBorder;
 import static de.lmu.ifi.sosylab.client.view.ViewUtils.calculateOuterBorder;
-import static de.lmu.ifi.sosylab.client.view.ViewUtils.getFilePath;
 import static de.lmu.ifi.sosylab.client.view.ViewUtils.isPointInSquare;
-import static de.lmu.ifi.sosylab.client.view.ViewUtils.loadBufferedImage;
 
 import de.lmu.ifi.sosylab.client.controller.Controller;
 import de.lmu.ifi.sosylab.client.model.Model;
+import de.lmu.ifi.sosylab.client.view.BackgroundLayer;
+import de.lmu.ifi.sosylab.client.view.TileAtlas;
 import de.lmu.ifi.sosylab.shared.Tiles;
 import java.awt.Color;
 import java.awt.Dimension;
@@ -16,9 +16,7 @@ import java.awt.Graphics2D;
 import java.awt.Point;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
-import java.awt.image.BufferedImage;
 import java.util.ArrayList;
-import java.util.Optional;
 import javax.swing.JPanel;
 
 /**
@@ -26,12 +24,12 @@ import javax.swing.JPanel;
  */
 public class FactoryDisplayView extends JPanel {
 
-  private static final float OPAQUE = 1;
   private final Controller controller;
   private ArrayList<Tiles> factoryDisplay;
   private final ArrayList<Point> tilePositions;
   private final int factoryId;
   private final int tileSize;
+  private final BackgroundLayer backgroundLayer;
   private boolean isClickable;
 
   /**
@@ -67,21 +65,21 @@ public class FactoryDisplayView extends JPanel {
 
     int length = 2 * tileSize + innerBorderSize + 2 * outerBorderSize;
     setPreferredSize(new Dimension(length, length));
+    backgroundLayer = new BackgroundLayer(this, this::drawOutlines);
     configureActionListener();
   }
 
   @Override
   protected void paintComponent(Graphics g) {
-    super.paintComponent(g);
     Graphics2D g2D = (Graphics2D) g;
     setBackground(Color.DARK_GRAY);
-    g2D.setColor(Color.BLACK);
 
-    drawOutlines(g2D);
+    backgroundLayer.draw(g2D);
     drawTiles(g2D);
   }
 
   private void drawOutlines(Graphics2D g2D) {
+    g2D.setColor(Color.BLACK);
     for (Point tilePosition : tilePositions) {
       g2D.drawRect(tilePosition.x, tilePosition.y, tileSize, tileSize);
     }
@@ -89,12 +87,8 @@ public class FactoryDisplayView extends JPanel {
 
   private void drawTiles(Graphics2D g2D) {
     for (int i = 0; i < factoryDisplay.size(); i++) {
-      String imagePath = getFilePath(factoryDisplay.get(i));
-      Optional<BufferedImage> image = loadBufferedImage(imagePath, tileSize, tileSize, OPAQUE);
-
-      if (image.isPresent()) {
-        g2D.drawImage(image.get(), tilePositions.get(i).x, tilePositions.get(i).y, null);
-      }
+      TileAtlas.drawTile(g2D, tileSize, factoryDisplay.get(i), TileAtlas.OPAQUE,
+          tilePositions.get(i).x, tilePositions.get(i).y);
     }
   }
 
@@ -2,12 +2,12 @@ package de.lmu.ifi.sosylab.client.view.playboard;
 
 import static de.lmu.ifi.sosylab.client.view.ViewUtils.calculateInnerBorder;
 import static de.lmu.ifi.sosylab.client.view.ViewUtils.calculateOuterBorder;
-import static de.lmu.ifi.sosylab.client.view.ViewUtils.getFilePath;
 import static de.lmu.ifi.sosylab.client.view.ViewUtils.isPointInSquare;
-import static de.lmu.ifi.sosylab.client.view.ViewUtils.loadBufferedImage;
 
 import de.lmu.ifi.sosylab.client.controller.Controller;
 import de.lmu.ifi.sosylab.client.model.Model;
+import de.lmu.ifi.sosylab.client.view.BackgroundLayer;
+import de.lmu.ifi.sosylab.client.view.TileAtlas;
 import de.lmu.ifi.sosylab.shared.Tiles;
 import java.awt.Color;
 import java.awt.Dimension;
@@ -16,9 +16,7 @@ import java.awt.Graphics2D;
 import java.awt.Point;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
-import java.awt.image.BufferedImage;
 import java.util.ArrayList;
-import java.util.Optional;
 import javax.swing.JPanel;
 
 /**
@@ -32,7 +30,6 @@ public class FloorLine extends JPanel {
   private static final String PENALTY_LABEL_MINUS_ONE = "-1";
   private static final String PENALTY_LABEL_MINUS_TWO = "-2";
   private static final String PENALTY_LABEL_MINUS_THREE = "-3";
-  private static final float OPAQUE = 1;
   private static final int SLOT_COUNT = 7;
   private static final int LABEL_LENGTH = 4;
   private final Controller controller;
@@ -40,6 +37,7 @@ public class FloorLine extends JPanel {
   private final int innerBorderSize;
   private final int tileSize;
   private final int penaltyPointLabelHeight;
+  private final BackgroundLayer backgroundLayer;
   private ArrayList<Tiles> floorLine;
   private boolean isClickable;
 
@@ -65,15 +63,15 @@ public class FloorLine extends JPanel {
     setPreferredSize(new Dimension(width, height));
 
     setBackground(Color.DARK_GRAY);
+    backgroundLayer = new BackgroundLayer(this, this::drawSlots);
     configureActionListeners();
   }
 
   @Override
   protected void paintComponent(Graphics g) {
-    super.paintComponent(g);
     Graphics2D g2D = (Graphics2D) g;
 
-    drawSlots(g2D);
+    backgroundLayer.draw(g2D);
     drawTiles(g2D);
   }
 
@@ -106,13 +104,9 @@ public class FloorLine extends JPanel {
   private void drawTiles(Graphics2D g2D) {
     for (int i = 0; i < floorLine.size(); i++) {
       if (i < SLOT_COUNT) {
-        String imagePath = getFilePath(floorLine.get(i));
-        Optional<BufferedImage> image = loadBufferedImage(imagePath, tileSize, tileSize, OPAQUE);
-
-        if (image.isPresent()) {
-          g2D.drawImage(image.get(), outerBorderSize + i * tileSize + i * innerBorderSize,
-              outerBorderSize + penaltyPointLabelHeight + innerBorderSize, null);
-        }
+        TileAtlas.drawTile(g2D, tileSize, floorLine.get(i), TileAtlas.OPAQUE,
+            outerBorderSize + i * tileSize + i * innerBorderSize,
+            outerBorderSize + penaltyPointLabelHeight + innerBorderSize);
       }
     }
   }
@@ -143,6 +137,21 @@ public class FloorLine extends JPanel {
     });
   }
 
+  /**
+   * Repaints the slots of the floor-line from a slot on, without their penalty labels.
+   *
+   * @param firstSlot the first changed slot
+   */
+  public void repaintSlots(int firstSlot) {
+    if (firstSlot >= SLOT_COUNT) {
+      return;
+    }
+    int x = outerBorderSize + firstSlot * (tileSize + innerBorderSize);
+    int y = outerBorderSize + penaltyPointLabelHeight + innerBorderSize;
+    // the outline is one pixel larger than a tile
+    repaint(x, y, getWidth() - x, tileSize + 1);
+  }
+
   public void setClickable(boolean clickable) {
     isClickable = clickable;
   }
@@ -2,12 +2,12 @@ package de.lmu.ifi.sosylab.client.view.playboard;
 
 import static de.lmu.ifi.sosylab.client.view.ViewUtils.calculateInnerBorder;
 import static de.lmu.ifi.sosylab.client.view.ViewUtils.calculateOuterBorder;
-import static de.lmu.ifi.sosylab.client.view.ViewUtils.getFilePath;
 import static de.lmu.ifi.sosylab.client.view.ViewUtils.isPointInSquare;
-import static de.lmu.ifi.sosylab.client.view.ViewUtils.loadBufferedImage;
 
 import de.lmu.ifi.sosylab.client.controller.Controller;
 import de.lmu.ifi.sosylab.client.model.Model;
+import de.lmu.ifi.sosylab.client.view.BackgroundLayer;
+import de.lmu.ifi.sosylab.client.view.TileAtlas;
 import de.lmu.ifi.sosylab.shared.Tiles;
 import java.awt.Color;
 import java.awt.Dimension;
@@ -16,19 +16,17 @@ import java.awt.Graphics2D;
 import java.awt.Point;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
-import java.awt.image.BufferedImage;
-import java.util.Optional;
 import javax.swing.JPanel;
 
 /**
  * Displays a player's pattern-lines. Each row can be clicked to place collected tiles on it.
  */
 public class PatternLines extends JPanel {
-  private static final float OPAQUE = 1;
   private final Controller controller;
   private final int outerBorderSize;
   private final int innerBorderSize;
   private final int tileSize;
+  private final BackgroundLayer backgroundLayer;
   private Tiles[][] patternLines;
   private boolean isClickable;
 
@@ -52,36 +50,42 @@ public class PatternLines extends JPanel {
     setPreferredSize(new Dimension(length, length));
 
     setBackground(Color.DARK_GRAY);
+    backgroundLayer = new BackgroundLayer(this, this::drawOutlines);
     configureActionListener();
   }
 
   @Override
   protected void paintComponent(Graphics g) {
-    super.paintComponent(g);
     Graphics2D g2D = (Graphics2D) g;
+    backgroundLayer.draw(g2D);
 
     for (int i = 0; i < patternLines.length; i++) {
       for (int j = 0; j < patternLines[i].length; j++) {
-        Point posTile = new Point();
-        posTile.x = outerBorderSize + (j + (4 - i)) * innerBorderSize + (j + (4 - i)) * tileSize;
-        posTile.y = outerBorderSize + i * innerBorderSize + i * tileSize;
-
-        // draw outline of a tile
-        g2D.drawRect(posTile.x, posTile.y, tileSize, tileSize);
-
         // draw image of a tile
         if (patternLines[i][j] != null) {
-          String imagePath = getFilePath(patternLines[i][j]);
-          Optional<BufferedImage> image = loadBufferedImage(imagePath, tileSize, tileSize,
-              OPAQUE);
-
-          image.ifPresent(
-              bufferedImage -> g2D.drawImage(bufferedImage, posTile.x, posTile.y, null));
+          Point posTile = getTilePosition(i, j);
+          TileAtlas.drawTile(g2D, tileSize, patternLines[i][j], TileAtlas.OPAQUE, posTile.x,
+              posTile.y);
         }
       }
     }
   }
 
+  private void drawOutlines(Graphics2D g2D) {
+    for (int i = 0; i < patternLines.length; i++) {
+      for (int j = 0; j < patternLines[i].length; j++) {
+        Point posTile = getTilePosition(i, j);
+        g2D.drawRect(posTile.x, posTile.y, tileSize, tileSize);
+      }
+    }
+  }
+
+  private Point getTilePosition(int row, int column) {
+    return new Point(
+        outerBorderSize + (column + (4 - row)) * innerBorderSize + (column + (4 - row)) * tileSize,
+        outerBorderSize + row * innerBorderSize + row * tileSize);
+  }
+
   private void configureActionListener() {
 
     addMouseListener(new MouseAdapter() {
@@ -97,9 +101,7 @@ public class PatternLines extends JPanel {
 
         for (int i = 0; i < patternLines.length; i++) {
           for (int j = 0; j < patternLines[i].length; j++) {
-            Point posTile = new Point(
-                outerBorderSize + (j + (4 - i)) * innerBorderSize + (j + (4 - i)) * tileSize,
-                outerBorderSize + i * innerBorderSize + i * tileSize);
+            Point posTile = getTilePosition(i, j);
 
             if (isPointInSquare(clickedPoint, posTile, tileSize)) {
               controller.placeTilesToPatternLines(i);
@@ -110,6 +112,17 @@ public class PatternLines extends JPanel {
     });
   }
 
+  /**
+   * Repaints a single row of the pattern-lines.
+   *
+   * @param row the row
+   */
+  public void repaintRow(int row) {
+    Point firstTile = getTilePosition(row, 0);
+    // the outline is one pixel larger than a tile
+    repaint(firstTile.x, firstTile.y, getWidth() - firstTile.x, tileSize + 1);
+  }
+
   public void setClickable(boolean clickable) {
     isClickable = clickable;
   }
@@ -15,6 +15,7 @@ import javax.swing.JPanel;
 public class PlayerBoardView extends JPanel {
 
   private static final String SCORE_LABEL = "Score: ";
+  private static final String WIN_PROBABILITY_FORMAT = " (%d%% to win)";
   private final Model model;
   private final Controller controller;
   private final int userId;
@@ -102,7 +103,12 @@ public class PlayerBoardView extends JPanel {
    * Update the score.
    */
   public void updateScore() {
-    userScoreLabel.setText(SCORE_LABEL + model.getScores().get(userId));
+    String score = SCORE_LABEL + model.getScores().get(userId);
+    double[] winProbabilities = model.getWinProbabilities();
+    if (winProbabilities != null && userId < winProbabilities.length) {
+      score += String.format(WIN_PROBABILITY_FORMAT, Math.round(winProbabilities[userId] * 100));
+    }
+    userScoreLabel.setText(score);
   }
 
   public PatternLines getPatternLines() {
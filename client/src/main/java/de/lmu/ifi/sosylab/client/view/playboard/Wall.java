@@ -2,17 +2,15 @@ package de.lmu.ifi.sosylab.client.view.playboard;
 
 import static de.lmu.ifi.sosylab.client.view.ViewUtils.calculateInnerBorder;
 import static de.lmu.ifi.sosylab.client.view.ViewUtils.calculateOuterBorder;
-import static de.lmu.ifi.sosylab.client.view.ViewUtils.getFilePath;
-import static de.lmu.ifi.sosylab.client.view.ViewUtils.loadBufferedImage;
 
 import de.lmu.ifi.sosylab.client.model.Model;
+import de.lmu.ifi.sosylab.client.view.BackgroundLayer;
+import de.lmu.ifi.sosylab.client.view.TileAtlas;
 import de.lmu.ifi.sosylab.shared.WallTile;
 import java.awt.Color;
 import java.awt.Dimension;
 import java.awt.Graphics;
 import java.awt.Graphics2D;
-import java.awt.image.BufferedImage;
-import java.util.Optional;
 import javax.swing.JPanel;
 
 /**
@@ -21,12 +19,11 @@ import javax.swing.JPanel;
  */
 public class Wall extends JPanel {
 
-  private static final float OPAQUE = 1;
-  private static final float TRANSPARENT = 0.2f;
   private WallTile[][] wall;
   private final int outerBorderSize;
   private final int innerBorderSize;
   private int tileSize;
+  private final BackgroundLayer backgroundLayer;
 
   /**
    * Creates the wall-panel with a specified tile-size. Panel- and border-size depend on the
@@ -42,6 +39,7 @@ public class Wall extends JPanel {
     outerBorderSize = calculateOuterBorder(tileSize);
     innerBorderSize = calculateInnerBorder(tileSize);
 
+    backgroundLayer = new BackgroundLayer(this, this::drawPlaceholders);
     updatePreferredSize();
   }
 
@@ -54,28 +52,45 @@ public class Wall extends JPanel {
 
   @Override
   protected void paintComponent(Graphics g) {
-    super.paintComponent(g);
     Graphics2D g2D = (Graphics2D) g;
+    backgroundLayer.draw(g2D);
 
+    // the placed tiles cover their placeholders of the background
     for (int i = 0; i < wall.length; i++) {
       for (int j = 0; j < wall[i].length; j++) {
-
-        float opacity = TRANSPARENT;
         if (wall[i][j].getIsOnWall()) {
-          opacity = OPAQUE;
+          drawTile(g2D, i, j, TileAtlas.OPAQUE);
         }
+      }
+    }
+  }
 
-        String imagePath = getFilePath(wall[i][j].getTile());
-        Optional<BufferedImage> image = loadBufferedImage(imagePath, tileSize, tileSize, opacity);
-
-        if (image.isPresent()) {
-          g2D.drawImage(image.get(), outerBorderSize + j * innerBorderSize + j * tileSize,
-              outerBorderSize + i * innerBorderSize + i * tileSize, null);
-        }
+  // the pattern of the wall never changes, so the transparent tiles are part of the background
+  private void drawPlaceholders(Graphics2D g2D) {
+    for (int i = 0; i < wall.length; i++) {
+      for (int j = 0; j < wall[i].length; j++) {
+        drawTile(g2D, i, j, TileAtlas.TRANSPARENT);
       }
     }
   }
 
+  private void drawTile(Graphics2D g2D, int row, int column, float opacity) {
+    TileAtlas.drawTile(g2D, tileSize, wall[row][column].getTile(), opacity,
+        outerBorderSize + column * innerBorderSize + column * tileSize,
+        outerBorderSize + row * innerBorderSize + row * tileSize);
+  }
+
+  /**
+   * Repaints a single cell of the wall.
+   *
+   * @param row    the row of the cell
+   * @param column the column of the cell
+   */
+  public void repaintTile(int row, int column) {
+    repaint(outerBorderSize + column * (innerBorderSize + tileSize),
+        outerBorderSize + row * (innerBorderSize + tileSize), tileSize, tileSize);
+  }
+
   public void setSource(WallTile[][] wall) {
     this.wall = wall;
   }
@@ -87,6 +102,7 @@ public class Wall extends JPanel {
    */
   public void setTileSize(int tileSize) {
     this.tileSize = tileSize;
+    backgroundLayer.invalidate();
     updatePreferredSize();
   }
 }
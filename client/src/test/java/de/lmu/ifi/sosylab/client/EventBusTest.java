@@ -0,0 +1,144 @@
+package de.lmu.ifi.sosylab.client;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import de.lmu.ifi.sosylab.client.model.EventBus;
+import de.lmu.ifi.sosylab.shared.events.FloorLineChangeEvent;
+import de.lmu.ifi.sosylab.shared.events.WallChangeEvent;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import javax.swing.SwingUtilities;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test the delivery of the events of a model to the views.
+ */
+public class EventBusTest {
+
+  //the time until an event is delivered in any case, several frames of the display
+  private static final long DELIVERY_MILLIS = 100;
+
+  @Test
+  void testEventsAreDeliveredInOrderOfPublication() throws Exception {
+    // set up: one view subscribes to two classes of events, another view to one of them
+    EventBus eventBus = new EventBus();
+    List<String> delivered = new ArrayList<>();
+    List<String> otherView = new ArrayList<>();
+    List<Boolean> onDispatchThread = new ArrayList<>();
+    Object view = new Object();
+    eventBus.subscribe(view, FloorLineChangeEvent.class, event -> {
+      delivered.add("floor " + event.getFirstSlot());
+      onDispatchThread.add(SwingUtilities.isEventDispatchThread());
+    });
+    eventBus.subscribe(view, WallChangeEvent.class,
+        event -> delivered.add("wall " + event.getColumn()));
+    eventBus.subscribe(new Object(), WallChangeEvent.class,
+        event -> otherView.add("wall " + event.getColumn()));
+
+    // publish the events on another thread
+    Thread publisher = new Thread(() -> {
+      eventBus.publish(new FloorLineChangeEvent(0, 1));
+      eventBus.publish(new WallChangeEvent(0, 0, 2));
+      eventBus.publish(new FloorLineChangeEvent(0, 3));
+    });
+    publisher.start();
+    publisher.join();
+    awaitDelivery();
+
+    // test if every handler gets the events of its class in the order of publication
+    assertEquals(List.of("floor 1", "wall 2", "floor 3"), delivered);
+    assertEquals(List.of("wall 2"), otherView);
+    assertEquals(List.of(true, true), onDispatchThread);
+  }
+
+  @Test
+  void testEventsPublishedTogetherAreDeliveredInOneBatch() throws Exception {
+    // set up: every handler queues a marker behind the batch it is called in
+    EventBus eventBus = new EventBus();
+    List<String> delivered = new ArrayList<>();
+    eventBus.subscribe(this, FloorLineChangeEvent.class, event -> {
+      delivered.add("floor " + event.getFirstSlot());
+      SwingUtilities.invokeLater(() -> delivered.add("end of batch"));
+    });
+
+    // publish the events while the event dispatch thread is busy
+    CountDownLatch published = new CountDownLatch(1);
+    SwingUtilities.invokeLater(() -> {
+      try {
+        published.await();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    });
+    for (int slot = 0; slot < 5; slot++) {
+      eventBus.publish(new FloorLineChangeEvent(0, slot));
+    }
+    published.countDown();
+    awaitDelivery();
+
+    // test if all events are handled before anything else runs on the event dispatch thread
+    assertEquals(10, delivered.size());
+    for (int slot = 0; slot < 5; slot++) {
+      assertEquals("floor " + slot, delivered.get(slot));
+      assertEquals("end of batch", delivered.get(5 + slot));
+    }
+  }
+
+  @Test
+  void testOneBatchIsDeliveredPerFrame() throws Exception {
+    // set up
+    EventBus eventBus = new EventBus();
+    List<Long> deliveryTimes = new ArrayList<>();
+    eventBus.subscribe(this, FloorLineChangeEvent.class, event -> {
+      deliveryTimes.add(System.nanoTime());
+      // two more events are published right after the batch of the first event
+      if (event.getFirstSlot() == 0) {
+        SwingUtilities.invokeLater(() -> {
+          eventBus.publish(new FloorLineChangeEvent(0, 1));
+          eventBus.publish(new FloorLineChangeEvent(0, 2));
+        });
+      }
+    });
+
+    // publish
+    eventBus.publish(new FloorLineChangeEvent(0, 0));
+    awaitDelivery();
+
+    // test if the later events wait for the next frame of a 60 Hz display and come together
+    assertEquals(3, deliveryTimes.size());
+    long frameNanos = 1_000_000_000L / 60;
+    assertTrue(deliveryTimes.get(1) - deliveryTimes.get(0) >= frameNanos - 1_000_000,
+        "the second batch is delivered within the frame of the first one");
+    assertTrue(deliveryTimes.get(2) - deliveryTimes.get(1) < frameNanos,
+        "the events of the second batch are delivered in different frames");
+  }
+
+  @Test
+  void testQueuedEventsAreNotDeliveredAfterUnsubscribe() throws Exception {
+    // set up: the first handler of a batch unsubscribes the other view
+    EventBus eventBus = new EventBus();
+    Object otherView = new Object();
+    List<String> delivered = new ArrayList<>();
+    eventBus.subscribe(this, WallChangeEvent.class, event -> {
+      delivered.add("view");
+      eventBus.unsubscribe(otherView);
+    });
+    eventBus.subscribe(otherView, WallChangeEvent.class, event -> delivered.add("other view"));
+
+    // publish
+    eventBus.publish(new WallChangeEvent(0, 0, 0));
+    eventBus.publish(new WallChangeEvent(0, 0, 1));
+    awaitDelivery();
+
+    // test
+    assertEquals(List.of("view", "view"), delivered);
+  }
+
+  //wait until the queued events are delivered and the handlers are done
+  private static void awaitDelivery() throws Exception {
+    Thread.sleep(DELIVERY_MILLIS);
+    SwingUtilities.invokeAndWait(() -> { });
+  }
+}
@@ -10,11 +10,22 @@ import de.lmu.ifi.sosylab.client.controller.GameController;
 import de.lmu.ifi.sosylab.client.model.GameClientModel;
 import de.lmu.ifi.sosylab.shared.PlayerBoard;
 import de.lmu.ifi.sosylab.shared.Tiles;
+import de.lmu.ifi.sosylab.shared.WallMask;
 import de.lmu.ifi.sosylab.shared.WallTile;
+import de.lmu.ifi.sosylab.shared.ai.GameState;
+import de.lmu.ifi.sosylab.shared.ai.GreedyBot;
+import de.lmu.ifi.sosylab.shared.events.WallChangeEvent;
 import java.awt.Point;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.swing.SwingUtilities;
 import org.junit.jupiter.api.Test;
 
 /**
@@ -271,4 +282,121 @@ public class GameClientModelTest {
     assertEquals(Tiles.RED, floorLine.get(0), "move tiles to wall should work");
   }
 
-}
\ No newline at end of file
+
+  @Test
+  void testGameWithOnlyBotsIsFinished() {
+    for (int i = MIN_NUMBER_OF_PLAYERS; i <= MAX_NUMBER_OF_PLAYERS; i++) {
+      // set up
+      GameClientModel model = new GameClientModel();
+      GameController controller = new GameController(model);
+      ArrayList<String> usernames = new ArrayList<>();
+      for (int j = 0; j < i; j++) {
+        usernames.add("bot" + j);
+        controller.setBotPolicy(j, new GreedyBot());
+      }
+
+      // the bots play the whole game when it is started
+      controller.startGame(i, usernames);
+
+      // test if the game is finished because one player completed a row of the wall
+      assertFalse(model.isBotTurn());
+      boolean rowCompleted = false;
+      for (int k = 0; k < i; k++) {
+        rowCompleted |= WallMask.hasCompleteRow(WallMask.of(model.getPlayerBoard(k).getWall()));
+      }
+      assertTrue(rowCompleted);
+    }
+  }
+
+  @Test
+  void testWallEventsNameTheNewTiles() throws Exception {
+    // set up
+    GameClientModel model = new GameClientModel();
+    GameController controller = new GameController(model);
+    controller.startGame(2, new ArrayList<>(List.of("player0", "player1")));
+    Set<String> changedCells = ConcurrentHashMap.newKeySet();
+    model.getEventBus().subscribe(this, WallChangeEvent.class, event -> changedCells.add(
+        event.getPlayer() + "," + event.getRow() + "," + event.getColumn()));
+
+    // play greedy moves until the tiles are moved to the walls at the end of the round
+    GreedyBot greedyBot = new GreedyBot();
+    GameState state = model.getGameState();
+    while (!state.isRoundFinished()) {
+      int move = greedyBot.chooseMove(state);
+      model.playMove(move);
+      state.apply(move);
+    }
+    state.finishRound();
+
+    // test if there is one event for every cell that got a tile, and no other
+    Set<String> newTiles = new HashSet<>();
+    for (int player = 0; player < 2; player++) {
+      int wall = WallMask.of(model.getPlayerBoard(player).getWall());
+      assertEquals(state.getWall(player), wall);
+      for (int cell = 0; cell < SIZE_OF_WALL * SIZE_OF_WALL; cell++) {
+        if ((wall & 1 << cell) != 0) {
+          newTiles.add(player + "," + cell / SIZE_OF_WALL + "," + cell % SIZE_OF_WALL);
+        }
+      }
+    }
+    assertFalse(newTiles.isEmpty());
+    // the events are delivered on the event dispatch thread, at most one frame later
+    Thread.sleep(100);
+    SwingUtilities.invokeAndWait(() -> { });
+    assertEquals(newTiles, changedCells);
+  }
+
+  @Test
+  void testScoresAgreeWithGameState() {
+    Random random = new Random(14);
+    GreedyBot greedyBot = new GreedyBot();
+    int[] moves = new int[GameState.MAX_MOVES];
+    for (int game = 0; game < 90; game++) {
+      // set up (2 to 4 players)
+      int playerCount = MIN_NUMBER_OF_PLAYERS + game % 3;
+      GameClientModel model = new GameClientModel();
+      GameController controller = new GameController(model);
+      ArrayList<String> usernames = new ArrayList<>();
+      for (int j = 0; j < playerCount; j++) {
+        usernames.add("player" + j);
+      }
+      controller.startGame(playerCount, usernames);
+
+      // play the same moves in the model and in the state of the bots, half of them greedy
+      GameState state = model.getGameState();
+      boolean gameOver = false;
+      while (!gameOver) {
+        int move;
+        if (random.nextBoolean()) {
+          move = greedyBot.chooseMove(state);
+        } else {
+          move = moves[random.nextInt(state.generateMoves(moves))];
+        }
+        model.playMove(move);
+        state.apply(move);
+        if (!state.isRoundFinished()) {
+          continue;
+        }
+        gameOver = state.finishRound();
+
+        // test if both have the same walls and scores after the round
+        List<Integer> stateScores = new ArrayList<>();
+        for (int k = 0; k < playerCount; k++) {
+          assertEquals(state.getWall(k), WallMask.of(model.getPlayerBoard(k).getWall()));
+          stateScores.add(state.getScore(k));
+        }
+        List<Integer> modelScores = new ArrayList<>(model.getScores());
+        if (gameOver) {
+          // the ranking at the end of the game sorts the scores of the model
+          Collections.sort(stateScores);
+          Collections.sort(modelScores);
+        }
+        assertEquals(stateScores, modelScores);
+
+        // test if both end the game after the same round, the model deals the next round
+        assertEquals(gameOver, model.getGameState().isRoundFinished());
+        state = model.getGameState();
+      }
+    }
+  }
+}
@@ -0,0 +1,187 @@
+package de.lmu.ifi.sosylab.client;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import de.lmu.ifi.sosylab.client.model.GameClientOnlineModel;
+import de.lmu.ifi.sosylab.shared.FactoryDisplay;
+import de.lmu.ifi.sosylab.shared.PlayerBoard;
+import de.lmu.ifi.sosylab.shared.Tiles;
+import de.lmu.ifi.sosylab.shared.requests.PlaceTilesRequest;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test the placements that the online model shows before the server has answered.
+ */
+public class GameClientOnlineModelTest {
+
+  @Test
+  void testPredictedPlacementIsKeptWhenConfirmed() throws Exception {
+    // set up
+    GameClientOnlineModel model = new GameClientOnlineModel();
+    RecordingConnection connection = startGameWithTwoRedTiles(model);
+
+    // place the red tiles in the second pattern line
+    model.requestPlaceTiles(1);
+
+    // test if the placement is shown before the server has answered
+    PlayerBoard board = model.getPlayerBoard(0);
+    assertEquals(1, connection.requests.size());
+    assertEquals(1, connection.requests.get(0).getRowIndex());
+    assertPatternLine(board, 1, Tiles.RED, Tiles.RED);
+
+    // the server places the tiles the same way
+    model.confirmPlacement(connection.requests.get(0).getRequestId(), 1, tiles(Tiles.RED, 2),
+        new ArrayList<>());
+
+    // test if the placement is kept and not placed a second time
+    assertPatternLine(board, 1, Tiles.RED, Tiles.RED);
+    assertTrue(board.getFloorLine().isEmpty());
+  }
+
+  @Test
+  void testServerPlacementReplacesDifferentPrediction() throws Exception {
+    // set up
+    GameClientOnlineModel model = new GameClientOnlineModel();
+    RecordingConnection connection = startGameWithTwoRedTiles(model);
+    model.requestPlaceTiles(1);
+
+    // the server puts one tile in the first pattern line and the other in the floor line
+    model.confirmPlacement(connection.requests.get(0).getRequestId(), 0, tiles(Tiles.RED, 1),
+        tiles(Tiles.RED, 1));
+
+    // test if the prediction is undone and the placement of the server is shown
+    PlayerBoard board = model.getPlayerBoard(0);
+    assertPatternLine(board, 1, null, null);
+    assertPatternLine(board, 0, Tiles.RED);
+    assertEquals(List.of(Tiles.RED), board.getFloorLine());
+  }
+
+  @Test
+  void testPredictedPlacementIsRestoredWhenRejected() throws Exception {
+    // set up
+    GameClientOnlineModel model = new GameClientOnlineModel();
+    RecordingConnection connection = startGameWithTwoRedTiles(model);
+    model.requestPlaceTiles(1);
+
+    // the server rejects the request
+    model.informInvalidMove(connection.requests.get(0).getRequestId());
+
+    // test if the pattern line is empty again and the player still holds the tiles
+    PlayerBoard board = model.getPlayerBoard(0);
+    assertPatternLine(board, 1, null, null);
+    assertTrue(board.getFloorLine().isEmpty());
+    model.requestPlaceTiles(-1);
+    assertEquals(2, connection.requests.size());
+    assertEquals(List.of(Tiles.RED, Tiles.RED), board.getFloorLine());
+  }
+
+  @Test
+  void testPredictedPlacementIsRolledBackWhenSendFails() throws Exception {
+    // set up
+    GameClientOnlineModel model = new GameClientOnlineModel();
+    RecordingConnection connection = startGameWithTwoRedTiles(model);
+    CompletableFuture<Void> sent = model.requestPlaceTiles(1);
+
+    // the request cannot be sent to the server
+    connection.sentFutures.get(0).completeExceptionally(new IOException("connection lost"));
+
+    // test if the placement is rolled back
+    PlayerBoard board = model.getPlayerBoard(0);
+    assertTrue(sent.isCompletedExceptionally());
+    assertPatternLine(board, 1, null, null);
+    assertTrue(board.getFloorLine().isEmpty());
+    model.requestPlaceTiles(1);
+    assertEquals(2, connection.requests.size());
+    assertPatternLine(board, 1, Tiles.RED, Tiles.RED);
+  }
+
+  @Test
+  void testStaleAnswerDoesNotRestoreNewerPrediction() throws Exception {
+    // set up: the first request is rejected and the tiles are placed again
+    GameClientOnlineModel model = new GameClientOnlineModel();
+    RecordingConnection connection = startGameWithTwoRedTiles(model);
+    model.requestPlaceTiles(1);
+    int staleRequestId = connection.requests.get(0).getRequestId();
+    model.informInvalidMove(staleRequestId);
+    model.requestPlaceTiles(-1);
+
+    // late answers to the first request arrive
+    model.informInvalidMove(staleRequestId);
+    connection.sentFutures.get(0).completeExceptionally(new IOException("connection lost"));
+
+    // test if the placement of the second request is still shown
+    PlayerBoard board = model.getPlayerBoard(0);
+    assertEquals(List.of(Tiles.RED, Tiles.RED), board.getFloorLine());
+
+    // the second request is confirmed
+    model.confirmPlacement(connection.requests.get(1).getRequestId(), -1, new ArrayList<>(),
+        tiles(Tiles.RED, 2));
+
+    // test
+    assertEquals(List.of(Tiles.RED, Tiles.RED), board.getFloorLine());
+    assertPatternLine(board, 1, null, null);
+  }
+
+  //log in as the first of two players and collect the two red tiles of the first display
+  private static RecordingConnection startGameWithTwoRedTiles(GameClientOnlineModel model)
+      throws Exception {
+    RecordingConnection connection = new RecordingConnection(model);
+    model.setConnection(connection);
+    model.informLoginSuccess("alice", "room", new LinkedHashMap<>());
+    model.informUserJoined("bob");
+    FactoryDisplay factoryDisplays = new FactoryDisplay(2);
+    factoryDisplays.getAllDisplays().get(0)
+        .addAll(List.of(Tiles.RED, Tiles.BLUE, Tiles.RED, Tiles.GREEN));
+    model.startGame(0, factoryDisplays);
+    model.collectTilesAndInformTheView(0, 0);
+    return connection;
+  }
+
+  private static ArrayList<Tiles> tiles(Tiles tile, int count) {
+    ArrayList<Tiles> tiles = new ArrayList<>();
+    for (int index = 0; index < count; index++) {
+      tiles.add(tile);
+    }
+    return tiles;
+  }
+
+  private static void assertPatternLine(PlayerBoard board, int row, Tiles... expected) {
+    Tiles[] patternLine = board.getPatternLines()[row];
+    assertEquals(expected.length, patternLine.length);
+    for (int index = 0; index < expected.length; index++) {
+      if (expected[index] == null) {
+        assertNull(patternLine[index]);
+      } else {
+        assertEquals(expected[index], patternLine[index]);
+      }
+    }
+  }
+
+  /**
+   * A connection that records the move requests instead of sending them, and whose futures are
+   * completed by the tests.
+   */
+  private static final class RecordingConnection extends ClientNetworkConnection {
+    private final List<PlaceTilesRequest> requests = new ArrayList<>();
+    private final List<CompletableFuture<Void>> sentFutures = new ArrayList<>();
+
+    private RecordingConnection(GameClientOnlineModel model) throws IOException {
+      super(model);
+    }
+
+    @Override
+    public CompletableFuture<Void> sendMoveRequest(PlaceTilesRequest moveRequest) {
+      CompletableFuture<Void> sent = new CompletableFuture<>();
+      requests.add(moveRequest);
+      sentFutures.add(sent);
+      return sent;
+    }
+  }
+}
@@ -0,0 +1,185 @@
+package de.lmu.ifi.sosylab.server;
+
+import de.lmu.ifi.sosylab.shared.ai.BotPolicy;
+import de.lmu.ifi.sosylab.shared.ai.EndOfRoundSolver;
+import de.lmu.ifi.sosylab.shared.ai.GameState;
+import de.lmu.ifi.sosylab.shared.ai.GreedyBot;
+import de.lmu.ifi.sosylab.shared.ai.MonteCarloTreeSearch;
+import de.lmu.ifi.sosylab.shared.ai.Move;
+import de.lmu.ifi.sosylab.shared.ai.SearchBudget;
+import de.lmu.ifi.sosylab.shared.ai.TranspositionTable;
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Plays the moves of the bots of all game rooms on threads of its own, so that thinking bots never
+ * block the threads that handle the messages of the users.
+ *
+ * <p>The scheduler is fair between the rooms: a room has at most one bot move waiting or running,
+ * and the next bot move of a room is queued behind the moves of the other rooms. A move that takes
+ * longer than its time budget is cancelled and the bot plays the best move it has found so far.
+ * If a bot fails to choose a move, a greedy move is played for it, so that the game goes on.
+ * The moves of the bots are applied while the room is locked, like the requests of the users.
+ * The percentiles of the think times are printed every {@value #LOG_PERIOD_MINUTES} minutes.
+ */
+public class BotScheduler {
+  static final long MOVE_BUDGET_MILLIS = 1000;
+  //time after the budget until a bot is cancelled, searches usually stop by themselves
+  private static final long GRACE_MILLIS = 250;
+  private static final int SOLVER_GROUPS = 6;
+  private static final long SOLVER_NODES = 2_000_000;
+  private static final int SOLVER_TABLE_MEGABYTES = 4;
+  private static final long LOG_PERIOD_MINUTES = 5;
+
+  private final ThreadPoolExecutor executor;
+  //grows the search trees of the bots, one tree per move that is played at the same time
+  private final ForkJoinPool searchPool;
+  private final ScheduledExecutorService watchdog;
+  private final Set<GameRoom> scheduledRooms;
+  private final ThinkTimeHistogram thinkTimes;
+  //the number of moves at the last log line, only accessed by the watchdog
+  private long loggedMoves;
+  //one table per thread of the executor, a thread solves for one bot at a time
+  private final ThreadLocal<TranspositionTable> solverTables;
+
+  /**
+   * Construct a scheduler that uses half of the processors for the bots.
+   */
+  public BotScheduler() {
+    this(Math.max(1, Runtime.getRuntime().availableProcessors() / 2));
+  }
+
+  /**
+   * Construct a scheduler.
+   *
+   * @param threads the number of bot moves that are computed at the same time.
+   */
+  public BotScheduler(int threads) {
+    executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+        new LinkedBlockingQueue<>(), daemonThreads("bot-move"));
+    searchPool = new ForkJoinPool(threads);
+    watchdog = Executors.newSingleThreadScheduledExecutor(daemonThreads("bot-watchdog"));
+    scheduledRooms = ConcurrentHashMap.newKeySet();
+    thinkTimes = new ThinkTimeHistogram();
+    solverTables = ThreadLocal.withInitial(
+        () -> TranspositionTable.ofMegabytes(SOLVER_TABLE_MEGABYTES));
+    watchdog.scheduleAtFixedRate(this::logThinkTimes, LOG_PERIOD_MINUTES, LOG_PERIOD_MINUTES,
+        TimeUnit.MINUTES);
+  }
+
+  private static ThreadFactory daemonThreads(String name) {
+    return runnable -> {
+      Thread thread = new Thread(runnable, name);
+      thread.setDaemon(true);
+      return thread;
+    };
+  }
+
+  /**
+   * Create a bot that thinks for at most {@link #MOVE_BUDGET_MILLIS} per move: a Monte Carlo tree
+   * search, and a solver for the end of a round. The solver uses the transposition table of the
+   * thread that plays the move, so the tables do not grow with the number of bots.
+   *
+   * @return the bot.
+   */
+  public BotPolicy createBot() {
+    MonteCarloTreeSearch search = new MonteCarloTreeSearch(searchPool, 1,
+        SearchBudget.ofMillis(MOVE_BUDGET_MILLIS));
+    return new EndOfRoundSolver(search, SOLVER_GROUPS, SOLVER_NODES, solverTables::get);
+  }
+
+  /**
+   * Queue the next move of the room if a bot has the turn and no move of the room is queued yet.
+   *
+   * @param room the game room.
+   */
+  public void schedule(GameRoom room) {
+    boolean botTurn;
+    synchronized (room) {
+      botTurn = room.isBotTurn();
+    }
+    if (botTurn && scheduledRooms.add(room)) {
+      executor.execute(() -> playBotMove(room));
+    }
+  }
+
+  private void playBotMove(GameRoom room) {
+    //a room whose bot move cannot be applied is not scheduled again, it would fail every time
+    boolean failed = false;
+    try {
+      GameState state;
+      BotPolicy bot;
+      synchronized (room) {
+        if (!room.isBotTurn()) {
+          return;
+        }
+        state = room.getGameState();
+        bot = room.getCurrentBotPolicy();
+      }
+      long start = System.nanoTime();
+      ScheduledFuture<?> timeout = watchdog.schedule(bot::cancel,
+          MOVE_BUDGET_MILLIS + GRACE_MILLIS, TimeUnit.MILLISECONDS);
+      int move;
+      try {
+        move = bot.chooseMove(state);
+      } catch (RuntimeException e) {
+        e.printStackTrace();
+        move = new GreedyBot().chooseMove(state);
+      } finally {
+        timeout.cancel(false);
+      }
+      thinkTimes.record(System.nanoTime() - start);
+      synchronized (room) {
+        //the game may have been restarted or stopped while the bot was thinking
+        if (move != Move.NONE && room.isBotTurn()
+            && room.getGameState().getKey() == state.getKey()) {
+          room.playBotMove(move);
+        }
+      }
+    } catch (IOException | RuntimeException e) {
+      failed = true;
+      e.printStackTrace();
+    } finally {
+      scheduledRooms.remove(room);
+      if (!failed) {
+        schedule(room);
+      }
+    }
+  }
+
+  /**
+   * Get the think times of all bot moves since the server started.
+   *
+   * @return the histogram of the think times.
+   */
+  public ThinkTimeHistogram getThinkTimes() {
+    return thinkTimes;
+  }
+
+  //print the percentiles of the think times if bots have moved since the last log line
+  private void logThinkTimes() {
+    long moves = thinkTimes.getCount();
+    if (moves != loggedMoves) {
+      loggedMoves = moves;
+      System.out.println("bot think times: " + thinkTimes);
+    }
+  }
+
+  /**
+   * Stop all threads of the scheduler.
+   */
+  public void shutdown() {
+    executor.shutdownNow();
+    searchPool.shutdownNow();
+    watchdog.shutdownNow();
+  }
+}
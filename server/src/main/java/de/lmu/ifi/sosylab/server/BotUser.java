@@ -0,0 +1,37 @@
+package de.lmu.ifi.sosylab.server;
+
+import de.lmu.ifi.sosylab.shared.ai.BotPolicy;
+
+/**
+ * A player in a game room whose moves are chosen by a bot on the server. A bot has no network
+ * connection and is always ready to play.
+ */
+public class BotUser extends User {
+  private final BotPolicy policy;
+
+  /**
+   * Construct a bot player.
+   *
+   * @param name the nickname of the bot.
+   * @param policy the bot that chooses the moves.
+   */
+  public BotUser(String name, BotPolicy policy) {
+    super(name);
+    this.policy = policy;
+    setReadyToPlay(true);
+  }
+
+  public BotPolicy getPolicy() {
+    return policy;
+  }
+
+  /**
+   * A bot always agrees to restart the game.
+   *
+   * @return true.
+   */
+  @Override
+  public boolean getRestartGame() {
+    return true;
+  }
+}
@@ -4,10 +4,14 @@ import de.lmu.ifi.sosylab.shared.Bag;
 import de.lmu.ifi.sosylab.shared.FactoryDisplay;
 import de.lmu.ifi.sosylab.shared.JsonMessage;
 import de.lmu.ifi.sosylab.shared.Lid;
+import de.lmu.ifi.sosylab.shared.PlacementRules;
 import de.lmu.ifi.sosylab.shared.PlayerBoard;
 import de.lmu.ifi.sosylab.shared.Tiles;
+import de.lmu.ifi.sosylab.shared.WallMask;
 import de.lmu.ifi.sosylab.shared.WallTile;
-import java.awt.Point;
+import de.lmu.ifi.sosylab.shared.ai.BotPolicy;
+import de.lmu.ifi.sosylab.shared.ai.GameState;
+import de.lmu.ifi.sosylab.shared.ai.Move;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -40,7 +44,7 @@ public class GameRoom {
   private List<Tiles> gameTable;
   private List<Tiles> currentCollectedTiles;
   private User currentPlayerInGame;
-
+  private final WinProbabilityEstimator winProbabilityEstimator;
 
   /**
    * Construct the game room.
@@ -53,18 +57,22 @@ public class GameRoom {
 
     userMessageHandlers = new ArrayList<>();
     allUsersInGame = new ArrayList<>();
+    winProbabilityEstimator = new WinProbabilityEstimator();
   }
 
   public void handleUserLeftAndRoomNotEmpty() throws IOException {
-    //move other users to waiting room
+    //move other users to waiting room, the bots stay ready to play
     for (User singleUser : allUsersInGame) {
-      singleUser.setReadyToPlay(false);
+      if (!(singleUser instanceof BotUser)) {
+        singleUser.setReadyToPlay(false);
+      }
     }
     setPhaseToWaitingForStart();
     dispose();
   }
 
   private void dispose() {
+    winProbabilityEstimator.reset();
     scoresOfAllUsers = null;
     bag = null;
     lid = null;
@@ -86,7 +94,13 @@ public class GameRoom {
   }
   
   public boolean isGameRoomEmpty() {
-    return getTotalNumberOfPlayers() == 0;
+    //a room with only bots left is empty
+    for (User user : allUsersInGame) {
+      if (!(user instanceof BotUser)) {
+        return false;
+      }
+    }
+    return true;
   }
 
   private void setPhaseToWaitingForStart() {
@@ -99,6 +113,7 @@ public class GameRoom {
 
   public void startGame() {
     setPhaseToOngoingGame();
+    winProbabilityEstimator.reset();
     bag = new Bag();
     lid = new Lid();
     createPlayerBoards();
@@ -114,6 +129,7 @@ public class GameRoom {
   }
 
   public void restartGame() {
+    winProbabilityEstimator.reset();
     bag = new Bag();
     lid = new Lid();
     createPlayerBoards();
@@ -188,9 +204,72 @@ public class GameRoom {
   }
 
   private UserMessageHandler getCurrentHandler() {
-    UserMessageHandler handlerForCurrentPlayer =
-        userMessageHandlers.get(getIndexOfCurrentPlayerInGame());
-    return handlerForCurrentPlayer;
+    //bots have no message handler, so the handler is looked up by the nickname
+    String nicknameOfCurrentPlayer = getCurrentPlayerInGame().getNickName();
+    synchronized (userMessageHandlers) {
+      for (UserMessageHandler handler : userMessageHandlers) {
+        if (Objects.equals(handler.getNickname(), nicknameOfCurrentPlayer)) {
+          return handler;
+        }
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Check whether the current player is a bot and the game is not finished.
+   *
+   * @return true if a bot has to make the next move, false if not.
+   */
+  public boolean isBotTurn() {
+    return phase == Phase.ONGOING_GAME && playerBoards != null
+        && currentPlayerInGame instanceof BotUser && !isRoundFinished();
+  }
+
+  /**
+   * Get a compact copy of the current state of the game for the bots.
+   *
+   * @return the state of the game.
+   */
+  public GameState getGameState() {
+    return GameState.of(playerBoards, factoryDisplays.getAllDisplays(), gameTable,
+        scoresOfAllUsers, getIndexOfCurrentPlayerInGame());
+  }
+
+  /**
+   * Get the bot that chooses the move of the current player.
+   *
+   * @return the bot, null if the current player is not a bot.
+   */
+  public BotPolicy getCurrentBotPolicy() {
+    if (currentPlayerInGame instanceof BotUser) {
+      return ((BotUser) currentPlayerInGame).getPolicy();
+    }
+    return null;
+  }
+
+  /**
+   * Make the move of the bot that has the turn. The move is broadcast to all users like the moves
+   * of human players.
+   *
+   * @param move the move that the bot has chosen in the current state of the game.
+   * @throws IOException Thrown when failing to access the input- or output-stream.
+   */
+  public void playBotMove(int move) throws IOException {
+    if (Move.isFromCenter(move)) {
+      collectTilesFromGameTable(Move.tileIndexIn(gameTable, move));
+    } else {
+      int displayIndex = Move.source(move);
+      collectTilesFromDisplay(displayIndex,
+          Move.tileIndexIn(factoryDisplays.getAllDisplays().get(displayIndex), move));
+    }
+    if (!Move.isToFloor(move)) {
+      placeTilesToPatternLine(Move.target(move));
+    }
+    //place the tiles to the floor line if they could not be placed to the pattern line
+    if (!currentCollectedTiles.isEmpty()) {
+      placeTilesToFloorLine();
+    }
   }
 
   public void placeTilesToPatternLine(int row) throws IOException {
@@ -199,45 +278,22 @@ public class GameRoom {
     if (currentCollectedTiles.size() == 0) {
       return;
     }
-    Tiles tileType = currentCollectedTiles.get(0);
-    int tileCount = currentCollectedTiles.size();
-    Tiles[][] patternLines = currentBoard.getPatternLines();
-    WallTile[][] wall = currentBoard.getWall();
-
-    //check whether place tiles is possible in this pattern lines
-    //if yes, place tiles, if no, place tiles to floor line
-    if (checkAvailableLines(tileType, patternLines, wall)) {
-      //if there are still available lines, check wall rule
-      if (!checkWallRule(row, wall, tileType)) {
-        //if wall rule is defied, send invalid move to current player
-        handleCommunicationWhenInvalidMove();
-        return;
-      }
-      //wall rule is not defied, continuing checking other rules
-      //check pattern lines, if the line is empty, place tiles, deal with excess tiles
-      if (patternLines[row][row] == null) {
-        placeTilesToEmptyLine(row, tileCount, tileType, patternLines);
-      } else {
-        //if the line has the same type of tiles, place tiles and deal with excess tiles
-        if (patternLines[row][row] == tileType) {
-          //if the line is full, send invalid move
-          if (patternLines[row][0] != null) {
-            handleCommunicationWhenInvalidMove();
-            return;
-          }
-          placeTilesToLineWithSameTiles(row, tileCount, tileType, patternLines);
-        } else {
-          //if the line has a different type of tiles, cannot play tiles and send invalid move
-          placeTilesToLineWithDifferentTiles(row, tileType, patternLines);
-          return;
-        }
-      }
-    } else {
-      handleNoAvailablePatternLines();
-      handleCommunicationsWhenValidMove(-1, new ArrayList<>(), currentCollectedTiles);
-      //change to next player and send turn json message after valid move
-      clearCurrentCollectedTiles();
+    PlacementRules.Placement placement = PlacementRules.resolve(row, currentCollectedTiles,
+        currentBoard.getPatternLines(), currentBoard.getWall());
+    if (placement == null) {
+      //the tiles cannot be placed in this row, the player has to choose another one
+      handleCommunicationWhenInvalidMove();
+      return;
+    }
+    if (placement.getPlaceLocation() != PlacementRules.FLOOR_LINE) {
+      currentBoard.placeTilesInPatternLines(row,
+          new ArrayList<>(placement.getTilesOnPatternLine()));
     }
+    discardTilesToFloorLine(placement.getTilesOnFloorLine());
+    handleCommunicationsWhenValidMove(placement.getPlaceLocation(),
+        placement.getTilesOnPatternLine(), placement.getTilesOnFloorLine());
+    clearCurrentCollectedTiles();
+
     if (isRoundFinished()) {
       moveTilesToWall();
       //move tiles to wall (send updated rows of all players' walls and all players' scores to model
@@ -286,11 +342,10 @@ public class GameRoom {
 
   public void moveTilesToWall() throws IOException {
     //store the calculated gain points of all players
-    ArrayList<Integer> allGainPoints =
-        new ArrayList<>(Collections.nCopies(getTotalNumberOfPlayers(), 0));
-    List<List<Point>> updatedPartsOfWallsForAllPlayer = new ArrayList<>();
+    int[] allGainPoints = new int[getTotalNumberOfPlayers()];
+    //store the newly set tiles of all walls as wall masks
+    int[] updatedPartsOfWallsForAllPlayer = new int[getTotalNumberOfPlayers()];
     for (int boardIndex = 0; boardIndex < getTotalNumberOfPlayers(); boardIndex++) {
-      List<Point> updatedPartsOfWallForSinglePlayer = new ArrayList<>();
       PlayerBoard currentBoard = playerBoards[boardIndex];
       Tiles[][] patternLines = currentBoard.getPatternLines();
       WallTile[][] wall = currentBoard.getWall();
@@ -302,10 +357,8 @@ public class GameRoom {
           for (int col = 0; col < wall[row].length; col++) {
             if (wall[row][col].getTile() == tileType) {
               wall[row][col].setIsOnWall();
-              Point addedTilesOnWall = new Point(row, col);
-              updatedPartsOfWallForSinglePlayer.add(addedTilesOnWall);
-              allGainPoints.set(boardIndex,
-                  allGainPoints.get(boardIndex) + calculateSingleTileGainPoints(wall, row, col));
+              updatedPartsOfWallsForAllPlayer[boardIndex] |= WallMask.bit(row, col);
+              allGainPoints[boardIndex] += WallMask.gainPoints(WallMask.of(wall), row, col);
             }
           }
           //discard remaining tiles and add them to bag
@@ -319,14 +372,14 @@ public class GameRoom {
           Arrays.fill(patternLines[row], null);
         }
       }
-      updatedPartsOfWallsForAllPlayer.add(updatedPartsOfWallForSinglePlayer);
     }
     handleCheckEndGame(allGainPoints, updatedPartsOfWallsForAllPlayer);
   }
 
 
 
-  private void handleCheckEndGame(ArrayList<Integer> allGainPoints, List<List<Point>> updatedPartsOfWallsForAllPlayer) throws IOException {
+  private void handleCheckEndGame(int[] allGainPoints, int[] updatedPartsOfWallsForAllPlayer)
+      throws IOException {
     //check whether the game is finished
     if (!checkEndGame()) {
       //if not yet finished, calculate scores
@@ -539,14 +592,14 @@ public class GameRoom {
     }
   }
 
-  private void scoringAfterEachRound(ArrayList<Integer> allGainPoints) {
+  private void scoringAfterEachRound(int[] allGainPoints) {
     for (int boardIndex = 0; boardIndex < getTotalNumberOfPlayers(); boardIndex++) {
       PlayerBoard currentBoard = playerBoards[boardIndex];
       ArrayList<Tiles> floorLine = currentBoard.getFloorLine();
       //calculate the minus points for a single player
       int minusPoints = calculateSinglePlayerMinusPoints(floorLine.size());
       //get the gain points for a single player
-      int gainPoints = allGainPoints.get(boardIndex);
+      int gainPoints = allGainPoints[boardIndex];
       //calculate the score for a single player
       if (scoresOfAllUsers.get(boardIndex) + gainPoints - minusPoints > 0) {
         scoresOfAllUsers.set(boardIndex, scoresOfAllUsers.get(boardIndex) + gainPoints - minusPoints);
@@ -593,65 +646,9 @@ public class GameRoom {
   private void endGameScoring() {
     for (int boardIndex = 0; boardIndex < getTotalNumberOfPlayers(); boardIndex++) {
       PlayerBoard currentBoard = playerBoards[boardIndex];
-      WallTile[][] wall = currentBoard.getWall();
-      int columnBonus = colBonus(wall);
-      int rowBonus = rowBonus(wall);
-      int colorBonus = colorBonus(wall);
-      scoresOfAllUsers.set(boardIndex, columnBonus + rowBonus + colorBonus + scoresOfAllUsers.get(boardIndex));
-    }
-  }
-
-  private int colBonus(WallTile[][] wall) {
-    int bonus = 0;
-    for (int columnIndex = 0; columnIndex < 5; columnIndex++) {
-      boolean isFull = true;
-      for (int rowIndex = 0; rowIndex < 5; rowIndex++) {
-        if (!wall[rowIndex][columnIndex].getIsOnWall()) {
-          isFull = false;
-          break;
-        }
-      }
-      if (isFull) {
-        bonus += 7;
-      }
+      int bonus = WallMask.endGameBonus(WallMask.of(currentBoard.getWall()));
+      scoresOfAllUsers.set(boardIndex, bonus + scoresOfAllUsers.get(boardIndex));
     }
-    return bonus;
-  }
-
-  private int rowBonus(WallTile[][] wall) {
-    int bonus = 0;
-    for (int rowIndex = 0; rowIndex < 5; rowIndex++) {
-      boolean isFull = true;
-      for (int columnIndex = 0; columnIndex< 5; columnIndex++) {
-        if (!wall[rowIndex][columnIndex].getIsOnWall()) {
-          isFull = false;
-          break;
-        }
-      }
-      if (isFull) {
-        bonus += 2;
-      }
-    }
-    return bonus;
-  }
-
-  private int colorBonus(WallTile[][] wall) {
-    int bonus = 0;
-    // check for each color whether there are 5 tiles of the color on the wall
-    for (Tiles tile : Tiles.values()) {
-      int colorCount = 0;
-      for (int rowIndex = 0; rowIndex < 5; rowIndex++) {
-        for (int columnIndex = 0; columnIndex < 5; columnIndex++) {
-          if (wall[rowIndex][columnIndex].getIsOnWall() && wall[rowIndex][columnIndex].getTile() == tile) {
-            colorCount++;
-          }
-        }
-      }
-      if (colorCount == 5) {
-        bonus += bonus;
-      }
-    }
-    return bonus;
   }
 
   private boolean checkEndGame() {
@@ -678,56 +675,6 @@ public class GameRoom {
     lid.discardTilesToLid(discardTiles);
   }
 
-  private int calculateSingleTileGainPoints(WallTile[][] wall, int row, int column) {
-    int gainPoints = 0;
-    //count the tiles to the left of this tile
-    int tilesOnLeft = 0;
-    for (int columnIndex = column - 1; columnIndex >= 0; columnIndex--) {
-      if (!wall[row][columnIndex].getIsOnWall()) {
-        break;
-      }
-      tilesOnLeft = tilesOnLeft + 1;
-    }
-    //count the tiles to the right of this tile
-    int tilesOnRight = 0;
-    for (int columnIndex = column + 1; columnIndex < 5; columnIndex++) {
-      if (!wall[row][columnIndex].getIsOnWall()) {
-        break;
-      }
-      tilesOnRight = tilesOnRight + 1;
-    }
-    //count the tiles above this tile
-    int tilesAbove = 0;
-    for (int rowIndex = row - 1; rowIndex >= 0; rowIndex--) {
-      if (!wall[rowIndex][column].getIsOnWall()) {
-        break;
-      }
-      tilesAbove = tilesAbove + 1;
-    }
-    //count the tiles below this tile
-    int tilesBelow = 0;
-    for (int rowIndex = row + 1; rowIndex < 5; rowIndex++) {
-      if (!wall[rowIndex][column].getIsOnWall()) {
-        break;
-      }
-      tilesBelow = tilesBelow + 1;
-    }
-    // if there are linked tiles vertically
-    if (tilesAbove + tilesBelow > 0) {
-      gainPoints += 1 + tilesAbove + tilesBelow;
-    }
-    // if there are linked tiles horizontally
-    if (tilesOnLeft + tilesOnRight > 0) {
-      gainPoints += 1 + tilesOnRight + tilesOnLeft;
-    }
-    // if there are no linked tiles vertically and horizontally
-    if (tilesAbove + tilesBelow + tilesOnLeft + tilesOnRight == 0) {
-      gainPoints = 1;
-    }
-    return gainPoints;
-  }
-
-
   private void discardTilesToFloorLine(List<Tiles> excessTiles) {
     PlayerBoard currentBoard = playerBoards[getIndexOfCurrentPlayerInGame()];
     List<Tiles> floorLine = currentBoard.getFloorLine();
@@ -737,172 +684,35 @@ public class GameRoom {
     //notifyListener(floorLineChangeEvent);
   }
 
-  private boolean checkAvailableLines(Tiles tileType, Tiles[][] patternLines, WallTile[][] wall) {
-    //check the first positions of all pattern lines
-    for (int rowIndex = 0; rowIndex < 5; rowIndex++) {
-      //if the line is an empty line, break the loop and check the next condition
-      if (patternLines[rowIndex][patternLines[rowIndex].length - 1] == null) {
-        break;
-      }
-      //if it is not an empty line, check the tile type on the line
-      //if it has the same tile type, and it is not full, return true
-      if (patternLines[rowIndex][patternLines[rowIndex].length - 1] == tileType
-          && patternLines[rowIndex][0] == null) {
-        return true;
-      }
-      //if it's not that it has the same tile type and is not full, continue checking other lines
-      //until finish checking the whole pattern lines
-    }
-    //find one empty line where its wall doesn't have the same tile type
-    //if there is such a line, break the loop and return true
-    //if there is no such a line, check whether there are lines that have the same tile type and is
-    //not full, if yes, return true, otherwise return false
-    for (int rowIndex = 0; rowIndex < 5; rowIndex++) {
-      if (patternLines[rowIndex][patternLines[rowIndex].length - 1] == null) {
-        //if it is an empty line, check wall
-        if (Arrays.stream(wall[rowIndex]).anyMatch(
-            entry -> entry.getIsOnWall() && entry.getTile() == tileType)) {
-          continue;
-        }
-        return true;
-      }
-    }
-    //check whether there are lines that have the same tile type and is not full
-    for (int rowIndex = 0; rowIndex < 5; rowIndex++) {
-      if (patternLines[rowIndex][patternLines[rowIndex].length - 1] == tileType
-          && patternLines[rowIndex][0] == null) {
-        return true;
-      }
-    }
-    return false;
-  }
-
-  private boolean checkWallRule(int row, WallTile[][] wall, Tiles tileType) {
-    //return false if place tiles fail, send invalid move
-    //if there are still available lines, check the status of the wall
-    //check whether the corresponding line of the wall has the same tile
-    //if so, cannot place tile
-    for (int columnIndex = 0; columnIndex < 5; columnIndex++) {
-      if (wall[row][columnIndex].getIsOnWall()) {
-        if (wall[row][columnIndex].getTile() == tileType) {
-          return false;
-        }
-      }
-    }
-    return true;
-  }
-
-  private void placeTilesToLineWithSameTiles(int row, int tileCount, Tiles tileType,
-                                             Tiles[][] patternLines) throws IOException {
-    if (patternLines[row][row] == tileType) {
-      int existedTiles = 0;
-      for (int column = 0; column < patternLines[row].length; column++) {
-        if (patternLines[row][column] != null) {
-          existedTiles = existedTiles + 1;
-        }
-      }
-      int emptyBlocks = patternLines[row].length - existedTiles;
-      if (emptyBlocks >= tileCount) {
-        for (int column = row - existedTiles; column > row - existedTiles - tileCount; column--) {
-          patternLines[row][column] = tileType;
-        }
-        //no excess tiles
-        handleCommunicationsWhenValidMove(row, currentCollectedTiles, new ArrayList<>());
-      } else {
-        for (int column = row - existedTiles; column >= 0; column--) {
-          patternLines[row][column] = tileType;
-        }
-        //deal with excess tiles
-        int excessTilesCount = tileCount - emptyBlocks;
-        List<Tiles> excessTiles = new ArrayList<>(excessTilesCount);
-        for (int tileIndex = 0; tileIndex < excessTilesCount; tileIndex++) {
-          excessTiles.add(tileType);
-        }
-        discardTilesToFloorLine(excessTiles);
-        //remove excess tiles from current collected tiles
-        System.out.println("current collected tiles before removing: " + currentCollectedTiles);
-        int tilesPlacedToPatternLineCount = emptyBlocks;
-        ArrayList<Tiles> tilesPlacedToPatternLine = new ArrayList<>();
-        for (int tileIndex = 0; tileIndex < tilesPlacedToPatternLineCount; tileIndex++) {
-          tilesPlacedToPatternLine.add(tileType);
-        }
-        System.out.println("after removing: " + tilesPlacedToPatternLine);
-        handleCommunicationsWhenValidMove(row, tilesPlacedToPatternLine, excessTiles);
-      }
-      clearCurrentCollectedTiles();
-    }
-  }
-
-  private void placeTilesToEmptyLine(int row, int tileCount, Tiles tileType,
-                                    Tiles[][] patternLines) throws IOException {
-    int lineLength = patternLines[row].length;
-    if (tileCount <= lineLength) {
-      if (patternLines[row][row] == null) {
-        for (int index = 0; index < tileCount; index++) {
-          patternLines[row][lineLength - (tileCount - index)] = tileType;
-        }
-        handleCommunicationsWhenValidMove(row, currentCollectedTiles, new ArrayList<>());
-      }
-    } else {
-      List<Tiles> tilesPlacedToPatternLine = new ArrayList<>(lineLength);
-      if (patternLines[row][row] == null) {
-        for (int index = 0; index < lineLength; index++) {
-          patternLines[row][index] = tileType;
-          tilesPlacedToPatternLine.add(tileType);
-        }
-      }
-      //deal with excess tiles
-      int excessTilesCount = tileCount - lineLength;
-      List<Tiles> excessTiles = new ArrayList<>(excessTilesCount);
-      for (int tileIndex = 0; tileIndex < excessTilesCount; tileIndex++) {
-        excessTiles.add(tileType);
-      }
-      discardTilesToFloorLine(excessTiles);
-      handleCommunicationsWhenValidMove(row, tilesPlacedToPatternLine, excessTiles);
-    }
-    clearCurrentCollectedTiles();
-  }
-
-  private void placeTilesToLineWithDifferentTiles(int row, Tiles tileType, Tiles[][] patternLines)
-      throws IOException {
-    if (patternLines[row][row] != tileType) {
-      handleCommunicationWhenInvalidMove();
-    }
-  }
-
-  private void handleNoAvailablePatternLines() {
-    //if place tiles is not possible in the whole pattern lines, place tiles to floor line
-    //and clear current tiles
-    int tileCount = currentCollectedTiles.size();
-    Tiles tileType = currentCollectedTiles.get(0);
-    ArrayList<Tiles> discardedTiles = new ArrayList<>();
-    for (int count = 0; count < tileCount; count++) {
-      discardedTiles.add(tileType);
-    }
-    discardTilesToFloorLine(discardedTiles);
-  }
-
   private void handleCommunicationWhenInvalidMove() throws IOException {
-    //send invalid move to current player
-    getCurrentHandler().send(JsonMessage.invalidMove());
+    //send invalid move to current player, bots do not need to be informed
+    UserMessageHandler currentHandler = getCurrentHandler();
+    if (currentHandler != null) {
+      currentHandler.send(JsonMessage.invalidMove(currentHandler.getPlaceTilesRequestId()));
+    }
   }
 
   private void handleCommunicationsWhenValidMove(int placeLocation, List<Tiles> tilesToPatternLine,
                                                  List<Tiles> tilesToFloorLine) throws IOException {
-    //send valid move to current player
-    getCurrentHandler().send(
-        JsonMessage.validMove(placeLocation, tilesToPatternLine, tilesToFloorLine));
+    //send valid move to current player, bots do not need to be informed
+    UserMessageHandler currentHandler = getCurrentHandler();
+    if (currentHandler != null) {
+      currentHandler.send(JsonMessage.validMove(placeLocation, tilesToPatternLine,
+          tilesToFloorLine, currentHandler.getPlaceTilesRequestId()));
+    }
     //broadcast to other users that somebody placed tiles
     User currentPlayer = getCurrentPlayerInGame();
     String nicknameOfCurrentPlayer = currentPlayer.getNickName();
-    broadcast(getCurrentHandler(), JsonMessage.somebodyPlacedTiles(
+    broadcast(currentHandler, JsonMessage.somebodyPlacedTiles(
         nicknameOfCurrentPlayer, placeLocation, tilesToPatternLine, tilesToFloorLine));
   }
 
   private void handleCommunicationWhenPlayerChanged() throws IOException {
     //broadcast player changed to all users (with turn json message)
     int currentPlayer = getIndexOfCurrentPlayerInGame();
-    broadcastToAll(JsonMessage.turn(currentPlayer));
+    broadcastToAll(JsonMessage.turn(currentPlayer, winProbabilityEstimator.getLatest()));
+    //the estimate of this turn is sent with the next turn message
+    winProbabilityEstimator.request(getGameState());
   }
 
   private void setCurrentCollectedTiles(Tiles[] collectedTiles) {
@@ -1018,6 +828,36 @@ public class GameRoom {
     allUsersInGame.add(user);
   }
 
+  /**
+   * Add a bot player to the room and inform all users that the bot joined and is ready.
+   *
+   * @param nickname the nickname of the bot.
+   * @param policy the bot that chooses the moves.
+   * @throws IOException Thrown when failing to access the input- or output-stream.
+   */
+  public void addBotPlayer(String nickname, BotPolicy policy) throws IOException {
+    addUser(new BotUser(nickname, policy));
+    broadcastToAll(JsonMessage.userJoined(nickname));
+    broadcastToAll(JsonMessage.somebodyReadyForGame(nickname));
+  }
+
+  /**
+   * Add bot players to the room until it has the given number of players.
+   *
+   * @param playerCount the number of players of the game, at most 4.
+   * @param botScheduler the scheduler that creates the bots.
+   * @throws IOException Thrown when failing to access the input- or output-stream.
+   */
+  public void fillWithBots(int playerCount, BotScheduler botScheduler) throws IOException {
+    int botNumber = 1;
+    while (allUsersInGame.size() < Math.min(playerCount, 4)) {
+      String nickname = "Bot " + botNumber++;
+      if (isNicknameAvailable(nickname)) {
+        addBotPlayer(nickname, botScheduler.createBot());
+      }
+    }
+  }
+
   public void addUserMessageHandler(UserMessageHandler userMessageHandler) {
     userMessageHandlers.add(userMessageHandler);
   }
@@ -23,6 +23,7 @@ public class ServerNetworkConnection {
 
   private final List<GameRoom> gameRooms;
 
+  private final BotScheduler botScheduler;
 
   private final Runnable connectionAcceptor = new Runnable() {
     @Override
@@ -54,7 +55,7 @@ public class ServerNetworkConnection {
     executorService = Executors.newCachedThreadPool();
     socket = new ServerSocket(PORT);
     gameRooms = Collections.synchronizedList(new ArrayList<>());
-
+    botScheduler = new BotScheduler();
   }
 
   /**
@@ -86,6 +87,10 @@ public class ServerNetworkConnection {
     return List.copyOf(gameRooms);
   }
 
+  public BotScheduler getBotScheduler() {
+    return botScheduler;
+  }
+
   /**
    * Start the network-connection, so that clients can establish a connection to this server.
    */
@@ -98,6 +103,7 @@ public class ServerNetworkConnection {
    */
   public void stop() {
     executorService.shutdownNow();
+    botScheduler.shutdown();
     try {
       socket.close();
     } catch (IOException e) {
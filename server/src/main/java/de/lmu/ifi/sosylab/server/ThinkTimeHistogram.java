@@ -0,0 +1,102 @@
+package de.lmu.ifi.sosylab.server;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Counts how long the bots think about their moves. The times are counted in buckets of
+ * milliseconds: every power of two is split into 8 buckets, so a percentile is accurate to about
+ * 12 percent. Recording a time takes no lock and can be done from any thread.
+ */
+public class ThinkTimeHistogram {
+  private static final int SUB_BUCKET_BITS = 3;
+  private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+  //times from 2^30 ms on are counted in the last bucket
+  private static final int MAX_EXPONENT = 30;
+  private static final int BUCKETS = SUB_BUCKETS + (MAX_EXPONENT - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+  private final AtomicLongArray counts;
+
+  /**
+   * Construct an empty histogram.
+   */
+  public ThinkTimeHistogram() {
+    counts = new AtomicLongArray(BUCKETS);
+  }
+
+  /**
+   * Count the think time of a move.
+   *
+   * @param nanos the think time in nanoseconds.
+   */
+  public void record(long nanos) {
+    counts.incrementAndGet(bucketOf(Math.max(0, nanos / 1_000_000)));
+  }
+
+  /**
+   * Get the number of counted moves.
+   *
+   * @return the number of moves.
+   */
+  public long getCount() {
+    long count = 0;
+    for (int bucket = 0; bucket < BUCKETS; bucket++) {
+      count += counts.get(bucket);
+    }
+    return count;
+  }
+
+  /**
+   * Get a percentile of the think times.
+   *
+   * @param fraction the fraction of the moves between 0 and 1, e.g. 0.99 for the 99th percentile.
+   * @return the upper bound of the bucket of the percentile in milliseconds, 0 if no move was
+   *         counted.
+   */
+  public long percentile(double fraction) {
+    long[] snapshot = new long[BUCKETS];
+    long count = 0;
+    for (int bucket = 0; bucket < BUCKETS; bucket++) {
+      snapshot[bucket] = counts.get(bucket);
+      count += snapshot[bucket];
+    }
+    if (count == 0) {
+      return 0;
+    }
+    long rank = Math.max(1, (long) Math.ceil(fraction * count));
+    long seen = 0;
+    for (int bucket = 0; bucket < BUCKETS; bucket++) {
+      seen += snapshot[bucket];
+      if (seen >= rank) {
+        return upperBoundOf(bucket);
+      }
+    }
+    return upperBoundOf(BUCKETS - 1);
+  }
+
+  private static int bucketOf(long millis) {
+    if (millis < SUB_BUCKETS) {
+      return (int) millis;
+    }
+    int exponent = 63 - Long.numberOfLeadingZeros(millis);
+    if (exponent >= MAX_EXPONENT) {
+      return BUCKETS - 1;
+    }
+    int subBucket = (int) (millis >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+    return SUB_BUCKETS + (exponent - SUB_BUCKET_BITS) * SUB_BUCKETS + subBucket;
+  }
+
+  private static long upperBoundOf(int bucket) {
+    if (bucket < SUB_BUCKETS) {
+      return bucket + 1;
+    }
+    int exponent = (bucket - SUB_BUCKETS) / SUB_BUCKETS + SUB_BUCKET_BITS;
+    int subBucket = (bucket - SUB_BUCKETS) % SUB_BUCKETS;
+    return (long) (SUB_BUCKETS + subBucket + 1) << (exponent - SUB_BUCKET_BITS);
+  }
+
+  @Override
+  public String toString() {
+    return "moves=" + getCount() + ", p50=" + percentile(0.5) + "ms, p90=" + percentile(0.9)
+        + "ms, p99=" + percentile(0.99) + "ms, max=" + percentile(1) + "ms";
+  }
+}
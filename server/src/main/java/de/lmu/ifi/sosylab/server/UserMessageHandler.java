@@ -37,6 +37,8 @@ public class UserMessageHandler implements Runnable {
   private GameRoom gameRoom;
   //the nickname of this user
   private String nickname;
+  //the id of the last place tiles request, which the answer of the game room refers to
+  private int placeTilesRequestId = JsonMessage.NO_REQUEST_ID;
 
   /**
    * Construct a {@link UserMessageHandler} to handle the messages exchange between
@@ -83,33 +85,35 @@ public class UserMessageHandler implements Runnable {
   public void close() {
     try {
       if (nickname != null) {
-        //check whether game is ongoing
-        if (gameRoom.getPhase() == Phase.ONGOING_GAME) {
-          //if game is ongoing, left game and set other users to be not ready for game
-          gameRoom.removeLeftUserFromRoom(nickname);
-          gameRoom.removeUserMessageHandler(this);
-          //check whether game room is empty after user left
-          //if yes, remove game room in server connection
-          if (gameRoom.isGameRoomEmpty()) {
-            serverNetworkConnection.removeGameRoom(gameRoom);
-          } else {
-            //if game room is not empty
-            //broadcast user left message to other users
-            gameRoom.broadcastToAll(JsonMessage.userLeftGame(nickname));
-            //move other users to waiting room
-            gameRoom.handleUserLeftAndRoomNotEmpty();
+        synchronized (gameRoom) {
+          //check whether game is ongoing
+          if (gameRoom.getPhase() == Phase.ONGOING_GAME) {
+            //if game is ongoing, left game and set other users to be not ready for game
+            gameRoom.removeLeftUserFromRoom(nickname);
+            gameRoom.removeUserMessageHandler(this);
+            //check whether game room is empty after user left
+            //if yes, remove game room in server connection
+            if (gameRoom.isGameRoomEmpty()) {
+              serverNetworkConnection.removeGameRoom(gameRoom);
+            } else {
+              //if game room is not empty
+              //broadcast user left message to other users
+              gameRoom.broadcastToAll(JsonMessage.userLeftGame(nickname));
+              //move other users to waiting room
+              gameRoom.handleUserLeftAndRoomNotEmpty();
+            }
           }
-        }
-        if (gameRoom.getPhase() == Phase.WAITING_FOR_START) {
-          gameRoom.removeLeftUserFromRoom(nickname);
-          gameRoom.removeUserMessageHandler(this);
-          //check whether game room is empty after user left
-          //if yes, remove game room in server connection
-          // if no, inform other users in room about user left
-          if (gameRoom.isGameRoomEmpty()) {
-            serverNetworkConnection.removeGameRoom(gameRoom);
-          } else {
-            gameRoom.broadcastToAll(JsonMessage.userLeftRoom(nickname));
+          if (gameRoom.getPhase() == Phase.WAITING_FOR_START) {
+            gameRoom.removeLeftUserFromRoom(nickname);
+            gameRoom.removeUserMessageHandler(this);
+            //check whether game room is empty after user left
+            //if yes, remove game room in server connection
+            // if no, inform other users in room about user left
+            if (gameRoom.isGameRoomEmpty()) {
+              serverNetworkConnection.removeGameRoom(gameRoom);
+            } else {
+              gameRoom.broadcastToAll(JsonMessage.userLeftRoom(nickname));
+            }
           }
         }
         nickname = null;
@@ -131,15 +135,24 @@ public class UserMessageHandler implements Runnable {
    */
   private void handleUserMessage(JSONObject object) throws IOException {
     System.out.println("handleUserMessage");
-    switch (JsonMessage.typeOf(object)) {
-      case LOGIN -> handleLoginRequest(object);
-      case READY_FOR_GAME -> handleReadyForGame();
-      case NOT_READY_FOR_GAME -> handleNotReadyForGame();
-      case COLLECT_TILES -> handleCollectTilesSignal(object);
-      case PLACE_TILES_REQUEST -> handlePlaceTilesRequest(object);
-      case RESTART_REQUEST -> handleRestartGameRequest();
-      case REPLY_TO_RESTART_REQUEST -> handleReplyToRestartRequest(object);
-      default -> throw new AssertionError("cannot handle user's message" + object);
+    JsonMessage type = JsonMessage.typeOf(object);
+    if (type == JsonMessage.LOGIN) {
+      handleLoginRequest(object);
+      return;
+    }
+    //the bots of the room play on the threads of the bot scheduler,
+    //so the room is locked while the message of the user is handled
+    synchronized (gameRoom) {
+      switch (type) {
+        case READY_FOR_GAME -> handleReadyForGame();
+        case NOT_READY_FOR_GAME -> handleNotReadyForGame();
+        case PLAY_WITH_BOTS -> handlePlayWithBots(object);
+        case COLLECT_TILES -> handleCollectTilesSignal(object);
+        case PLACE_TILES_REQUEST -> handlePlaceTilesRequest(object);
+        case RESTART_REQUEST -> handleRestartGameRequest();
+        case REPLY_TO_RESTART_REQUEST -> handleReplyToRestartRequest(object);
+        default -> throw new AssertionError("cannot handle user's message" + object);
+      }
     }
   }
 
@@ -188,6 +201,7 @@ public class UserMessageHandler implements Runnable {
     int indexOfStartingPlayer = gameRoom.getIndexOfCurrentPlayerInGame();
     gameRoom.broadcastToAll(
         JsonMessage.restartGame(gameRoom.getAllFactoryDisplays(), indexOfStartingPlayer));
+    serverNetworkConnection.getBotScheduler().schedule(gameRoom);
   }
 
 
@@ -310,6 +324,19 @@ public class UserMessageHandler implements Runnable {
     }
   }
 
+  public String getNickname() {
+    return nickname;
+  }
+
+  /**
+   * Get the id of the place tiles request of this user that is being handled.
+   *
+   * @return the id, or {@link JsonMessage#NO_REQUEST_ID} if the client did not send one
+   */
+  public int getPlaceTilesRequestId() {
+    return placeTilesRequestId;
+  }
+
   private void setNicknameForThisUser(String nickname) {
     this.nickname = nickname;
   }
@@ -326,6 +353,20 @@ public class UserMessageHandler implements Runnable {
     }
     //broadcast to all users in the game room that this user is ready for game
     gameRoom.broadcastToAll(JsonMessage.somebodyReadyForGame(nickname));
+    startGameIfAllUsersReady();
+  }
+
+  private void handlePlayWithBots(JSONObject object) throws IOException {
+    if (gameRoom.getPhase() != Phase.WAITING_FOR_START) {
+      return;
+    }
+    //fill the empty seats with bots, which are ready for game at once
+    gameRoom.fillWithBots(JsonMessage.getPlayerCount(object),
+        serverNetworkConnection.getBotScheduler());
+    handleReadyForGame();
+  }
+
+  private void startGameIfAllUsersReady() throws IOException {
     //check whether all users in room are ready for game, if so start game and broadcast to all
     //users that game is started
     if (checkStartGame()) {
@@ -334,6 +375,7 @@ public class UserMessageHandler implements Runnable {
       int indexOfStartingPlayer = gameRoom.getIndexOfCurrentPlayerInGame();
       gameRoom.broadcastToAll(
           JsonMessage.gameStart(gameRoom.getAllFactoryDisplays(), indexOfStartingPlayer));
+      serverNetworkConnection.getBotScheduler().schedule(gameRoom);
       /*
       if (nicknameOfCurrentPlayerInGame.equals(nickname)) {
         //send to the random starting player that she starts game
@@ -361,12 +403,16 @@ public class UserMessageHandler implements Runnable {
 
   private void handlePlaceTilesRequest(JSONObject object) throws IOException {
     int placeTilesLocation = object.getInt("place location");
+    placeTilesRequestId =
+        object.optInt(JsonMessage.REQUEST_ID_FIELD, JsonMessage.NO_REQUEST_ID);
     if (placeTilesLocation == -1) {
       //request place tiles to floor line
       handlePlaceTilesToFloorLine();
     }
     //request place tiles to pattern lines
     handlePlaceTilesToPatternLines(placeTilesLocation);
+    //let the bots in the room play until it is the turn of a human player again
+    serverNetworkConnection.getBotScheduler().schedule(gameRoom);
   }
 
   private void handlePlaceTilesToFloorLine() throws IOException {
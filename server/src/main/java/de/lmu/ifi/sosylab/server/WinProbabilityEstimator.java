@@ -0,0 +1,110 @@
+package de.lmu.ifi.sosylab.server;
+
+import de.lmu.ifi.sosylab.shared.ai.GameState;
+import de.lmu.ifi.sosylab.shared.ai.SearchBudget;
+import de.lmu.ifi.sosylab.shared.ai.WinProbabilities;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Keeps a running estimate of the chances to win of the players in a game room. After every turn
+ * the room hands over the new state, and a pool that is shared by all rooms plays random playouts
+ * from it. The latest estimate is sent with the next turn message.
+ *
+ * <p>The estimates never delay the moves: the pool has few threads with low priority and a short
+ * queue, every room has at most one estimate waiting, and an estimate that does not fit into the
+ * queue is dropped. A room then keeps its older estimate until the next turn.
+ */
+public class WinProbabilityEstimator {
+  private static final SearchBudget BUDGET = SearchBudget.of(100, 2_000);
+  private static final int THREADS = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+  private static final ThreadPoolExecutor POOL = new ThreadPoolExecutor(THREADS, THREADS,
+      0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(THREADS * 2),
+      runnable -> {
+        Thread thread = new Thread(runnable, "win-probability");
+        thread.setDaemon(true);
+        thread.setPriority(Thread.MIN_PRIORITY);
+        return thread;
+      },
+      (task, pool) -> ((EstimateTask) task).shed());
+
+  //the newest state that is not estimated yet, null if no estimate is waiting
+  private final AtomicReference<GameState> pending;
+  //incremented when the game starts again, so that estimates of the old game are dropped
+  private final AtomicLong game;
+  private volatile double[] latest;
+
+  /**
+   * Construct an estimator of a game room.
+   */
+  public WinProbabilityEstimator() {
+    pending = new AtomicReference<>();
+    game = new AtomicLong();
+  }
+
+  /**
+   * Request an estimate of the given state. If an estimate of the room is still waiting, it
+   * estimates the new state instead.
+   *
+   * @param state the state of the game after the last turn, which is not changed afterwards.
+   */
+  public void request(GameState state) {
+    if (pending.getAndSet(state) == null) {
+      POOL.execute(new EstimateTask(game.get()));
+    }
+  }
+
+  /**
+   * Drop the estimates of the current game, e.g. when the game is restarted or stopped.
+   */
+  public void reset() {
+    game.incrementAndGet();
+    pending.set(null);
+    latest = null;
+  }
+
+  /**
+   * Get the latest estimate of the room.
+   *
+   * @return the chance to win of every player, null if there is no estimate yet.
+   */
+  public double[] getLatest() {
+    return latest;
+  }
+
+  /**
+   * Estimates the newest state of a room.
+   */
+  private final class EstimateTask implements Runnable {
+    private final long gameOfTask;
+
+    private EstimateTask(long gameOfTask) {
+      this.gameOfTask = gameOfTask;
+    }
+
+    @Override
+    public void run() {
+      if (game.get() != gameOfTask) {
+        //the waiting state belongs to a new game and has its own task
+        return;
+      }
+      GameState state = pending.getAndSet(null);
+      if (state == null) {
+        return;
+      }
+      double[] estimate = WinProbabilities.estimate(state, BUDGET, ThreadLocalRandom.current());
+      if (game.get() == gameOfTask) {
+        latest = estimate;
+      }
+    }
+
+    private void shed() {
+      //the pool is busy, so the waiting state is not estimated
+      pending.set(null);
+    }
+  }
+}
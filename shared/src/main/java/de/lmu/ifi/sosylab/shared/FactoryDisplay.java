@@ -54,7 +54,8 @@ public class FactoryDisplay {
     Tiles removeTileType = factoryDisplay.get(removeTilesIndex);
 
     int countTiles = 0;
-    for (int tileIndex = 0; tileIndex < maxTiles; tileIndex++) {
+    //a display has fewer tiles if the bag and the lid ran out of tiles when it was filled
+    for (int tileIndex = 0; tileIndex < factoryDisplay.size(); tileIndex++) {
       if (factoryDisplay.get(tileIndex) == removeTileType) {
         countTiles = countTiles + 1;
       }
@@ -76,7 +77,7 @@ public class FactoryDisplay {
    * @return the remaining tiles.
    */
   public ArrayList<Tiles> remainTiles(ArrayList<Tiles> factoryDisplay, int removeTiles) {
-    int remainTilesCount = maxTiles - removeTiles;
+    int remainTilesCount = Math.min(maxTiles - removeTiles, factoryDisplay.size());
     return new ArrayList<>(factoryDisplay.subList(0, remainTilesCount));
   }
 
@@ -1,11 +1,10 @@
 package de.lmu.ifi.sosylab.shared;
 
-import java.awt.Point;
 import java.util.ArrayList;
-import java.util.Arrays;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
 import org.json.JSONArray;
 import org.json.JSONException;
 import org.json.JSONObject;
@@ -16,7 +15,8 @@ import org.json.JSONObject;
 public enum JsonMessage {
   LOGIN("login"), LOGIN_SUCCESS("login success"), LOGIN_FAILED("login failed"),
   USER_JOINED("user joined"), USER_LEFT_ROOM("user left room"), READY_FOR_GAME("ready for game"),
-  NOT_READY_FOR_GAME("not ready for game"), GAME_START("game start"), TURN("turn"),
+  NOT_READY_FOR_GAME("not ready for game"), PLAY_WITH_BOTS("play with bots"),
+  GAME_START("game start"), TURN("turn"),
   COLLECT_TILES("collect tiles"), PLACE_TILES_REQUEST("place tiles request"),
   SOMEBODY_COLLECTED_TILES("somebody collected tiles"), USER_LEFT_GAME("user left game"),
   SOMEBODY_PLACED_TILES("somebody placed tiles"), START_NEXT_ROUND("start next round"),
@@ -43,13 +43,28 @@ public enum JsonMessage {
   public static final String TILES_ADDED_ON_FLOOR_LINE_FIELD = "tiles added on floor line";
   public static final String UPDATED_CONTENT_FIELD = "updated content";
   public static final String UPDATED_WALL_FIELD = "updated wall";
-  public static final String ROW_OF_WALL_FIELD = "row of wall";
-  public static final String COLUMN_OF_WALL_FIELD = "column of wall";
   public static final String UPDATED_SCORE_FIELD = "updated score";
   public static final String FACTORY_DISPLAYS_FIELD = "factory displays";
   public static final String REPLY_FIELD = "reply";
   public static final String RANKINGS_FIELD = "rankings";
   public static final String RANKING_FIELD = "ranking";
+  public static final String WIN_PROBABILITIES_FIELD = "win probabilities";
+  public static final String PLAYER_COUNT_FIELD = "player count";
+  public static final String REQUEST_ID_FIELD = "request id";
+
+  /**
+   * The request id of a message that does not answer a request with an id, e.g. of a bot.
+   */
+  public static final int NO_REQUEST_ID = -1;
+
+  //looks up the type of every received message, so it must not scan all constants
+  private static final Map<String, JsonMessage> BY_JSON_NAME = new HashMap<>();
+
+  static {
+    for (JsonMessage type : values()) {
+      BY_JSON_NAME.put(type.getJsonName(), type);
+    }
+  }
 
   private final String jsonName;
 
@@ -85,11 +100,11 @@ public enum JsonMessage {
       throw new IllegalArgumentException(String.format("Unknown message type '%s'", message), e);
     }
 
-    Optional<JsonMessage> opt =
-        Arrays.stream(JsonMessage.values()).filter(x -> x.getJsonName().equals(typeName))
-            .findFirst();
-    return opt.orElseThrow(
-        () -> new IllegalArgumentException(String.format("Unknown message type '%s'", typeName)));
+    JsonMessage type = BY_JSON_NAME.get(typeName);
+    if (type == null) {
+      throw new IllegalArgumentException(String.format("Unknown message type '%s'", typeName));
+    }
+    return type;
   }
 
   /**
@@ -213,6 +228,23 @@ public enum JsonMessage {
     }
   }
 
+  /**
+   * Create a json object containing a message with the following characteristics.
+   * 1. It is sent from a user to the server.
+   * 2. It asks the server to fill the empty seats of the room with bots and informs the server
+   * that the user is ready for game.
+   *
+   * @param playerCount the number of players of the game including the bots.
+   * @return the json object
+   */
+  public static JSONObject playWithBots(int playerCount) {
+    try {
+      return createMessageOfType(PLAY_WITH_BOTS).put(PLAYER_COUNT_FIELD, playerCount);
+    } catch (JSONException e) {
+      throw new IllegalArgumentException("Failed to create a json object.", e);
+    }
+  }
+
   /**
    * Create a json object containing a message with the following characteristics.
    * 1. It is sent from a user to the server.
@@ -300,23 +332,23 @@ public enum JsonMessage {
     }
   }
 
-  public static JSONObject updateWallsAndScores(List<List<Point>> updatedWalls,
-      List<Integer> scores) {
+  /**
+   * Create a json object containing a message with the following characteristics.
+   * 1. It is sent from the server to all users in a certain room.
+   * 2. It informs them which tiles were newly placed on the walls and how the scores changed.
+   *
+   * @param updatedWalls the newly set tiles of every player's wall as {@link WallMask}
+   * @param scores the updated scores of all players
+   * @return The json object
+   */
+  public static JSONObject updateWallsAndScores(int[] updatedWalls, List<Integer> scores) {
     try {
       JSONObject jsonObject = createMessageOfType(UPDATE_WALLS_AND_SCORES);
 
       JSONArray updatedContents = new JSONArray();
       for (int i = 0; i < scores.size(); i++) {
         JSONObject updatedContent = new JSONObject();
-
-        JSONArray jsonArray = new JSONArray();
-        for (Point point : updatedWalls.get(i)) {
-          JSONObject updatedWallTile = new JSONObject();
-          updatedWallTile.put(ROW_OF_WALL_FIELD, point.x);
-          updatedWallTile.put(COLUMN_OF_WALL_FIELD, point.y);
-          jsonArray.put(updatedWallTile);
-        }
-        updatedContent.put(UPDATED_WALL_FIELD, jsonArray);
+        updatedContent.put(UPDATED_WALL_FIELD, updatedWalls[i]);
         updatedContent.put(UPDATED_SCORE_FIELD, scores.get(i));
         updatedContents.put(updatedContent);
       }
@@ -345,11 +377,13 @@ public enum JsonMessage {
    * 2. It informs the server where s/he wants to place tiles.
    *
    * @param placeLocation The index of pattern line or floor line
+   * @param requestId     The id that the answer of the server refers to
    * @return The json object
    */
-  public static JSONObject placeTilesRequest(int placeLocation) {
+  public static JSONObject placeTilesRequest(int placeLocation, int requestId) {
     try {
-      return createMessageOfType(PLACE_TILES_REQUEST).put(PLACE_LOCATION_FIELD, placeLocation);
+      return createMessageOfType(PLACE_TILES_REQUEST).put(PLACE_LOCATION_FIELD, placeLocation)
+          .put(REQUEST_ID_FIELD, requestId);
     } catch (JSONException e) {
       throw new IllegalArgumentException("Failed to create a json object.", e);
     }
@@ -364,18 +398,44 @@ public enum JsonMessage {
     }
   }
 
+  /**
+   * Create a json object containing a turn message with the estimated chances to win of all
+   * players.
+   *
+   * @param currentPlayer the index of the player who can move now.
+   * @param winProbabilities the chance to win of every player, null if there is no estimate.
+   * @return The json object
+   */
+  public static JSONObject turn(int currentPlayer, double[] winProbabilities) {
+    JSONObject message = turn(currentPlayer);
+    if (winProbabilities == null) {
+      return message;
+    }
+    try {
+      JSONArray probabilities = new JSONArray();
+      for (double probability : winProbabilities) {
+        probabilities.put(probability);
+      }
+      return message.put(WIN_PROBABILITIES_FIELD, probabilities);
+    } catch (JSONException e) {
+      throw new IllegalArgumentException("Failed to create a json object.", e);
+    }
+  }
+
   /**
    * Create a json object containing a message with the following characteristics.
    * 1. It is sent from the server to a user.
    * 2. It informs the user that his move is valid.
    *
+   * @param requestId the id of the place tiles request that is answered
    * @return the json object
    */
   public static JSONObject validMove(int placeLocation, List<Tiles> tilesAddedOnPatternLine,
-      List<Tiles> tilesAddedOnFloorLine) {
+      List<Tiles> tilesAddedOnFloorLine, int requestId) {
     try {
       JSONObject jsonObject = createMessageOfType(VALID_MOVE);
 
+      jsonObject.put(REQUEST_ID_FIELD, requestId);
       jsonObject.put(PLACE_LOCATION_FIELD, placeLocation);
       jsonObject.put(
           TILES_ADDED_ON_PATTERN_LINE_FIELD, createJsonArrayFromTiles(tilesAddedOnPatternLine));
@@ -421,11 +481,12 @@ public enum JsonMessage {
    * 1. It is sent from the server to a user.
    * 2. It informs the user that his move is invalid.
    *
+   * @param requestId the id of the place tiles request that is answered
    * @return the json object
    */
-  public static JSONObject invalidMove() {
+  public static JSONObject invalidMove(int requestId) {
     try {
-      return createMessageOfType(INVALID_MOVE);
+      return createMessageOfType(INVALID_MOVE).put(REQUEST_ID_FIELD, requestId);
     } catch (JSONException e) {
       throw new IllegalArgumentException("Failed to create a json object.", e);
     }
@@ -533,8 +594,15 @@ public enum JsonMessage {
       throw new IllegalArgumentException("Failed to read a json object.", e);
     }
   }
-}
 
+  public static int getPlayerCount(JSONObject object) {
+    try {
+      return object.getInt(PLAYER_COUNT_FIELD);
+    } catch (JSONException e) {
+      throw new IllegalArgumentException("Failed to read a json object.", e);
+    }
+  }
+}
 
 
 
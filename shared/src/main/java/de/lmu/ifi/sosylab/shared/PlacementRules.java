@@ -0,0 +1,132 @@
+package de.lmu.ifi.sosylab.shared;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Contains the rules for placing collected tiles on a player board. The server decides every move
+ * with them, and the client uses them to show the own moves before the server has answered.
+ */
+public final class PlacementRules {
+
+  /**
+   * The place location of the floor line.
+   */
+  public static final int FLOOR_LINE = -1;
+
+  private PlacementRules() {
+    // Class is final to prevent extension
+    // Constructor is private to prevent instantiation
+  }
+
+  /**
+   * Decide where the collected tiles go when the player chooses a place for them. If no pattern
+   * line can take the tiles, all of them go to the floor line, whatever place was chosen.
+   * Otherwise, the chosen pattern line is filled and the excess tiles go to the floor line.
+   *
+   * @param placeLocation  the chosen place: {@link #FLOOR_LINE} or the row of a pattern line
+   * @param collectedTiles the collected tiles, which must not be empty
+   * @param patternLines   the pattern lines of the player
+   * @param wall           the wall of the player
+   * @return the placement of the tiles, or null if they cannot be placed in the chosen row
+   */
+  public static Placement resolve(int placeLocation, List<Tiles> collectedTiles,
+                                  Tiles[][] patternLines, WallTile[][] wall) {
+    Tiles tileType = collectedTiles.get(0);
+    int tileCount = collectedTiles.size();
+    if (placeLocation == FLOOR_LINE || !hasAvailableLine(tileType, patternLines, wall)) {
+      return new Placement(FLOOR_LINE, 0, tileType, tileCount);
+    }
+    if (!wallAllows(placeLocation, wall, tileType)) {
+      return null;
+    }
+
+    Tiles[] line = patternLines[placeLocation];
+    //the lines are filled from the right, so the last slot holds the type of the line
+    Tiles lineType = line[line.length - 1];
+    if (lineType != null && (lineType != tileType || line[0] != null)) {
+      return null;
+    }
+    int freeSlots = 0;
+    for (Tiles tile : line) {
+      if (tile == null) {
+        freeSlots++;
+      }
+    }
+    int onPatternLine = Math.min(tileCount, freeSlots);
+    return new Placement(placeLocation, onPatternLine, tileType, tileCount - onPatternLine);
+  }
+
+  /**
+   * Check whether some pattern line can take tiles of a type: a line of this type that is not full,
+   * or an empty line whose row of the wall does not have this type yet.
+   *
+   * @param tileType     the type of the tiles
+   * @param patternLines the pattern lines of the player
+   * @param wall         the wall of the player
+   * @return true if at least one line can take the tiles
+   */
+  public static boolean hasAvailableLine(Tiles tileType, Tiles[][] patternLines,
+                                         WallTile[][] wall) {
+    for (int row = 0; row < patternLines.length; row++) {
+      Tiles[] line = patternLines[row];
+      Tiles lineType = line[line.length - 1];
+      if (lineType == tileType && line[0] == null) {
+        return true;
+      }
+      if (lineType == null && wallAllows(row, wall, tileType)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Check whether the row of the wall does not have a tile of a type yet.
+   *
+   * @param row      the row
+   * @param wall     the wall of the player
+   * @param tileType the type of the tiles
+   * @return true if tiles of this type may be placed in the pattern line of the row
+   */
+  public static boolean wallAllows(int row, WallTile[][] wall, Tiles tileType) {
+    for (WallTile wallTile : wall[row]) {
+      if (wallTile.getIsOnWall() && wallTile.getTile() == tileType) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * The outcome of a valid move: which tiles go to the pattern line and which to the floor line.
+   */
+  public static final class Placement {
+    private final int placeLocation;
+    private final List<Tiles> tilesOnPatternLine;
+    private final List<Tiles> tilesOnFloorLine;
+
+    private Placement(int placeLocation, int onPatternLine, Tiles tileType, int onFloorLine) {
+      this.placeLocation = placeLocation;
+      this.tilesOnPatternLine = Collections.nCopies(onPatternLine, tileType);
+      this.tilesOnFloorLine = Collections.nCopies(onFloorLine, tileType);
+    }
+
+    /**
+     * Get the place where the tiles were placed.
+     *
+     * @return {@link #FLOOR_LINE} or the row of the pattern line
+     */
+    public int getPlaceLocation() {
+      return placeLocation;
+    }
+
+    public List<Tiles> getTilesOnPatternLine() {
+      return tilesOnPatternLine;
+    }
+
+    public List<Tiles> getTilesOnFloorLine() {
+      return tilesOnFloorLine;
+    }
+  }
+}
@@ -0,0 +1,202 @@
+package de.lmu.ifi.sosylab.shared;
+
+/**
+ * Contains static methods to describe a wall as a 25-bit mask. The tile in row {@code row} and
+ * column {@code column} of the wall is stored in bit {@code row * 5 + column}.
+ */
+public final class WallMask {
+
+  public static final int WALL_SIZE = 5;
+  public static final int EMPTY = 0;
+  public static final int FULL = (1 << (WALL_SIZE * WALL_SIZE)) - 1;
+  public static final int ROW_BONUS = 2;
+  public static final int COLUMN_BONUS = 7;
+  public static final int COLOR_BONUS = 10;
+
+  //the column of each tile type (by ordinal) in the first row of the wall,
+  //every following row is shifted to the right by one
+  private static final int[] FIRST_ROW_COLUMNS = {2, 0, 4, 1, 3};
+  private static final int FIRST_ROW = (1 << WALL_SIZE) - 1;
+  private static final int FIRST_COLUMN = 0x108421;
+
+  private WallMask() {
+    // Class is final to prevent extension
+    // Constructor is private to prevent instantiation
+  }
+
+  /**
+   * Get the bit of a single cell of the wall.
+   *
+   * @param row the row of the cell.
+   * @param column the column of the cell.
+   * @return a mask where only the bit of the given cell is set.
+   */
+  public static int bit(int row, int column) {
+    return 1 << (row * WALL_SIZE + column);
+  }
+
+  /**
+   * Check whether the given cell is set in the mask.
+   *
+   * @param mask the wall mask.
+   * @param row the row of the cell.
+   * @param column the column of the cell.
+   * @return true if the cell is set, false if not.
+   */
+  public static boolean isSet(int mask, int row, int column) {
+    return (mask & bit(row, column)) != 0;
+  }
+
+  /**
+   * Create the mask of all tiles that are currently on the given wall.
+   *
+   * @param wall the wall of a player board.
+   * @return the mask of the tiles on wall.
+   */
+  public static int of(WallTile[][] wall) {
+    int mask = EMPTY;
+    for (int row = 0; row < WALL_SIZE; row++) {
+      for (int column = 0; column < WALL_SIZE; column++) {
+        if (wall[row][column].getIsOnWall()) {
+          mask |= bit(row, column);
+        }
+      }
+    }
+    return mask;
+  }
+
+  /**
+   * Set all cells of the given mask on the wall.
+   *
+   * @param wall the wall of a player board.
+   * @param mask the cells that are set on wall.
+   */
+  public static void applyTo(WallTile[][] wall, int mask) {
+    for (int row = 0; row < WALL_SIZE; row++) {
+      for (int column = 0; column < WALL_SIZE; column++) {
+        if (isSet(mask, row, column)) {
+          wall[row][column].setIsOnWall();
+        }
+      }
+    }
+  }
+
+  /**
+   * Get the column of the given tile type in the given row of the wall.
+   *
+   * @param row the row of the wall.
+   * @param color the ordinal of the tile type.
+   * @return the column of the tile type in the row.
+   */
+  public static int columnOf(int row, int color) {
+    return (FIRST_ROW_COLUMNS[color] + row) % WALL_SIZE;
+  }
+
+  /**
+   * Get the mask of a complete row of the wall.
+   *
+   * @param row the row of the wall.
+   * @return a mask where all cells of the row are set.
+   */
+  public static int rowMask(int row) {
+    return FIRST_ROW << (row * WALL_SIZE);
+  }
+
+  /**
+   * Get the mask of a complete column of the wall.
+   *
+   * @param column the column of the wall.
+   * @return a mask where all cells of the column are set.
+   */
+  public static int columnMask(int column) {
+    return FIRST_COLUMN << column;
+  }
+
+  /**
+   * Get the mask of all cells of the given tile type.
+   *
+   * @param color the ordinal of the tile type.
+   * @return a mask where all cells of the tile type are set.
+   */
+  public static int colorMask(int color) {
+    int mask = EMPTY;
+    for (int row = 0; row < WALL_SIZE; row++) {
+      mask |= bit(row, columnOf(row, color));
+    }
+    return mask;
+  }
+
+  /**
+   * Calculate the gain points of a tile that has just been placed on the wall.
+   *
+   * @param mask the wall mask, including the placed tile.
+   * @param row the row of the placed tile.
+   * @param column the column of the placed tile.
+   * @return the gain points of the tile.
+   */
+  public static int gainPoints(int mask, int row, int column) {
+    int horizontal = 0;
+    for (int col = column - 1; col >= 0 && isSet(mask, row, col); col--) {
+      horizontal++;
+    }
+    for (int col = column + 1; col < WALL_SIZE && isSet(mask, row, col); col++) {
+      horizontal++;
+    }
+    int vertical = 0;
+    for (int r = row - 1; r >= 0 && isSet(mask, r, column); r--) {
+      vertical++;
+    }
+    for (int r = row + 1; r < WALL_SIZE && isSet(mask, r, column); r++) {
+      vertical++;
+    }
+    if (horizontal + vertical == 0) {
+      return 1;
+    }
+    int gainPoints = 0;
+    if (horizontal > 0) {
+      gainPoints += horizontal + 1;
+    }
+    if (vertical > 0) {
+      gainPoints += vertical + 1;
+    }
+    return gainPoints;
+  }
+
+  /**
+   * Check whether at least one row of the wall is complete, which ends the game.
+   *
+   * @param mask the wall mask.
+   * @return true if a row is complete, false if not.
+   */
+  public static boolean hasCompleteRow(int mask) {
+    for (int row = 0; row < WALL_SIZE; row++) {
+      if ((mask & rowMask(row)) == rowMask(row)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Calculate the bonus of the end game scoring: +2 for each completed row, +7 for each completed
+   * column and +10 for each completed color.
+   *
+   * @param mask the wall mask.
+   * @return the bonus points of the wall.
+   */
+  public static int endGameBonus(int mask) {
+    int bonus = 0;
+    for (int index = 0; index < WALL_SIZE; index++) {
+      if ((mask & rowMask(index)) == rowMask(index)) {
+        bonus += ROW_BONUS;
+      }
+      if ((mask & columnMask(index)) == columnMask(index)) {
+        bonus += COLUMN_BONUS;
+      }
+      if ((mask & colorMask(index)) == colorMask(index)) {
+        bonus += COLOR_BONUS;
+      }
+    }
+    return bonus;
+  }
+}
@@ -0,0 +1,23 @@
+package de.lmu.ifi.sosylab.shared.ai;
+
+/**
+ * A computer player that chooses the moves of a seat in the game.
+ */
+public interface BotPolicy {
+
+  /**
+   * Choose the move of the current player in the given state. The state must not be changed.
+   *
+   * @param state the state of the game.
+   * @return the chosen move encoded by {@link Move}, or {@link Move#NONE} if there is no legal
+   *     move.
+   */
+  int chooseMove(GameState state);
+
+  /**
+   * Ask the bot to stop thinking about the current move. A bot that searches returns the best move
+   * that it has found so far; other bots ignore the request. Can be called from any thread.
+   */
+  default void cancel() {
+  }
+}
@@ -0,0 +1,365 @@
+package de.lmu.ifi.sosylab.shared.ai;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Solves the rest of a round by alpha-beta search. Within a round no tiles are drawn, so the
+ * remaining moves form a deterministic game tree. The solver plays paranoid: the player on turn
+ * maximizes their score after the round minus the best score of the other players, and all other
+ * players minimize it.
+ *
+ * <p>The search deepens iteratively until it reaches the end of the round in every line or the
+ * node budget is used up. Moves are ordered by the best move of the transposition table, then by
+ * two killer moves per ply, then by the heuristic of the {@link GreedyBot}. An instance keeps its
+ * search buffers, so it must not be shared between threads.
+ */
+public class EndOfRoundSolver implements BotPolicy {
+  private static final int MAX_PLY = 64;
+  private static final int INFINITY = 1_000_000;
+  private static final int KILLERS = 2;
+
+  private final BotPolicy fallback;
+  private final int maxGroups;
+  private final long nodeBudget;
+  private final Supplier<TranspositionTable> tables;
+  //the table of the current search
+  private TranspositionTable table;
+
+  private final GameState[] stack;
+  private GameState scratch;
+  private final int[][] moves;
+  private final double[][] moveValues;
+  private final int[][] killers;
+  private int rootPlayer;
+  private long rootSalt;
+  private long nodes;
+  private boolean aborted;
+  private boolean horizonReached;
+  private int searchCancellations;
+  //incremented by every cancel, a search stops when the count differs from the one at its start
+  private final AtomicInteger cancellations = new AtomicInteger();
+
+  /**
+   * Construct a solver that is used in every position.
+   *
+   * @param nodeBudget the maximum number of nodes of a single search.
+   * @param table the transposition table of the solver, null if no table is used. The table should
+   *              not be shared with searches that store other values, like the
+   *              {@link MonteCarloTreeSearch}.
+   */
+  public EndOfRoundSolver(long nodeBudget, TranspositionTable table) {
+    this(null, Integer.MAX_VALUE, nodeBudget, table);
+  }
+
+  /**
+   * Construct a bot that uses the solver late in a round and another bot before.
+   *
+   * @param fallback the bot that chooses the moves if too many tile groups are left.
+   * @param maxGroups the maximum number of tile groups (see {@link #remainingGroups(GameState)})
+   *                  for which the solver is used.
+   * @param nodeBudget the maximum number of nodes of a single search.
+   * @param table the transposition table of the solver, null if no table is used.
+   */
+  public EndOfRoundSolver(BotPolicy fallback, int maxGroups, long nodeBudget,
+                          TranspositionTable table) {
+    this(fallback, maxGroups, nodeBudget, () -> table);
+  }
+
+  /**
+   * Construct a bot that uses the solver late in a round and another bot before, and that gets
+   * the transposition table at the start of every search, e.g. the table of the thread that
+   * searches. The keys are salted with the player who solves, so bots of different games and
+   * players can use the same table, as long as they do not search at the same time.
+   *
+   * @param fallback the bot that chooses the moves if too many tile groups are left.
+   * @param maxGroups the maximum number of tile groups (see {@link #remainingGroups(GameState)})
+   *                  for which the solver is used.
+   * @param nodeBudget the maximum number of nodes of a single search.
+   * @param tables supplies the transposition table of a search, or null if no table is used.
+   */
+  public EndOfRoundSolver(BotPolicy fallback, int maxGroups, long nodeBudget,
+                          Supplier<TranspositionTable> tables) {
+    this.fallback = fallback;
+    this.maxGroups = maxGroups;
+    this.nodeBudget = nodeBudget;
+    this.tables = tables;
+    stack = new GameState[MAX_PLY + 1];
+    moves = new int[MAX_PLY][GameState.MAX_MOVES];
+    moveValues = new double[MAX_PLY][GameState.MAX_MOVES];
+    killers = new int[MAX_PLY][KILLERS];
+  }
+
+  @Override
+  public int chooseMove(GameState state) {
+    if (fallback != null && remainingGroups(state) > maxGroups) {
+      return fallback.chooseMove(state);
+    }
+    return solve(state).getBestMove();
+  }
+
+  /**
+   * Count the groups of tiles that are left in the round: every tile type in every factory display
+   * and in the middle of the table. Every move takes at least one group.
+   *
+   * @param state the state of the game.
+   * @return the number of tile groups.
+   */
+  public static int remainingGroups(GameState state) {
+    int groups = 0;
+    for (int color = 0; color < GameState.COLORS; color++) {
+      for (int display = 0; display < state.getDisplayCount(); display++) {
+        if (state.getTiles(display, color) > 0) {
+          groups++;
+        }
+      }
+      if (state.getTiles(Move.CENTER, color) > 0) {
+        groups++;
+      }
+    }
+    return groups;
+  }
+
+  /**
+   * Stop the running search. The solver returns the best move of the last completed iteration.
+   * A search that starts after the call is not affected.
+   */
+  @Override
+  public void cancel() {
+    cancellations.incrementAndGet();
+    if (fallback != null) {
+      fallback.cancel();
+    }
+  }
+
+  /**
+   * Search the best line of the current player to the end of the round.
+   *
+   * @param state the state of the game, which is not changed.
+   * @return the result of the search.
+   */
+  public SolverResult solve(GameState state) {
+    return solve(state, null);
+  }
+
+  /**
+   * Search the best line of the current player to the end of the round and report the result of
+   * every completed iteration, e.g. to show the best move so far while the search goes on.
+   *
+   * @param state the state of the game, which is not changed.
+   * @param progress the consumer of the result of every completed iteration, called on the thread
+   *                 of the search, null if the iterations are not reported.
+   * @return the result of the search.
+   */
+  public SolverResult solve(GameState state, Consumer<SolverResult> progress) {
+    searchCancellations = cancellations.get();
+    aborted = false;
+    nodes = 0;
+    prepareStack(state);
+    rootPlayer = state.getCurrentPlayer();
+    //the values depend on the player who solves, so the keys are salted with that player
+    rootSalt = Long.rotateLeft(ZobristKeys.currentPlayer(rootPlayer), 29);
+    table = tables.get();
+    for (int[] killersOfPly : killers) {
+      killersOfPly[0] = Move.NONE;
+      killersOfPly[1] = Move.NONE;
+    }
+    if (table != null) {
+      table.newSearch();
+    }
+
+    int moveCount = orderMoves(0, Move.NONE);
+    if (moveCount == 0) {
+      return new SolverResult(Move.NONE, evaluate(stack[0]), 0, true, 0);
+    }
+    int bestMove = moves[0][0];
+    int bestValue = 0;
+    int completedDepth = 0;
+    boolean exact = false;
+    for (int depth = 1; depth <= MAX_PLY; depth++) {
+      horizonReached = false;
+      int[] rootResult = searchRoot(depth, bestMove);
+      if (aborted) {
+        break;
+      }
+      bestMove = rootResult[0];
+      bestValue = rootResult[1];
+      completedDepth = depth;
+      exact = !horizonReached;
+      if (progress != null) {
+        progress.accept(new SolverResult(bestMove, bestValue, completedDepth, exact, nodes));
+      }
+      if (exact) {
+        break;
+      }
+    }
+    return new SolverResult(bestMove, bestValue, completedDepth, exact, nodes);
+  }
+
+  private void prepareStack(GameState state) {
+    if (stack[0] == null || stack[0].getPlayerCount() != state.getPlayerCount()) {
+      for (int ply = 0; ply <= MAX_PLY; ply++) {
+        stack[ply] = new GameState(state.getPlayerCount());
+      }
+      scratch = new GameState(state.getPlayerCount());
+    }
+    stack[0].copyFrom(state);
+  }
+
+  private int[] searchRoot(int depth, int previousBest) {
+    int moveCount = orderMoves(0, previousBest);
+    int alpha = -INFINITY;
+    int bestMove = moves[0][0];
+    for (int index = 0; index < moveCount; index++) {
+      int move = moves[0][index];
+      stack[1].copyFrom(stack[0]);
+      stack[1].apply(move);
+      int value = search(1, depth - 1, alpha, INFINITY);
+      if (aborted) {
+        break;
+      }
+      if (value > alpha) {
+        alpha = value;
+        bestMove = move;
+      }
+    }
+    return new int[] {bestMove, alpha};
+  }
+
+  private int search(int ply, int depth, int alpha, int beta) {
+    if (++nodes > nodeBudget || cancellations.get() != searchCancellations) {
+      aborted = true;
+      return 0;
+    }
+    GameState state = stack[ply];
+    if (state.isRoundFinished()) {
+      return evaluate(state);
+    }
+    if (depth == 0 || ply == MAX_PLY) {
+      horizonReached = true;
+      return evaluate(state);
+    }
+
+    long key = state.getKey() ^ rootSalt;
+    int tableMove = Move.NONE;
+    if (table != null) {
+      long data = table.probe(key);
+      if (data != TranspositionTable.MISS) {
+        tableMove = TranspositionTable.moveOf(data);
+        int storedDepth = TranspositionTable.depthOf(data);
+        if (storedDepth >= depth) {
+          int value = (int) TranspositionTable.valueOf(data);
+          int bound = TranspositionTable.boundOf(data);
+          if (bound == TranspositionTable.EXACT
+              || (bound == TranspositionTable.LOWER_BOUND && value >= beta)
+              || (bound == TranspositionTable.UPPER_BOUND && value <= alpha)) {
+            if (storedDepth < TranspositionTable.MAX_DEPTH) {
+              horizonReached = true;
+            }
+            return value;
+          }
+        }
+      }
+    }
+
+    boolean maximizing = state.getCurrentPlayer() == rootPlayer;
+    int originalAlpha = alpha;
+    int originalBeta = beta;
+    boolean horizonAbove = horizonReached;
+    horizonReached = false;
+    int bestValue = maximizing ? -INFINITY : INFINITY;
+    int bestMove = Move.NONE;
+    int moveCount = orderMoves(ply, tableMove);
+    for (int index = 0; index < moveCount; index++) {
+      int move = moves[ply][index];
+      stack[ply + 1].copyFrom(state);
+      stack[ply + 1].apply(move);
+      int value = search(ply + 1, depth - 1, alpha, beta);
+      if (aborted) {
+        return 0;
+      }
+      if (maximizing ? value > bestValue : value < bestValue) {
+        bestValue = value;
+        bestMove = move;
+      }
+      if (maximizing) {
+        alpha = Math.max(alpha, value);
+      } else {
+        beta = Math.min(beta, value);
+      }
+      if (alpha >= beta) {
+        storeKiller(ply, move);
+        break;
+      }
+    }
+
+    boolean subtreeExact = !horizonReached;
+    horizonReached |= horizonAbove;
+    if (table != null) {
+      int bound = TranspositionTable.EXACT;
+      if (bestValue <= originalAlpha) {
+        bound = TranspositionTable.UPPER_BOUND;
+      } else if (bestValue >= originalBeta) {
+        bound = TranspositionTable.LOWER_BOUND;
+      }
+      //a subtree that reached the end of the round in every line is valid for every depth
+      int storedDepth = subtreeExact ? TranspositionTable.MAX_DEPTH : depth;
+      table.store(key, bestMove, storedDepth, bound, bestValue);
+    }
+    return bestValue;
+  }
+
+  private void storeKiller(int ply, int move) {
+    if (killers[ply][0] != move) {
+      killers[ply][1] = killers[ply][0];
+      killers[ply][0] = move;
+    }
+  }
+
+  /**
+   * Generate the moves of a ply and sort them: the given first move, the killer moves and then
+   * the moves with the best heuristic value.
+   */
+  private int orderMoves(int ply, int firstMove) {
+    GameState state = stack[ply];
+    int[] plyMoves = moves[ply];
+    double[] values = moveValues[ply];
+    int moveCount = state.generateMoves(plyMoves);
+    for (int index = 0; index < moveCount; index++) {
+      int move = plyMoves[index];
+      double value = GreedyBot.evaluate(state, move, HeuristicWeights.DEFAULT);
+      if (move == firstMove) {
+        value += 2 * INFINITY;
+      } else if (move == killers[ply][0] || move == killers[ply][1]) {
+        value += INFINITY;
+      }
+      //insertion sort, the lists of moves are short late in a round
+      int position = index;
+      while (position > 0 && values[position - 1] < value) {
+        plyMoves[position] = plyMoves[position - 1];
+        values[position] = values[position - 1];
+        position--;
+      }
+      plyMoves[position] = move;
+      values[position] = value;
+    }
+    return moveCount;
+  }
+
+  /**
+   * Score the round as if it ended now and compare the score of the root player with the best
+   * score of the other players.
+   */
+  private int evaluate(GameState state) {
+    scratch.copyFrom(state);
+    scratch.finishRound();
+    int bestOther = 0;
+    for (int player = 0; player < scratch.getPlayerCount(); player++) {
+      if (player != rootPlayer) {
+        bestOther = Math.max(bestOther, scratch.getScore(player));
+      }
+    }
+    return scratch.getScore(rootPlayer) - bestOther;
+  }
+}
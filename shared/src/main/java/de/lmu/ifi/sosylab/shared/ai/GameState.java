@@ -0,0 +1,687 @@
+package de.lmu.ifi.sosylab.shared.ai;
+
+import de.lmu.ifi.sosylab.shared.PlayerBoard;
+import de.lmu.ifi.sosylab.shared.Tiles;
+import de.lmu.ifi.sosylab.shared.WallMask;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.random.RandomGenerator;
+
+/**
+ * A compact and mutable copy of the state of an Azul game that is used by the bots. All tiles are
+ * stored as counts per tile type and all walls as {@link WallMask}s, so that moves can be
+ * generated, applied and evaluated without creating objects. Every state has a Zobrist key
+ * (see {@link ZobristKeys}) that is updated incrementally by the moves, so that positions that
+ * are reached by different move orders can be found in a {@link TranspositionTable}.
+ */
+public final class GameState {
+
+  public static final int COLORS = 5;
+  public static final int ROWS = 5;
+  public static final int TILES_PER_COLOR = 20;
+  public static final int TILES_PER_DISPLAY = 4;
+  public static final int MAX_FLOOR_SIZE = 7;
+  //the maximum number of legal moves: 9 factory displays and the table, 5 colors, 6 targets
+  public static final int MAX_MOVES = 10 * COLORS * (ROWS + 1);
+
+  private static final int[] FLOOR_PENALTY = {0, 1, 2, 4, 6, 8, 11, 14};
+  private static final int EMPTY_LINE = -1;
+
+  private final int playerCount;
+  private final int displayCount;
+  //tile counts of the factory displays, indexed by display * COLORS + color
+  private final int[] displays;
+  private final int[] center;
+  private boolean startMarkerInCenter;
+  private final int[] walls;
+  //color and tile count of the pattern lines, indexed by player * ROWS + row
+  private final int[] lineColors;
+  private final int[] lineCounts;
+  //tiles in the floor lines including the starting player marker
+  private final int[] floorCounts;
+  private final int[] scores;
+  private final int[] bag;
+  private final int[] lid;
+  //the player who holds the starting player marker, -1 if it is in the middle of the table
+  private int startPlayer;
+  private int currentPlayer;
+  private boolean gameOver;
+  private long key;
+
+  /**
+   * Construct the state of a new game with empty factory displays and a full bag.
+   *
+   * @param playerCount the number of players in game.
+   */
+  public GameState(int playerCount) {
+    this.playerCount = playerCount;
+    this.displayCount = playerCount * 2 + 1;
+    displays = new int[displayCount * COLORS];
+    center = new int[COLORS];
+    startMarkerInCenter = true;
+    walls = new int[playerCount];
+    lineColors = new int[playerCount * ROWS];
+    Arrays.fill(lineColors, EMPTY_LINE);
+    lineCounts = new int[playerCount * ROWS];
+    floorCounts = new int[playerCount];
+    scores = new int[playerCount];
+    bag = new int[COLORS];
+    Arrays.fill(bag, TILES_PER_COLOR);
+    lid = new int[COLORS];
+    startPlayer = -1;
+    key = computeKey();
+  }
+
+  /**
+   * Construct a copy of the given state.
+   *
+   * @param other the state to copy.
+   */
+  public GameState(GameState other) {
+    this(other.playerCount);
+    copyFrom(other);
+  }
+
+  /**
+   * Create the state from the objects of a running game. The content of bag and lid is not known to
+   * the clients, so all tiles that are not visible are assumed to be in the bag.
+   *
+   * @param playerBoards the player boards of all players.
+   * @param allDisplays the factory displays.
+   * @param gameTable the middle of the game table.
+   * @param scores the scores of all players.
+   * @param currentPlayer the index of the current player.
+   * @return the state of the game.
+   */
+  public static GameState of(PlayerBoard[] playerBoards, List<? extends List<Tiles>> allDisplays,
+                             List<Tiles> gameTable, List<Integer> scores, int currentPlayer) {
+    GameState state = new GameState(playerBoards.length);
+    int[] visible = new int[COLORS];
+    for (int display = 0; display < allDisplays.size(); display++) {
+      for (Tiles tile : allDisplays.get(display)) {
+        state.displays[display * COLORS + tile.ordinal()]++;
+        visible[tile.ordinal()]++;
+      }
+    }
+    state.startMarkerInCenter = false;
+    for (Tiles tile : gameTable) {
+      if (tile == Tiles.START) {
+        state.startMarkerInCenter = true;
+      } else {
+        state.center[tile.ordinal()]++;
+        visible[tile.ordinal()]++;
+      }
+    }
+    for (int player = 0; player < playerBoards.length; player++) {
+      PlayerBoard board = playerBoards[player];
+      int wall = WallMask.of(board.getWall());
+      state.walls[player] = wall;
+      for (int color = 0; color < COLORS; color++) {
+        visible[color] += Integer.bitCount(wall & WallMask.colorMask(color));
+      }
+      Tiles[][] patternLines = board.getPatternLines();
+      for (int row = 0; row < ROWS; row++) {
+        for (Tiles tile : patternLines[row]) {
+          if (tile != null) {
+            state.lineColors[player * ROWS + row] = tile.ordinal();
+            state.lineCounts[player * ROWS + row]++;
+            visible[tile.ordinal()]++;
+          }
+        }
+      }
+      for (Tiles tile : board.getFloorLine()) {
+        state.floorCounts[player]++;
+        if (tile == Tiles.START) {
+          state.startPlayer = player;
+        } else {
+          visible[tile.ordinal()]++;
+        }
+      }
+      state.scores[player] = scores.get(player);
+    }
+    for (int color = 0; color < COLORS; color++) {
+      state.bag[color] = Math.max(0, TILES_PER_COLOR - visible[color]);
+    }
+    state.currentPlayer = currentPlayer;
+    state.key = state.computeKey();
+    return state;
+  }
+
+  /**
+   * Write the state as a single line of text, e.g. for the engine protocol. The line consists of
+   * fields {@code name=value} separated by spaces. Tile counts are written per tile type and
+   * separated by commas, and the values of different factory displays or players are separated by
+   * slashes. A pattern line is written as {@code color:count} with the color -1 if it is empty:
+   * <pre>
+   * players=2 current=0 start=-1 marker=1 displays=1,0,2,1,0/... center=0,0,0,0,0
+   * bag=18,19,17,18,19 lid=0,0,0,0,0 scores=0,0 walls=0,0 floors=0,0 lines=-1:0,...,-1:0/...
+   * </pre>
+   *
+   * @return the notation of the state.
+   * @see #parse(String)
+   */
+  public String toNotation() {
+    StringBuilder notation = new StringBuilder();
+    notation.append("players=").append(playerCount)
+        .append(" current=").append(currentPlayer)
+        .append(" start=").append(startPlayer)
+        .append(" marker=").append(startMarkerInCenter ? 1 : 0)
+        .append(" displays=");
+    for (int display = 0; display < displayCount; display++) {
+      if (display > 0) {
+        notation.append('/');
+      }
+      appendValues(notation, displays, display * COLORS, COLORS);
+    }
+    notation.append(" center=");
+    appendValues(notation, center, 0, COLORS);
+    notation.append(" bag=");
+    appendValues(notation, bag, 0, COLORS);
+    notation.append(" lid=");
+    appendValues(notation, lid, 0, COLORS);
+    notation.append(" scores=");
+    appendValues(notation, scores, 0, playerCount);
+    notation.append(" walls=");
+    appendValues(notation, walls, 0, playerCount);
+    notation.append(" floors=");
+    appendValues(notation, floorCounts, 0, playerCount);
+    notation.append(" lines=");
+    for (int line = 0; line < lineColors.length; line++) {
+      if (line > 0) {
+        notation.append(line % ROWS == 0 ? '/' : ',');
+      }
+      notation.append(lineColors[line]).append(':').append(lineCounts[line]);
+    }
+    return notation.toString();
+  }
+
+  private static void appendValues(StringBuilder notation, int[] values, int from, int count) {
+    for (int index = from; index < from + count; index++) {
+      if (index > from) {
+        notation.append(',');
+      }
+      notation.append(values[index]);
+    }
+  }
+
+  /**
+   * Read a state that was written by {@link #toNotation()}.
+   *
+   * @param notation the notation of the state.
+   * @return the state.
+   * @throws IllegalArgumentException if the notation is not valid.
+   */
+  public static GameState parse(String notation) {
+    Map<String, String> fields = new HashMap<>();
+    for (String field : notation.trim().split("\\s+")) {
+      int separator = field.indexOf('=');
+      if (separator <= 0) {
+        throw new IllegalArgumentException("Invalid field of a position: " + field);
+      }
+      fields.put(field.substring(0, separator), field.substring(separator + 1));
+    }
+    try {
+      int playerCount = Integer.parseInt(requiredField(fields, "players"));
+      if (playerCount < 2 || playerCount > 4) {
+        throw new IllegalArgumentException("Invalid number of players: " + playerCount);
+      }
+      GameState state = new GameState(playerCount);
+      state.currentPlayer = Integer.parseInt(requiredField(fields, "current"));
+      state.startPlayer = Integer.parseInt(requiredField(fields, "start"));
+      state.startMarkerInCenter = Integer.parseInt(requiredField(fields, "marker")) != 0;
+      parseValues(requiredField(fields, "displays"), state.displays, "[/,]");
+      parseValues(requiredField(fields, "center"), state.center, ",");
+      parseValues(requiredField(fields, "bag"), state.bag, ",");
+      parseValues(requiredField(fields, "lid"), state.lid, ",");
+      parseValues(requiredField(fields, "scores"), state.scores, ",");
+      parseValues(requiredField(fields, "walls"), state.walls, ",");
+      parseValues(requiredField(fields, "floors"), state.floorCounts, ",");
+      String[] lines = requiredField(fields, "lines").split("[/,]");
+      if (lines.length != state.lineColors.length) {
+        throw new IllegalArgumentException("Expected " + state.lineColors.length
+            + " pattern lines: " + fields.get("lines"));
+      }
+      for (int line = 0; line < lines.length; line++) {
+        String[] colorAndCount = lines[line].split(":");
+        state.lineColors[line] = Integer.parseInt(colorAndCount[0]);
+        state.lineCounts[line] = Integer.parseInt(colorAndCount[1]);
+      }
+      if (state.currentPlayer < 0 || state.currentPlayer >= playerCount) {
+        throw new IllegalArgumentException("Invalid current player: " + state.currentPlayer);
+      }
+      state.key = state.computeKey();
+      return state;
+    } catch (NumberFormatException | ArrayIndexOutOfBoundsException e) {
+      throw new IllegalArgumentException("Invalid position: " + notation, e);
+    }
+  }
+
+  private static String requiredField(Map<String, String> fields, String name) {
+    String value = fields.get(name);
+    if (value == null) {
+      throw new IllegalArgumentException("Missing field of a position: " + name);
+    }
+    return value;
+  }
+
+  private static void parseValues(String text, int[] values, String separators) {
+    String[] parts = text.split(separators);
+    if (parts.length != values.length) {
+      throw new IllegalArgumentException("Expected " + values.length + " values: " + text);
+    }
+    for (int index = 0; index < parts.length; index++) {
+      values[index] = Integer.parseInt(parts[index]);
+    }
+  }
+
+  /**
+   * Overwrite this state with the given state of a game with the same number of players.
+   *
+   * @param other the state to copy.
+   */
+  public void copyFrom(GameState other) {
+    if (other.playerCount != playerCount) {
+      throw new IllegalArgumentException("Cannot copy a state with a different player number");
+    }
+    System.arraycopy(other.displays, 0, displays, 0, displays.length);
+    System.arraycopy(other.center, 0, center, 0, COLORS);
+    System.arraycopy(other.walls, 0, walls, 0, playerCount);
+    System.arraycopy(other.lineColors, 0, lineColors, 0, lineColors.length);
+    System.arraycopy(other.lineCounts, 0, lineCounts, 0, lineCounts.length);
+    System.arraycopy(other.floorCounts, 0, floorCounts, 0, playerCount);
+    System.arraycopy(other.scores, 0, scores, 0, playerCount);
+    System.arraycopy(other.bag, 0, bag, 0, COLORS);
+    System.arraycopy(other.lid, 0, lid, 0, COLORS);
+    startMarkerInCenter = other.startMarkerInCenter;
+    startPlayer = other.startPlayer;
+    currentPlayer = other.currentPlayer;
+    gameOver = other.gameOver;
+    key = other.key;
+  }
+
+  /**
+   * Check whether tiles of the given type can be placed in the given row of the pattern lines of
+   * the given player.
+   *
+   * @param player the index of the player.
+   * @param row the row of the pattern lines.
+   * @param color the ordinal of the tile type.
+   * @return true if the tiles can be placed, false if not.
+   */
+  public boolean canPlace(int player, int row, int color) {
+    if (WallMask.isSet(walls[player], row, WallMask.columnOf(row, color))) {
+      return false;
+    }
+    int line = player * ROWS + row;
+    return lineColors[line] == EMPTY_LINE
+        || (lineColors[line] == color && lineCounts[line] <= row);
+  }
+
+  /**
+   * Write all legal moves of the current player into the given buffer.
+   *
+   * @param moves the buffer of at least {@link #MAX_MOVES} entries.
+   * @return the number of legal moves.
+   */
+  public int generateMoves(int[] moves) {
+    int count = 0;
+    for (int source = 0; source <= displayCount; source++) {
+      int sourceIndex = source == displayCount ? Move.CENTER : source;
+      for (int color = 0; color < COLORS; color++) {
+        if (getTiles(sourceIndex, color) == 0) {
+          continue;
+        }
+        for (int row = 0; row < ROWS; row++) {
+          if (canPlace(currentPlayer, row, color)) {
+            moves[count++] = Move.of(sourceIndex, color, row);
+          }
+        }
+        moves[count++] = Move.of(sourceIndex, color, Move.FLOOR);
+      }
+    }
+    return count;
+  }
+
+  /**
+   * Check whether the given move is legal for the current player.
+   *
+   * @param move the encoded move.
+   * @return true if the move is legal, false if not.
+   */
+  public boolean isLegal(int move) {
+    int source = Move.source(move);
+    int color = Move.color(move);
+    int target = Move.target(move);
+    if ((source >= displayCount && source != Move.CENTER) || color >= COLORS
+        || target > Move.FLOOR || getTiles(source, color) == 0) {
+      return false;
+    }
+    return target == Move.FLOOR || canPlace(currentPlayer, target, color);
+  }
+
+  /**
+   * Apply a legal move of the current player and hand the turn to the next player. Tiles that end
+   * up in the floor line are moved to the lid right away, since they are discarded at the end of
+   * the round anyway.
+   *
+   * @param move the encoded move.
+   */
+  public void apply(int move) {
+    int player = currentPlayer;
+    int source = Move.source(move);
+    int color = Move.color(move);
+    int target = Move.target(move);
+    int tileCount;
+    if (source == Move.CENTER) {
+      tileCount = center[color];
+      setCenter(color, 0);
+      if (startMarkerInCenter) {
+        startMarkerInCenter = false;
+        key ^= ZobristKeys.startMarkerInCenter();
+        setStartPlayer(player);
+        setFloorCount(player, floorCounts[player] + 1);
+      }
+    } else {
+      int base = source * COLORS;
+      tileCount = displays[base + color];
+      for (int other = 0; other < COLORS; other++) {
+        int tiles = displays[base + other];
+        if (tiles != 0) {
+          if (other != color) {
+            setCenter(other, center[other] + tiles);
+          }
+          key ^= ZobristKeys.display(source, other, tiles);
+          displays[base + other] = 0;
+        }
+      }
+    }
+    int excessTiles = tileCount;
+    if (target != Move.FLOOR) {
+      int line = player * ROWS + target;
+      int placedTiles = Math.min(tileCount, target + 1 - lineCounts[line]);
+      key ^= ZobristKeys.line(player, target, lineColors[line], lineCounts[line])
+          ^ ZobristKeys.line(player, target, color, lineCounts[line] + placedTiles);
+      lineColors[line] = color;
+      lineCounts[line] += placedTiles;
+      excessTiles -= placedTiles;
+    }
+    if (excessTiles != 0) {
+      setFloorCount(player, floorCounts[player] + excessTiles);
+      key ^= ZobristKeys.lid(color, lid[color]) ^ ZobristKeys.lid(color, lid[color] + excessTiles);
+      lid[color] += excessTiles;
+    }
+    setCurrentPlayer((player + 1) % playerCount);
+  }
+
+  private void setCenter(int color, int count) {
+    key ^= ZobristKeys.center(color, center[color]) ^ ZobristKeys.center(color, count);
+    center[color] = count;
+  }
+
+  private void setFloorCount(int player, int count) {
+    key ^= ZobristKeys.floor(player, floorCounts[player]) ^ ZobristKeys.floor(player, count);
+    floorCounts[player] = count;
+  }
+
+  private void setStartPlayer(int player) {
+    key ^= ZobristKeys.startPlayer(startPlayer) ^ ZobristKeys.startPlayer(player);
+    startPlayer = player;
+  }
+
+  /**
+   * Check whether all factory displays and the middle of the table are empty.
+   *
+   * @return true if the round is finished, false if not.
+   */
+  public boolean isRoundFinished() {
+    for (int tiles : displays) {
+      if (tiles != 0) {
+        return false;
+      }
+    }
+    for (int tiles : center) {
+      if (tiles != 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Move the tiles of all completed pattern lines to the walls, score the round and prepare the
+   * next round. If a row of a wall is completed, the end game scoring is added.
+   *
+   * @return true if the game is finished, false if not.
+   */
+  public boolean finishRound() {
+    for (int player = 0; player < playerCount; player++) {
+      int score = scores[player];
+      for (int row = 0; row < ROWS; row++) {
+        int line = player * ROWS + row;
+        if (lineCounts[line] == row + 1) {
+          int color = lineColors[line];
+          int column = WallMask.columnOf(row, color);
+          walls[player] |= WallMask.bit(row, column);
+          score += WallMask.gainPoints(walls[player], row, column);
+          lid[color] += row;
+          lineColors[line] = EMPTY_LINE;
+          lineCounts[line] = 0;
+        }
+      }
+      scores[player] = Math.max(0, score - floorPenalty(floorCounts[player]));
+      floorCounts[player] = 0;
+      if (WallMask.hasCompleteRow(walls[player])) {
+        gameOver = true;
+      }
+    }
+    if (startPlayer >= 0) {
+      currentPlayer = startPlayer;
+      startPlayer = -1;
+    }
+    startMarkerInCenter = true;
+    if (gameOver) {
+      for (int player = 0; player < playerCount; player++) {
+        scores[player] += WallMask.endGameBonus(walls[player]);
+      }
+    }
+    //a round ends rarely compared to the moves, so the key is computed again
+    key = computeKey();
+    return gameOver;
+  }
+
+  /**
+   * Fill each factory display with 4 random tiles from the bag. If the bag is empty, the tiles in
+   * the lid are put back into the bag.
+   *
+   * @param random the random generator that draws the tiles.
+   */
+  public void fillFactoryDisplays(RandomGenerator random) {
+    int bagSize = 0;
+    for (int tiles : bag) {
+      bagSize += tiles;
+    }
+    for (int display = 0; display < displayCount; display++) {
+      for (int tile = 0; tile < TILES_PER_DISPLAY; tile++) {
+        if (bagSize == 0) {
+          for (int color = 0; color < COLORS; color++) {
+            bag[color] += lid[color];
+            bagSize += lid[color];
+            lid[color] = 0;
+          }
+          if (bagSize == 0) {
+            key = computeKey();
+            return;
+          }
+        }
+        int drawn = random.nextInt(bagSize);
+        int color = 0;
+        while (drawn >= bag[color]) {
+          drawn -= bag[color];
+          color++;
+        }
+        bag[color]--;
+        bagSize--;
+        displays[display * COLORS + color]++;
+      }
+    }
+    key = computeKey();
+  }
+
+  /**
+   * Get the minus points of a floor line.
+   *
+   * @param floorSize the number of tiles in the floor line.
+   * @return the minus points.
+   */
+  public static int floorPenalty(int floorSize) {
+    return FLOOR_PENALTY[Math.min(floorSize, MAX_FLOOR_SIZE)];
+  }
+
+  /**
+   * Get the number of tiles of a type in a factory display or the middle of the table.
+   *
+   * @param source the index of the factory display or {@link Move#CENTER}.
+   * @param color the ordinal of the tile type.
+   * @return the number of tiles.
+   */
+  public int getTiles(int source, int color) {
+    return source == Move.CENTER ? center[color] : displays[source * COLORS + color];
+  }
+
+  public int getPlayerCount() {
+    return playerCount;
+  }
+
+  public int getDisplayCount() {
+    return displayCount;
+  }
+
+  public boolean isStartMarkerInCenter() {
+    return startMarkerInCenter;
+  }
+
+  public int getWall(int player) {
+    return walls[player];
+  }
+
+  /**
+   * Get the tile type of a row of the pattern lines.
+   *
+   * @param player the index of the player.
+   * @param row the row of the pattern lines.
+   * @return the ordinal of the tile type, -1 if the row is empty.
+   */
+  public int getLineColor(int player, int row) {
+    return lineColors[player * ROWS + row];
+  }
+
+  public int getLineCount(int player, int row) {
+    return lineCounts[player * ROWS + row];
+  }
+
+  public int getFloorCount(int player) {
+    return floorCounts[player];
+  }
+
+  public int getScore(int player) {
+    return scores[player];
+  }
+
+  /**
+   * Get the highest score of all players.
+   *
+   * @return the highest score.
+   */
+  public int getHighestScore() {
+    int highestScore = Integer.MIN_VALUE;
+    for (int player = 0; player < playerCount; player++) {
+      highestScore = Math.max(highestScore, scores[player]);
+    }
+    return highestScore;
+  }
+
+  /**
+   * Get the share of a player in the win, e.g. at the end of a game. Players with the same highest
+   * score share the win.
+   *
+   * @param player the player.
+   * @return 1 if the player has the highest score alone, 1 / n if n players have it, else 0.
+   */
+  public double getWinShare(int player) {
+    int highestScore = getHighestScore();
+    if (scores[player] != highestScore) {
+      return 0;
+    }
+    int winners = 0;
+    for (int other = 0; other < playerCount; other++) {
+      if (scores[other] == highestScore) {
+        winners++;
+      }
+    }
+    return 1.0 / winners;
+  }
+
+  public int getBagTiles(int color) {
+    return bag[color];
+  }
+
+  public int getLidTiles(int color) {
+    return lid[color];
+  }
+
+  public int getCurrentPlayer() {
+    return currentPlayer;
+  }
+
+  public void setCurrentPlayer(int currentPlayer) {
+    key ^= ZobristKeys.currentPlayer(this.currentPlayer) ^ ZobristKeys.currentPlayer(currentPlayer);
+    this.currentPlayer = currentPlayer;
+  }
+
+  public boolean isGameOver() {
+    return gameOver;
+  }
+
+  /**
+   * Get the Zobrist key of the state.
+   *
+   * @return the key of the state.
+   */
+  public long getKey() {
+    return key;
+  }
+
+  /**
+   * Compute the Zobrist key of the state from all its parts.
+   *
+   * @return the key of the state.
+   */
+  long computeKey() {
+    long newKey = ZobristKeys.currentPlayer(currentPlayer) ^ ZobristKeys.startPlayer(startPlayer);
+    if (startMarkerInCenter) {
+      newKey ^= ZobristKeys.startMarkerInCenter();
+    }
+    if (gameOver) {
+      newKey ^= ZobristKeys.gameOver();
+    }
+    for (int color = 0; color < COLORS; color++) {
+      newKey ^= ZobristKeys.center(color, center[color]) ^ ZobristKeys.bag(color, bag[color])
+          ^ ZobristKeys.lid(color, lid[color]);
+      for (int display = 0; display < displayCount; display++) {
+        newKey ^= ZobristKeys.display(display, color, displays[display * COLORS + color]);
+      }
+    }
+    for (int player = 0; player < playerCount; player++) {
+      newKey ^= ZobristKeys.wall(player, walls[player])
+          ^ ZobristKeys.floor(player, floorCounts[player])
+          ^ ZobristKeys.score(player, scores[player]);
+      for (int row = 0; row < ROWS; row++) {
+        int line = player * ROWS + row;
+        newKey ^= ZobristKeys.line(player, row, lineColors[line], lineCounts[line]);
+      }
+    }
+    return newKey;
+  }
+}
@@ -0,0 +1,97 @@
+package de.lmu.ifi.sosylab.shared.ai;
+
+import de.lmu.ifi.sosylab.shared.WallMask;
+
+/**
+ * A fast bot that plays the move with the best immediate value according to a heuristic: the
+ * points of completed pattern lines, the minus points of the floor line and the progress of
+ * incomplete pattern lines. Choosing a move does not create any objects, but every instance uses
+ * its own move buffer, so an instance must not be shared between threads.
+ */
+public class GreedyBot implements BotPolicy {
+  private final HeuristicWeights weights;
+  private final int[] moves;
+
+  /**
+   * Construct a greedy bot with the default weights.
+   */
+  public GreedyBot() {
+    this(HeuristicWeights.DEFAULT);
+  }
+
+  /**
+   * Construct a greedy bot with the given weights.
+   *
+   * @param weights the weights of the heuristic.
+   */
+  public GreedyBot(HeuristicWeights weights) {
+    this.weights = weights;
+    this.moves = new int[GameState.MAX_MOVES];
+  }
+
+  @Override
+  public int chooseMove(GameState state) {
+    int moveCount = state.generateMoves(moves);
+    int bestMove = Move.NONE;
+    double bestValue = Double.NEGATIVE_INFINITY;
+    for (int index = 0; index < moveCount; index++) {
+      double value = evaluate(state, moves[index], weights);
+      if (value > bestValue) {
+        bestValue = value;
+        bestMove = moves[index];
+      }
+    }
+    return bestMove;
+  }
+
+  /**
+   * Evaluate a legal move of the current player without applying it.
+   *
+   * @param state the state of the game.
+   * @param move the encoded move.
+   * @param weights the weights of the heuristic.
+   * @return the value of the move, higher is better.
+   */
+  public static double evaluate(GameState state, int move, HeuristicWeights weights) {
+    int player = state.getCurrentPlayer();
+    int color = Move.color(move);
+    int target = Move.target(move);
+    int tileCount = state.getTiles(Move.source(move), color);
+    boolean takesStartMarker = Move.isFromCenter(move) && state.isStartMarkerInCenter();
+    double value = 0;
+    int excessTiles = tileCount;
+
+    if (target != Move.FLOOR) {
+      int lineLength = target + 1;
+      int lineCount = state.getLineCount(player, target);
+      int placedTiles = Math.min(tileCount, lineLength - lineCount);
+      excessTiles -= placedTiles;
+      int column = WallMask.columnOf(target, color);
+      int wall = state.getWall(player) | WallMask.bit(target, column);
+      int gainPoints = WallMask.gainPoints(wall, target, column);
+      if (lineCount + placedTiles == lineLength) {
+        value += weights.getWallPoints() * gainPoints;
+        if ((wall & WallMask.rowMask(target)) == WallMask.rowMask(target)) {
+          value += weights.getRowBonus() * WallMask.ROW_BONUS;
+        }
+        if ((wall & WallMask.columnMask(column)) == WallMask.columnMask(column)) {
+          value += weights.getColumnBonus() * WallMask.COLUMN_BONUS;
+        }
+        if ((wall & WallMask.colorMask(color)) == WallMask.colorMask(color)) {
+          value += weights.getColorBonus() * WallMask.COLOR_BONUS;
+        }
+      } else {
+        value += weights.getLineProgress() * gainPoints * (lineCount + placedTiles) / lineLength;
+      }
+    }
+
+    int floorCount = state.getFloorCount(player);
+    int addedToFloor = excessTiles + (takesStartMarker ? 1 : 0);
+    value -= weights.getFloorPenalty() * (GameState.floorPenalty(floorCount + addedToFloor)
+        - GameState.floorPenalty(floorCount));
+    if (takesStartMarker) {
+      value += weights.getStartMarker();
+    }
+    return value;
+  }
+}
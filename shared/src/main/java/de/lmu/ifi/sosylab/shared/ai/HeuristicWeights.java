@@ -0,0 +1,109 @@
+package de.lmu.ifi.sosylab.shared.ai;
+
+/**
+ * The weights of the heuristic that the {@link GreedyBot} uses to evaluate a move.
+ */
+public final class HeuristicWeights {
+
+  public static final HeuristicWeights DEFAULT =
+      new HeuristicWeights(1.0, 1.0, 0.5, 0.6, 0.5, 0.5, 0.5);
+  //the number of weights, e.g. for a tuner that treats the weights as a vector
+  public static final int COUNT = 7;
+
+  //points gained by completed pattern lines
+  private final double wallPoints;
+  //minus points of tiles added to the floor line
+  private final double floorPenalty;
+  //progress of pattern lines that are not completed by the move
+  private final double lineProgress;
+  //taking the starting player marker
+  private final double startMarker;
+  //end game bonuses that get closer by completed pattern lines
+  private final double rowBonus;
+  private final double columnBonus;
+  private final double colorBonus;
+
+  /**
+   * Construct the weights of the heuristic.
+   *
+   * @param wallPoints the weight of points gained by completed pattern lines.
+   * @param floorPenalty the weight of minus points in the floor line.
+   * @param lineProgress the weight of the progress of incomplete pattern lines.
+   * @param startMarker the value of the starting player marker.
+   * @param rowBonus the weight of the row bonus.
+   * @param columnBonus the weight of the column bonus.
+   * @param colorBonus the weight of the color bonus.
+   */
+  public HeuristicWeights(double wallPoints, double floorPenalty, double lineProgress,
+                          double startMarker, double rowBonus, double columnBonus,
+                          double colorBonus) {
+    this.wallPoints = wallPoints;
+    this.floorPenalty = floorPenalty;
+    this.lineProgress = lineProgress;
+    this.startMarker = startMarker;
+    this.rowBonus = rowBonus;
+    this.columnBonus = columnBonus;
+    this.colorBonus = colorBonus;
+  }
+
+  /**
+   * Construct the weights from a vector in the order of the constructor parameters.
+   *
+   * @param values the {@link #COUNT} weights.
+   * @return the weights.
+   * @see #toArray()
+   */
+  public static HeuristicWeights of(double[] values) {
+    if (values.length != COUNT) {
+      throw new IllegalArgumentException("Expected " + COUNT + " weights: " + values.length);
+    }
+    return new HeuristicWeights(values[0], values[1], values[2], values[3], values[4], values[5],
+        values[6]);
+  }
+
+  /**
+   * Return the weights as a vector in the order of the constructor parameters.
+   *
+   * @return a new array of the {@link #COUNT} weights.
+   */
+  public double[] toArray() {
+    return new double[] {wallPoints, floorPenalty, lineProgress, startMarker, rowBonus,
+        columnBonus, colorBonus};
+  }
+
+  public double getWallPoints() {
+    return wallPoints;
+  }
+
+  public double getFloorPenalty() {
+    return floorPenalty;
+  }
+
+  public double getLineProgress() {
+    return lineProgress;
+  }
+
+  public double getStartMarker() {
+    return startMarker;
+  }
+
+  public double getRowBonus() {
+    return rowBonus;
+  }
+
+  public double getColumnBonus() {
+    return columnBonus;
+  }
+
+  public double getColorBonus() {
+    return colorBonus;
+  }
+
+  @Override
+  public String toString() {
+    return "HeuristicWeights{wallPoints=" + wallPoints + ", floorPenalty=" + floorPenalty
+        + ", lineProgress=" + lineProgress + ", startMarker=" + startMarker
+        + ", rowBonus=" + rowBonus + ", columnBonus=" + columnBonus
+        + ", colorBonus=" + colorBonus + "}";
+  }
+}
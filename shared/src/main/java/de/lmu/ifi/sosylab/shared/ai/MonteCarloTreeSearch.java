@@ -0,0 +1,422 @@
+package de.lmu.ifi.sosylab.shared.ai;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.random.RandomGenerator;
+
+/**
+ * A bot that chooses its moves by Monte Carlo tree search. The search uses root parallelization:
+ * every task of the pool grows its own tree from the same state with its own random generator,
+ * and the visits of the moves at the root are summed up when the budget is used up. The trees
+ * cover the moves of the current round; after the end of a round, the playouts refill the factory
+ * displays randomly from the tiles that are left in the bag and the lid and play on until the end
+ * of the game.
+ *
+ * <p>If a {@link TranspositionTable} is given, the trees share the values of their positions
+ * through it: a new node of a position that has already been evaluated by another tree, or through
+ * a different move order, starts with the visits and the value stored in the table. These prior
+ * visits only guide the selection in the tree; the move is chosen by the playouts of the search.
+ */
+public class MonteCarloTreeSearch implements BotPolicy {
+  private static final double EXPLORATION = 0.7;
+  //share of the reward that comes from the score instead of winning
+  private static final double SCORE_SHARE = 0.1;
+  //attempts to find a move to a pattern line before a move to the floor line is played
+  private static final int PLAYOUT_ATTEMPTS = 4;
+  //rounds after which a playout stops, a game can get stuck when all tiles of a color are held
+  //in pattern lines that can never be completed and no row of a wall can be completed anymore
+  private static final int MAX_PLAYOUT_ROUNDS = 20;
+  //nodes are stored in the transposition table when their visits reach a power of two
+  private static final int MIN_STORED_VISITS = 4;
+  //the visits that a new node takes over from the transposition table at most
+  private static final int MAX_PRIOR_VISITS = 64;
+
+  private final ForkJoinPool pool;
+  private final int trees;
+  private final SearchBudget budget;
+  private final TranspositionTable table;
+  private final SplittableRandom seeds;
+  //incremented by every cancel, a search stops when the count differs from the one at its start
+  private final AtomicInteger cancellations = new AtomicInteger();
+  private volatile SearchResult lastResult;
+
+  /**
+   * Construct a search that uses all threads of the common pool.
+   *
+   * @param budget the budget of a single search.
+   */
+  public MonteCarloTreeSearch(SearchBudget budget) {
+    this(ForkJoinPool.commonPool(), ForkJoinPool.getCommonPoolParallelism(), budget);
+  }
+
+  /**
+   * Construct a search.
+   *
+   * @param pool the pool that grows the trees.
+   * @param trees the number of trees that are grown in parallel.
+   * @param budget the budget of a single search.
+   */
+  public MonteCarloTreeSearch(ForkJoinPool pool, int trees, SearchBudget budget) {
+    this(pool, trees, budget, null);
+  }
+
+  /**
+   * Construct a search whose trees share evaluated positions through a transposition table.
+   *
+   * @param pool the pool that grows the trees.
+   * @param trees the number of trees that are grown in parallel.
+   * @param budget the budget of a single search.
+   * @param table the table that is shared by the trees, null if no table is used.
+   */
+  public MonteCarloTreeSearch(ForkJoinPool pool, int trees, SearchBudget budget,
+                              TranspositionTable table) {
+    this(pool, trees, budget, table, new SplittableRandom().nextLong());
+  }
+
+  /**
+   * Construct a search whose random generators are derived from a seed. A search with a single
+   * tree, a budget of playouts and no transposition table chooses the same moves for the same seed.
+   *
+   * @param pool the pool that grows the trees.
+   * @param trees the number of trees that are grown in parallel.
+   * @param budget the budget of a single search.
+   * @param table the table that is shared by the trees, null if no table is used.
+   * @param seed the seed of the random generators of the trees.
+   */
+  public MonteCarloTreeSearch(ForkJoinPool pool, int trees, SearchBudget budget,
+                              TranspositionTable table, long seed) {
+    if (trees < 1) {
+      throw new IllegalArgumentException("The search needs at least one tree");
+    }
+    this.pool = pool;
+    this.trees = trees;
+    this.budget = budget;
+    this.table = table;
+    this.seeds = new SplittableRandom(seed);
+  }
+
+  @Override
+  public int chooseMove(GameState state) {
+    return search(state).getBestMove();
+  }
+
+  /**
+   * Search the best move of the current player in the given state. The search stops when the
+   * budget is used up, when {@link #cancel()} is called or when the calling thread is interrupted.
+   *
+   * @param state the state of the game, which is not changed.
+   * @return the result of the search.
+   */
+  public SearchResult search(GameState state) {
+    int searchCancellations = cancellations.get();
+    long start = System.nanoTime();
+    GameState root = new GameState(state);
+    int[] rootMoves = new int[GameState.MAX_MOVES];
+    int rootMoveCount = root.generateMoves(rootMoves);
+    if (rootMoveCount <= 1) {
+      int move = rootMoveCount == 0 ? Move.NONE : rootMoves[0];
+      lastResult = new SearchResult(move, 0, 0, System.nanoTime() - start);
+      return lastResult;
+    }
+    rootMoves = Arrays.copyOf(rootMoves, rootMoveCount);
+
+    if (table != null) {
+      table.newSearch();
+    }
+    long deadline = budget.deadline(start);
+    long playoutsPerTree = Math.max(1, budget.getPlayouts() / trees);
+    List<Future<RootStatistics>> tasks = new ArrayList<>(trees);
+    for (int tree = 0; tree < trees; tree++) {
+      tasks.add(pool.submit(new TreeTask(root, rootMoves, nextSeed(), deadline, playoutsPerTree,
+          searchCancellations)));
+    }
+
+    int[] visits = new int[rootMoveCount];
+    double[] rewards = new double[rootMoveCount];
+    long playouts = 0;
+    for (Future<RootStatistics> task : tasks) {
+      RootStatistics statistics = awaitTree(task);
+      for (int index = 0; index < rootMoveCount; index++) {
+        visits[index] += statistics.visits[index];
+        rewards[index] += statistics.rewards[index];
+      }
+      playouts += statistics.playouts;
+    }
+
+    int best = 0;
+    for (int index = 1; index < rootMoveCount; index++) {
+      if (visits[index] > visits[best]) {
+        best = index;
+      }
+    }
+    double value = visits[best] == 0 ? 0 : rewards[best] / visits[best];
+    lastResult = new SearchResult(rootMoves[best], value, playouts, System.nanoTime() - start);
+    return lastResult;
+  }
+
+  private RootStatistics awaitTree(Future<RootStatistics> task) {
+    boolean interrupted = false;
+    try {
+      while (true) {
+        try {
+          return task.get();
+        } catch (InterruptedException e) {
+          //stop all trees and keep waiting for their results, which come in quickly
+          cancel();
+          interrupted = true;
+        } catch (ExecutionException e) {
+          throw new RuntimeException(e.getCause());
+        }
+      }
+    } finally {
+      if (interrupted) {
+        Thread.currentThread().interrupt();
+      }
+    }
+  }
+
+  private synchronized long nextSeed() {
+    return seeds.nextLong();
+  }
+
+  /**
+   * Stop the searches that are running. A search returns the best move that has been found so far.
+   * A search that starts after the call is not affected.
+   */
+  @Override
+  public void cancel() {
+    cancellations.incrementAndGet();
+  }
+
+  /**
+   * Get the result of the last search, e.g. to read the playouts per second.
+   *
+   * @return the result of the last search, null if there was no search yet.
+   */
+  public SearchResult getLastResult() {
+    return lastResult;
+  }
+
+  /**
+   * Play random moves until the end of the game. Moves to the pattern lines are preferred over
+   * moves to the floor line. A playout that does not finish within {@link #MAX_PLAYOUT_ROUNDS}
+   * rounds stops with the scores that are reached. The state is changed by the playout.
+   *
+   * @param state the state where the playout starts.
+   * @param random the random generator of the moves and the refills of the factory displays.
+   * @param moves a buffer of at least {@link GameState#MAX_MOVES} entries.
+   */
+  static void playout(GameState state, RandomGenerator random, int[] moves) {
+    int rounds = 0;
+    while (true) {
+      if (state.isRoundFinished()) {
+        if (state.finishRound() || ++rounds == MAX_PLAYOUT_ROUNDS) {
+          return;
+        }
+        state.fillFactoryDisplays(random);
+        if (state.isRoundFinished()) {
+          //no tiles are left in bag and lid
+          return;
+        }
+      }
+      int moveCount = state.generateMoves(moves);
+      int move = moves[random.nextInt(moveCount)];
+      for (int attempt = 1; attempt < PLAYOUT_ATTEMPTS && Move.isToFloor(move); attempt++) {
+        move = moves[random.nextInt(moveCount)];
+      }
+      state.apply(move);
+    }
+  }
+
+  /**
+   * Calculate the rewards of all players at the end of a playout: mostly whether the player has the
+   * highest score, and a small share for the score itself.
+   *
+   * @param state the state at the end of the playout.
+   * @param rewards the buffer for the rewards of all players between 0 and 1.
+   */
+  static void rewards(GameState state, double[] rewards) {
+    int playerCount = state.getPlayerCount();
+    int maxScore = state.getHighestScore();
+    for (int player = 0; player < playerCount; player++) {
+      int score = state.getScore(player);
+      double win = state.getWinShare(player);
+      double scoreShare = maxScore <= 0 ? 0 : (double) score / maxScore;
+      rewards[player] = (1 - SCORE_SHARE) * win + SCORE_SHARE * scoreShare;
+    }
+  }
+
+  /**
+   * The visits and rewards of the moves at the root of a single tree.
+   */
+  private static final class RootStatistics {
+    private final int[] visits;
+    private final double[] rewards;
+    private final long playouts;
+
+    private RootStatistics(int[] visits, double[] rewards, long playouts) {
+      this.visits = visits;
+      this.rewards = rewards;
+      this.playouts = playouts;
+    }
+  }
+
+  /**
+   * A node of the tree. The reward is counted for the player who made the move into the node.
+   */
+  private static final class Node {
+    private final Node parent;
+    private final int move;
+    private final int mover;
+    private final long key;
+    private final int[] untriedMoves;
+    private int untriedCount;
+    private final Node[] children;
+    private int childCount;
+    //the playouts through the node
+    private int visits;
+    private double reward;
+    //taken over from the transposition table, they only count for the selection of the node
+    private int priorVisits;
+    private double priorReward;
+
+    private Node(Node parent, int move, int mover, GameState state, int[] moves,
+                 TranspositionTable table) {
+      this.parent = parent;
+      this.move = move;
+      this.mover = mover;
+      this.key = state.getKey();
+      if (table != null && parent != null) {
+        //take over the evaluation of the position if it has been evaluated before
+        long data = table.probe(key);
+        if (data != TranspositionTable.MISS) {
+          priorVisits = Math.min(1 << TranspositionTable.depthOf(data), MAX_PRIOR_VISITS);
+          priorReward = TranspositionTable.valueOf(data) * priorVisits;
+        }
+      }
+      untriedCount = state.isRoundFinished() ? 0 : state.generateMoves(moves);
+      untriedMoves = Arrays.copyOf(moves, untriedCount);
+      children = new Node[untriedCount];
+    }
+
+    private Node selectChild() {
+      double logVisits = Math.log(visits + priorVisits);
+      Node best = null;
+      double bestValue = Double.NEGATIVE_INFINITY;
+      for (int index = 0; index < childCount; index++) {
+        Node child = children[index];
+        int childVisits = child.visits + child.priorVisits;
+        double value = (child.reward + child.priorReward) / childVisits
+            + EXPLORATION * Math.sqrt(logVisits / childVisits);
+        if (value > bestValue) {
+          bestValue = value;
+          best = child;
+        }
+      }
+      return best;
+    }
+
+    private Node expand(GameState state, RandomGenerator random, int[] moves,
+                        TranspositionTable table) {
+      int index = random.nextInt(untriedCount);
+      int childMove = untriedMoves[index];
+      untriedMoves[index] = untriedMoves[--untriedCount];
+      int childMover = state.getCurrentPlayer();
+      state.apply(childMove);
+      Node child = new Node(this, childMove, childMover, state, moves, table);
+      children[childCount++] = child;
+      return child;
+    }
+  }
+
+  /**
+   * Grow a single tree until the budget is used up or the search is cancelled.
+   */
+  private final class TreeTask implements Callable<RootStatistics> {
+    private final GameState rootState;
+    private final int[] rootMoves;
+    private final long seed;
+    private final long deadline;
+    private final long maxPlayouts;
+    private final int searchCancellations;
+
+    private TreeTask(GameState rootState, int[] rootMoves, long seed, long deadline,
+                     long maxPlayouts, int searchCancellations) {
+      this.rootState = rootState;
+      this.rootMoves = rootMoves;
+      this.seed = seed;
+      this.deadline = deadline;
+      this.maxPlayouts = maxPlayouts;
+      this.searchCancellations = searchCancellations;
+    }
+
+    @Override
+    public RootStatistics call() {
+      SplittableRandom random = new SplittableRandom(seed);
+      GameState state = new GameState(rootState);
+      int[] moves = new int[GameState.MAX_MOVES];
+      double[] rewards = new double[rootState.getPlayerCount()];
+      Node root = new Node(null, Move.NONE, -1, state, moves, table);
+      long playouts = 0;
+
+      while (playouts < maxPlayouts && cancellations.get() == searchCancellations
+          && System.nanoTime() < deadline) {
+        state.copyFrom(rootState);
+        Node node = root;
+        //selection
+        while (node.untriedCount == 0 && node.childCount > 0) {
+          node = node.selectChild();
+          state.apply(node.move);
+        }
+        //expansion
+        if (node.untriedCount > 0) {
+          node = node.expand(state, random, moves, table);
+        }
+        //simulation
+        playout(state, random, moves);
+        rewards(state, rewards);
+        //backpropagation
+        for (; node != null; node = node.parent) {
+          node.visits++;
+          if (node.mover >= 0) {
+            node.reward += rewards[node.mover];
+            store(node);
+          }
+        }
+        playouts++;
+      }
+      return statisticsOf(root, playouts);
+    }
+
+    private void store(Node node) {
+      int visits = node.visits;
+      if (table != null && visits >= MIN_STORED_VISITS && (visits & (visits - 1)) == 0) {
+        table.store(node.key, Move.NONE, Integer.numberOfTrailingZeros(visits),
+            TranspositionTable.EXACT, (float) (node.reward / visits));
+      }
+    }
+
+    private RootStatistics statisticsOf(Node root, long playouts) {
+      int[] visits = new int[rootMoves.length];
+      double[] rewards = new double[rootMoves.length];
+      for (int child = 0; child < root.childCount; child++) {
+        Node node = root.children[child];
+        for (int index = 0; index < rootMoves.length; index++) {
+          if (rootMoves[index] == node.move) {
+            visits[index] = node.visits;
+            rewards[index] = node.reward;
+            break;
+          }
+        }
+      }
+      return new RootStatistics(visits, rewards, playouts);
+    }
+  }
+}
@@ -0,0 +1,124 @@
+package de.lmu.ifi.sosylab.shared.ai;
+
+import de.lmu.ifi.sosylab.shared.Tiles;
+import java.util.List;
+
+/**
+ * Contains static methods to encode a move as a single int, so that moves can be generated and
+ * compared without creating objects. A move is the source of the tiles (a factory display or the
+ * middle of the game table), the collected tile type and the target (a pattern line or the floor
+ * line): {@code source << 8 | color << 4 | target}.
+ */
+public final class Move {
+
+  public static final int NONE = -1;
+  //the source index of the middle of the game table
+  public static final int CENTER = 15;
+  //the target index of the floor line, targets 0 to 4 are the rows of the pattern lines
+  public static final int FLOOR = 5;
+  //the first letters of the tile types in the order of their ordinals
+  private static final String COLOR_LETTERS = "RBGYD";
+
+  private Move() {
+    // Class is final to prevent extension
+    // Constructor is private to prevent instantiation
+  }
+
+  /**
+   * Encode a move.
+   *
+   * @param source the index of the factory display or {@link #CENTER}.
+   * @param color the ordinal of the collected tile type.
+   * @param target the row of the pattern lines or {@link #FLOOR}.
+   * @return the encoded move.
+   */
+  public static int of(int source, int color, int target) {
+    return source << 8 | color << 4 | target;
+  }
+
+  public static int source(int move) {
+    return move >>> 8;
+  }
+
+  public static int color(int move) {
+    return (move >>> 4) & 0xF;
+  }
+
+  public static int target(int move) {
+    return move & 0xF;
+  }
+
+  public static boolean isFromCenter(int move) {
+    return source(move) == CENTER;
+  }
+
+  public static boolean isToFloor(int move) {
+    return target(move) == FLOOR;
+  }
+
+  /**
+   * Find the index of a tile of the collected type in a factory display or the game table, which
+   * is the tile index the models expect when collecting tiles.
+   *
+   * @param tiles the tiles of the factory display or the game table.
+   * @param move the encoded move.
+   * @return the index of the first tile of the collected type, -1 if there is none.
+   */
+  public static int tileIndexIn(List<Tiles> tiles, int move) {
+    Tiles tileType = Tiles.values()[color(move)];
+    return tiles.indexOf(tileType);
+  }
+
+  /**
+   * Write the move in the short notation of the engine protocol: the source (the index of the
+   * factory display or {@code c} for the middle of the table), the first letter of the tile type
+   * and the target (the row of the pattern lines or {@code f} for the floor line), e.g.
+   * {@code 3Y1} or {@code cRf}.
+   *
+   * @param move the encoded move.
+   * @return the notation of the move.
+   * @see #parse(String)
+   */
+  public static String toNotation(int move) {
+    String source = isFromCenter(move) ? "c" : Integer.toString(source(move));
+    String target = isToFloor(move) ? "f" : Integer.toString(target(move));
+    return source + COLOR_LETTERS.charAt(color(move)) + target;
+  }
+
+  /**
+   * Read a move that was written by {@link #toNotation(int)}.
+   *
+   * @param notation the notation of the move.
+   * @return the encoded move.
+   * @throws IllegalArgumentException if the notation is not valid.
+   */
+  public static int parse(String notation) {
+    if (notation.length() != 3) {
+      throw new IllegalArgumentException("Invalid move: " + notation);
+    }
+    char sourceChar = notation.charAt(0);
+    int color = COLOR_LETTERS.indexOf(notation.charAt(1));
+    char targetChar = notation.charAt(2);
+    int source = sourceChar == 'c' ? CENTER : Character.digit(sourceChar, 10);
+    int target = targetChar == 'f' ? FLOOR : Character.digit(targetChar, 10);
+    if (source < 0 || color < 0 || target < 0 || target > FLOOR) {
+      throw new IllegalArgumentException("Invalid move: " + notation);
+    }
+    return of(source, color, target);
+  }
+
+  /**
+   * Get a readable description of the move, e.g. for logging.
+   *
+   * @param move the encoded move.
+   * @return the description of the move.
+   */
+  public static String toString(int move) {
+    if (move == NONE) {
+      return "none";
+    }
+    String source = isFromCenter(move) ? "table" : "display " + source(move);
+    String target = isToFloor(move) ? "floor line" : "pattern line " + target(move);
+    return Tiles.values()[color(move)] + " from " + source + " to " + target;
+  }
+}
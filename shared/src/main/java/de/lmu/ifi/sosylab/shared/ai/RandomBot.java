@@ -0,0 +1,32 @@
+package de.lmu.ifi.sosylab.shared.ai;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * A bot that plays a random legal move. It is the baseline that the other bots are measured
+ * against. Every instance uses its own move buffer and random generator, so an instance must not be
+ * shared between threads.
+ */
+public class RandomBot implements BotPolicy {
+  private final RandomGenerator random;
+  private final int[] moves;
+
+  /**
+   * Construct a random bot.
+   *
+   * @param random the random generator that chooses the moves.
+   */
+  public RandomBot(RandomGenerator random) {
+    this.random = random;
+    this.moves = new int[GameState.MAX_MOVES];
+  }
+
+  @Override
+  public int chooseMove(GameState state) {
+    int moveCount = state.generateMoves(moves);
+    if (moveCount == 0) {
+      return Move.NONE;
+    }
+    return moves[random.nextInt(moveCount)];
+  }
+}
@@ -0,0 +1,81 @@
+package de.lmu.ifi.sosylab.shared.ai;
+
+/**
+ * The budget of a search: a time limit, a limit of playouts or both. The search stops as soon as
+ * one of the limits is reached.
+ */
+public final class SearchBudget {
+  private static final long UNLIMITED = Long.MAX_VALUE;
+
+  private final long millis;
+  private final long playouts;
+
+  private SearchBudget(long millis, long playouts) {
+    if (millis <= 0 || playouts <= 0) {
+      throw new IllegalArgumentException("The budget of a search must be positive");
+    }
+    if (millis == UNLIMITED && playouts == UNLIMITED) {
+      throw new IllegalArgumentException("The budget of a search must have a limit");
+    }
+    this.millis = millis;
+    this.playouts = playouts;
+  }
+
+  /**
+   * Create a budget that is limited by time.
+   *
+   * @param millis the time limit in milliseconds.
+   * @return the budget.
+   */
+  public static SearchBudget ofMillis(long millis) {
+    return new SearchBudget(millis, UNLIMITED);
+  }
+
+  /**
+   * Create a budget that is limited by the number of playouts.
+   *
+   * @param playouts the maximum number of playouts.
+   * @return the budget.
+   */
+  public static SearchBudget ofPlayouts(long playouts) {
+    return new SearchBudget(UNLIMITED, playouts);
+  }
+
+  /**
+   * Create a budget that is limited by time and by the number of playouts.
+   *
+   * @param millis the time limit in milliseconds.
+   * @param playouts the maximum number of playouts.
+   * @return the budget.
+   */
+  public static SearchBudget of(long millis, long playouts) {
+    return new SearchBudget(millis, playouts);
+  }
+
+  /**
+   * Get the deadline of a search that starts now.
+   *
+   * @param startNanos the start of the search by {@link System#nanoTime()}.
+   * @return the deadline by {@link System#nanoTime()}, {@link Long#MAX_VALUE} if unlimited.
+   */
+  public long deadline(long startNanos) {
+    if (millis == UNLIMITED) {
+      return Long.MAX_VALUE;
+    }
+    return startNanos + millis * 1_000_000L;
+  }
+
+  public long getMillis() {
+    return millis;
+  }
+
+  public long getPlayouts() {
+    return playouts;
+  }
+
+  @Override
+  public String toString() {
+    return "SearchBudget{millis=" + (millis == UNLIMITED ? "unlimited" : millis)
+        + ", playouts=" + (playouts == UNLIMITED ? "unlimited" : playouts) + "}";
+  }
+}
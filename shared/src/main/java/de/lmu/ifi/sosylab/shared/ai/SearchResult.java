@@ -0,0 +1,57 @@
+package de.lmu.ifi.sosylab.shared.ai;
+
+/**
+ * The result of a search: the best move, its estimated value and statistics about the search.
+ */
+public final class SearchResult {
+  private final int bestMove;
+  private final double value;
+  private final long playouts;
+  private final long elapsedNanos;
+
+  /**
+   * Construct the result of a search.
+   *
+   * @param bestMove the best move encoded by {@link Move}.
+   * @param value the estimated value of the best move between 0 and 1.
+   * @param playouts the number of playouts of the search.
+   * @param elapsedNanos the duration of the search in nanoseconds.
+   */
+  public SearchResult(int bestMove, double value, long playouts, long elapsedNanos) {
+    this.bestMove = bestMove;
+    this.value = value;
+    this.playouts = playouts;
+    this.elapsedNanos = elapsedNanos;
+  }
+
+  public int getBestMove() {
+    return bestMove;
+  }
+
+  public double getValue() {
+    return value;
+  }
+
+  public long getPlayouts() {
+    return playouts;
+  }
+
+  public long getElapsedNanos() {
+    return elapsedNanos;
+  }
+
+  /**
+   * Get the number of playouts per second, which is used to size the hardware of the server.
+   *
+   * @return the playouts per second, 0 if no time has elapsed.
+   */
+  public double getPlayoutsPerSecond() {
+    return elapsedNanos == 0 ? 0 : playouts * 1e9 / elapsedNanos;
+  }
+
+  @Override
+  public String toString() {
+    return "SearchResult{bestMove=" + Move.toString(bestMove) + ", value=" + value
+        + ", playouts=" + playouts + ", playoutsPerSecond=" + (long) getPlayoutsPerSecond() + "}";
+  }
+}
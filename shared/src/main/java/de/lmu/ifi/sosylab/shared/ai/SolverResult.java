@@ -0,0 +1,56 @@
+package de.lmu.ifi.sosylab.shared.ai;
+
+/**
+ * The result of the {@link EndOfRoundSolver}: the best move, the value of the best line and how
+ * deep the solver searched.
+ */
+public final class SolverResult {
+  private final int bestMove;
+  private final int value;
+  private final int depth;
+  private final boolean exact;
+  private final long nodes;
+
+  /**
+   * Construct the result of the solver.
+   *
+   * @param bestMove the best move encoded by {@link Move}.
+   * @param value the score of the player after the round minus the best score of the others.
+   * @param depth the depth of the last completed iteration.
+   * @param exact true if the search reached the end of the round in every line.
+   * @param nodes the number of searched nodes.
+   */
+  public SolverResult(int bestMove, int value, int depth, boolean exact, long nodes) {
+    this.bestMove = bestMove;
+    this.value = value;
+    this.depth = depth;
+    this.exact = exact;
+    this.nodes = nodes;
+  }
+
+  public int getBestMove() {
+    return bestMove;
+  }
+
+  public int getValue() {
+    return value;
+  }
+
+  public int getDepth() {
+    return depth;
+  }
+
+  public boolean isExact() {
+    return exact;
+  }
+
+  public long getNodes() {
+    return nodes;
+  }
+
+  @Override
+  public String toString() {
+    return "SolverResult{bestMove=" + Move.toString(bestMove) + ", value=" + value
+        + ", depth=" + depth + ", exact=" + exact + ", nodes=" + nodes + "}";
+  }
+}
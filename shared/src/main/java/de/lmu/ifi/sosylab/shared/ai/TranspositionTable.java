@@ -0,0 +1,164 @@
+package de.lmu.ifi.sosylab.shared.ai;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A fixed-size table of evaluated positions that can be shared by all threads of a search without
+ * locks. Every entry is stored in two longs: the data and the key xor the data. An entry that was
+ * torn by two threads writing at the same time does not pass the key check and counts as a miss.
+ *
+ * <p>The data of an entry is packed into a long: the value as float in the upper 32 bits, then
+ * the move (16 bits), the depth (8 bits), the generation of the search (6 bits) and the bound
+ * (2 bits). An entry is only replaced by an entry of a different position if it is from an older
+ * search or if the new entry was searched at least as deep.
+ */
+public final class TranspositionTable {
+  public static final long MISS = 0;
+  public static final int EXACT = 1;
+  public static final int LOWER_BOUND = 2;
+  public static final int UPPER_BOUND = 3;
+  public static final int MAX_DEPTH = 255;
+
+  private static final int BYTES_PER_ENTRY = 16;
+  //2 longs per entry must fit into an array
+  private static final int MAX_CAPACITY = 1 << 29;
+  private static final int GENERATIONS = 64;
+
+  private final AtomicLongArray entries;
+  private final int mask;
+  private volatile int generation;
+
+  /**
+   * Construct a table with at least the given number of entries, rounded up to a power of two.
+   *
+   * @param capacity the number of entries.
+   */
+  public TranspositionTable(int capacity) {
+    if (capacity < 1 || capacity > MAX_CAPACITY) {
+      throw new IllegalArgumentException("The capacity of the table must be between 1 and 2^29");
+    }
+    int size = Integer.highestOneBit(capacity);
+    if (size < capacity) {
+      size <<= 1;
+    }
+    entries = new AtomicLongArray(size * 2);
+    mask = size - 1;
+  }
+
+  /**
+   * Create a table that uses about the given memory, but at most 8 gigabytes.
+   *
+   * @param megabytes the memory of the table in megabytes.
+   * @return the table.
+   */
+  public static TranspositionTable ofMegabytes(int megabytes) {
+    if (megabytes < 1) {
+      throw new IllegalArgumentException("The table needs at least one megabyte");
+    }
+    long capacity = Math.min((long) megabytes * (1 << 20) / BYTES_PER_ENTRY, MAX_CAPACITY);
+    return new TranspositionTable(Integer.highestOneBit((int) capacity));
+  }
+
+  /**
+   * Start a new search. Entries of older searches are replaced first.
+   */
+  public void newSearch() {
+    generation = (generation + 1) % GENERATIONS;
+  }
+
+  /**
+   * Look up the entry of a position.
+   *
+   * @param key the Zobrist key of the position.
+   * @return the packed data of the entry, {@link #MISS} if the position is not in the table.
+   */
+  public long probe(long key) {
+    int index = index(key);
+    long data = entries.get(index + 1);
+    if (data != MISS && (entries.get(index) ^ data) == key) {
+      return data;
+    }
+    return MISS;
+  }
+
+  /**
+   * Store the evaluation of a position.
+   *
+   * @param key the Zobrist key of the position.
+   * @param move the best move of the position, {@link Move#NONE} if not known.
+   * @param depth the depth or quality of the evaluation, capped at {@link #MAX_DEPTH}.
+   * @param bound {@link #EXACT}, {@link #LOWER_BOUND} or {@link #UPPER_BOUND}.
+   * @param value the value of the position.
+   */
+  public void store(long key, int move, int depth, int bound, float value) {
+    int index = index(key);
+    int currentGeneration = generation;
+    long oldData = entries.get(index + 1);
+    if (oldData != MISS && generationOf(oldData) == currentGeneration) {
+      boolean samePosition = (entries.get(index) ^ oldData) == key;
+      if (depthOf(oldData) > depth && !samePosition) {
+        //keep the deeper entry of the current search
+        return;
+      }
+      if (samePosition && move == Move.NONE) {
+        //keep the best move of the position
+        move = moveOf(oldData);
+      }
+    }
+    long data = pack(move, Math.min(depth, MAX_DEPTH), currentGeneration, bound, value);
+    entries.set(index, key ^ data);
+    entries.set(index + 1, data);
+  }
+
+  /**
+   * Remove all entries.
+   */
+  public void clear() {
+    for (int index = 0; index < entries.length(); index++) {
+      entries.set(index, 0);
+    }
+  }
+
+  public int capacity() {
+    return mask + 1;
+  }
+
+  private int index(long key) {
+    return ((int) (key ^ (key >>> 32)) & mask) * 2;
+  }
+
+  private static long pack(int move, int depth, int generation, int bound, float value) {
+    return (long) Float.floatToRawIntBits(value) << 32
+        | (long) (move & 0xFFFF) << 16
+        | (long) depth << 8
+        | (long) generation << 2
+        | bound;
+  }
+
+  /**
+   * Get the best move of an entry.
+   *
+   * @param data the packed data of the entry.
+   * @return the move, {@link Move#NONE} if not known.
+   */
+  public static int moveOf(long data) {
+    int move = (int) (data >>> 16) & 0xFFFF;
+    return move == 0xFFFF ? Move.NONE : move;
+  }
+
+  public static int depthOf(long data) {
+    return (int) (data >>> 8) & 0xFF;
+  }
+
+  public static int boundOf(long data) {
+    return (int) data & 0x3;
+  }
+
+  public static float valueOf(long data) {
+    return Float.intBitsToFloat((int) (data >>> 32));
+  }
+
+  private static int generationOf(long data) {
+    return (int) (data >>> 2) & (GENERATIONS - 1);
+  }
+}
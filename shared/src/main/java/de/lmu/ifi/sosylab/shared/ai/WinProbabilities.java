@@ -0,0 +1,45 @@
+package de.lmu.ifi.sosylab.shared.ai;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Estimates the chances to win of all players by playing the game to its end many times with the
+ * random moves of the playouts of {@link MonteCarloTreeSearch}. Players with the same highest score
+ * share the win.
+ */
+public final class WinProbabilities {
+
+  private WinProbabilities() {
+    // Class is final to prevent extension
+    // Constructor is private to prevent instantiation
+  }
+
+  /**
+   * Estimate the chances to win from the given state.
+   *
+   * @param state the state of the game, which is not changed.
+   * @param budget the time and the number of playouts of the estimate.
+   * @param random the random generator of the playouts.
+   * @return the chance to win of every player between 0 and 1, all 0 if no playout finished.
+   */
+  public static double[] estimate(GameState state, SearchBudget budget, RandomGenerator random) {
+    int playerCount = state.getPlayerCount();
+    double[] wins = new double[playerCount];
+    GameState playout = new GameState(playerCount);
+    int[] moves = new int[GameState.MAX_MOVES];
+    long deadline = budget.deadline(System.nanoTime());
+    long playouts = 0;
+    while (playouts < budget.getPlayouts() && System.nanoTime() < deadline) {
+      playout.copyFrom(state);
+      MonteCarloTreeSearch.playout(playout, random, moves);
+      for (int player = 0; player < playerCount; player++) {
+        wins[player] += playout.getWinShare(player);
+      }
+      playouts++;
+    }
+    for (int player = 0; player < playerCount && playouts > 0; player++) {
+      wins[player] /= playouts;
+    }
+    return wins;
+  }
+}
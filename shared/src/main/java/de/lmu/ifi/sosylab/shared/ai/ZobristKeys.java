@@ -0,0 +1,191 @@
+package de.lmu.ifi.sosylab.shared.ai;
+
+import java.util.SplittableRandom;
+
+/**
+ * Contains the random keys of Zobrist hashing for {@link GameState}. The key of a state is the
+ * xor of the keys of all its parts, so it can be updated incrementally when a part changes. The
+ * keys are created from a fixed seed, so equal states have equal keys in every run of the game.
+ */
+public final class ZobristKeys {
+  private static final int MAX_PLAYERS = 4;
+  private static final int MAX_DISPLAYS = MAX_PLAYERS * 2 + 1;
+  private static final int MAX_COUNT = GameState.TILES_PER_COLOR;
+  private static final int MAX_SCORE = 511;
+  private static final long SEED = 0x5A7A_A2D1L;
+
+  private static final long[] DISPLAYS;
+  private static final long[] CENTER;
+  private static final long[] BAG;
+  private static final long[] LID;
+  private static final long[] WALLS;
+  private static final long[] LINES;
+  private static final long[] FLOORS;
+  private static final long[] SCORES;
+  private static final long[] START_PLAYERS;
+  private static final long[] CURRENT_PLAYERS;
+  private static final long START_MARKER_IN_CENTER;
+  private static final long GAME_OVER;
+
+  static {
+    SplittableRandom random = new SplittableRandom(SEED);
+    int colors = GameState.COLORS;
+    int rows = GameState.ROWS;
+    DISPLAYS = keys(random, MAX_DISPLAYS * colors * (GameState.TILES_PER_DISPLAY + 1));
+    CENTER = keys(random, colors * (MAX_COUNT + 1));
+    BAG = keys(random, colors * (MAX_COUNT + 1));
+    LID = keys(random, colors * (MAX_COUNT + 1));
+    WALLS = keys(random, MAX_PLAYERS * rows * rows);
+    LINES = keys(random, MAX_PLAYERS * rows * colors * (rows + 1));
+    FLOORS = keys(random, MAX_PLAYERS * (GameState.MAX_FLOOR_SIZE + 1));
+    SCORES = keys(random, MAX_PLAYERS * (MAX_SCORE + 1));
+    START_PLAYERS = keys(random, MAX_PLAYERS + 1);
+    CURRENT_PLAYERS = keys(random, MAX_PLAYERS);
+    START_MARKER_IN_CENTER = random.nextLong();
+    GAME_OVER = random.nextLong();
+  }
+
+  private ZobristKeys() {
+    // Class is final to prevent extension
+    // Constructor is private to prevent instantiation
+  }
+
+  private static long[] keys(SplittableRandom random, int size) {
+    long[] keys = new long[size];
+    for (int index = 0; index < size; index++) {
+      keys[index] = random.nextLong();
+    }
+    return keys;
+  }
+
+  /**
+   * Get the key of the number of tiles of a type in a factory display.
+   *
+   * @param display the index of the factory display.
+   * @param color the ordinal of the tile type.
+   * @param count the number of tiles.
+   * @return the key, 0 if there are no tiles.
+   */
+  public static long display(int display, int color, int count) {
+    if (count == 0) {
+      return 0;
+    }
+    return DISPLAYS[(display * GameState.COLORS + color) * (GameState.TILES_PER_DISPLAY + 1)
+        + count];
+  }
+
+  /**
+   * Get the key of the number of tiles of a type in the middle of the table.
+   *
+   * @param color the ordinal of the tile type.
+   * @param count the number of tiles.
+   * @return the key, 0 if there are no tiles.
+   */
+  public static long center(int color, int count) {
+    return count == 0 ? 0 : CENTER[color * (MAX_COUNT + 1) + Math.min(count, MAX_COUNT)];
+  }
+
+  /**
+   * Get the key of the number of tiles of a type in the bag.
+   *
+   * @param color the ordinal of the tile type.
+   * @param count the number of tiles.
+   * @return the key, 0 if there are no tiles.
+   */
+  public static long bag(int color, int count) {
+    return count == 0 ? 0 : BAG[color * (MAX_COUNT + 1) + Math.min(count, MAX_COUNT)];
+  }
+
+  /**
+   * Get the key of the number of tiles of a type in the lid.
+   *
+   * @param color the ordinal of the tile type.
+   * @param count the number of tiles.
+   * @return the key, 0 if there are no tiles.
+   */
+  public static long lid(int color, int count) {
+    return count == 0 ? 0 : LID[color * (MAX_COUNT + 1) + Math.min(count, MAX_COUNT)];
+  }
+
+  /**
+   * Get the key of all tiles on the wall of a player.
+   *
+   * @param player the index of the player.
+   * @param wall the wall mask.
+   * @return the key of the wall.
+   */
+  public static long wall(int player, int wall) {
+    long key = 0;
+    for (int remaining = wall; remaining != 0; remaining &= remaining - 1) {
+      key ^= WALLS[player * GameState.ROWS * GameState.ROWS
+          + Integer.numberOfTrailingZeros(remaining)];
+    }
+    return key;
+  }
+
+  /**
+   * Get the key of a row of the pattern lines.
+   *
+   * @param player the index of the player.
+   * @param row the row of the pattern lines.
+   * @param color the ordinal of the tile type in the row.
+   * @param count the number of tiles in the row.
+   * @return the key, 0 if the row is empty.
+   */
+  public static long line(int player, int row, int color, int count) {
+    if (count == 0) {
+      return 0;
+    }
+    return LINES[((player * GameState.ROWS + row) * GameState.COLORS + color)
+        * (GameState.ROWS + 1) + count];
+  }
+
+  /**
+   * Get the key of the floor line of a player. Floor lines that have the same minus points have
+   * the same key.
+   *
+   * @param player the index of the player.
+   * @param count the number of tiles in the floor line.
+   * @return the key, 0 if the floor line is empty.
+   */
+  public static long floor(int player, int count) {
+    if (count == 0) {
+      return 0;
+    }
+    return FLOORS[player * (GameState.MAX_FLOOR_SIZE + 1)
+        + Math.min(count, GameState.MAX_FLOOR_SIZE)];
+  }
+
+  /**
+   * Get the key of the score of a player.
+   *
+   * @param player the index of the player.
+   * @param score the score of the player.
+   * @return the key of the score.
+   */
+  public static long score(int player, int score) {
+    return SCORES[player * (MAX_SCORE + 1) + Math.min(score, MAX_SCORE)];
+  }
+
+  /**
+   * Get the key of the player who holds the starting player marker.
+   *
+   * @param player the index of the player, -1 if the marker is in the middle of the table.
+   * @return the key.
+   */
+  public static long startPlayer(int player) {
+    return START_PLAYERS[player + 1];
+  }
+
+  public static long currentPlayer(int player) {
+    return CURRENT_PLAYERS[player];
+  }
+
+  public static long startMarkerInCenter() {
+    return START_MARKER_IN_CENTER;
+  }
+
+  public static long gameOver() {
+    return GAME_OVER;
+  }
+}
@@ -0,0 +1,66 @@
+package de.lmu.ifi.sosylab.shared.ai.engine;
+
+import de.lmu.ifi.sosylab.shared.ai.BotPolicy;
+import de.lmu.ifi.sosylab.shared.ai.GameState;
+import de.lmu.ifi.sosylab.shared.ai.GreedyBot;
+import de.lmu.ifi.sosylab.shared.ai.Move;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * A bot that asks an external engine of a pool for its moves. If the engine fails, does not
+ * answer in time or answers with an illegal move, the move of a greedy bot is played instead, so
+ * that a broken engine cannot stall a game. An instance must not be shared between threads.
+ */
+public class EngineBot implements BotPolicy {
+  private final EnginePool pool;
+  private final long moveTimeMillis;
+  private final GreedyBot fallback;
+  private volatile CompletableFuture<Integer> request;
+
+  /**
+   * Construct a bot that plays the moves of the engines of the given pool.
+   *
+   * @param pool the engines.
+   * @param moveTimeMillis the time an engine should think about a move.
+   */
+  public EngineBot(EnginePool pool, long moveTimeMillis) {
+    this.pool = pool;
+    this.moveTimeMillis = moveTimeMillis;
+    this.fallback = new GreedyBot();
+  }
+
+  @Override
+  public int chooseMove(GameState state) {
+    CompletableFuture<Integer> move = pool.requestMove(state, moveTimeMillis);
+    request = move;
+    try {
+      int engineMove = move.get();
+      if (engineMove == Move.NONE || !state.isLegal(engineMove)) {
+        //the fallback also finds out whether there is no legal move at all
+        return fallback.chooseMove(state);
+      }
+      return engineMove;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return fallback.chooseMove(state);
+    } catch (ExecutionException | CancellationException e) {
+      //a timeout, a terminated engine or a cancelled request
+      return fallback.chooseMove(state);
+    } finally {
+      request = null;
+    }
+  }
+
+  /**
+   * Stop waiting for the engine, the move of the greedy bot is played instead.
+   */
+  @Override
+  public void cancel() {
+    CompletableFuture<Integer> move = request;
+    if (move != null) {
+      move.cancel(false);
+    }
+  }
+}
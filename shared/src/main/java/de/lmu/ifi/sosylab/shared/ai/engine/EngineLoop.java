@@ -0,0 +1,139 @@
+package de.lmu.ifi.sosylab.shared.ai.engine;
+
+import de.lmu.ifi.sosylab.shared.ai.BotPolicy;
+import de.lmu.ifi.sosylab.shared.ai.GameState;
+import de.lmu.ifi.sosylab.shared.ai.GreedyBot;
+import de.lmu.ifi.sosylab.shared.ai.Move;
+import de.lmu.ifi.sosylab.shared.ai.MonteCarloTreeSearch;
+import de.lmu.ifi.sosylab.shared.ai.RandomBot;
+import de.lmu.ifi.sosylab.shared.ai.SearchBudget;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.SplittableRandom;
+import java.util.function.LongFunction;
+
+/**
+ * The engine side of the {@link EngineProtocol}: reads the commands of a host and answers them
+ * with the moves of a bot. The commands are handled one after another, so a host can send several
+ * requests without waiting for the answers.
+ *
+ * <p>The main method runs one of the bots of this project as an engine, which is a reference for
+ * engines written in other languages: {@code EngineLoop greedy|random|mcts}.
+ */
+public class EngineLoop {
+  private final String name;
+  private final LongFunction<BotPolicy> bots;
+  private final BufferedReader reader;
+  private final BufferedWriter writer;
+  private GameState position;
+
+  /**
+   * Construct the loop of an engine.
+   *
+   * @param name the name of the engine.
+   * @param bots creates the bot that chooses a move in the given time in milliseconds.
+   * @param input the commands of the host.
+   * @param output the answers to the host.
+   */
+  public EngineLoop(String name, LongFunction<BotPolicy> bots, Reader input, Writer output) {
+    this.name = name;
+    this.bots = bots;
+    this.reader = new BufferedReader(input);
+    this.writer = new BufferedWriter(output);
+  }
+
+  /**
+   * Handle the commands of the host until it sends {@link EngineProtocol#QUIT} or closes the
+   * input.
+   *
+   * @throws IOException if reading a command or writing an answer fails.
+   */
+  public void run() throws IOException {
+    String line;
+    while ((line = reader.readLine()) != null) {
+      String[] words = line.trim().split("\\s+", 2);
+      String arguments = words.length > 1 ? words[1] : "";
+      try {
+        switch (words[0]) {
+          case EngineProtocol.HELLO -> {
+            send(EngineProtocol.ID + " name " + name);
+            send(EngineProtocol.HELLO_OK);
+          }
+          case EngineProtocol.IS_READY -> send(EngineProtocol.READY_OK);
+          case EngineProtocol.NEW_GAME -> position = null;
+          case EngineProtocol.POSITION -> position = GameState.parse(arguments);
+          case EngineProtocol.GO -> go(arguments);
+          case EngineProtocol.QUIT -> {
+            return;
+          }
+          case "" -> {
+            //empty lines are ignored
+          }
+          default -> send(EngineProtocol.ERROR + " unknown command " + words[0]);
+        }
+      } catch (IllegalArgumentException e) {
+        send(EngineProtocol.ERROR + " " + e.getMessage());
+      }
+    }
+  }
+
+  private void go(String arguments) throws IOException {
+    //go <request id> movetime <milliseconds>
+    String[] words = arguments.split("\\s+");
+    if (words.length != 3 || !words[1].equals(EngineProtocol.MOVE_TIME)) {
+      throw new IllegalArgumentException("expected go <id> movetime <ms>: " + arguments);
+    }
+    String requestId = words[0];
+    long moveTime;
+    try {
+      moveTime = Long.parseLong(words[2]);
+    } catch (NumberFormatException e) {
+      throw new IllegalArgumentException("invalid move time " + words[2], e);
+    }
+    if (position == null) {
+      send(EngineProtocol.BEST_MOVE + " " + requestId + " " + EngineProtocol.NO_MOVE);
+      return;
+    }
+    int move = bots.apply(moveTime).chooseMove(position);
+    String notation = move == Move.NONE ? EngineProtocol.NO_MOVE : Move.toNotation(move);
+    send(EngineProtocol.BEST_MOVE + " " + requestId + " " + notation);
+  }
+
+  private void send(String line) throws IOException {
+    writer.write(line);
+    writer.newLine();
+    writer.flush();
+  }
+
+  /**
+   * Run a bot of this project as an engine on the standard input and output.
+   *
+   * @param args the bot: {@code greedy}, {@code random} or {@code mcts}.
+   * @throws IOException if the standard input or output fails.
+   */
+  public static void main(String[] args) throws IOException {
+    String type = args.length > 0 ? args[0] : "greedy";
+    LongFunction<BotPolicy> bots = switch (type) {
+      case "greedy" -> {
+        GreedyBot bot = new GreedyBot();
+        yield moveTime -> bot;
+      }
+      case "random" -> {
+        RandomBot bot = new RandomBot(new SplittableRandom());
+        yield moveTime -> bot;
+      }
+      //leave a little of the move time for the answer
+      case "mcts" -> moveTime -> new MonteCarloTreeSearch(
+          SearchBudget.ofMillis(Math.max(1, moveTime * 9 / 10)));
+      default -> throw new IllegalArgumentException("Unknown bot: " + type);
+    };
+    new EngineLoop(type, bots, new InputStreamReader(System.in, StandardCharsets.UTF_8),
+        new OutputStreamWriter(System.out, StandardCharsets.UTF_8)).run();
+  }
+}
@@ -0,0 +1,189 @@
+package de.lmu.ifi.sosylab.shared.ai.engine;
+
+import de.lmu.ifi.sosylab.shared.ai.GameState;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+
+/**
+ * A pool of local processes of the same external engine. Every request is sent to the engine
+ * with the fewest pending requests, engines that have terminated are started again. The engines
+ * are started on threads of their own, so a slow handshake does not block the other requests.
+ */
+public class EnginePool implements Closeable {
+  private static final long HANDSHAKE_MILLIS = 10_000;
+  //the time an engine may need on top of the move time, e.g. to answer through the pipe
+  private static final long TIMEOUT_MARGIN_MILLIS = 2_000;
+
+  private final List<String> command;
+  private final Slot[] slots;
+  private final Executor starter;
+  private boolean closed;
+
+  //a place for an engine of the pool
+  private static final class Slot {
+    //completes when the engine has answered the handshake, null if no engine was started yet
+    private CompletableFuture<EngineProcess> engine;
+    //the requests that are sent to the engine or wait for its handshake
+    private int pending;
+  }
+
+  /**
+   * Construct a pool that starts the engines when they are needed.
+   *
+   * @param command the command line that starts an engine.
+   * @param size the number of engine processes.
+   */
+  public EnginePool(List<String> command, int size) {
+    if (command.isEmpty()) {
+      throw new IllegalArgumentException("The command of the engine is empty");
+    }
+    if (size < 1) {
+      throw new IllegalArgumentException("The pool needs at least one engine");
+    }
+    this.command = List.copyOf(command);
+    slots = new Slot[size];
+    for (int index = 0; index < size; index++) {
+      slots[index] = new Slot();
+    }
+    starter = runnable -> {
+      Thread thread = new Thread(runnable, "engine-start-" + command.get(0));
+      thread.setDaemon(true);
+      thread.start();
+    };
+  }
+
+  /**
+   * Request the best move of the given state from the least busy engine. Since the engine
+   * answers its requests one after another, the timeout grows with the requests that are
+   * already pending.
+   *
+   * @param state the state of the game.
+   * @param moveTimeMillis the time the engine should think about the move.
+   * @return the future encoded move, which stops the request of the engine if it is cancelled.
+   */
+  public CompletableFuture<Integer> requestMove(GameState state, long moveTimeMillis) {
+    Slot slot;
+    CompletableFuture<EngineProcess> engine;
+    int pending;
+    synchronized (this) {
+      try {
+        slot = leastBusySlot();
+      } catch (IOException e) {
+        return CompletableFuture.failedFuture(e);
+      }
+      engine = slot.engine;
+      //the request is counted before it is sent, so that other requests choose other engines
+      pending = slot.pending++;
+    }
+    long timeoutMillis = moveTimeMillis * (pending + 1) + TIMEOUT_MARGIN_MILLIS;
+    CompletableFuture<Integer> move = new CompletableFuture<>();
+    engine.whenComplete((process, failure) -> {
+      if (failure != null) {
+        move.completeExceptionally(failure);
+        return;
+      }
+      CompletableFuture<Integer> request =
+          process.requestMove(state, moveTimeMillis, timeoutMillis);
+      move.whenComplete((engineMove, moveFailure) -> request.cancel(false));
+      request.whenComplete((engineMove, requestFailure) -> {
+        if (requestFailure != null) {
+          move.completeExceptionally(requestFailure);
+        } else {
+          move.complete(engineMove);
+        }
+      });
+    });
+    move.whenComplete((engineMove, failure) -> {
+      synchronized (this) {
+        slot.pending--;
+      }
+    });
+    return move;
+  }
+
+  //the slot of the least busy engine, an engine is started if the slot has none
+  private Slot leastBusySlot() throws IOException {
+    if (closed) {
+      throw new IOException("The engine pool is closed");
+    }
+    Slot best = null;
+    Slot freeSlot = null;
+    for (Slot slot : slots) {
+      if (isTerminated(slot.engine)) {
+        freeSlot = slot;
+      } else if (best == null || slot.pending < best.pending) {
+        best = slot;
+      }
+    }
+    //an idle engine is used before another one is started
+    if (best != null && (freeSlot == null || best.pending == 0)) {
+      return best;
+    }
+    freeSlot.engine = CompletableFuture.supplyAsync(() -> {
+      try {
+        return new EngineProcess(command, HANDSHAKE_MILLIS);
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }, starter);
+    return freeSlot;
+  }
+
+  //whether the engine was never started, could not be started or has terminated
+  private static boolean isTerminated(CompletableFuture<EngineProcess> engine) {
+    return engine == null || engine.isCompletedExceptionally()
+        || (engine.isDone() && !engine.join().isAlive());
+  }
+
+  /**
+   * Return the name of the engine, which starts an engine if none is running.
+   *
+   * @return the name of the engine.
+   * @throws IOException if the engine cannot be started.
+   */
+  public String getEngineName() throws IOException {
+    CompletableFuture<EngineProcess> engine = null;
+    synchronized (this) {
+      for (Slot slot : slots) {
+        if (slot.engine != null && slot.engine.isDone() && !isTerminated(slot.engine)) {
+          engine = slot.engine;
+          break;
+        }
+      }
+      if (engine == null) {
+        engine = leastBusySlot().engine;
+      }
+    }
+    try {
+      return engine.get().getName();
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof UncheckedIOException) {
+        throw ((UncheckedIOException) e.getCause()).getCause();
+      }
+      throw new IOException("The engine cannot be started", e.getCause());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IOException("Interrupted while the engine starts", e);
+    }
+  }
+
+  /**
+   * Stop all engines of the pool. Engines that are still starting are stopped when their
+   * handshake is done.
+   */
+  @Override
+  public synchronized void close() {
+    closed = true;
+    for (Slot slot : slots) {
+      if (slot.engine != null) {
+        slot.engine.thenAccept(EngineProcess::close);
+        slot.engine = null;
+      }
+    }
+  }
+}
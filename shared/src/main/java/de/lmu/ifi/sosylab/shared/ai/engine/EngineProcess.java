@@ -0,0 +1,218 @@
+package de.lmu.ifi.sosylab.shared.ai.engine;
+
+import de.lmu.ifi.sosylab.shared.ai.GameState;
+import de.lmu.ifi.sosylab.shared.ai.Move;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * An external engine that runs in a process of its own and is controlled with the
+ * {@link EngineProtocol}. Requests are pipelined: a request is written to the engine immediately,
+ * even if the engine is still searching an earlier move, and the answers are matched to the
+ * requests by their id on a reader thread.
+ */
+public class EngineProcess implements Closeable {
+  private final Process process;
+  private final BufferedWriter writer;
+  private final String name;
+  private final Map<Long, CompletableFuture<Integer>> pendingMoves;
+  private final AtomicLong nextRequestId;
+
+  /**
+   * Start an engine and wait for its handshake.
+   *
+   * @param command the command line that starts the engine.
+   * @param handshakeMillis the time the engine has to answer the handshake.
+   * @throws IOException if the engine cannot be started or does not answer the handshake.
+   */
+  public EngineProcess(List<String> command, long handshakeMillis) throws IOException {
+    process = new ProcessBuilder(command)
+        .redirectError(ProcessBuilder.Redirect.INHERIT)
+        .start();
+    writer = new BufferedWriter(
+        new OutputStreamWriter(process.getOutputStream(), StandardCharsets.UTF_8));
+    BufferedReader reader = new BufferedReader(
+        new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8));
+    pendingMoves = new ConcurrentHashMap<>();
+    nextRequestId = new AtomicLong();
+
+    //the handshake is read on the reader thread as well, so that it can time out
+    CompletableFuture<String> handshake = new CompletableFuture<>();
+    Thread readerThread = new Thread(() -> readAnswers(reader, handshake),
+        "engine-reader-" + command.get(0));
+    readerThread.setDaemon(true);
+    readerThread.start();
+    try {
+      send(EngineProtocol.HELLO);
+      name = handshake.get(handshakeMillis, TimeUnit.MILLISECONDS);
+    } catch (InterruptedException e) {
+      process.destroyForcibly();
+      Thread.currentThread().interrupt();
+      throw new IOException("Interrupted while waiting for the engine " + command, e);
+    } catch (ExecutionException | TimeoutException | IOException e) {
+      process.destroyForcibly();
+      throw new IOException("The engine " + command + " did not answer the handshake", e);
+    }
+  }
+
+  private void readAnswers(BufferedReader reader, CompletableFuture<String> handshake) {
+    String engineName = "engine";
+    try {
+      String line;
+      while ((line = reader.readLine()) != null) {
+        String[] words = line.trim().split("\\s+");
+        switch (words[0]) {
+          case EngineProtocol.ID -> {
+            //the name may contain spaces
+            String[] idWords = line.trim().split("\\s+", 3);
+            if (idWords.length == 3 && idWords[1].equals("name")) {
+              engineName = idWords[2];
+            }
+          }
+          case EngineProtocol.HELLO_OK -> handshake.complete(engineName);
+          case EngineProtocol.BEST_MOVE -> completeMove(words);
+          case EngineProtocol.ERROR -> {
+            //an error does not name the request, the request fails when it times out
+            new IOException("The engine " + engineName + " reported: " + line).printStackTrace();
+          }
+          default -> {
+            //unknown answers are ignored, so that engines can add their own
+          }
+        }
+      }
+    } catch (IOException e) {
+      //the process has been closed
+    }
+    IOException closed = new IOException("The engine " + engineName + " has terminated");
+    handshake.completeExceptionally(closed);
+    pendingMoves.values().forEach(move -> move.completeExceptionally(closed));
+    pendingMoves.clear();
+  }
+
+  private void completeMove(String[] words) {
+    if (words.length < 3) {
+      return;
+    }
+    CompletableFuture<Integer> move;
+    try {
+      move = pendingMoves.remove(Long.parseLong(words[1]));
+    } catch (NumberFormatException e) {
+      return;
+    }
+    if (move == null) {
+      //the request has already timed out
+      return;
+    }
+    if (words[2].equals(EngineProtocol.NO_MOVE)) {
+      move.complete(Move.NONE);
+      return;
+    }
+    try {
+      move.complete(Move.parse(words[2]));
+    } catch (IllegalArgumentException e) {
+      move.completeExceptionally(e);
+    }
+  }
+
+  /**
+   * Request the best move of the given state. The request is sent to the engine immediately. If
+   * the engine does not answer in time, the returned future fails with a {@link TimeoutException}
+   * and the engine is stopped, since its answers to the following requests would come too late
+   * as well.
+   *
+   * @param state the state of the game.
+   * @param moveTimeMillis the time the engine should think about the move.
+   * @param timeoutMillis the time after which the request fails, counted from now.
+   * @return the future encoded move, {@link Move#NONE} if there is no legal move.
+   */
+  public CompletableFuture<Integer> requestMove(GameState state, long moveTimeMillis,
+      long timeoutMillis) {
+    long requestId = nextRequestId.incrementAndGet();
+    CompletableFuture<Integer> move = new CompletableFuture<>();
+    pendingMoves.put(requestId, move);
+    //position and go are written together, so that requests of several threads do not mix
+    String request = EngineProtocol.POSITION + " " + state.toNotation() + "\n"
+        + EngineProtocol.GO + " " + requestId + " " + EngineProtocol.MOVE_TIME + " "
+        + moveTimeMillis;
+    try {
+      send(request);
+    } catch (IOException e) {
+      pendingMoves.remove(requestId);
+      move.completeExceptionally(e);
+      return move;
+    }
+    return move.orTimeout(timeoutMillis, TimeUnit.MILLISECONDS)
+        .whenComplete((result, error) -> {
+          if (error instanceof TimeoutException) {
+            pendingMoves.remove(requestId);
+            process.destroyForcibly();
+          }
+        });
+  }
+
+  private void send(String line) throws IOException {
+    synchronized (writer) {
+      writer.write(line);
+      writer.newLine();
+      writer.flush();
+    }
+  }
+
+  /**
+   * Return the number of requests that the engine has not answered yet.
+   *
+   * @return the number of pending requests.
+   */
+  public int getPendingCount() {
+    return pendingMoves.size();
+  }
+
+  /**
+   * Return whether the process of the engine is still running.
+   *
+   * @return true if the engine is running.
+   */
+  public boolean isAlive() {
+    return process.isAlive();
+  }
+
+  /**
+   * Return the name that the engine has sent in the handshake.
+   *
+   * @return the name of the engine.
+   */
+  public String getName() {
+    return name;
+  }
+
+  /**
+   * Ask the engine to quit and stop its process if it does not quit in time.
+   */
+  @Override
+  public void close() {
+    try {
+      send(EngineProtocol.QUIT);
+      if (!process.waitFor(1, TimeUnit.SECONDS)) {
+        process.destroyForcibly();
+      }
+    } catch (IOException e) {
+      process.destroyForcibly();
+    } catch (InterruptedException e) {
+      process.destroyForcibly();
+      Thread.currentThread().interrupt();
+    }
+  }
+}
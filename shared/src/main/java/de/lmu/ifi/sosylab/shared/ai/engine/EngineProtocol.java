@@ -0,0 +1,40 @@
+package de.lmu.ifi.sosylab.shared.ai.engine;
+
+/**
+ * The commands of the line based protocol between a host and an external engine, which is a bot
+ * in a process of its own that reads commands from its standard input and writes answers to its
+ * standard output. The protocol is described in {@code ENGINE_PROTOCOL.md}.
+ */
+public final class EngineProtocol {
+  /** Sent by the host to start the protocol. */
+  public static final String HELLO = "azul";
+  /** Sent by the engine with its name after {@link #HELLO}. */
+  public static final String ID = "id";
+  /** Sent by the engine when it is ready after {@link #HELLO}. */
+  public static final String HELLO_OK = "azulok";
+  /** Sent by the host to check whether the engine has handled all previous commands. */
+  public static final String IS_READY = "isready";
+  /** Sent by the engine as the answer to {@link #IS_READY}. */
+  public static final String READY_OK = "readyok";
+  /** Sent by the host before the first position of a new game. */
+  public static final String NEW_GAME = "newgame";
+  /** Sent by the host with the state of the game, followed by a {@link #GO}. */
+  public static final String POSITION = "position";
+  /** Sent by the host to request the best move of the last position. */
+  public static final String GO = "go";
+  /** The time control of a {@link #GO}: the time of the move in milliseconds. */
+  public static final String MOVE_TIME = "movetime";
+  /** Sent by the engine with the chosen move. */
+  public static final String BEST_MOVE = "bestmove";
+  /** The move of a {@link #BEST_MOVE} if there is no legal move. */
+  public static final String NO_MOVE = "none";
+  /** Sent by the engine if it could not handle a command. */
+  public static final String ERROR = "error";
+  /** Sent by the host to stop the engine. */
+  public static final String QUIT = "quit";
+
+  private EngineProtocol() {
+    // Class is final to prevent extension
+    // Constructor is private to prevent instantiation
+  }
+}
@@ -2,13 +2,33 @@ package de.lmu.ifi.sosylab.shared.events;
 
 /**
  * Event that is sent by the model to the listener. It notifies the listener that the state
- * of the factory displays has changed.
+ * of the factory displays has changed. The event names the changed display, or {@link #ALL}.
  */
 
 public class FactoryDisplaysChangeEvent extends GameEvent {
+  private final int display;
+
+  /**
+   * Creates an event for a change of all factory displays.
+   */
+  public FactoryDisplaysChangeEvent() {
+    this(ALL);
+  }
+
+  /**
+   * Creates an event for a change of a single factory display.
+   *
+   * @param display the changed display, or {@link #ALL}
+   */
+  public FactoryDisplaysChangeEvent(int display) {
+    this.display = display;
+  }
 
   public String getName() {
     return "FactoryDisplayChangeEvent";
   }
 
+  public int getDisplay() {
+    return display;
+  }
 }
\ No newline at end of file
@@ -2,11 +2,40 @@ package de.lmu.ifi.sosylab.shared.events;
 
 /**
  * Event that is sent by the model to the listener. It notifies the listener that the state
- * of the floor line has changed.
+ * of the floor line has changed. Tiles are added at the end of a floor line, so the event names
+ * the first slot that changed, and all slots after it may have changed as well.
  */
 public class FloorLineChangeEvent extends GameEvent {
+  private final int player;
+  private final int firstSlot;
+
+  /**
+   * Creates an event for a change of the floor lines of all players.
+   */
+  public FloorLineChangeEvent() {
+    this(ALL, 0);
+  }
+
+  /**
+   * Creates an event for a change of the slots of a floor line from a slot on.
+   *
+   * @param player    the player whose floor line changed, or {@link #ALL}
+   * @param firstSlot the first changed slot, 0 if the whole floor line changed
+   */
+  public FloorLineChangeEvent(int player, int firstSlot) {
+    this.player = player;
+    this.firstSlot = firstSlot;
+  }
+
   public String getName() {
     return "FloorLineChangeEvent";
   }
 
+  public int getPlayer() {
+    return player;
+  }
+
+  public int getFirstSlot() {
+    return firstSlot;
+  }
 }
\ No newline at end of file
@@ -6,6 +6,9 @@ package de.lmu.ifi.sosylab.shared.events;
  */
 
 public abstract class GameEvent {
+  /** The index of a change event if it is not known which player, row or slot changed. */
+  public static final int ALL = -1;
+
   public abstract String getName();
 
 
@@ -1,12 +1,64 @@
 package de.lmu.ifi.sosylab.shared.events;
 
+import de.lmu.ifi.sosylab.shared.Tiles;
+import java.util.List;
+
 /**
  * Event that is sent by the model to the listener. It notifies the listener that
- * the state of the middle of the game table has changed.
+ * the state of the middle of the game table has changed. The event names the first tile that
+ * changed, and all tiles after it may have changed as well. If the tiles were moved from a
+ * factory display to the end of the table, the event also names the display and the moved tiles,
+ * as they were when the move was made.
  */
 
 public class GameTableChangeEvent extends GameEvent {
+  private final int firstIndex;
+  private final int sourceDisplay;
+  private final List<Tiles> addedTiles;
+
+  /**
+   * Creates an event for a change of the whole game table.
+   */
+  public GameTableChangeEvent() {
+    this(0, ALL, List.of());
+  }
+
+  /**
+   * Creates an event for tiles that were moved from a factory display to the end of the table.
+   *
+   * @param firstIndex    the index of the first added tile
+   * @param sourceDisplay the factory display the tiles come from
+   * @param addedTiles    the added tiles in the order of the table
+   */
+  public GameTableChangeEvent(int firstIndex, int sourceDisplay, List<Tiles> addedTiles) {
+    this.firstIndex = firstIndex;
+    this.sourceDisplay = sourceDisplay;
+    this.addedTiles = List.copyOf(addedTiles);
+  }
+
   public String getName() {
     return "GameTableChangeEvent";
   }
-}
\ No newline at end of file
+
+  public int getFirstIndex() {
+    return firstIndex;
+  }
+
+  /**
+   * Returns the factory display the added tiles come from.
+   *
+   * @return the index of the display, or {@link #ALL} if no tiles were moved from a display
+   */
+  public int getSourceDisplay() {
+    return sourceDisplay;
+  }
+
+  /**
+   * Returns the tiles that were added to the end of the table.
+   *
+   * @return the added tiles, empty if no tiles were moved from a display
+   */
+  public List<Tiles> getAddedTiles() {
+    return addedTiles;
+  }
+}
@@ -2,13 +2,40 @@ package de.lmu.ifi.sosylab.shared.events;
 
 /**
  * Event that is sent by the model to the listener. It notifies the listener that the state
- * of the pattern lines has changed.
+ * of the pattern lines has changed. The event names the changed row, or {@link #ALL}.
  */
 
 public class PatternLinesChangeEvent extends GameEvent {
+  private final int player;
+  private final int row;
+
+  /**
+   * Creates an event for a change of the pattern lines of all players.
+   */
+  public PatternLinesChangeEvent() {
+    this(ALL, ALL);
+  }
+
+  /**
+   * Creates an event for a change of a single row.
+   *
+   * @param player the player whose pattern lines changed, or {@link #ALL}
+   * @param row    the changed row, or {@link #ALL}
+   */
+  public PatternLinesChangeEvent(int player, int row) {
+    this.player = player;
+    this.row = row;
+  }
 
   public String getName() {
     return "PatternLinesChangeEvent";
   }
 
+  public int getPlayer() {
+    return player;
+  }
+
+  public int getRow() {
+    return row;
+  }
 }
\ No newline at end of file
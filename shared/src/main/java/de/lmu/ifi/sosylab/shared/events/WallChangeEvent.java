@@ -2,10 +2,47 @@ package de.lmu.ifi.sosylab.shared.events;
 
 /**
  * Event that is sent by the model to the listener. It notifies the listener that
- * the state of the wall has changed.
+ * the state of the wall has changed. The event names the changed cell, or {@link #ALL} if
+ * several cells or the walls of several players changed.
  */
 public class WallChangeEvent extends GameEvent {
+  private final int player;
+  private final int row;
+  private final int column;
+
+  /**
+   * Creates an event for a change of the walls of all players.
+   */
+  public WallChangeEvent() {
+    this(ALL, ALL, ALL);
+  }
+
+  /**
+   * Creates an event for a change of a single cell.
+   *
+   * @param player the player whose wall changed, or {@link #ALL}
+   * @param row    the row of the changed cell, or {@link #ALL}
+   * @param column the column of the changed cell, or {@link #ALL}
+   */
+  public WallChangeEvent(int player, int row, int column) {
+    this.player = player;
+    this.row = row;
+    this.column = column;
+  }
+
   public String getName() {
     return "WallChangeEvent";
   }
+
+  public int getPlayer() {
+    return player;
+  }
+
+  public int getRow() {
+    return row;
+  }
+
+  public int getColumn() {
+    return column;
+  }
 }
\ No newline at end of file
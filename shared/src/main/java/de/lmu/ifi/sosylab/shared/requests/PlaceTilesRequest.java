@@ -8,12 +8,19 @@ public class PlaceTilesRequest extends Request {
   // the index of the row in pattern lines where the tile will be placed.
   // For floor line will be used -1 and for the displays the numbers 0,...8
   private final int rowIndex;
+  // the answer of the server refers to this id
+  private final int requestId;
 
-  public PlaceTilesRequest(int rowIndex) {
+  public PlaceTilesRequest(int rowIndex, int requestId) {
 	this.rowIndex = rowIndex;
+	this.requestId = requestId;
   }
 
   public int getRowIndex() {
 	return rowIndex;
   }
+
+  public int getRequestId() {
+	return requestId;
+  }
 }
@@ -0,0 +1,129 @@
+package de.lmu.ifi.sosylab.shared;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import de.lmu.ifi.sosylab.shared.PlacementRules.Placement;
+import java.util.Collections;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test the rules for placing collected tiles on a player board.
+ */
+public class PlacementRulesTest {
+
+  @Test
+  void testPlaceTilesToEmptyLine() {
+    // set up
+    PlayerBoard board = new PlayerBoard();
+
+    // place 2 red tiles to the third pattern line
+    Placement placement = resolve(2, tiles(Tiles.RED, 2), board);
+
+    // test
+    assertEquals(2, placement.getPlaceLocation());
+    assertEquals(tiles(Tiles.RED, 2), placement.getTilesOnPatternLine());
+    assertTrue(placement.getTilesOnFloorLine().isEmpty());
+  }
+
+  @Test
+  void testPlaceTilesToFullLine() {
+    // set up: the first pattern line is full with a red tile
+    PlayerBoard board = new PlayerBoard();
+    board.getPatternLines()[0][0] = Tiles.RED;
+
+    // test if neither tiles of the same type nor of another type can be placed there
+    assertNull(resolve(0, tiles(Tiles.RED, 1), board));
+    assertNull(resolve(0, tiles(Tiles.BLUE, 1), board));
+  }
+
+  @Test
+  void testPlaceTilesToLineOfWrongColor() {
+    // set up: the third pattern line holds a red tile
+    PlayerBoard board = new PlayerBoard();
+    board.getPatternLines()[2][2] = Tiles.RED;
+
+    // test if blue tiles cannot be placed there, but red tiles can
+    assertNull(resolve(2, tiles(Tiles.BLUE, 1), board));
+    Placement placement = resolve(2, tiles(Tiles.RED, 2), board);
+    assertEquals(tiles(Tiles.RED, 2), placement.getTilesOnPatternLine());
+    assertTrue(placement.getTilesOnFloorLine().isEmpty());
+  }
+
+  @Test
+  void testPlaceTilesWhenWallHasTheColor() {
+    // set up: the second row of the wall has a blue tile
+    PlayerBoard board = new PlayerBoard();
+    setOnWall(board, 1, Tiles.BLUE);
+
+    // test if blue tiles cannot be placed in the second pattern line, but in the others
+    assertFalse(PlacementRules.wallAllows(1, board.getWall(), Tiles.BLUE));
+    assertNull(resolve(1, tiles(Tiles.BLUE, 1), board));
+    assertEquals(3, resolve(3, tiles(Tiles.BLUE, 1), board).getPlaceLocation());
+  }
+
+  @Test
+  void testPlaceTilesWhenNoLineIsAvailable() {
+    // set up: every row of the wall has a red tile
+    PlayerBoard board = new PlayerBoard();
+    for (int row = 0; row < 5; row++) {
+      setOnWall(board, row, Tiles.RED);
+    }
+
+    // test if all red tiles go to the floor line, whatever line was chosen
+    assertFalse(PlacementRules.hasAvailableLine(Tiles.RED, board.getPatternLines(),
+        board.getWall()));
+    Placement placement = resolve(3, tiles(Tiles.RED, 3), board);
+    assertEquals(PlacementRules.FLOOR_LINE, placement.getPlaceLocation());
+    assertTrue(placement.getTilesOnPatternLine().isEmpty());
+    assertEquals(tiles(Tiles.RED, 3), placement.getTilesOnFloorLine());
+  }
+
+  @Test
+  void testExcessTilesGoToFloorLine() {
+    // set up: the third pattern line holds a green tile
+    PlayerBoard board = new PlayerBoard();
+    board.getPatternLines()[2][2] = Tiles.GREEN;
+
+    // place 4 green tiles, of which 2 fit into the line
+    Placement placement = resolve(2, tiles(Tiles.GREEN, 4), board);
+
+    // test
+    assertEquals(2, placement.getPlaceLocation());
+    assertEquals(tiles(Tiles.GREEN, 2), placement.getTilesOnPatternLine());
+    assertEquals(tiles(Tiles.GREEN, 2), placement.getTilesOnFloorLine());
+  }
+
+  @Test
+  void testPlaceTilesToFloorLine() {
+    // set up
+    PlayerBoard board = new PlayerBoard();
+
+    // test if the chosen floor line takes all tiles although a pattern line is available
+    Placement placement = resolve(PlacementRules.FLOOR_LINE, tiles(Tiles.DARK, 2), board);
+    assertEquals(PlacementRules.FLOOR_LINE, placement.getPlaceLocation());
+    assertTrue(placement.getTilesOnPatternLine().isEmpty());
+    assertEquals(tiles(Tiles.DARK, 2), placement.getTilesOnFloorLine());
+  }
+
+  private static Placement resolve(int placeLocation, List<Tiles> collectedTiles,
+                                   PlayerBoard board) {
+    return PlacementRules.resolve(placeLocation, collectedTiles, board.getPatternLines(),
+        board.getWall());
+  }
+
+  private static List<Tiles> tiles(Tiles tileType, int count) {
+    return Collections.nCopies(count, tileType);
+  }
+
+  private static void setOnWall(PlayerBoard board, int row, Tiles tileType) {
+    for (WallTile wallTile : board.getWall()[row]) {
+      if (wallTile.getTile() == tileType) {
+        wallTile.setIsOnWall();
+      }
+    }
+  }
+}
@@ -0,0 +1,96 @@
+package de.lmu.ifi.sosylab.shared;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test the scoring of walls that are described as bit masks.
+ */
+public class WallMaskTest {
+
+  @Test
+  void testMaskOfPlayerBoard() {
+    // set up
+    PlayerBoard board = new PlayerBoard();
+    WallTile[][] wall = board.getWall();
+    wall[1][3].setIsOnWall();
+    wall[4][0].setIsOnWall();
+
+    // test
+    assertEquals(WallMask.bit(1, 3) | WallMask.bit(4, 0), WallMask.of(wall));
+  }
+
+  @Test
+  void testColumnsOfColorsMatchPlayerBoard() {
+    // set up
+    WallTile[][] wall = new PlayerBoard().getWall();
+
+    // test if every color is in the column of the player board, once in every row and column
+    for (int row = 0; row < WallMask.WALL_SIZE; row++) {
+      for (int color = 0; color < WallMask.WALL_SIZE; color++) {
+        int column = WallMask.columnOf(row, color);
+        assertEquals(Tiles.values()[color], wall[row][column].getTile());
+      }
+    }
+    int allColors = WallMask.EMPTY;
+    for (int color = 0; color < WallMask.WALL_SIZE; color++) {
+      assertEquals(WallMask.WALL_SIZE, Integer.bitCount(WallMask.colorMask(color)));
+      allColors |= WallMask.colorMask(color);
+    }
+    assertEquals(WallMask.FULL, allColors);
+  }
+
+  @Test
+  void testGainPointsOfSingleTile() {
+    // test: a tile without neighbours, and a tile with a gap to the next one
+    assertEquals(1, WallMask.gainPoints(WallMask.bit(2, 2), 2, 2));
+    assertEquals(1, WallMask.gainPoints(WallMask.bit(2, 0) | WallMask.bit(2, 2), 2, 2));
+  }
+
+  @Test
+  void testGainPointsOfRow() {
+    // set up
+    int mask = WallMask.bit(2, 0) | WallMask.bit(2, 1) | WallMask.bit(2, 2);
+
+    // test
+    assertEquals(3, WallMask.gainPoints(mask, 2, 2));
+    assertEquals(3, WallMask.gainPoints(mask, 2, 0));
+  }
+
+  @Test
+  void testGainPointsOfRowAndColumn() {
+    // set up: 2 tiles in the row and 4 tiles in the column of the placed tile
+    int mask = WallMask.bit(2, 1) | WallMask.bit(2, 2) | WallMask.bit(1, 2) | WallMask.bit(3, 2)
+        | WallMask.bit(4, 2);
+
+    // test
+    assertEquals(2 + 4, WallMask.gainPoints(mask, 2, 2));
+  }
+
+  @Test
+  void testEndGameBonus() {
+    // test
+    assertEquals(0, WallMask.endGameBonus(WallMask.EMPTY));
+    assertEquals(WallMask.ROW_BONUS, WallMask.endGameBonus(WallMask.rowMask(3)));
+    assertEquals(WallMask.COLUMN_BONUS, WallMask.endGameBonus(WallMask.columnMask(1)));
+    assertEquals(WallMask.COLOR_BONUS, WallMask.endGameBonus(WallMask.colorMask(4)));
+    assertEquals(WallMask.WALL_SIZE
+            * (WallMask.ROW_BONUS + WallMask.COLUMN_BONUS + WallMask.COLOR_BONUS),
+        WallMask.endGameBonus(WallMask.FULL));
+  }
+
+  @Test
+  void testCompleteRow() {
+    // set up
+    int almostComplete = WallMask.rowMask(0) & ~WallMask.bit(0, 4);
+
+    // test
+    assertFalse(WallMask.hasCompleteRow(WallMask.EMPTY));
+    assertFalse(WallMask.hasCompleteRow(almostComplete
+        | (WallMask.columnMask(4) & ~WallMask.bit(0, 4))));
+    assertTrue(WallMask.hasCompleteRow(almostComplete | WallMask.bit(0, 4)));
+  }
+}
@@ -0,0 +1,281 @@
+package de.lmu.ifi.sosylab.shared.ai;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import de.lmu.ifi.sosylab.shared.Tiles;
+import de.lmu.ifi.sosylab.shared.WallMask;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.regex.Matcher;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test the compact game state of the bots.
+ */
+public class GameStateTest {
+  private static final int RED = Tiles.RED.ordinal();
+  private static final int BLUE = Tiles.BLUE.ordinal();
+  private static final int GREEN = Tiles.GREEN.ordinal();
+  private static final int YELLOW = Tiles.YELLOW.ordinal();
+  private static final int DARK = Tiles.DARK.ordinal();
+  private static final String EMPTY_DISPLAYS = "/0,0,0,0,0/0,0,0,0,0/0,0,0,0,0/0,0,0,0,0";
+  private static final String EMPTY_LINES = "-1:0,-1:0,-1:0,-1:0,-1:0";
+
+  @Test
+  void testGenerateMoves() {
+    // set up: a display of 2 red, 1 green and 1 dark tile, and a player with a red tile in the
+    // first row of the wall and a blue tile in the second pattern line
+    GameState state = position(2, "displays=2,0,1,0,1" + EMPTY_DISPLAYS,
+        "walls=" + WallMask.bit(0, WallMask.columnOf(0, RED)) + ",0",
+        "lines=-1:0,1:1,-1:0,-1:0,-1:0/" + EMPTY_LINES);
+    int[] moves = new int[GameState.MAX_MOVES];
+
+    // generate the moves
+    int count = state.generateMoves(moves);
+    int[] generated = Arrays.copyOf(moves, count);
+
+    // test: red fits 3 pattern lines, green and dark fit 4, and every color fits the floor line
+    assertEquals(14, count);
+    for (int move : generated) {
+      assertTrue(state.isLegal(move));
+    }
+    assertFalse(contains(generated, Move.of(0, RED, 0)));
+    assertFalse(contains(generated, Move.of(0, RED, 1)));
+    assertFalse(contains(generated, Move.of(0, GREEN, 1)));
+    assertFalse(contains(generated, Move.of(0, BLUE, 2)));
+    assertTrue(contains(generated, Move.of(0, RED, 2)));
+    assertTrue(contains(generated, Move.of(0, GREEN, 0)));
+    assertTrue(contains(generated, Move.of(0, DARK, Move.FLOOR)));
+  }
+
+  @Test
+  void testApplyMoves() {
+    // set up
+    GameState state = position(2, "displays=2,0,1,0,1" + EMPTY_DISPLAYS);
+
+    // take the red tiles of the display, the other tiles go to the middle of the table
+    state.apply(Move.of(0, RED, 2));
+
+    // test
+    assertEquals(RED, state.getLineColor(0, 2));
+    assertEquals(2, state.getLineCount(0, 2));
+    assertEquals(0, state.getTiles(0, GREEN));
+    assertEquals(1, state.getTiles(Move.CENTER, GREEN));
+    assertEquals(1, state.getTiles(Move.CENTER, DARK));
+    assertEquals(1, state.getCurrentPlayer());
+    assertKeyIsConsistent(state);
+
+    // the first player who takes tiles from the middle gets the starting player marker
+    state.apply(Move.of(Move.CENTER, GREEN, 0));
+
+    // test
+    assertEquals(1, state.getLineCount(1, 0));
+    assertEquals(1, state.getFloorCount(1));
+    assertFalse(state.isStartMarkerInCenter());
+    assertFalse(state.isRoundFinished());
+    assertKeyIsConsistent(state);
+
+    // the last tile goes to the floor line
+    state.apply(Move.of(Move.CENTER, DARK, Move.FLOOR));
+
+    // test
+    assertEquals(1, state.getFloorCount(0));
+    assertEquals(1, state.getLidTiles(DARK));
+    assertTrue(state.isRoundFinished());
+    assertKeyIsConsistent(state);
+  }
+
+  @Test
+  void testApplyMoveWithExcessTiles() {
+    // set up
+    GameState state = position(2, "displays=0,0,3,0,1" + EMPTY_DISPLAYS);
+
+    // place 3 green tiles in the first pattern line, which holds 1 tile
+    state.apply(Move.of(0, GREEN, 0));
+
+    // test if the other 2 tiles go to the floor line and then to the lid
+    assertEquals(1, state.getLineCount(0, 0));
+    assertEquals(2, state.getFloorCount(0));
+    assertEquals(2, state.getLidTiles(GREEN));
+    assertEquals(1, state.getTiles(Move.CENTER, DARK));
+    assertKeyIsConsistent(state);
+  }
+
+  @Test
+  void testFinishRound() {
+    // set up: the first player completes the first pattern line next to a yellow tile on the
+    // wall and has 2 tiles in the floor line, the second player completes the third pattern line
+    // and holds the starting player marker
+    int yellowTile = WallMask.bit(0, WallMask.columnOf(0, YELLOW));
+    GameState state = position(2, "start=1", "marker=0", "scores=5,0",
+        "walls=" + yellowTile + ",0", "floors=2,0",
+        "lines=" + BLUE + ":1," + RED + ":1,-1:0,-1:0,-1:0/-1:0,-1:0," + GREEN + ":3,-1:0,-1:0");
+
+    // finish the round
+    boolean gameOver = state.finishRound();
+
+    // test: 2 points for the blue tile next to the yellow one, 2 minus points for the floor line
+    assertFalse(gameOver);
+    assertEquals(yellowTile | WallMask.bit(0, WallMask.columnOf(0, BLUE)), state.getWall(0));
+    assertEquals(5, state.getScore(0));
+    assertEquals(0, state.getFloorCount(0));
+    assertEquals(0, state.getLineCount(0, 0));
+    assertEquals(1, state.getLineCount(0, 1));
+    // test: 1 point for the single green tile, the other green tiles go to the lid
+    assertEquals(WallMask.bit(2, WallMask.columnOf(2, GREEN)), state.getWall(1));
+    assertEquals(1, state.getScore(1));
+    assertEquals(2, state.getLidTiles(GREEN));
+    // test if the holder of the starting player marker starts the next round
+    assertEquals(1, state.getCurrentPlayer());
+    assertTrue(state.isStartMarkerInCenter());
+    assertKeyIsConsistent(state);
+  }
+
+  @Test
+  void testFinishRoundEndsGame() {
+    // set up: the first player completes the first row of the wall with a blue tile, the second
+    // player has a complete column
+    int rowWithoutBlue = WallMask.rowMask(0) & ~WallMask.bit(0, WallMask.columnOf(0, BLUE));
+    GameState state = position(2, "scores=0,10",
+        "walls=" + rowWithoutBlue + "," + WallMask.columnMask(0),
+        "lines=" + BLUE + ":1,-1:0,-1:0,-1:0,-1:0/" + EMPTY_LINES);
+
+    // finish the round
+    boolean gameOver = state.finishRound();
+
+    // test: 5 points for the blue tile and the end game bonus of the row and the column
+    assertTrue(gameOver);
+    assertTrue(state.isGameOver());
+    assertEquals(5 + WallMask.ROW_BONUS, state.getScore(0));
+    assertEquals(10 + WallMask.COLUMN_BONUS, state.getScore(1));
+  }
+
+  @Test
+  void testFloorPenalty() {
+    // test
+    assertEquals(0, GameState.floorPenalty(0));
+    assertEquals(2, GameState.floorPenalty(2));
+    assertEquals(4, GameState.floorPenalty(3));
+    assertEquals(14, GameState.floorPenalty(7));
+    assertEquals(14, GameState.floorPenalty(10));
+
+    // set up
+    GameState state = position(2, "scores=1,0", "floors=3,0");
+
+    // test if the score does not become negative
+    state.finishRound();
+    assertEquals(0, state.getScore(0));
+  }
+
+  @Test
+  void testWinShareOfSingleWinner() {
+    // set up
+    GameState state = position(3, "scores=12,30,7");
+
+    // test
+    assertEquals(30, state.getHighestScore());
+    assertEquals(0.0, state.getWinShare(0));
+    assertEquals(1.0, state.getWinShare(1));
+    assertEquals(0.0, state.getWinShare(2));
+  }
+
+  @Test
+  void testWinShareOfTiedWinners() {
+    // set up: two of four players have the highest score
+    GameState state = position(4, "scores=25,25,3,24");
+
+    // test if they share the win
+    assertEquals(25, state.getHighestScore());
+    assertEquals(0.5, state.getWinShare(0));
+    assertEquals(0.5, state.getWinShare(1));
+    assertEquals(0.0, state.getWinShare(2));
+    assertEquals(0.0, state.getWinShare(3));
+  }
+
+  @Test
+  void testWinShareWithoutPoints() {
+    // set up: no player has scored yet
+    GameState state = new GameState(2);
+
+    // test
+    assertEquals(0, state.getHighestScore());
+    assertEquals(0.5, state.getWinShare(0));
+    assertEquals(0.5, state.getWinShare(1));
+  }
+
+  @Test
+  void testNotationRoundTrip() {
+    // set up: random games of every player count, written and read after every move
+    Random random = new Random(37);
+    int[] moves = new int[GameState.MAX_MOVES];
+    int[] parsedMoves = new int[GameState.MAX_MOVES];
+    for (int playerCount = 2; playerCount <= 4; playerCount++) {
+      GameState state = new GameState(playerCount);
+      state.fillFactoryDisplays(random);
+      while (!state.isRoundFinished()) {
+        // test if the read state is the same state with the same moves
+        GameState parsed = GameState.parse(state.toNotation());
+        assertEquals(state.toNotation(), parsed.toNotation());
+        assertEquals(state.getKey(), parsed.getKey());
+        int moveCount = state.generateMoves(moves);
+        assertArrayEquals(Arrays.copyOf(moves, moveCount),
+            Arrays.copyOf(parsedMoves, parsed.generateMoves(parsedMoves)));
+
+        state.apply(moves[random.nextInt(moveCount)]);
+        if (state.isRoundFinished()) {
+          if (state.finishRound()) {
+            break;
+          }
+          state.fillFactoryDisplays(random);
+        }
+      }
+    }
+  }
+
+  @Test
+  void testParseMalformedNotation() {
+    // set up
+    String notation = new GameState(2).toNotation();
+
+    // test if every kind of broken notation is rejected with an IllegalArgumentException
+    assertThrows(IllegalArgumentException.class, () -> GameState.parse(""));
+    assertThrows(IllegalArgumentException.class,
+        () -> GameState.parse(notation + " garbage"));
+    assertThrows(IllegalArgumentException.class,
+        () -> GameState.parse(notation.replaceFirst("scores=\\S+ ", "")));
+    assertThrows(IllegalArgumentException.class,
+        () -> GameState.parse(notation.replaceFirst("players=2", "players=5")));
+    assertThrows(IllegalArgumentException.class,
+        () -> GameState.parse(notation.replaceFirst("current=0", "current=2")));
+    assertThrows(IllegalArgumentException.class,
+        () -> GameState.parse(notation.replaceFirst("scores=0,0", "scores=0,0,0")));
+    assertThrows(IllegalArgumentException.class,
+        () -> GameState.parse(notation.replaceFirst("bag=20", "bag=x")));
+    assertThrows(IllegalArgumentException.class,
+        () -> GameState.parse(notation.replaceFirst("lines=-1:0,", "lines=-1,")));
+    assertThrows(IllegalArgumentException.class,
+        () -> GameState.parse(notation.replaceFirst("lines=-1:0,", "lines=")));
+  }
+
+  //the state of a new game with the given fields of the notation
+  private static GameState position(int playerCount, String... fields) {
+    String notation = new GameState(playerCount).toNotation();
+    for (String field : fields) {
+      String name = field.substring(0, field.indexOf('=') + 1);
+      notation = notation.replaceFirst(name + "\\S+", Matcher.quoteReplacement(field));
+    }
+    return GameState.parse(notation);
+  }
+
+  private static void assertKeyIsConsistent(GameState state) {
+    assertEquals(GameState.parse(state.toNotation()).getKey(), state.getKey());
+  }
+
+  private static boolean contains(int[] moves, int move) {
+    return Arrays.stream(moves).anyMatch(generated -> generated == move);
+  }
+}
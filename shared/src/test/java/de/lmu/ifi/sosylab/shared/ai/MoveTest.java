@@ -0,0 +1,50 @@
+package de.lmu.ifi.sosylab.shared.ai;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test the encoding and the notation of moves.
+ */
+public class MoveTest {
+
+  @Test
+  void testNotationRoundTrip() {
+    // test every source of a game of 4 players, every tile type and every target
+    for (int source = 0; source <= Move.CENTER; source++) {
+      if (source > 8 && source != Move.CENTER) {
+        continue;
+      }
+      for (int color = 0; color < GameState.COLORS; color++) {
+        for (int target = 0; target <= Move.FLOOR; target++) {
+          int move = Move.of(source, color, target);
+          assertEquals(move, Move.parse(Move.toNotation(move)));
+        }
+      }
+    }
+  }
+
+  @Test
+  void testNotation() {
+    // test the examples of the engine protocol
+    assertEquals("3Y1", Move.toNotation(Move.of(3, 3, 1)));
+    assertEquals("cRf", Move.toNotation(Move.of(Move.CENTER, 0, Move.FLOOR)));
+    assertEquals(Move.of(3, 3, 1), Move.parse("3Y1"));
+    assertEquals(Move.of(Move.CENTER, 0, Move.FLOOR), Move.parse("cRf"));
+  }
+
+  @Test
+  void testParseMalformedNotation() {
+    // test if moves of a wrong length, source, tile type or target are rejected
+    assertThrows(IllegalArgumentException.class, () -> Move.parse(""));
+    assertThrows(IllegalArgumentException.class, () -> Move.parse("3Y"));
+    assertThrows(IllegalArgumentException.class, () -> Move.parse("3Y12"));
+    assertThrows(IllegalArgumentException.class, () -> Move.parse("xY1"));
+    assertThrows(IllegalArgumentException.class, () -> Move.parse("3X1"));
+    assertThrows(IllegalArgumentException.class, () -> Move.parse("3y1"));
+    assertThrows(IllegalArgumentException.class, () -> Move.parse("3Y6"));
+    assertThrows(IllegalArgumentException.class, () -> Move.parse("3Yg"));
+  }
+}
@@ -0,0 +1,88 @@
+package de.lmu.ifi.sosylab.simulator;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the scalar and the vector wall scorer on batches of random walls. Run it with
+ * {@code gradle :simulator:jmh}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector"})
+public class WallScorerBenchmark {
+  private static final int CELLS = 25;
+
+  @Param({"16", "1024", "65536"})
+  private int batchSize;
+
+  private final WallScorer scalar = new ScalarWallScorer();
+  private final WallScorer vector = new VectorWallScorer();
+  private int[] walls;
+  private int[] tiles;
+  private int[] points;
+
+  /**
+   * Create walls of every density with a placed tile on each.
+   */
+  @Setup
+  public void createWalls() {
+    SplittableRandom random = new SplittableRandom(42);
+    walls = new int[batchSize];
+    tiles = new int[batchSize];
+    points = new int[batchSize];
+    for (int index = 0; index < batchSize; index++) {
+      int density = random.nextInt(CELLS + 1);
+      int wall = 0;
+      for (int cell = 0; cell < CELLS; cell++) {
+        if (random.nextInt(CELLS) < density) {
+          wall |= 1 << cell;
+        }
+      }
+      tiles[index] = 1 << random.nextInt(CELLS);
+      walls[index] = wall | tiles[index];
+    }
+  }
+
+  /** Score the gain points one wall after another. */
+  @Benchmark
+  public int[] scalarGainPoints() {
+    scalar.gainPoints(walls, tiles, points, batchSize);
+    return points;
+  }
+
+  /** Score the gain points one wall per lane. */
+  @Benchmark
+  public int[] vectorGainPoints() {
+    vector.gainPoints(walls, tiles, points, batchSize);
+    return points;
+  }
+
+  /** Score the end game bonus one wall after another. */
+  @Benchmark
+  public int[] scalarEndGameBonus() {
+    scalar.endGameBonus(walls, points, batchSize);
+    return points;
+  }
+
+  /** Score the end game bonus one wall per lane. */
+  @Benchmark
+  public int[] vectorEndGameBonus() {
+    vector.endGameBonus(walls, points, batchSize);
+    return points;
+  }
+}
@@ -0,0 +1,118 @@
+package de.lmu.ifi.sosylab.simulator;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Parses the values of the options that the main classes of the simulator share. A value that
+ * cannot be parsed is reported with an {@link IllegalArgumentException}, whose message the main
+ * classes print together with their usage.
+ */
+final class CommandLine {
+  //more threads than this only slow the games down
+  private static final int MAX_THREADS = 1024;
+
+  private CommandLine() {
+  }
+
+  /**
+   * Parse a number, e.g. a seed.
+   *
+   * @param value the value of the option.
+   * @return the number.
+   */
+  static long parseLong(String value) {
+    try {
+      return Long.parseLong(value);
+    } catch (NumberFormatException e) {
+      throw new IllegalArgumentException("Not a number: " + value, e);
+    }
+  }
+
+  /**
+   * Parse a positive count, e.g. the number of games.
+   *
+   * @param value the value of the option.
+   * @param max   the largest valid count.
+   * @return the count.
+   */
+  static long parseCount(String value, long max) {
+    long number = parseLong(value);
+    if (number <= 0 || number > max) {
+      throw new IllegalArgumentException("Not a valid count: " + value);
+    }
+    return number;
+  }
+
+  /**
+   * Parse the number of threads, which is limited to {@value #MAX_THREADS}.
+   *
+   * @param value the value of the option.
+   * @return the number of threads.
+   */
+  static int parseThreads(String value) {
+    return (int) Math.min(parseCount(value, Long.MAX_VALUE), MAX_THREADS);
+  }
+
+  /**
+   * Parse a positive number that may have a fraction, e.g. a step size.
+   *
+   * @param value the value of the option.
+   * @return the number.
+   */
+  static double parsePositiveDouble(String value) {
+    double number;
+    try {
+      number = Double.parseDouble(value);
+    } catch (NumberFormatException e) {
+      throw new IllegalArgumentException("Not a number: " + value, e);
+    }
+    if (!(number > 0)) {
+      throw new IllegalArgumentException("Not a positive number: " + value);
+    }
+    return number;
+  }
+
+  /**
+   * Parse the number of players of a game.
+   *
+   * @param value the value of the option.
+   * @return the number of players, 2 to {@link SimulationStats#MAX_PLAYERS}.
+   */
+  static int parsePlayerCount(String value) {
+    long count = parseLong(value.trim());
+    if (count < 2 || count > SimulationStats.MAX_PLAYERS) {
+      throw new IllegalArgumentException("A game has 2 to 4 players: " + value);
+    }
+    return (int) count;
+  }
+
+  /**
+   * Parse a comma separated list of player counts, e.g. {@code 2,3,4}.
+   *
+   * @param value the value of the option.
+   * @return the player counts in the order of the list.
+   */
+  static int[] parsePlayerCounts(String value) {
+    String[] parts = value.split(",");
+    int[] counts = new int[parts.length];
+    for (int index = 0; index < parts.length; index++) {
+      counts[index] = parsePlayerCount(parts[index]);
+    }
+    return counts;
+  }
+
+  /**
+   * Parse a comma separated list of policies, e.g. {@code greedy,mcts:200}.
+   *
+   * @param value the value of the option.
+   * @return the policies in the order of the list.
+   */
+  static List<PolicySpec> parsePolicies(String value) {
+    List<PolicySpec> parsed = new ArrayList<>();
+    for (String description : value.split(",")) {
+      parsed.add(PolicySpec.parse(description));
+    }
+    return parsed;
+  }
+}
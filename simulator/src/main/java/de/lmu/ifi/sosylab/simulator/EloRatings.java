@@ -0,0 +1,157 @@
+package de.lmu.ifi.sosylab.simulator;
+
+import java.util.Arrays;
+
+/**
+ * Elo ratings of the policies of a tournament. The ratings are the maximum likelihood fit of the
+ * Bradley-Terry model to all pairwise results, in which a policy with 400 more points wins ten
+ * times as often. Unlike ratings that are updated after every game, the fit does not depend on
+ * the order in which the games of the concurrent tasks finish. The confidence interval of a rating
+ * follows from the curvature of the likelihood at its maximum, relative to the other ratings. The
+ * pairwise results of a game with more than two players are not independent, so the intervals of
+ * such games are a little too narrow.
+ */
+public final class EloRatings {
+  private static final double ELO_PER_UNIT = 400 / Math.log(10);
+  private static final double Z_95 = 1.96;
+  //every policy gets one virtual draw against a policy rated 0, which keeps the ratings finite
+  //if a policy has won or lost all its games, and fixes the mean of the ratings
+  private static final double PRIOR_GAMES = 1;
+  private static final int MAX_ITERATIONS = 100;
+  private static final double TOLERANCE = 1e-9;
+  //newton steps are limited, so that the fit cannot overshoot far when a policy dominates
+  private static final double MAX_STEP = 2;
+
+  private final double[] ratings;
+  private final double[] intervals;
+
+  private EloRatings(double[] ratings, double[] intervals) {
+    this.ratings = ratings;
+    this.intervals = intervals;
+  }
+
+  /**
+   * Fit the ratings to pairwise results with Newton's method.
+   *
+   * @param policyCount the number of policies.
+   * @param wins the wins of policy i against policy j at index {@code i * policyCount + j},
+   *             draws count half.
+   * @param games the games between policy i and policy j at index {@code i * policyCount + j}.
+   * @return the ratings.
+   */
+  public static EloRatings fit(int policyCount, double[] wins, long[] games) {
+    double[] strengths = new double[policyCount];
+    double[][] hessian = new double[policyCount][policyCount];
+    for (int iteration = 0; iteration < MAX_ITERATIONS; iteration++) {
+      double[] gradient = new double[policyCount];
+      computeDerivatives(strengths, wins, games, gradient, hessian);
+      double[] step = solve(hessian, gradient);
+      double largestStep = 0;
+      for (int policy = 0; policy < policyCount; policy++) {
+        double limitedStep = Math.max(-MAX_STEP, Math.min(MAX_STEP, step[policy]));
+        strengths[policy] -= limitedStep;
+        largestStep = Math.max(largestStep, Math.abs(limitedStep));
+      }
+      if (largestStep < TOLERANCE) {
+        break;
+      }
+    }
+
+    //the ratings are only defined relative to each other, so the variance of a rating is taken
+    //with the other ratings fixed, which is the inverse of the curvature in its own direction
+    computeDerivatives(strengths, wins, games, new double[policyCount], hessian);
+    double[] ratings = new double[policyCount];
+    double[] intervals = new double[policyCount];
+    for (int policy = 0; policy < policyCount; policy++) {
+      double variance = -1 / hessian[policy][policy];
+      ratings[policy] = strengths[policy] * ELO_PER_UNIT;
+      intervals[policy] = Z_95 * Math.sqrt(Math.max(0, variance)) * ELO_PER_UNIT;
+    }
+    return new EloRatings(ratings, intervals);
+  }
+
+  private static void computeDerivatives(double[] strengths, double[] wins, long[] games,
+      double[] gradient, double[][] hessian) {
+    int policyCount = strengths.length;
+    for (int policy = 0; policy < policyCount; policy++) {
+      //the virtual draw against a policy with strength 0
+      double expected = logistic(strengths[policy]);
+      gradient[policy] = PRIOR_GAMES * (0.5 - expected);
+      Arrays.fill(hessian[policy], 0);
+      hessian[policy][policy] = -PRIOR_GAMES * expected * (1 - expected);
+      for (int other = 0; other < policyCount; other++) {
+        long pairGames = games[policy * policyCount + other];
+        if (other == policy || pairGames == 0) {
+          continue;
+        }
+        double expectedWins = logistic(strengths[policy] - strengths[other]);
+        gradient[policy] += wins[policy * policyCount + other] - pairGames * expectedWins;
+        double curvature = pairGames * expectedWins * (1 - expectedWins);
+        hessian[policy][policy] -= curvature;
+        hessian[policy][other] += curvature;
+      }
+    }
+  }
+
+  private static double logistic(double value) {
+    return 1 / (1 + Math.exp(-value));
+  }
+
+  //gaussian elimination with partial pivoting, the matrix is small
+  private static double[] solve(double[][] matrix, double[] vector) {
+    int size = vector.length;
+    double[][] system = new double[size][];
+    double[] result = vector.clone();
+    for (int row = 0; row < size; row++) {
+      system[row] = matrix[row].clone();
+    }
+    for (int column = 0; column < size; column++) {
+      int pivot = column;
+      for (int row = column + 1; row < size; row++) {
+        if (Math.abs(system[row][column]) > Math.abs(system[pivot][column])) {
+          pivot = row;
+        }
+      }
+      double[] swapRow = system[column];
+      system[column] = system[pivot];
+      system[pivot] = swapRow;
+      double swapValue = result[column];
+      result[column] = result[pivot];
+      result[pivot] = swapValue;
+      for (int row = column + 1; row < size; row++) {
+        double factor = system[row][column] / system[column][column];
+        for (int index = column; index < size; index++) {
+          system[row][index] -= factor * system[column][index];
+        }
+        result[row] -= factor * result[column];
+      }
+    }
+    for (int row = size - 1; row >= 0; row--) {
+      for (int index = row + 1; index < size; index++) {
+        result[row] -= system[row][index] * result[index];
+      }
+      result[row] /= system[row][row];
+    }
+    return result;
+  }
+
+  /**
+   * Get the rating of a policy. The ratings are relative, their mean is close to 0.
+   *
+   * @param policy the index of the policy.
+   * @return the Elo rating.
+   */
+  public double getRating(int policy) {
+    return ratings[policy];
+  }
+
+  /**
+   * Get the half width of the 95% confidence interval of the rating of a policy.
+   *
+   * @param policy the index of the policy.
+   * @return the rating may be this much higher or lower.
+   */
+  public double getInterval(int policy) {
+    return intervals[policy];
+  }
+}
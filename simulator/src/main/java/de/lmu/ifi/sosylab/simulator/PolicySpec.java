@@ -0,0 +1,156 @@
+package de.lmu.ifi.sosylab.simulator;
+
+import de.lmu.ifi.sosylab.shared.ai.BotPolicy;
+import de.lmu.ifi.sosylab.shared.ai.EndOfRoundSolver;
+import de.lmu.ifi.sosylab.shared.ai.GreedyBot;
+import de.lmu.ifi.sosylab.shared.ai.HeuristicWeights;
+import de.lmu.ifi.sosylab.shared.ai.MonteCarloTreeSearch;
+import de.lmu.ifi.sosylab.shared.ai.RandomBot;
+import de.lmu.ifi.sosylab.shared.ai.SearchBudget;
+import de.lmu.ifi.sosylab.shared.ai.TranspositionTable;
+import de.lmu.ifi.sosylab.shared.ai.engine.EngineBot;
+import de.lmu.ifi.sosylab.shared.ai.engine.EnginePool;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.random.RandomGenerator;
+
+/**
+ * The description of a policy on the command line. The bots are not thread-safe, so every task of
+ * the simulation creates its own bots from the description. Supported descriptions are
+ * {@code random}, {@code greedy}, {@code tuned:<checkpoint>}, which is a greedy bot with the
+ * weights of a checkpoint of the {@link WeightTuner}, {@code mcts:<playouts>},
+ * {@code solver:<nodes>} and {@code engine:<command>}, which plays the moves of an external engine
+ * that is started with the given command line, e.g. {@code engine:./my-engine --hash 64}.
+ */
+public final class PolicySpec {
+  private static final int DEFAULT_PLAYOUTS = 200;
+  private static final long DEFAULT_NODES = 50_000;
+  //the solver takes over from the greedy bot when this many tile groups are left
+  private static final int SOLVER_GROUPS = 8;
+  private static final int SOLVER_TABLE_MEGABYTES = 2;
+  private static final long ENGINE_MOVE_MILLIS = 100;
+
+  private final String name;
+  private final String type;
+  private final long budget;
+  private final List<String> engineCommand;
+  private final HeuristicWeights weights;
+  //the engine processes are shared by all tasks and started with the first bot
+  private EnginePool engines;
+
+  private PolicySpec(String name, String type, long budget, List<String> engineCommand,
+                     HeuristicWeights weights) {
+    this.name = name;
+    this.type = type;
+    this.budget = budget;
+    this.engineCommand = engineCommand;
+    this.weights = weights;
+  }
+
+  /**
+   * Parse the description of a policy.
+   *
+   * @param description the description, e.g. {@code mcts:500}.
+   * @return the parsed policy.
+   * @throws IllegalArgumentException if the description is not valid.
+   */
+  public static PolicySpec parse(String description) {
+    String[] parts = description.trim().split(":", 2);
+    String type = parts[0];
+    long budget;
+    List<String> engineCommand = List.of();
+    HeuristicWeights weights = HeuristicWeights.DEFAULT;
+    switch (type) {
+      case "random", "greedy" -> budget = 0;
+      case "tuned" -> {
+        if (parts.length < 2 || parts[1].isBlank()) {
+          throw new IllegalArgumentException("Missing checkpoint of the weights: " + description);
+        }
+        budget = 0;
+        try {
+          weights = WeightTuner.loadWeights(Path.of(parts[1].trim()));
+        } catch (IOException e) {
+          throw new IllegalArgumentException(e.getMessage(), e);
+        }
+      }
+      case "mcts" -> budget = parts.length > 1 ? parseBudget(parts[1]) : DEFAULT_PLAYOUTS;
+      case "solver" -> budget = parts.length > 1 ? parseBudget(parts[1]) : DEFAULT_NODES;
+      case "engine" -> {
+        if (parts.length < 2 || parts[1].isBlank()) {
+          throw new IllegalArgumentException("Missing command of the engine: " + description);
+        }
+        budget = ENGINE_MOVE_MILLIS;
+        engineCommand = List.of(parts[1].trim().split("\\s+"));
+      }
+      default -> throw new IllegalArgumentException("Unknown policy: " + description);
+    }
+    return new PolicySpec(description.trim(), type, budget, engineCommand, weights);
+  }
+
+  private static long parseBudget(String budget) {
+    try {
+      long value = Long.parseLong(budget);
+      if (value <= 0) {
+        throw new IllegalArgumentException("The budget of a policy must be positive: " + budget);
+      }
+      return value;
+    } catch (NumberFormatException e) {
+      throw new IllegalArgumentException("Invalid budget of a policy: " + budget, e);
+    }
+  }
+
+  /**
+   * Create a new bot of this policy.
+   *
+   * @param pool the pool of the simulation. A search grows a single tree in it, because the other
+   *             threads of the pool play games of their own.
+   * @param random the random generator of the bot.
+   * @return the bot.
+   */
+  public BotPolicy create(ForkJoinPool pool, RandomGenerator random) {
+    return switch (type) {
+      case "random" -> new RandomBot(random);
+      case "greedy", "tuned" -> new GreedyBot(weights);
+      case "mcts" -> new MonteCarloTreeSearch(pool, 1, SearchBudget.ofPlayouts(budget), null,
+          random.nextLong());
+      case "solver" -> new EndOfRoundSolver(new GreedyBot(), SOLVER_GROUPS, budget,
+          TranspositionTable.ofMegabytes(SOLVER_TABLE_MEGABYTES));
+      case "engine" -> new EngineBot(getEngines(pool), budget);
+      default -> throw new IllegalStateException("Unknown policy: " + type);
+    };
+  }
+
+  /**
+   * Check whether the bots of this policy choose their moves with the random generator they are
+   * created with. Bots of other policies play the same moves whatever generator they get.
+   *
+   * @return true for {@code random} and {@code mcts}.
+   */
+  public boolean isRandomized() {
+    return type.equals("random") || type.equals("mcts");
+  }
+
+  private synchronized EnginePool getEngines(ForkJoinPool pool) {
+    if (engines == null) {
+      //one engine per thread, so that every thread can wait for an engine of its own
+      engines = new EnginePool(engineCommand, pool.getParallelism());
+    }
+    return engines;
+  }
+
+  /**
+   * Stop the engine processes of this policy, if it has started any.
+   */
+  public synchronized void close() {
+    if (engines != null) {
+      engines.close();
+      engines = null;
+    }
+  }
+
+  public String getName() {
+    return name;
+  }
+}
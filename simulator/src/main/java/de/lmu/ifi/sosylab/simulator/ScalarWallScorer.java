@@ -0,0 +1,36 @@
+package de.lmu.ifi.sosylab.simulator;
+
+import de.lmu.ifi.sosylab.shared.WallMask;
+
+/**
+ * Scores the walls one after another with the rules of {@link WallMask}. It is the fallback if the
+ * vector API is not available, and the reference of the {@link VectorWallScorer}.
+ */
+public class ScalarWallScorer implements WallScorer {
+
+  @Override
+  public void gainPoints(int[] walls, int[] tiles, int[] points, int count) {
+    for (int index = 0; index < count; index++) {
+      points[index] = gainPoints(walls[index], tiles[index]);
+    }
+  }
+
+  @Override
+  public void endGameBonus(int[] walls, int[] bonus, int count) {
+    for (int index = 0; index < count; index++) {
+      bonus[index] = WallMask.endGameBonus(walls[index]);
+    }
+  }
+
+  /**
+   * Calculate the gain points of a single tile.
+   *
+   * @param wall the wall mask, including the placed tile.
+   * @param tile the mask where only the bit of the placed tile is set.
+   * @return the gain points of the tile.
+   */
+  static int gainPoints(int wall, int tile) {
+    int cell = Integer.numberOfTrailingZeros(tile);
+    return WallMask.gainPoints(wall, cell / WallMask.WALL_SIZE, cell % WallMask.WALL_SIZE);
+  }
+}
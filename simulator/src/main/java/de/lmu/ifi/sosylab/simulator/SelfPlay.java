@@ -0,0 +1,90 @@
+package de.lmu.ifi.sosylab.simulator;
+
+import de.lmu.ifi.sosylab.shared.ai.BotPolicy;
+import de.lmu.ifi.sosylab.shared.ai.GameState;
+import de.lmu.ifi.sosylab.shared.ai.Move;
+import java.util.random.RandomGenerator;
+
+/**
+ * Plays complete games between bots without a server or a user interface. The games follow the
+ * rules of {@link GameState}, which are the rules of the game room: tiles that do not fit into a
+ * pattern line fall to the floor line, completed lines are tiled at the end of a round, and the
+ * game ends after the round in which a row of a wall is completed.
+ */
+public final class SelfPlay {
+  //rounds after which a game is stopped, e.g. when random bots hold all tiles of a color in
+  //pattern lines that can never be completed
+  private static final int MAX_ROUNDS = 100;
+
+  private SelfPlay() {
+    // Class is final to prevent extension
+    // Constructor is private to prevent instantiation
+  }
+
+  /**
+   * Play a game from the start until it is finished or {@link #MAX_ROUNDS} rounds are played. The
+   * first seat starts the game.
+   *
+   * @param state a state of a new game with the number of seats, which is changed by the game.
+   * @param seats the bots of all seats.
+   * @param random the random generator that fills the factory displays.
+   * @return the number of moves of the game.
+   */
+  public static int playGame(GameState state, BotPolicy[] seats, RandomGenerator random) {
+    return playGame(state, seats, random, null);
+  }
+
+  /**
+   * Play a game like {@link #playGame(GameState, BotPolicy[], RandomGenerator)} and show every
+   * position of the game with its move to an observer.
+   *
+   * @param state a state of a new game with the number of seats, which is changed by the game.
+   * @param seats the bots of all seats.
+   * @param random the random generator that fills the factory displays.
+   * @param observer is called before every move, or null.
+   * @return the number of moves of the game.
+   */
+  public static int playGame(GameState state, BotPolicy[] seats, RandomGenerator random,
+      MoveObserver observer) {
+    if (seats.length != state.getPlayerCount()) {
+      throw new IllegalArgumentException("Every seat needs a bot");
+    }
+    int moveCount = 0;
+    int rounds = 0;
+    state.fillFactoryDisplays(random);
+    while (!state.isRoundFinished()) {
+      int move = seats[state.getCurrentPlayer()].chooseMove(state);
+      if (move == Move.NONE || !state.isLegal(move)) {
+        throw new IllegalStateException("Illegal move of seat " + state.getCurrentPlayer() + ": "
+            + Move.toString(move));
+      }
+      if (observer != null) {
+        observer.beforeMove(state, move);
+      }
+      state.apply(move);
+      moveCount++;
+      if (state.isRoundFinished()) {
+        if (state.finishRound() || ++rounds == MAX_ROUNDS) {
+          break;
+        }
+        //the game also ends if neither the bag nor the lid has tiles left
+        state.fillFactoryDisplays(random);
+      }
+    }
+    return moveCount;
+  }
+
+  /**
+   * Receives the positions of a game played by {@link SelfPlay}.
+   */
+  @FunctionalInterface
+  public interface MoveObserver {
+    /**
+     * Called before a move is applied.
+     *
+     * @param state the state before the move, which must not be changed.
+     * @param move the encoded move that is played next.
+     */
+    void beforeMove(GameState state, int move);
+  }
+}
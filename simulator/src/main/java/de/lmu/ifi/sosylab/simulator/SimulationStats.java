@@ -0,0 +1,202 @@
+package de.lmu.ifi.sosylab.simulator;
+
+import de.lmu.ifi.sosylab.shared.ai.GameState;
+import java.io.PrintStream;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * The results of a part of the simulation. Every task of the simulation counts into its own
+ * statistics, which are added up when the tasks are joined, so the threads never write to shared
+ * counters.
+ */
+public final class SimulationStats {
+  static final int MAX_PLAYERS = 4;
+  private static final int MAX_SCORE = 240;
+  private static final int BUCKET_SIZE = 10;
+  private static final int BAR_WIDTH = 50;
+
+  private final int policyCount;
+  private long games;
+  private long moves;
+  //number of final scores per score, the last entry counts all higher scores
+  private final long[] scoreHistogram;
+  private double scoreSquareSum;
+  //games and wins per seat, indexed by player count * MAX_PLAYERS + seat
+  private final long[] gamesBySeat;
+  private final double[] winsBySeat;
+  private final long[] gamesByPolicy;
+  private final double[] winsByPolicy;
+  private final long[] scoresByPolicy;
+
+  /**
+   * Construct empty statistics.
+   *
+   * @param policyCount the number of policies in the simulation.
+   */
+  public SimulationStats(int policyCount) {
+    this.policyCount = policyCount;
+    scoreHistogram = new long[MAX_SCORE + 1];
+    gamesBySeat = new long[(MAX_PLAYERS + 1) * MAX_PLAYERS];
+    winsBySeat = new double[(MAX_PLAYERS + 1) * MAX_PLAYERS];
+    gamesByPolicy = new long[policyCount];
+    winsByPolicy = new double[policyCount];
+    scoresByPolicy = new long[policyCount];
+  }
+
+  /**
+   * Count a finished game. Players with the same highest score share the win.
+   *
+   * @param state the state at the end of the game.
+   * @param policies the index of the policy of every seat.
+   * @param moveCount the number of moves of the game.
+   */
+  public void addGame(GameState state, int[] policies, int moveCount) {
+    int playerCount = state.getPlayerCount();
+    games++;
+    moves += moveCount;
+    for (int seat = 0; seat < playerCount; seat++) {
+      int score = state.getScore(seat);
+      double win = state.getWinShare(seat);
+      scoreHistogram[Math.min(score, MAX_SCORE)]++;
+      scoreSquareSum += (double) score * score;
+      gamesBySeat[playerCount * MAX_PLAYERS + seat]++;
+      winsBySeat[playerCount * MAX_PLAYERS + seat] += win;
+      gamesByPolicy[policies[seat]]++;
+      winsByPolicy[policies[seat]] += win;
+      scoresByPolicy[policies[seat]] += score;
+    }
+  }
+
+  /**
+   * Add the results of another part of the simulation.
+   *
+   * @param other the statistics of the other part.
+   */
+  public void add(SimulationStats other) {
+    games += other.games;
+    moves += other.moves;
+    scoreSquareSum += other.scoreSquareSum;
+    for (int score = 0; score <= MAX_SCORE; score++) {
+      scoreHistogram[score] += other.scoreHistogram[score];
+    }
+    for (int index = 0; index < gamesBySeat.length; index++) {
+      gamesBySeat[index] += other.gamesBySeat[index];
+      winsBySeat[index] += other.winsBySeat[index];
+    }
+    for (int policy = 0; policy < policyCount; policy++) {
+      gamesByPolicy[policy] += other.gamesByPolicy[policy];
+      winsByPolicy[policy] += other.winsByPolicy[policy];
+      scoresByPolicy[policy] += other.scoresByPolicy[policy];
+    }
+  }
+
+  public long getGames() {
+    return games;
+  }
+
+  /**
+   * Get the share of the wins of a policy.
+   *
+   * @param policy the index of the policy.
+   * @return the wins divided by the games of the policy, 0 if the policy did not play.
+   */
+  public double getWinRate(int policy) {
+    return gamesByPolicy[policy] == 0 ? 0 : winsByPolicy[policy] / gamesByPolicy[policy];
+  }
+
+  /**
+   * Get the mean score of a policy.
+   *
+   * @param policy the index of the policy.
+   * @return the mean score, 0 if the policy did not play.
+   */
+  public double getMeanScore(int policy) {
+    return gamesByPolicy[policy] == 0 ? 0 : (double) scoresByPolicy[policy] / gamesByPolicy[policy];
+  }
+
+  /**
+   * Print a report of the simulation.
+   *
+   * @param out the stream of the report.
+   * @param policies the policies of the simulation.
+   * @param elapsedNanos the duration of the simulation.
+   */
+  public void print(PrintStream out, List<PolicySpec> policies, long elapsedNanos) {
+    double seconds = elapsedNanos / 1e9;
+    out.printf(Locale.ROOT, "games: %d in %.1f s, %.0f games/s, %.1f moves/game%n", games,
+        seconds, games / seconds, games == 0 ? 0 : (double) moves / games);
+    long scoreCount = 0;
+    long scoreSum = 0;
+    for (int score = 0; score <= MAX_SCORE; score++) {
+      scoreCount += scoreHistogram[score];
+      scoreSum += (long) score * scoreHistogram[score];
+    }
+    if (scoreCount == 0) {
+      return;
+    }
+    double mean = (double) scoreSum / scoreCount;
+    double deviation = Math.sqrt(Math.max(0, scoreSquareSum / scoreCount - mean * mean));
+    out.printf(Locale.ROOT, "score: mean %.1f, stddev %.1f, min %d, p10 %d, median %d, p90 %d,"
+            + " max %d%n", mean, deviation, percentile(0, scoreCount), percentile(0.1, scoreCount),
+        percentile(0.5, scoreCount), percentile(0.9, scoreCount), percentile(1, scoreCount));
+    printHistogram(out, scoreCount);
+
+    out.println("win rate by seat (seat 1 starts):");
+    for (int playerCount = 2; playerCount <= MAX_PLAYERS; playerCount++) {
+      long seatGames = gamesBySeat[playerCount * MAX_PLAYERS];
+      if (seatGames == 0) {
+        continue;
+      }
+      StringBuilder line = new StringBuilder(String.format(Locale.ROOT, "  %d players (%d games):",
+          playerCount, seatGames));
+      for (int seat = 0; seat < playerCount; seat++) {
+        line.append(String.format(Locale.ROOT, " %.3f",
+            winsBySeat[playerCount * MAX_PLAYERS + seat] / seatGames));
+      }
+      double firstPlayerAdvantage = winsBySeat[playerCount * MAX_PLAYERS] / seatGames
+          - 1.0 / playerCount;
+      line.append(String.format(Locale.ROOT, ", first player advantage %+.3f",
+          firstPlayerAdvantage));
+      out.println(line);
+    }
+
+    out.println("policies:");
+    for (int policy = 0; policy < policyCount; policy++) {
+      out.printf(Locale.ROOT, "  %-16s win rate %.3f, mean score %.1f (%d seats)%n",
+          policies.get(policy).getName(), getWinRate(policy), getMeanScore(policy),
+          gamesByPolicy[policy]);
+    }
+  }
+
+  private int percentile(double fraction, long scoreCount) {
+    long rank = Math.max(1, (long) Math.ceil(fraction * scoreCount));
+    long seen = 0;
+    for (int score = 0; score <= MAX_SCORE; score++) {
+      seen += scoreHistogram[score];
+      if (seen >= rank) {
+        return score;
+      }
+    }
+    return MAX_SCORE;
+  }
+
+  private void printHistogram(PrintStream out, long scoreCount) {
+    long[] buckets = new long[MAX_SCORE / BUCKET_SIZE + 1];
+    long largest = 0;
+    for (int score = 0; score <= MAX_SCORE; score++) {
+      buckets[score / BUCKET_SIZE] += scoreHistogram[score];
+      largest = Math.max(largest, buckets[score / BUCKET_SIZE]);
+    }
+    int lastBucket = buckets.length - 1;
+    while (lastBucket > 0 && buckets[lastBucket] == 0) {
+      lastBucket--;
+    }
+    for (int bucket = 0; bucket <= lastBucket; bucket++) {
+      int bar = (int) (buckets[bucket] * BAR_WIDTH / largest);
+      out.printf(Locale.ROOT, "  %3d-%-3d %6.2f%% %s%n", bucket * BUCKET_SIZE,
+          bucket * BUCKET_SIZE + BUCKET_SIZE - 1, 100.0 * buckets[bucket] / scoreCount,
+          "#".repeat(bar));
+    }
+  }
+}
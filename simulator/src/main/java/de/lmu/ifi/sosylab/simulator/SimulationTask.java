@@ -0,0 +1,83 @@
+package de.lmu.ifi.sosylab.simulator;
+
+import de.lmu.ifi.sosylab.shared.ai.BotPolicy;
+import de.lmu.ifi.sosylab.shared.ai.GameState;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Plays a range of the games of a simulation. Large ranges are split in halves, and every half
+ * gets its own random generator split from the generator of the range. The tree of tasks only
+ * depends on the number of games, so a simulation with the same seed plays the same games on any
+ * number of threads, as long as the policies do not depend on time.
+ *
+ * <p>Game {@code i} is played by {@code playerCounts[i % playerCounts.length]} players, and seat
+ * {@code s} is played by policy {@code (i + s) % policies.size()}, so every policy plays every
+ * seat equally often.
+ */
+class SimulationTask extends RecursiveTask<SimulationStats> {
+  private static final long serialVersionUID = 1L;
+
+  private final transient List<PolicySpec> policies;
+  private final int[] playerCounts;
+  private final long firstGame;
+  private final long endGame;
+  private final int gamesPerTask;
+  private final SplittableRandom random;
+
+  SimulationTask(List<PolicySpec> policies, int[] playerCounts, long firstGame, long endGame,
+                 int gamesPerTask, SplittableRandom random) {
+    this.policies = policies;
+    this.playerCounts = playerCounts;
+    this.firstGame = firstGame;
+    this.endGame = endGame;
+    this.gamesPerTask = gamesPerTask;
+    this.random = random;
+  }
+
+  @Override
+  protected SimulationStats compute() {
+    if (endGame - firstGame > gamesPerTask) {
+      long middle = (firstGame + endGame) >>> 1;
+      SimulationTask left = new SimulationTask(policies, playerCounts, firstGame, middle,
+          gamesPerTask, random.split());
+      SimulationTask right = new SimulationTask(policies, playerCounts, middle, endGame,
+          gamesPerTask, random.split());
+      left.fork();
+      SimulationStats stats = right.compute();
+      stats.add(left.join());
+      return stats;
+    }
+
+    SimulationStats stats = new SimulationStats(policies.size());
+    //the bots are created once per task, they keep their buffers between the games
+    BotPolicy[] bots = new BotPolicy[policies.size()];
+    for (int policy = 0; policy < bots.length; policy++) {
+      bots[policy] = policies.get(policy).create(getPool(), random.split());
+    }
+    GameState[] newGames = new GameState[SimulationStats.MAX_PLAYERS + 1];
+    GameState[] states = new GameState[SimulationStats.MAX_PLAYERS + 1];
+    BotPolicy[][] seats = new BotPolicy[SimulationStats.MAX_PLAYERS + 1][];
+    int[][] seatPolicies = new int[SimulationStats.MAX_PLAYERS + 1][];
+    for (long game = firstGame; game < endGame; game++) {
+      int playerCount = playerCounts[(int) (game % playerCounts.length)];
+      if (states[playerCount] == null) {
+        newGames[playerCount] = new GameState(playerCount);
+        states[playerCount] = new GameState(playerCount);
+        seats[playerCount] = new BotPolicy[playerCount];
+        seatPolicies[playerCount] = new int[playerCount];
+      }
+      GameState state = states[playerCount];
+      state.copyFrom(newGames[playerCount]);
+      for (int seat = 0; seat < playerCount; seat++) {
+        int policy = (int) ((game + seat) % bots.length);
+        seats[playerCount][seat] = bots[policy];
+        seatPolicies[playerCount][seat] = policy;
+      }
+      int moveCount = SelfPlay.playGame(state, seats[playerCount], random);
+      stats.addGame(state, seatPolicies[playerCount], moveCount);
+    }
+    return stats;
+  }
+}
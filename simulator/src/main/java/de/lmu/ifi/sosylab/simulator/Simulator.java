@@ -0,0 +1,82 @@
+package de.lmu.ifi.sosylab.simulator;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * The main class of the self-play simulator. It plays complete games between bots on all cores
+ * and prints the games per second, the distribution of the scores, the advantage of the starting
+ * player and the win rates of the policies.
+ *
+ * <p>Usage: {@code simulator [--games N] [--players 2,3,4] [--policies greedy,random]
+ * [--threads N] [--seed N]}. The advantage of the starting player is only meaningful if all seats
+ * play the same policy, which is the default.
+ */
+public final class Simulator {
+  private static final String USAGE = "usage: simulator [--games N] [--players 2,3,4]"
+      + " [--policies greedy,random,mcts:<playouts>,solver:<nodes>,engine:<command>]"
+      + " [--threads N] [--seed N]";
+  //the games are split into many more tasks than threads, so that threads can steal work, and the
+  //split does not depend on the threads, so that a seed always plays the same games
+  private static final int TASKS = 1024;
+  private static final int MAX_GAMES_PER_TASK = 1024;
+
+  private long games = 100_000;
+  private int[] playerCounts = {2, 3, 4};
+  private List<PolicySpec> policies = List.of(PolicySpec.parse("greedy"));
+  private int threads = Runtime.getRuntime().availableProcessors();
+  private long seed = System.nanoTime();
+
+  private Simulator() {
+  }
+
+  /** Launch the simulator. */
+  public static void main(String[] args) {
+    Simulator simulator = new Simulator();
+    try {
+      simulator.parseArguments(args);
+    } catch (IllegalArgumentException e) {
+      System.err.println(e.getMessage());
+      System.err.println(USAGE);
+      System.exit(2);
+    }
+    simulator.run();
+  }
+
+  private void parseArguments(String[] args) {
+    for (int index = 0; index < args.length; index++) {
+      String option = args[index];
+      if (index + 1 == args.length) {
+        throw new IllegalArgumentException("Missing value of " + option);
+      }
+      String value = args[++index];
+      switch (option) {
+        case "--games" -> games = CommandLine.parseCount(value, Integer.MAX_VALUE * 1024L);
+        case "--threads" -> threads = CommandLine.parseThreads(value);
+        case "--seed" -> seed = CommandLine.parseLong(value);
+        case "--players" -> playerCounts = CommandLine.parsePlayerCounts(value);
+        case "--policies" -> policies = CommandLine.parsePolicies(value);
+        default -> throw new IllegalArgumentException("Unknown option: " + option);
+      }
+    }
+  }
+
+  private void run() {
+    int gamesPerTask = (int) Math.max(1, Math.min(MAX_GAMES_PER_TASK,
+        games / TASKS));
+    System.out.printf(Locale.ROOT, "playing %d games on %d threads, seed %d%n", games, threads,
+        seed);
+    ForkJoinPool pool = new ForkJoinPool(threads);
+    try {
+      long start = System.nanoTime();
+      SimulationStats stats = pool.invoke(new SimulationTask(policies, playerCounts, 0, games,
+          gamesPerTask, new SplittableRandom(seed)));
+      stats.print(System.out, policies, System.nanoTime() - start);
+    } finally {
+      pool.shutdown();
+      policies.forEach(PolicySpec::close);
+    }
+  }
+}
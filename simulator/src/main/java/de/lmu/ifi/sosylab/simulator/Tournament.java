@@ -0,0 +1,204 @@
+package de.lmu.ifi.sosylab.simulator;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * The main class of the tournament mode of the simulator. It plays games between the seatings of
+ * a set of policies on all cores and rates the policies with {@link EloRatings}. The games are
+ * played in rounds, and the ratings are printed after every round.
+ *
+ * <p>In a round robin tournament, every combination of policies plays every player count, and
+ * every policy of a combination plays every seat. In a Swiss tournament, the policies are sorted
+ * by their rating before every round and play in tables with their neighbours, which spends the
+ * games on the policies that are hard to tell apart.
+ *
+ * <p>Usage: {@code tournament --policies greedy,mcts:200,solver:50000 [--games N]
+ * [--players 2,3,4] [--format roundrobin|swiss] [--rounds N] [--results FILE] [--threads N]
+ * [--seed N]}. The results are appended to the results file, and a tournament that was
+ * interrupted continues where it stopped if it is started again with the same options.
+ */
+public final class Tournament {
+  private static final String USAGE = "usage: tournament --policies <policy>,<policy>,..."
+      + " [--games N] [--players 2,3,4] [--format roundrobin|swiss] [--rounds N]"
+      + " [--results FILE] [--threads N] [--seed N]";
+  private static final int GAMES_PER_TASK = 64;
+
+  private int games = 10_000;
+  private int[] playerCounts = {2, 3, 4};
+  private List<PolicySpec> policies;
+  private boolean swiss;
+  private int rounds = 10;
+  private Path resultsFile = Path.of("tournament-results.tsv");
+  private int threads = Runtime.getRuntime().availableProcessors();
+  private long seed = 0;
+
+  private Tournament() {
+  }
+
+  /** Launch the tournament. */
+  public static void main(String[] args) {
+    Tournament tournament = new Tournament();
+    try {
+      tournament.parseArguments(args);
+    } catch (IllegalArgumentException e) {
+      System.err.println(e.getMessage());
+      System.err.println(USAGE);
+      System.exit(2);
+    }
+    try {
+      tournament.run();
+    } catch (IOException e) {
+      System.err.println("The results cannot be saved: " + e.getMessage());
+      System.exit(1);
+    }
+  }
+
+  private void parseArguments(String[] args) {
+    for (int index = 0; index < args.length; index++) {
+      String option = args[index];
+      if (index + 1 == args.length) {
+        throw new IllegalArgumentException("Missing value of " + option);
+      }
+      String value = args[++index];
+      switch (option) {
+        case "--games" -> games = (int) CommandLine.parseCount(value, Integer.MAX_VALUE);
+        case "--rounds" -> rounds = (int) CommandLine.parseCount(value, Integer.MAX_VALUE);
+        case "--threads" -> threads = CommandLine.parseThreads(value);
+        case "--seed" -> seed = CommandLine.parseLong(value);
+        case "--players" -> playerCounts = CommandLine.parsePlayerCounts(value);
+        case "--policies" -> policies = CommandLine.parsePolicies(value);
+        case "--results" -> resultsFile = Path.of(value);
+        case "--format" -> swiss = parseFormat(value);
+        default -> throw new IllegalArgumentException("Unknown option: " + option);
+      }
+    }
+    if (policies == null || policies.size() < 2) {
+      throw new IllegalArgumentException("A tournament needs at least two policies");
+    }
+    if (policies.stream().map(PolicySpec::getName).distinct().count() < policies.size()) {
+      throw new IllegalArgumentException("Every policy may only take part once");
+    }
+    playerCounts = Arrays.stream(playerCounts).filter(count -> count <= policies.size())
+        .toArray();
+    if (playerCounts.length == 0) {
+      throw new IllegalArgumentException("A game needs a policy for every seat");
+    }
+  }
+
+  private static boolean parseFormat(String value) {
+    return switch (value) {
+      case "roundrobin" -> false;
+      case "swiss" -> true;
+      default -> throw new IllegalArgumentException("Unknown format: " + value);
+    };
+  }
+
+  private void run() throws IOException {
+    System.out.printf(Locale.ROOT, "%s tournament of %d games in %d rounds on %d threads,"
+        + " seed %d%n", swiss ? "swiss" : "round robin", games, rounds, threads, seed);
+    ForkJoinPool pool = new ForkJoinPool(threads);
+    try (TournamentResults results = new TournamentResults(policies, resultsFile)) {
+      if (results.getGames() > 0) {
+        System.out.printf(Locale.ROOT, "continuing with %d games of %s%n", results.getGames(),
+            resultsFile);
+      }
+      int[][] seatings = swiss ? null : roundRobinSeatings();
+      long resumedGames = results.getGames();
+      long start = System.nanoTime();
+      for (int round = 0; round < rounds; round++) {
+        int firstGame = (int) ((long) games * round / rounds);
+        int endGame = (int) ((long) games * (round + 1) / rounds);
+        if (firstGame == endGame) {
+          continue;
+        }
+        //round robin seatings continue over the rounds, swiss seatings start with every round
+        int firstSeatedGame = 0;
+        if (swiss) {
+          seatings = swissSeatings(results.computeRatings(),
+              playerCounts[round % playerCounts.length]);
+          firstSeatedGame = firstGame;
+        }
+        pool.invoke(new TournamentTask(policies, seatings, firstSeatedGame, firstGame, endGame,
+            GAMES_PER_TASK, seed, results));
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf(Locale.ROOT, "round %d: %d games, %.0f games/s%n", round + 1,
+            results.getGames(), (results.getGames() - resumedGames) / seconds);
+        if (swiss || round == rounds - 1) {
+          print(System.out, results);
+        }
+      }
+    } finally {
+      pool.shutdown();
+      policies.forEach(PolicySpec::close);
+    }
+  }
+
+  //every combination of distinct policies for every player count, in every rotation of the seats
+  private int[][] roundRobinSeatings() {
+    List<int[]> seatings = new ArrayList<>();
+    for (int playerCount : playerCounts) {
+      addCombinations(new int[playerCount], 0, 0, seatings);
+    }
+    return seatings.toArray(new int[0][]);
+  }
+
+  private void addCombinations(int[] table, int seat, int firstPolicy, List<int[]> seatings) {
+    if (seat == table.length) {
+      addRotations(table, seatings);
+      return;
+    }
+    for (int policy = firstPolicy; policy < policies.size(); policy++) {
+      table[seat] = policy;
+      addCombinations(table, seat + 1, policy + 1, seatings);
+    }
+  }
+
+  private static void addRotations(int[] table, List<int[]> seatings) {
+    for (int rotation = 0; rotation < table.length; rotation++) {
+      int[] seating = new int[table.length];
+      for (int seat = 0; seat < table.length; seat++) {
+        seating[seat] = table[(seat + rotation) % table.length];
+      }
+      seatings.add(seating);
+    }
+  }
+
+  //tables of neighbours in the order of the ratings, the last table is filled up from the top
+  private int[][] swissSeatings(EloRatings ratings, int playerCount) {
+    int[] order = IntStream.range(0, policies.size()).boxed()
+        .sorted(Comparator.comparingDouble(policy -> -ratings.getRating(policy)))
+        .mapToInt(Integer::intValue).toArray();
+    List<int[]> seatings = new ArrayList<>();
+    int tables = (order.length + playerCount - 1) / playerCount;
+    for (int table = 0; table < tables; table++) {
+      int[] members = new int[playerCount];
+      for (int seat = 0; seat < playerCount; seat++) {
+        members[seat] = order[(table * playerCount + seat) % order.length];
+      }
+      addRotations(members, seatings);
+    }
+    return seatings.toArray(new int[0][]);
+  }
+
+  private void print(PrintStream out, TournamentResults results) {
+    EloRatings ratings = results.computeRatings();
+    Integer[] order = IntStream.range(0, policies.size()).boxed().toArray(Integer[]::new);
+    Arrays.sort(order, Comparator.comparingDouble(policy -> -ratings.getRating(policy)));
+    out.println("ratings (95% interval):");
+    for (int policy : order) {
+      out.printf(Locale.ROOT, "  %-16s elo %+7.1f +-%5.1f, pair win rate %.3f, mean score %.1f"
+              + " (%d seats)%n", policies.get(policy).getName(), ratings.getRating(policy),
+          ratings.getInterval(policy), results.getPairWinRate(policy),
+          results.getMeanScore(policy), results.getGames(policy));
+    }
+  }
+}
@@ -0,0 +1,215 @@
+package de.lmu.ifi.sosylab.simulator;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The results of a tournament. Every game is split into pairwise results between the policies of
+ * its seats, a policy wins against another if it has the higher score. The games are appended to
+ * a results file as soon as a batch of games is finished, one line per game with the game number
+ * and the policy and score of every seat separated by tabs, so that a tournament that was
+ * interrupted can be continued.
+ */
+public final class TournamentResults implements Closeable {
+  private final List<PolicySpec> policies;
+  private final BufferedWriter writer;
+  private final BitSet playedGames;
+  //wins of policy i against policy j (draws count half) and games between them, index i * n + j
+  private final double[] pairWins;
+  private final long[] pairGames;
+  private final long[] gamesByPolicy;
+  private final long[] scoresByPolicy;
+  private long games;
+
+  /**
+   * Construct the results of a tournament. If the results file exists, its games are read and
+   * new games are appended to it. Games of policies that are not part of the tournament are
+   * ignored.
+   *
+   * @param policies the policies of the tournament.
+   * @param file the results file, or null if the results are not saved.
+   * @throws IOException if the results file cannot be read or opened.
+   */
+  public TournamentResults(List<PolicySpec> policies, Path file) throws IOException {
+    this.policies = policies;
+    int policyCount = policies.size();
+    playedGames = new BitSet();
+    pairWins = new double[policyCount * policyCount];
+    pairGames = new long[policyCount * policyCount];
+    gamesByPolicy = new long[policyCount];
+    scoresByPolicy = new long[policyCount];
+    if (file == null) {
+      writer = null;
+      return;
+    }
+    if (Files.exists(file)) {
+      load(file);
+    }
+    writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8, StandardOpenOption.CREATE,
+        StandardOpenOption.APPEND);
+  }
+
+  private void load(Path file) throws IOException {
+    Map<String, Integer> policyIndices = new HashMap<>();
+    for (int policy = 0; policy < policies.size(); policy++) {
+      policyIndices.put(policies.get(policy).getName(), policy);
+    }
+    try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+      String line;
+      while ((line = reader.readLine()) != null) {
+        String[] fields = line.split("\t");
+        //a line that was cut off when the tournament was interrupted has an odd number of fields
+        if (fields.length < 5 || fields.length % 2 == 0) {
+          continue;
+        }
+        int playerCount = fields.length / 2;
+        int[] seatPolicies = new int[playerCount];
+        int[] scores = new int[playerCount];
+        boolean known = true;
+        try {
+          for (int seat = 0; seat < playerCount; seat++) {
+            Integer policy = policyIndices.get(fields[1 + 2 * seat]);
+            known &= policy != null;
+            seatPolicies[seat] = policy == null ? -1 : policy;
+            scores[seat] = Integer.parseInt(fields[2 + 2 * seat]);
+          }
+          if (known) {
+            addGame(Integer.parseInt(fields[0]), seatPolicies, scores);
+          }
+        } catch (NumberFormatException e) {
+          //skip the damaged line
+        }
+      }
+    }
+  }
+
+  /**
+   * Return whether a game has already been played, e.g. before the tournament was interrupted.
+   *
+   * @param game the number of the game.
+   * @return true if the results contain the game.
+   */
+  public synchronized boolean isPlayed(int game) {
+    return playedGames.get(game);
+  }
+
+  /**
+   * Add a batch of finished games and append them to the results file.
+   *
+   * @param batchGames the numbers of the games.
+   * @param batchPolicies the index of the policy of every seat of every game.
+   * @param batchScores the final score of every seat of every game.
+   * @param count the number of games in the batch.
+   * @throws IOException if the results cannot be written.
+   */
+  public synchronized void addGames(int[] batchGames, int[][] batchPolicies, int[][] batchScores,
+      int count) throws IOException {
+    for (int index = 0; index < count; index++) {
+      addGame(batchGames[index], batchPolicies[index], batchScores[index]);
+      if (writer != null) {
+        writer.write(Integer.toString(batchGames[index]));
+        for (int seat = 0; seat < batchPolicies[index].length; seat++) {
+          writer.write('\t');
+          writer.write(policies.get(batchPolicies[index][seat]).getName());
+          writer.write('\t');
+          writer.write(Integer.toString(batchScores[index][seat]));
+        }
+        writer.newLine();
+      }
+    }
+    if (writer != null) {
+      writer.flush();
+    }
+  }
+
+  private void addGame(int game, int[] seatPolicies, int[] scores) {
+    if (playedGames.get(game)) {
+      return;
+    }
+    playedGames.set(game);
+    games++;
+    int policyCount = policies.size();
+    for (int seat = 0; seat < seatPolicies.length; seat++) {
+      gamesByPolicy[seatPolicies[seat]]++;
+      scoresByPolicy[seatPolicies[seat]] += scores[seat];
+      for (int other = 0; other < seatPolicies.length; other++) {
+        if (other == seat || seatPolicies[other] == seatPolicies[seat]) {
+          continue;
+        }
+        int pair = seatPolicies[seat] * policyCount + seatPolicies[other];
+        pairGames[pair]++;
+        if (scores[seat] > scores[other]) {
+          pairWins[pair] += 1;
+        } else if (scores[seat] == scores[other]) {
+          pairWins[pair] += 0.5;
+        }
+      }
+    }
+  }
+
+  /**
+   * Fit the ratings of the policies to the pairwise results.
+   *
+   * @return the ratings.
+   */
+  public synchronized EloRatings computeRatings() {
+    return EloRatings.fit(policies.size(), pairWins, pairGames);
+  }
+
+  public synchronized long getGames() {
+    return games;
+  }
+
+  /**
+   * Get the number of seats a policy has played.
+   *
+   * @param policy the index of the policy.
+   * @return the number of seats.
+   */
+  public synchronized long getGames(int policy) {
+    return gamesByPolicy[policy];
+  }
+
+  /**
+   * Get the mean score of a policy.
+   *
+   * @param policy the index of the policy.
+   * @return the mean score, 0 if the policy did not play.
+   */
+  public synchronized double getMeanScore(int policy) {
+    return gamesByPolicy[policy] == 0 ? 0 : (double) scoresByPolicy[policy] / gamesByPolicy[policy];
+  }
+
+  /**
+   * Get the share of the pairwise results that a policy has won.
+   *
+   * @param policy the index of the policy.
+   * @return the share of won pairwise results, draws count half.
+   */
+  public synchronized double getPairWinRate(int policy) {
+    double wins = 0;
+    long pairs = 0;
+    for (int other = 0; other < policies.size(); other++) {
+      wins += pairWins[policy * policies.size() + other];
+      pairs += pairGames[policy * policies.size() + other];
+    }
+    return pairs == 0 ? 0 : wins / pairs;
+  }
+
+  @Override
+  public synchronized void close() throws IOException {
+    if (writer != null) {
+      writer.close();
+    }
+  }
+}
@@ -0,0 +1,110 @@
+package de.lmu.ifi.sosylab.simulator;
+
+import de.lmu.ifi.sosylab.shared.ai.BotPolicy;
+import de.lmu.ifi.sosylab.shared.ai.GameState;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Plays a range of the games of a tournament. Large ranges are split in halves like the tasks of
+ * the simulation. Every game gets random generators of its own for the deals and for the bots
+ * that only depend on the seed and the number of the game, so a game that is skipped because it
+ * was played before an interruption does not change the following games, however the games are
+ * split into tasks. Bots of randomized policies are created for every game with the generator
+ * of the game, the other bots are created once per task.
+ *
+ * <p>Game {@code i} is played by the seating {@code (i - firstSeatedGame) % seatings.length}, a
+ * seating lists the index of the policy of every seat.
+ */
+class TournamentTask extends RecursiveAction {
+  private static final long serialVersionUID = 1L;
+  //mix the number of a game into the seeds of its deals and its bots
+  private static final long GAME_SEED_MULTIPLIER = 0xD1B54A32D192ED03L;
+  private static final long BOT_SEED_MULTIPLIER = 0x9E3779B97F4A7C15L;
+
+  private final transient List<PolicySpec> policies;
+  private final int[][] seatings;
+  private final int firstSeatedGame;
+  private final int firstGame;
+  private final int endGame;
+  private final int gamesPerTask;
+  private final long seed;
+  private final transient TournamentResults results;
+
+  TournamentTask(List<PolicySpec> policies, int[][] seatings, int firstSeatedGame, int firstGame,
+                 int endGame, int gamesPerTask, long seed, TournamentResults results) {
+    this.policies = policies;
+    this.seatings = seatings;
+    this.firstSeatedGame = firstSeatedGame;
+    this.firstGame = firstGame;
+    this.endGame = endGame;
+    this.gamesPerTask = gamesPerTask;
+    this.seed = seed;
+    this.results = results;
+  }
+
+  @Override
+  protected void compute() {
+    if (endGame - firstGame > gamesPerTask) {
+      int middle = (firstGame + endGame) >>> 1;
+      invokeAll(new TournamentTask(policies, seatings, firstSeatedGame, firstGame, middle,
+              gamesPerTask, seed, results),
+          new TournamentTask(policies, seatings, firstSeatedGame, middle, endGame, gamesPerTask,
+              seed, results));
+      return;
+    }
+
+    BotPolicy[] bots = new BotPolicy[policies.size()];
+    GameState[] newGames = new GameState[SimulationStats.MAX_PLAYERS + 1];
+    GameState[] states = new GameState[SimulationStats.MAX_PLAYERS + 1];
+    //the results of the task are added in one batch, so that the threads rarely wait for the file
+    int[] batchGames = new int[endGame - firstGame];
+    int[][] batchPolicies = new int[endGame - firstGame][];
+    int[][] batchScores = new int[endGame - firstGame][];
+    int batchSize = 0;
+    for (int game = firstGame; game < endGame; game++) {
+      if (results.isPlayed(game)) {
+        continue;
+      }
+      int[] seating = seatings[(game - firstSeatedGame) % seatings.length];
+      int playerCount = seating.length;
+      BotPolicy[] seats = new BotPolicy[playerCount];
+      SplittableRandom botRandom = new SplittableRandom(seed ^ game * BOT_SEED_MULTIPLIER);
+      for (int seat = 0; seat < playerCount; seat++) {
+        PolicySpec policy = policies.get(seating[seat]);
+        if (policy.isRandomized()) {
+          seats[seat] = policy.create(getPool(), botRandom.split());
+          continue;
+        }
+        //the other bots are only created for the policies of the task, they keep their buffers
+        if (bots[seating[seat]] == null) {
+          bots[seating[seat]] = policy.create(getPool(), botRandom);
+        }
+        seats[seat] = bots[seating[seat]];
+      }
+      if (states[playerCount] == null) {
+        newGames[playerCount] = new GameState(playerCount);
+        states[playerCount] = new GameState(playerCount);
+      }
+      GameState state = states[playerCount];
+      state.copyFrom(newGames[playerCount]);
+      SelfPlay.playGame(state, seats, new SplittableRandom(seed ^ game * GAME_SEED_MULTIPLIER));
+      int[] scores = new int[playerCount];
+      for (int seat = 0; seat < playerCount; seat++) {
+        scores[seat] = state.getScore(seat);
+      }
+      batchGames[batchSize] = game;
+      batchPolicies[batchSize] = seating;
+      batchScores[batchSize] = scores;
+      batchSize++;
+    }
+    try {
+      results.addGames(batchGames, batchPolicies, batchScores, batchSize);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+}
@@ -0,0 +1,145 @@
+package de.lmu.ifi.sosylab.simulator;
+
+import de.lmu.ifi.sosylab.shared.ai.BotPolicy;
+import de.lmu.ifi.sosylab.shared.ai.GameState;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * The main class of the training data exporter. It plays games between bots on all cores and
+ * writes every position with its move and the outcome of the game into memory-mapped files with
+ * the layout of {@link TrainingRecord}. Every thread writes a shard of its own, so the threads
+ * never wait for each other.
+ *
+ * <p>Usage: {@code export [--games N] [--players 2,3,4] [--policies greedy,mcts:200]
+ * [--threads N] [--seed N] [--output DIR]}. Shard {@code i} is written to
+ * {@code DIR/shard-i.azt}, and game {@code g} is played by shard {@code g % threads}.
+ */
+public final class TrainingDataExporter {
+  private static final String USAGE = "usage: export [--games N] [--players 2,3,4]"
+      + " [--policies greedy,random,mcts:<playouts>,solver:<nodes>] [--threads N] [--seed N]"
+      + " [--output DIR]";
+
+  private long games = 10_000;
+  private int[] playerCounts = {2, 3, 4};
+  private List<PolicySpec> policies = List.of(PolicySpec.parse("greedy"));
+  private int threads = Runtime.getRuntime().availableProcessors();
+  private long seed = System.nanoTime();
+  private Path output = Path.of("training-data");
+
+  private TrainingDataExporter() {
+  }
+
+  /** Launch the exporter. */
+  public static void main(String[] args) {
+    TrainingDataExporter exporter = new TrainingDataExporter();
+    try {
+      exporter.parseArguments(args);
+    } catch (IllegalArgumentException e) {
+      System.err.println(e.getMessage());
+      System.err.println(USAGE);
+      System.exit(2);
+    }
+    try {
+      exporter.run();
+    } catch (IOException e) {
+      System.err.println("The training data cannot be written: " + e.getMessage());
+      System.exit(1);
+    }
+  }
+
+  private void parseArguments(String[] args) {
+    for (int index = 0; index < args.length; index++) {
+      String option = args[index];
+      if (index + 1 == args.length) {
+        throw new IllegalArgumentException("Missing value of " + option);
+      }
+      String value = args[++index];
+      switch (option) {
+        case "--games" -> games = CommandLine.parseCount(value, Long.MAX_VALUE);
+        case "--threads" -> threads = CommandLine.parseThreads(value);
+        case "--seed" -> seed = CommandLine.parseLong(value);
+        case "--players" -> playerCounts = CommandLine.parsePlayerCounts(value);
+        case "--policies" -> policies = CommandLine.parsePolicies(value);
+        case "--output" -> output = Path.of(value);
+        default -> throw new IllegalArgumentException("Unknown option: " + option);
+      }
+    }
+  }
+
+  private void run() throws IOException {
+    Files.createDirectories(output);
+    System.out.printf(Locale.ROOT, "exporting %d games on %d threads to %s, seed %d%n", games,
+        threads, output, seed);
+    //the pool is only passed to the bots, every shard runs on a thread of its own
+    ForkJoinPool pool = new ForkJoinPool(threads);
+    long start = System.nanoTime();
+    long records = 0;
+    try {
+      List<Future<Long>> shards = new ArrayList<>();
+      for (int shard = 0; shard < threads; shard++) {
+        int shardIndex = shard;
+        shards.add(pool.submit(() -> exportShard(pool, shardIndex)));
+      }
+      for (Future<Long> shard : shards) {
+        records += shard.get();
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IOException("The export was interrupted", e);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof UncheckedIOException io) {
+        throw io.getCause();
+      }
+      throw new IllegalStateException(e.getCause());
+    } finally {
+      pool.shutdownNow();
+      policies.forEach(PolicySpec::close);
+    }
+    double seconds = (System.nanoTime() - start) / 1e9;
+    System.out.printf(Locale.ROOT, "%d positions in %.1f s, %.0f positions/s, %d MB%n", records,
+        seconds, records / seconds, records * TrainingRecord.RECORD_SIZE >> 20);
+  }
+
+  private long exportShard(ForkJoinPool pool, int shard) {
+    Path file = output.resolve("shard-" + shard + ".azt");
+    SplittableRandom random = new SplittableRandom(seed + shard);
+    BotPolicy[] bots = new BotPolicy[policies.size()];
+    for (int policy = 0; policy < bots.length; policy++) {
+      bots[policy] = policies.get(policy).create(pool, random.split());
+    }
+    try (TrainingDataWriter writer = new TrainingDataWriter(file, shard, threads, seed)) {
+      int[] ply = new int[1];
+      SelfPlay.MoveObserver observer = (state, move) -> {
+        try {
+          writer.writePosition(state, move, ply[0]++);
+        } catch (IOException e) {
+          throw new UncheckedIOException(e);
+        }
+      };
+      for (long game = shard; game < games; game += threads) {
+        int playerCount = playerCounts[(int) (game % playerCounts.length)];
+        GameState state = new GameState(playerCount);
+        BotPolicy[] seats = new BotPolicy[playerCount];
+        for (int seat = 0; seat < playerCount; seat++) {
+          seats[seat] = bots[(int) ((game + seat) % bots.length)];
+        }
+        ply[0] = 0;
+        SelfPlay.playGame(state, seats, random, observer);
+        writer.finishGame(state);
+      }
+      return writer.getRecords();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+}
@@ -0,0 +1,121 @@
+package de.lmu.ifi.sosylab.simulator;
+
+import de.lmu.ifi.sosylab.shared.ai.GameState;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Writes the positions of games into a memory-mapped shard file with the layout of
+ * {@link TrainingRecord}. The file is mapped in chunks, the records are written into the mapped
+ * memory without copies, and the page cache writes them to the disk. The record count in the
+ * header only counts games that are complete, so that a shard can be read while it is written.
+ * A writer must only be used by one thread, every thread of the exporter has a shard of its own.
+ */
+public class TrainingDataWriter implements Closeable {
+  //a multiple of the record size, so that a record never crosses two chunks
+  private static final long CHUNK_SIZE = (64L << 20) / TrainingRecord.RECORD_SIZE
+      * TrainingRecord.RECORD_SIZE;
+
+  private final FileChannel channel;
+  private final MappedByteBuffer header;
+  //the chunk of the current record and the chunk before it, since a game can cross two chunks
+  private MappedByteBuffer chunk;
+  private MappedByteBuffer previousChunk;
+  private long chunkIndex;
+  private long records;
+  private long completeRecords;
+
+  /**
+   * Create a shard file, an existing file is overwritten.
+   *
+   * @param file the shard file.
+   * @param shard the index of the shard.
+   * @param shardCount the number of shards of the export.
+   * @param seed the seed of the export.
+   * @throws IOException if the file cannot be created.
+   */
+  public TrainingDataWriter(Path file, int shard, int shardCount, long seed) throws IOException {
+    channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+        StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+    header = channel.map(FileChannel.MapMode.READ_WRITE, 0, TrainingRecord.HEADER_SIZE);
+    header.order(ByteOrder.LITTLE_ENDIAN);
+    header.put(0, TrainingRecord.MAGIC);
+    header.putInt(8, TrainingRecord.VERSION);
+    header.putInt(12, TrainingRecord.HEADER_SIZE);
+    header.putInt(16, TrainingRecord.RECORD_SIZE);
+    header.putInt(20, shard);
+    header.putInt(24, shardCount);
+    header.putLong(TrainingRecord.RECORD_COUNT_OFFSET, 0);
+    header.putLong(40, seed);
+    chunkIndex = -1;
+  }
+
+  /**
+   * Write the position before a move.
+   *
+   * @param state the state before the move.
+   * @param move the encoded move.
+   * @param ply the number of the move in the game, starting at 0.
+   * @throws IOException if the file cannot be extended.
+   */
+  public void writePosition(GameState state, int move, int ply) throws IOException {
+    long recordChunk = records * TrainingRecord.RECORD_SIZE / CHUNK_SIZE;
+    if (recordChunk != chunkIndex) {
+      previousChunk = chunk;
+      chunk = channel.map(FileChannel.MapMode.READ_WRITE,
+          TrainingRecord.HEADER_SIZE + recordChunk * CHUNK_SIZE, CHUNK_SIZE);
+      chunk.order(ByteOrder.LITTLE_ENDIAN);
+      chunkIndex = recordChunk;
+    }
+    TrainingRecord.writePosition(chunk, offsetInChunk(records), state, move, ply);
+    records++;
+  }
+
+  /**
+   * Write the outcome into all positions of the game since the last call, which makes them
+   * visible in the header.
+   *
+   * @param finalState the state at the end of the game.
+   */
+  public void finishGame(GameState finalState) {
+    for (long record = completeRecords; record < records; record++) {
+      boolean inChunk = record * TrainingRecord.RECORD_SIZE / CHUNK_SIZE == chunkIndex;
+      TrainingRecord.writeOutcome(inChunk ? chunk : previousChunk, offsetInChunk(record),
+          finalState);
+    }
+    completeRecords = records;
+    header.putLong(TrainingRecord.RECORD_COUNT_OFFSET, completeRecords);
+  }
+
+  private static int offsetInChunk(long record) {
+    return (int) (record * TrainingRecord.RECORD_SIZE % CHUNK_SIZE);
+  }
+
+  public long getRecords() {
+    return completeRecords;
+  }
+
+  /**
+   * Flush the mapped memory and cut the file after the last complete record. The positions of a
+   * game that was not finished are dropped.
+   */
+  @Override
+  public void close() throws IOException {
+    if (previousChunk != null) {
+      previousChunk.force();
+    }
+    if (chunk != null) {
+      chunk.force();
+    }
+    header.force();
+    chunk = null;
+    previousChunk = null;
+    channel.truncate(TrainingRecord.HEADER_SIZE + completeRecords * TrainingRecord.RECORD_SIZE);
+    channel.close();
+  }
+}
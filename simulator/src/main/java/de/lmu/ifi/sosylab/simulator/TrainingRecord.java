@@ -0,0 +1,134 @@
+package de.lmu.ifi.sosylab.simulator;
+
+import de.lmu.ifi.sosylab.shared.ai.GameState;
+import de.lmu.ifi.sosylab.shared.ai.Move;
+import java.nio.ByteBuffer;
+
+/**
+ * The layout of the files of the training data exporter. A file starts with a header of
+ * {@link #HEADER_SIZE} bytes, followed by records of {@link #RECORD_SIZE} bytes, one per position
+ * of a game. All numbers are little endian, so that a training pipeline can map a file as an
+ * array of structs without parsing it, e.g. with {@code numpy.memmap}.
+ *
+ * <p>The header:
+ * <pre>
+ *   0  8 bytes  magic "AZULTRN1"
+ *   8  int      version
+ *  12  int      header size
+ *  16  int      record size
+ *  20  int      shard index
+ *  24  int      shard count
+ *  28  int      reserved
+ *  32  long     number of complete records, updated after every game
+ *  40  long     seed
+ *  48  16 bytes reserved
+ * </pre>
+ *
+ * <p>A record describes the state before a move, the move and the outcome of the game. The seats
+ * are absolute, the seat to move is stored in the record. Unused factory displays and seats are
+ * zero.
+ * <pre>
+ *   0  byte      number of players
+ *   1  byte      seat to move
+ *   2  byte      1 if the start marker is in the center
+ *   3  byte      number of factory displays
+ *   4  5 bytes   tiles in the center per color
+ *   9  45 bytes  tiles of the 9 factory displays per color
+ *  54  5 bytes   tiles in the bag per color
+ *  59  5 bytes   tiles in the lid per color
+ *  64  4 x 12    seats: int wall mask (bit row * 5 + column), short score, byte floor tiles,
+ *                5 bytes pattern lines as (color + 1) &lt;&lt; 4 | count, 0 if empty
+ * 112  short     move as source &lt;&lt; 8 | color &lt;&lt; 4 | target (center 15, floor 5)
+ * 114  short     number of the move in the game
+ * 116  4 shorts  final score of every seat
+ * 124  byte      bit mask of the winning seats
+ * 125  3 bytes   reserved
+ * </pre>
+ */
+public final class TrainingRecord {
+  public static final int VERSION = 1;
+  public static final int HEADER_SIZE = 64;
+  public static final int RECORD_SIZE = 128;
+  static final byte[] MAGIC = {'A', 'Z', 'U', 'L', 'T', 'R', 'N', '1'};
+  static final int RECORD_COUNT_OFFSET = 32;
+
+  private static final int MAX_DISPLAYS = 9;
+  private static final int CENTER_OFFSET = 4;
+  private static final int DISPLAYS_OFFSET = 9;
+  private static final int BAG_OFFSET = 54;
+  private static final int LID_OFFSET = 59;
+  private static final int SEATS_OFFSET = 64;
+  private static final int SEAT_SIZE = 12;
+  private static final int MOVE_OFFSET = 112;
+  private static final int PLY_OFFSET = 114;
+  private static final int FINAL_SCORES_OFFSET = 116;
+  private static final int WINNERS_OFFSET = 124;
+
+  private TrainingRecord() {
+    // Class is final to prevent extension
+    // Constructor is private to prevent instantiation
+  }
+
+  /**
+   * Write the position and the move of a record. The outcome is written by
+   * {@link #writeOutcome(ByteBuffer, int, GameState)} when the game is finished.
+   *
+   * @param buffer the little endian buffer of the record.
+   * @param offset the offset of the record in the buffer.
+   * @param state the state before the move.
+   * @param move the encoded move.
+   * @param ply the number of the move in the game, starting at 0.
+   */
+  static void writePosition(ByteBuffer buffer, int offset, GameState state, int move, int ply) {
+    int playerCount = state.getPlayerCount();
+    int displayCount = state.getDisplayCount();
+    buffer.put(offset, (byte) playerCount);
+    buffer.put(offset + 1, (byte) state.getCurrentPlayer());
+    buffer.put(offset + 2, (byte) (state.isStartMarkerInCenter() ? 1 : 0));
+    buffer.put(offset + 3, (byte) displayCount);
+    for (int color = 0; color < GameState.COLORS; color++) {
+      buffer.put(offset + CENTER_OFFSET + color, (byte) state.getTiles(Move.CENTER, color));
+      for (int display = 0; display < MAX_DISPLAYS; display++) {
+        int tiles = display < displayCount ? state.getTiles(display, color) : 0;
+        buffer.put(offset + DISPLAYS_OFFSET + display * GameState.COLORS + color, (byte) tiles);
+      }
+      buffer.put(offset + BAG_OFFSET + color, (byte) state.getBagTiles(color));
+      buffer.put(offset + LID_OFFSET + color, (byte) state.getLidTiles(color));
+    }
+    for (int seat = 0; seat < SimulationStats.MAX_PLAYERS; seat++) {
+      int seatOffset = offset + SEATS_OFFSET + seat * SEAT_SIZE;
+      boolean used = seat < playerCount;
+      buffer.putInt(seatOffset, used ? state.getWall(seat) : 0);
+      buffer.putShort(seatOffset + 4, (short) (used ? state.getScore(seat) : 0));
+      buffer.put(seatOffset + 6, (byte) (used ? state.getFloorCount(seat) : 0));
+      for (int row = 0; row < GameState.ROWS; row++) {
+        int line = used && state.getLineCount(seat, row) > 0
+            ? (state.getLineColor(seat, row) + 1) << 4 | state.getLineCount(seat, row) : 0;
+        buffer.put(seatOffset + 7 + row, (byte) line);
+      }
+    }
+    buffer.putShort(offset + MOVE_OFFSET, (short) move);
+    buffer.putShort(offset + PLY_OFFSET, (short) ply);
+  }
+
+  /**
+   * Write the outcome of the game into a record.
+   *
+   * @param buffer the little endian buffer of the record.
+   * @param offset the offset of the record in the buffer.
+   * @param finalState the state at the end of the game.
+   */
+  static void writeOutcome(ByteBuffer buffer, int offset, GameState finalState) {
+    int playerCount = finalState.getPlayerCount();
+    int maxScore = finalState.getHighestScore();
+    int winners = 0;
+    for (int seat = 0; seat < SimulationStats.MAX_PLAYERS; seat++) {
+      int score = seat < playerCount ? finalState.getScore(seat) : 0;
+      buffer.putShort(offset + FINAL_SCORES_OFFSET + 2 * seat, (short) score);
+      if (seat < playerCount && score == maxScore) {
+        winners |= 1 << seat;
+      }
+    }
+    buffer.put(offset + WINNERS_OFFSET, (byte) winners);
+  }
+}
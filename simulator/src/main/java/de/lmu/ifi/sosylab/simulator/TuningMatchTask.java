@@ -0,0 +1,136 @@
+package de.lmu.ifi.sosylab.simulator;
+
+import de.lmu.ifi.sosylab.shared.ai.BotPolicy;
+import de.lmu.ifi.sosylab.shared.ai.GameState;
+import de.lmu.ifi.sosylab.shared.ai.GreedyBot;
+import de.lmu.ifi.sosylab.shared.ai.HeuristicWeights;
+import java.util.SplittableRandom;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Plays a range of the games of a tuning match between a greedy bot with candidate weights and
+ * greedy bots with the best weights so far, and returns the wins of the candidate. The games come
+ * in groups of one deal per seat: the candidate plays every seat of the group, and all games of a
+ * group are dealt from the same seed, so the luck of the deal cancels out and small differences of
+ * the weights show with fewer games.
+ *
+ * <p>Since the games of a deal are not independent, the wins are also summed per deal, and the
+ * standard error of the win rate is estimated from the spread of the wins of the deals.
+ */
+class TuningMatchTask extends RecursiveTask<TuningMatchTask.MatchResult> {
+  private static final long serialVersionUID = 1L;
+  private static final long DEAL_SEED_MULTIPLIER = 0xD1B54A32D192ED03L;
+
+  private final transient HeuristicWeights candidate;
+  private final transient HeuristicWeights best;
+  private final int playerCount;
+  private final long firstGame;
+  private final long endGame;
+  private final int gamesPerTask;
+  private final long seed;
+
+  TuningMatchTask(HeuristicWeights candidate, HeuristicWeights best, int playerCount,
+                  long firstGame, long endGame, int gamesPerTask, long seed) {
+    this.candidate = candidate;
+    this.best = best;
+    this.playerCount = playerCount;
+    this.firstGame = firstGame;
+    this.endGame = endGame;
+    this.gamesPerTask = gamesPerTask;
+    this.seed = seed;
+  }
+
+  @Override
+  protected MatchResult compute() {
+    if (endGame - firstGame > gamesPerTask) {
+      //split at a group of deals, so that every group is played by one task
+      long middle = (firstGame + endGame) / 2 / playerCount * playerCount;
+      if (middle > firstGame) {
+        TuningMatchTask left = new TuningMatchTask(candidate, best, playerCount, firstGame,
+            middle, gamesPerTask, seed);
+        TuningMatchTask right = new TuningMatchTask(candidate, best, playerCount, middle,
+            endGame, gamesPerTask, seed);
+        left.fork();
+        MatchResult result = right.compute();
+        result.add(left.join());
+        return result;
+      }
+    }
+
+    BotPolicy candidateBot = new GreedyBot(candidate);
+    BotPolicy bestBot = new GreedyBot(best);
+    GameState newGame = new GameState(playerCount);
+    GameState state = new GameState(playerCount);
+    BotPolicy[] seats = new BotPolicy[playerCount];
+    MatchResult result = new MatchResult();
+    double dealWins = 0;
+    int dealGames = 0;
+    for (long game = firstGame; game < endGame; game++) {
+      int candidateSeat = (int) (game % playerCount);
+      for (int seat = 0; seat < playerCount; seat++) {
+        seats[seat] = seat == candidateSeat ? candidateBot : bestBot;
+      }
+      long deal = game / playerCount;
+      state.copyFrom(newGame);
+      SelfPlay.playGame(state, seats, new SplittableRandom(seed ^ deal * DEAL_SEED_MULTIPLIER));
+      //players with the same highest score share the win
+      dealWins += state.getWinShare(candidateSeat);
+      dealGames++;
+      if (candidateSeat == playerCount - 1 || game == endGame - 1) {
+        result.addDeal(dealWins, dealGames);
+        dealWins = 0;
+        dealGames = 0;
+      }
+    }
+    return result;
+  }
+
+  /**
+   * The wins of the candidate in a range of games, summed over the games and over the deals.
+   */
+  static final class MatchResult {
+    private long games;
+    private long deals;
+    private double wins;
+    private double squaredDealWins;
+
+    private void addDeal(double dealWins, int dealGames) {
+      games += dealGames;
+      deals++;
+      wins += dealWins;
+      squaredDealWins += dealWins * dealWins;
+    }
+
+    private void add(MatchResult other) {
+      games += other.games;
+      deals += other.deals;
+      wins += other.wins;
+      squaredDealWins += other.squaredDealWins;
+    }
+
+    /**
+     * Get the share of the games that the candidate has won.
+     *
+     * @return the win rate, ties count as shared wins.
+     */
+    double getWinRate() {
+      return games == 0 ? 0 : wins / games;
+    }
+
+    /**
+     * Get the standard error of the win rate. It is computed from the variance of the wins per
+     * deal, so it includes that the games of a deal depend on each other.
+     *
+     * @return the standard error, or infinity if less than 2 deals were played.
+     */
+    double getStandardError() {
+      if (deals < 2) {
+        return Double.POSITIVE_INFINITY;
+      }
+      double meanDealWins = wins / deals;
+      double variance = (squaredDealWins - deals * meanDealWins * meanDealWins) / (deals - 1);
+      double gamesPerDeal = (double) games / deals;
+      return Math.sqrt(Math.max(0, variance) / deals) / gamesPerDeal;
+    }
+  }
+}
@@ -0,0 +1,110 @@
+package de.lmu.ifi.sosylab.simulator;
+
+import de.lmu.ifi.sosylab.shared.WallMask;
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Scores the walls with the vector API, one wall per lane. Every step works on the whole mask
+ * without branches:
+ *
+ * <ul>
+ *   <li>the gain points grow the placed tile into its neighbours on the wall, 4 times to the left
+ *   and right and 4 times up and down, and count the bits of both lines;</li>
+ *   <li>the end game bonus ands the wall with itself shifted along the rows and columns, which
+ *   leaves one bit for every complete row and column, and compares the wall with the mask of
+ *   every color.</li>
+ * </ul>
+ *
+ * <p>The walls that do not fill a whole vector are scored by the {@link ScalarWallScorer}. The
+ * module {@code jdk.incubator.vector} must be added to the virtual machine.
+ */
+public class VectorWallScorer implements WallScorer {
+  private static final VectorSpecies<Integer> SPECIES = IntVector.SPECIES_PREFERRED;
+  private static final int MIN_LANES = 4;
+  private static final int SIZE = WallMask.WALL_SIZE;
+  private static final int FIRST_COLUMN = WallMask.columnMask(0);
+  private static final int LAST_COLUMN = WallMask.columnMask(SIZE - 1);
+  private static final int FIRST_ROW = WallMask.rowMask(0);
+  private static final int[] COLOR_MASKS = new int[SIZE];
+
+  static {
+    for (int color = 0; color < SIZE; color++) {
+      COLOR_MASKS[color] = WallMask.colorMask(color);
+    }
+  }
+
+  static boolean isSupported() {
+    return SPECIES.length() >= MIN_LANES;
+  }
+
+  @Override
+  public void gainPoints(int[] walls, int[] tiles, int[] points, int count) {
+    int bound = SPECIES.loopBound(count);
+    int index = 0;
+    for (; index < bound; index += SPECIES.length()) {
+      IntVector wall = IntVector.fromArray(SPECIES, walls, index);
+      IntVector tile = IntVector.fromArray(SPECIES, tiles, index);
+      IntVector horizontal = tile;
+      IntVector vertical = tile;
+      for (int step = 1; step < SIZE; step++) {
+        //shifting to the left must not move a tile into the first column of the next row
+        IntVector sideways = horizontal.lanewise(VectorOperators.LSHL, 1).and(~FIRST_COLUMN)
+            .or(horizontal.lanewise(VectorOperators.LSHR, 1).and(~LAST_COLUMN));
+        horizontal = horizontal.or(sideways.and(wall));
+        IntVector upAndDown = vertical.lanewise(VectorOperators.LSHL, SIZE)
+            .or(vertical.lanewise(VectorOperators.LSHR, SIZE));
+        vertical = vertical.or(upAndDown.and(wall));
+      }
+      IntVector horizontalCount = bitCount(horizontal);
+      IntVector verticalCount = bitCount(vertical);
+      //a line of a single tile does not count, a single tile on its own gets 1 point
+      IntVector zero = IntVector.zero(SPECIES);
+      horizontalCount = horizontalCount.blend(zero, horizontalCount.compare(VectorOperators.LE, 1));
+      verticalCount = verticalCount.blend(zero, verticalCount.compare(VectorOperators.LE, 1));
+      horizontalCount.add(verticalCount).max(1).intoArray(points, index);
+    }
+    for (; index < count; index++) {
+      points[index] = ScalarWallScorer.gainPoints(walls[index], tiles[index]);
+    }
+  }
+
+  @Override
+  public void endGameBonus(int[] walls, int[] bonus, int count) {
+    int bound = SPECIES.loopBound(count);
+    int index = 0;
+    for (; index < bound; index += SPECIES.length()) {
+      IntVector wall = IntVector.fromArray(SPECIES, walls, index);
+      IntVector rows = wall;
+      IntVector columns = wall;
+      for (int step = 1; step < SIZE; step++) {
+        rows = rows.and(wall.lanewise(VectorOperators.LSHR, step));
+        columns = columns.and(wall.lanewise(VectorOperators.LSHR, step * SIZE));
+      }
+      IntVector points = bitCount(rows.and(FIRST_COLUMN)).mul(WallMask.ROW_BONUS)
+          .add(bitCount(columns.and(FIRST_ROW)).mul(WallMask.COLUMN_BONUS));
+      for (int colorMask : COLOR_MASKS) {
+        VectorMask<Integer> complete = wall.and(colorMask).compare(VectorOperators.EQ, colorMask);
+        points = points.add(WallMask.COLOR_BONUS, complete);
+      }
+      points.intoArray(bonus, index);
+    }
+    for (; index < count; index++) {
+      bonus[index] = WallMask.endGameBonus(walls[index]);
+    }
+  }
+
+  /**
+   * Count the set bits of every lane. The incubating vector API of Java 17 has no operator for it,
+   * so the bits are counted in parallel within the lane.
+   */
+  private static IntVector bitCount(IntVector vector) {
+    IntVector pairs = vector.sub(vector.lanewise(VectorOperators.LSHR, 1).and(0x55555555));
+    IntVector nibbles = pairs.and(0x33333333)
+        .add(pairs.lanewise(VectorOperators.LSHR, 2).and(0x33333333));
+    IntVector bytes = nibbles.add(nibbles.lanewise(VectorOperators.LSHR, 4)).and(0x0F0F0F0F);
+    return bytes.mul(0x01010101).lanewise(VectorOperators.LSHR, 24);
+  }
+}
@@ -0,0 +1,42 @@
+package de.lmu.ifi.sosylab.simulator;
+
+/**
+ * Scores many independent walls at once. The walls are given as masks of {@code WallMask}, so a
+ * batch is a plain array of ints that can be processed lane by lane.
+ */
+public interface WallScorer {
+
+  /**
+   * Calculate the gain points of tiles that have just been placed on the walls.
+   *
+   * @param walls the wall masks, including the placed tiles.
+   * @param tiles the masks where only the bit of the placed tile is set.
+   * @param points the buffer for the gain points of every wall.
+   * @param count the number of walls in the batch.
+   */
+  void gainPoints(int[] walls, int[] tiles, int[] points, int count);
+
+  /**
+   * Calculate the bonus of the end game scoring of the walls.
+   *
+   * @param walls the wall masks.
+   * @param bonus the buffer for the bonus points of every wall.
+   * @param count the number of walls in the batch.
+   */
+  void endGameBonus(int[] walls, int[] bonus, int count);
+
+  /**
+   * Get the fastest scorer of this virtual machine: the {@link VectorWallScorer} if the module
+   * {@code jdk.incubator.vector} is available and the processor has vector registers of at least 4
+   * lanes, and the {@link ScalarWallScorer} if not.
+   *
+   * @return the scorer.
+   */
+  static WallScorer best() {
+    if (ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent()
+        && VectorWallScorer.isSupported()) {
+      return new VectorWallScorer();
+    }
+    return new ScalarWallScorer();
+  }
+}
@@ -0,0 +1,223 @@
+package de.lmu.ifi.sosylab.simulator;
+
+import de.lmu.ifi.sosylab.shared.ai.HeuristicWeights;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.concurrent.ForkJoinPool;
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+/**
+ * The main class of the weight tuner. It improves the {@link HeuristicWeights} of the greedy bot
+ * by a local search: every step changes one weight up and down, and a change is kept if the bot
+ * with the changed weights wins a match of self-play games against the bot with the best weights
+ * so far, and wins again in a second match on other deals. When no weight can be improved with
+ * the current step size, the step size is halved. The matches are played on all cores.
+ *
+ * <p>The state of the search is written to a checkpoint file after every step, and a tuner that
+ * is started with an existing checkpoint file continues the search with the seed, the players
+ * and the games per match of the checkpoint.
+ *
+ * <p>Usage: {@code tune [--games N] [--players N] [--steps N] [--step X] [--min-step X]
+ * [--threads N] [--seed N] [--checkpoint FILE]}.
+ */
+public final class WeightTuner {
+  private static final String USAGE = "usage: tune [--games N] [--players N] [--steps N]"
+      + " [--step X] [--min-step X] [--threads N] [--seed N] [--checkpoint FILE]";
+  private static final int GAMES_PER_TASK = 64;
+  //a change is kept if the candidate wins this many standard errors more than an equal bot in two
+  //matches, since a run compares hundreds of candidates and some equal ones win one match by luck
+  private static final double ACCEPT_DEVIATIONS = 2.5;
+  private static final String[] NAMES = {"wallPoints", "floorPenalty", "lineProgress",
+      "startMarker", "rowBonus", "columnBonus", "colorBonus"};
+
+  private long gamesPerMatch = 20_000;
+  private int playerCount = 2;
+  private int maxSteps = 200;
+  private double initialStep = 0.2;
+  private double minStep = 0.01;
+  private int threads = Runtime.getRuntime().availableProcessors();
+  private long seed = System.nanoTime();
+  private Path checkpointFile = Path.of("tuner-checkpoint.json");
+
+  //the state of the search, which is saved in the checkpoint
+  private double[] weights = HeuristicWeights.DEFAULT.toArray();
+  private double stepSize;
+  private int completedSteps;
+  private int nextWeight;
+  private int weightsWithoutImprovement;
+
+  private WeightTuner() {
+  }
+
+  /** Launch the tuner. */
+  public static void main(String[] args) {
+    WeightTuner tuner = new WeightTuner();
+    try {
+      tuner.parseArguments(args);
+    } catch (IllegalArgumentException e) {
+      System.err.println(e.getMessage());
+      System.err.println(USAGE);
+      System.exit(2);
+    }
+    try {
+      tuner.run();
+    } catch (IOException e) {
+      System.err.println("The checkpoint cannot be read or written: " + e.getMessage());
+      System.exit(1);
+    }
+  }
+
+  private void parseArguments(String[] args) {
+    for (int index = 0; index < args.length; index++) {
+      String option = args[index];
+      if (index + 1 == args.length) {
+        throw new IllegalArgumentException("Missing value of " + option);
+      }
+      String value = args[++index];
+      switch (option) {
+        case "--games" -> gamesPerMatch = CommandLine.parseCount(value, Long.MAX_VALUE);
+        case "--players" -> playerCount = CommandLine.parsePlayerCount(value);
+        case "--steps" -> maxSteps = (int) CommandLine.parseCount(value, Integer.MAX_VALUE);
+        case "--step" -> initialStep = CommandLine.parsePositiveDouble(value);
+        case "--min-step" -> minStep = CommandLine.parsePositiveDouble(value);
+        case "--threads" -> threads = CommandLine.parseThreads(value);
+        case "--seed" -> seed = CommandLine.parseLong(value);
+        case "--checkpoint" -> checkpointFile = Path.of(value);
+        default -> throw new IllegalArgumentException("Unknown option: " + option);
+      }
+    }
+    stepSize = initialStep;
+  }
+
+  private void run() throws IOException {
+    if (Files.exists(checkpointFile)) {
+      loadCheckpoint();
+      System.out.printf(Locale.ROOT, "continuing after step %d of %s%n", completedSteps,
+          checkpointFile);
+    }
+    //whole groups of deals, so that every seat is played equally often
+    long games = Math.max(1, gamesPerMatch / playerCount) * playerCount;
+    System.out.printf(Locale.ROOT, "tuning with %d games per match of %d players on %d threads,"
+        + " seed %d%n", games, playerCount, threads, seed);
+    ForkJoinPool pool = new ForkJoinPool(threads);
+    try {
+      while (completedSteps < maxSteps && stepSize >= minStep) {
+        long start = System.nanoTime();
+        boolean improved = false;
+        for (int direction = 1; direction >= -1 && !improved; direction -= 2) {
+          double[] candidate = weights.clone();
+          candidate[nextWeight] = Math.max(0, candidate[nextWeight] + direction * stepSize);
+          if (candidate[nextWeight] == weights[nextWeight]) {
+            continue;
+          }
+          //every match is dealt from its own seed, so that the weights do not fit a few deals
+          long matchSeed = seed + 4L * completedSteps + (direction > 0 ? 0 : 2);
+          System.out.printf(Locale.ROOT, "step %d: %s %+.3f -> %.3f", completedSteps + 1,
+              NAMES[nextWeight], direction * stepSize, candidate[nextWeight]);
+          if (winsMatch(pool, candidate, games, matchSeed)
+              && winsMatch(pool, candidate, games, matchSeed + 1)) {
+            weights = candidate;
+            improved = true;
+          }
+          System.out.println();
+        }
+        if (improved) {
+          weightsWithoutImprovement = 0;
+        } else if (++weightsWithoutImprovement == HeuristicWeights.COUNT) {
+          weightsWithoutImprovement = 0;
+          stepSize /= 2;
+          System.out.printf(Locale.ROOT, "no weight improves, step size %.4f%n", stepSize);
+        }
+        nextWeight = (nextWeight + 1) % HeuristicWeights.COUNT;
+        completedSteps++;
+        saveCheckpoint();
+        System.out.printf(Locale.ROOT, "  %.1f s, weights %s%n",
+            (System.nanoTime() - start) / 1e9, HeuristicWeights.of(weights));
+      }
+    } finally {
+      pool.shutdown();
+    }
+    System.out.println("best weights: " + HeuristicWeights.of(weights));
+  }
+
+  //plays a match of the candidate against the best weights and prints the win rate
+  private boolean winsMatch(ForkJoinPool pool, double[] candidate, long games, long matchSeed) {
+    TuningMatchTask.MatchResult result = pool.invoke(new TuningMatchTask(
+        HeuristicWeights.of(candidate), HeuristicWeights.of(weights), playerCount, 0, games,
+        GAMES_PER_TASK, matchSeed));
+    double winRate = result.getWinRate();
+    double standardError = result.getStandardError();
+    System.out.printf(Locale.ROOT, ", win rate %.4f +- %.4f", winRate, standardError);
+    return winRate > 1.0 / playerCount + ACCEPT_DEVIATIONS * standardError;
+  }
+
+  /**
+   * Read the best weights of a checkpoint, e.g. to play them in a tournament.
+   *
+   * @param checkpointFile the checkpoint file of the tuner.
+   * @return the weights.
+   * @throws IOException if the file cannot be read or is not a checkpoint.
+   */
+  static HeuristicWeights loadWeights(Path checkpointFile) throws IOException {
+    try {
+      JSONObject checkpoint = new JSONObject(Files.readString(checkpointFile,
+          StandardCharsets.UTF_8));
+      return readWeights(checkpoint);
+    } catch (JSONException | IllegalArgumentException e) {
+      throw new IOException("Invalid checkpoint " + checkpointFile, e);
+    }
+  }
+
+  private static HeuristicWeights readWeights(JSONObject checkpoint) {
+    JSONArray savedWeights = checkpoint.getJSONArray("weights");
+    double[] loaded = new double[savedWeights.length()];
+    for (int index = 0; index < loaded.length; index++) {
+      loaded[index] = savedWeights.getDouble(index);
+    }
+    return HeuristicWeights.of(loaded);
+  }
+
+  private void loadCheckpoint() throws IOException {
+    String text = Files.readString(checkpointFile, StandardCharsets.UTF_8);
+    try {
+      JSONObject checkpoint = new JSONObject(text);
+      weights = readWeights(checkpoint).toArray();
+      stepSize = checkpoint.getDouble("step size");
+      completedSteps = checkpoint.getInt("completed steps");
+      nextWeight = checkpoint.getInt("next weight") % HeuristicWeights.COUNT;
+      weightsWithoutImprovement = checkpoint.getInt("weights without improvement");
+      seed = checkpoint.getLong("seed");
+      playerCount = checkpoint.getInt("players");
+      gamesPerMatch = checkpoint.getLong("games per match");
+      if (playerCount < 2 || playerCount > SimulationStats.MAX_PLAYERS || gamesPerMatch <= 0) {
+        throw new IllegalArgumentException("Invalid match size");
+      }
+    } catch (JSONException | IllegalArgumentException e) {
+      throw new IOException("Invalid checkpoint " + checkpointFile, e);
+    }
+  }
+
+  //the checkpoint is replaced at once, so that an interruption never leaves half a file
+  private void saveCheckpoint() throws IOException {
+    JSONObject checkpoint = new JSONObject();
+    checkpoint.put("weights", new JSONArray(Arrays.stream(weights).boxed().toList()));
+    checkpoint.put("step size", stepSize);
+    checkpoint.put("completed steps", completedSteps);
+    checkpoint.put("next weight", nextWeight);
+    checkpoint.put("weights without improvement", weightsWithoutImprovement);
+    checkpoint.put("seed", seed);
+    checkpoint.put("players", playerCount);
+    checkpoint.put("games per match", gamesPerMatch);
+    Path temporary = checkpointFile.resolveSibling(checkpointFile.getFileName() + ".tmp");
+    Files.writeString(temporary, checkpoint.toString(2), StandardCharsets.UTF_8);
+    Files.move(temporary, checkpointFile, StandardCopyOption.REPLACE_EXISTING,
+        StandardCopyOption.ATOMIC_MOVE);
+  }
+}
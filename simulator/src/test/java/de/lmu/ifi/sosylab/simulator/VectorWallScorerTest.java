@@ -0,0 +1,68 @@
+package de.lmu.ifi.sosylab.simulator;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+
+import de.lmu.ifi.sosylab.shared.WallMask;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test the vector wall scorer against the scalar scorer, which follows the rules of the game.
+ */
+public class VectorWallScorerTest {
+  //not a multiple of the lanes, so that the walls after the last whole vector are scored as well
+  private static final int COUNT = 10_007;
+
+  @Test
+  void testGainPointsAgreeWithScalarScorer() {
+    // set up: random walls of every density, each with one of its tiles just placed
+    Random random = new Random(32);
+    int[] walls = randomWalls(random);
+    int[] tiles = new int[COUNT];
+    for (int index = 0; index < COUNT; index++) {
+      int cell;
+      do {
+        cell = random.nextInt(WallMask.WALL_SIZE * WallMask.WALL_SIZE);
+      } while ((walls[index] & 1 << cell) == 0);
+      tiles[index] = 1 << cell;
+    }
+    int[] expected = new int[COUNT];
+    int[] actual = new int[COUNT];
+
+    // test
+    new ScalarWallScorer().gainPoints(walls, tiles, expected, COUNT);
+    new VectorWallScorer().gainPoints(walls, tiles, actual, COUNT);
+    assertArrayEquals(expected, actual);
+  }
+
+  @Test
+  void testEndGameBonusAgreesWithScalarScorer() {
+    // set up
+    int[] walls = randomWalls(new Random(33));
+    int[] expected = new int[COUNT];
+    int[] actual = new int[COUNT];
+
+    // test
+    new ScalarWallScorer().endGameBonus(walls, expected, COUNT);
+    new VectorWallScorer().endGameBonus(walls, actual, COUNT);
+    assertArrayEquals(expected, actual);
+  }
+
+  //walls that are filled to a random degree, so that some have complete rows, columns and colors
+  private static int[] randomWalls(Random random) {
+    int[] walls = new int[COUNT];
+    for (int index = 0; index < COUNT; index++) {
+      double density = random.nextDouble();
+      int wall = 0;
+      for (int cell = 0; cell < WallMask.WALL_SIZE * WallMask.WALL_SIZE; cell++) {
+        if (random.nextDouble() < density) {
+          wall |= 1 << cell;
+        }
+      }
+      //every wall has at least one tile, the one that was placed last
+      walls[index] = wall == 0 ? 1 << random.nextInt(WallMask.WALL_SIZE) : wall;
+    }
+    walls[0] = WallMask.FULL;
+    return walls;
+  }
+}